@@ -0,0 +1,102 @@
+package io.gaming.platform.gameservice.anticheat;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.gaming.platform.gameservice.config.AnomalyAction;
+import io.gaming.platform.gameservice.config.AntiCheatProperties;
+import io.gaming.platform.gameservice.config.AntiCheatProperties.Rule;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.producer.GameEventVerdict;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-event cost of the anti-cheat stage with statistics of {@code players} players, for
+ * events spread over all players and for four threads screening a single attacker. Events are
+ * created up front, so only the screening is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AntiCheatStageBenchmark {
+    private static final int EVENTS = 1 << 16;
+
+    @Param({"1000000"})
+    private int players;
+
+    private AntiCheatStage stage;
+    private GameEvent[] attacks;
+    private GameEvent[] levelUps;
+    private GameEvent[] items;
+    private GameEvent[] unscreened;
+
+    @Setup
+    public void setUp() {
+        stage = new AntiCheatStage(new AntiCheatProperties(true, players, Map.of(
+            GameEventType.PVP_ATTACK, new Rule(AnomalyAction.FLAG, 100_000, 0, 8, 0.05, 30, 0, 1),
+            GameEventType.LEVEL_UP, new Rule(AnomalyAction.FLAG, 1000, 10, 0, 0.05, 0, 0, 1),
+            GameEventType.ITEM_ACQUIRED, new Rule(AnomalyAction.FLAG, 0, 0, 0, 0.05, 0, 1_000_000, 1_000_000))),
+            new SimpleMeterRegistry());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        attacks = new GameEvent[EVENTS];
+        levelUps = new GameEvent[EVENTS];
+        items = new GameEvent[EVENTS];
+        unscreened = new GameEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            long player = random.nextLong(players);
+            attacks[i] = GameEvent.pvpAttack(random.nextLong(players), player, 90 + random.nextInt(20));
+            levelUps[i] = GameEvent.levelUp(player, 1 + random.nextInt(5));
+            items[i] = GameEvent.itemAcquired(player, "Sword", "RARE");
+            unscreened[i] = GameEvent.challengeCompleted(player, "DAILY_QUEST");
+        }
+        for (long player = 0; player < players; player++) {
+            stage.validate(GameEvent.pvpAttack(0L, player, 100));
+            stage.validate(GameEvent.levelUp(player, 1));
+            stage.validate(GameEvent.itemAcquired(player, "Sword", "RARE"));
+        }
+    }
+
+    @Benchmark
+    public GameEventVerdict attack() {
+        return stage.validate(attacks[ThreadLocalRandom.current().nextInt(EVENTS)]);
+    }
+
+    @Benchmark
+    public GameEventVerdict levelUp() {
+        return stage.validate(levelUps[ThreadLocalRandom.current().nextInt(EVENTS)]);
+    }
+
+    @Benchmark
+    public GameEventVerdict itemRate() {
+        return stage.validate(items[ThreadLocalRandom.current().nextInt(EVENTS)]);
+    }
+
+    @Benchmark
+    public GameEventVerdict unscreened() {
+        return stage.validate(unscreened[ThreadLocalRandom.current().nextInt(EVENTS)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public GameEventVerdict singleAttackerContended() {
+        return stage.validate(attacks[0]);
+    }
+}
@@ -0,0 +1,77 @@
+package io.gaming.platform.gameservice.controller;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.config.IngestProperties.ExecutionMode;
+import io.gaming.platform.gameservice.dto.PvpDefeatRequest;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Cost of turning a PvP defeat request body into a validated {@link GameEvent}.
+ * {@code dataBinding} is the default path of Jackson data binding followed by Bean Validation;
+ * {@code streaming} is the {@link StreamingRequestConverter}. Encoding the record value is the
+ * same for both and left out. Run with {@code -prof gc} to compare allocations per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestDecodingBenchmark {
+    private static final byte[] BODY =
+        "{\"defeatedPlayerId\":123,\"victorPlayerId\":456,\"battleLocation\":\"Ancient Arena\",\"idempotencyKey\":\"defeat-123-1\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private StreamingRequestConverter converter;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        converter = new StreamingRequestConverter(objectMapper, new IngestProperties(
+            ExecutionMode.ASYNC, 2000, Duration.ofSeconds(5), 500, EnumSet.of(GameEventType.PVP_DEFEAT)));
+    }
+
+    @Benchmark
+    public GameEvent dataBinding() throws Exception {
+        PvpDefeatRequest request = objectMapper.readValue(new ByteArrayInputStream(BODY), PvpDefeatRequest.class);
+        Set<ConstraintViolation<PvpDefeatRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.toString());
+        }
+        return GameEvent.pvpDefeat(request.defeatedPlayerId(), request.victorPlayerId(), request.battleLocation());
+    }
+
+    @Benchmark
+    public GameEvent streaming() throws Exception {
+        PvpDefeatRequest request = (PvpDefeatRequest) converter.read(GameEventType.PVP_DEFEAT, new ByteArrayInputStream(BODY));
+        return GameEvent.pvpDefeat(request.defeatedPlayerId(), request.victorPlayerId(), request.battleLocation());
+    }
+}
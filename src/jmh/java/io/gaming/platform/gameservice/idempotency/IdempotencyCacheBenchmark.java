@@ -0,0 +1,81 @@
+package io.gaming.platform.gameservice.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.gaming.platform.gameservice.config.IdempotencyProperties;
+import io.gaming.platform.gameservice.dto.GameEventResponse;
+import io.gaming.platform.gameservice.model.EventCategory;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Lookup latency of an idempotency cache holding {@code keys} answered requests. The
+ * memory allocated per remembered key is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class IdempotencyCacheBenchmark {
+    private static final String KEY = "client-retry-key";
+
+    @Param({"10000000"})
+    private int keys;
+
+    private IdempotencyCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Twice the keys per generation, so that filling the cache never rotates it
+        cache = new IdempotencyCache(
+            new IdempotencyProperties(true, Duration.ofHours(1), 4 * keys, 64), new SimpleMeterRegistry());
+        Instant now = Instant.now();
+        for (long player = 0; player < keys; player++) {
+            long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, player, KEY);
+            CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+            cache.claim(fingerprint, GameEventType.LEVEL_UP, pending);
+            cache.release(fingerprint, pending, GameEventResponse.success(
+                UUID.randomUUID().toString(), EventCategory.GAME, GameEventType.LEVEL_UP, now, player));
+        }
+        System.out.printf("%n%d keys: %.1f bytes per entry%n",
+            cache.size(), (double) cache.allocatedBytes() / cache.size());
+    }
+
+    @Benchmark
+    public CompletableFuture<GameEventResponse> lookupHit() {
+        long player = ThreadLocalRandom.current().nextLong(keys);
+        long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, player, KEY);
+        return cache.claim(fingerprint, GameEventType.LEVEL_UP, new CompletableFuture<>());
+    }
+
+    @Benchmark
+    public CompletableFuture<GameEventResponse> lookupMiss() {
+        long player = keys + ThreadLocalRandom.current().nextLong(keys);
+        CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+        long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, player, KEY);
+        CompletableFuture<GameEventResponse> original = cache.claim(fingerprint, GameEventType.LEVEL_UP, pending);
+        // Hand the claim back unanswered, as a failed request would
+        cache.release(fingerprint, pending, null);
+        return original;
+    }
+}
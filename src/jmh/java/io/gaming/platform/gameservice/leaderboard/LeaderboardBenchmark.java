@@ -0,0 +1,82 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.gaming.platform.gameservice.config.LeaderboardProperties;
+import io.gaming.platform.gameservice.dto.LeaderboardResponse;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of scoring a PvP attack on the global, daily and hourly damage leaderboards of
+ * {@code players} ranked players, of reading the top 100, and of both at once with three
+ * updating threads and one reading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+    private static final int EVENTS = 1 << 16;
+
+    @Param({"1000000", "4000000"})
+    private int players;
+
+    private LeaderboardService service;
+    private GameEvent[] attacks;
+
+    @Setup
+    public void setUp() {
+        service = new LeaderboardService(new LeaderboardProperties(true, players, 1_000), new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        for (long player = 0; player < players; player++) {
+            service.apply(GameEvent.pvpAttack(0L, player, 1 + random.nextInt(1_000)));
+        }
+        attacks = new GameEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            attacks[i] = GameEvent.pvpAttack(0L, random.nextLong(players), 1 + random.nextInt(100));
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        service.apply(attacks[ThreadLocalRandom.current().nextInt(EVENTS)]);
+    }
+
+    @Benchmark
+    public LeaderboardResponse top100() {
+        return service.top(LeaderboardMetric.PVP_DAMAGE, LeaderboardWindow.GLOBAL, 100);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedUpdate() {
+        service.apply(attacks[ThreadLocalRandom.current().nextInt(EVENTS)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public LeaderboardResponse mixedTop100() {
+        return service.top(LeaderboardMetric.PVP_DAMAGE, LeaderboardWindow.HOUR, 100);
+    }
+}
@@ -0,0 +1,57 @@
+package io.gaming.platform.gameservice.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of stamping events with an id and a timestamp while four threads contend for the
+ * shared generator, comparing random UUIDs and {@code Instant.now()} with the UUIDv7
+ * generator and the coarse clock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EventIdBenchmark {
+    private final UuidV7EventIdGenerator uuidV7 = new UuidV7EventIdGenerator(1);
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String uuidV7() {
+        return uuidV7.nextId(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public Instant instantNow() {
+        return Instant.now();
+    }
+
+    @Benchmark
+    public Instant coarseClock() {
+        return CoarseClock.UTC.instant();
+    }
+
+    @Benchmark
+    public GameEvent pvpDefeat() {
+        return GameEvent.pvpDefeat(1234567L, 7654321L, "Ancient Arena");
+    }
+}
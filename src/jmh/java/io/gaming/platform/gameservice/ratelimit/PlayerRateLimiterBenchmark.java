@@ -0,0 +1,62 @@
+package io.gaming.platform.gameservice.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.gaming.platform.gameservice.config.RateLimitProperties;
+import io.gaming.platform.gameservice.config.RateLimitProperties.Limit;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request cost of the rate limiter with {@code players} known players, for requests
+ * spread over all players and for four threads hammering a single player.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerRateLimiterBenchmark {
+    @Param({"1000000"})
+    private int players;
+
+    private PlayerRateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        limiter = new PlayerRateLimiter(
+            new RateLimitProperties(true, new Limit(1_000_000, 1_000_000), Map.of(), Duration.ofMinutes(10)),
+            new SimpleMeterRegistry());
+        for (long player = 0; player < players; player++) {
+            limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, player);
+        }
+    }
+
+    @Benchmark
+    public long manyPlayers() {
+        return limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, ThreadLocalRandom.current().nextLong(players));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long singlePlayerContended() {
+        return limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, 42L);
+    }
+}
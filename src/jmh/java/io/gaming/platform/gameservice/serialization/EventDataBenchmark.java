@@ -0,0 +1,93 @@
+package io.gaming.platform.gameservice.serialization;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.gaming.platform.gameservice.model.CoarseClock;
+import io.gaming.platform.gameservice.model.EventCategory;
+import io.gaming.platform.gameservice.model.EventIdGenerator;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.model.UuidV7EventIdGenerator;
+
+/**
+ * Compares creating and serializing a PvP attack summary with the former
+ * {@code Map<String, Object>} payload against the typed {@code eventData} record.
+ * Run with {@code -prof gc} for the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDataBenchmark {
+
+    /** {@link GameEvent} as it was before its payload was typed. */
+    public record MapGameEvent(
+        EventCategory category,
+        GameEventType eventType,
+        String eventId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        Instant timestamp,
+        Long playerId,
+        Map<String, Object> eventData
+    ) {
+    }
+
+    private final EventIdGenerator idGenerator = UuidV7EventIdGenerator.withRandomNodeId();
+    private ObjectWriter mapWriter;
+    private ObjectWriter typedWriter;
+    private Long defenderId;
+    private Long attackerId;
+    private Instant firstHitTime;
+    private Instant lastHitTime;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mapWriter = objectMapper.writerFor(MapGameEvent.class);
+        typedWriter = objectMapper.writerFor(GameEvent.class);
+        defenderId = 123L;
+        attackerId = 456_789L;
+        firstHitTime = Instant.now();
+        lastHitTime = firstHitTime.plusMillis(80);
+    }
+
+    @Benchmark
+    public byte[] mapPayload() throws Exception {
+        Instant now = CoarseClock.UTC.instant();
+        MapGameEvent event = new MapGameEvent(
+            EventCategory.GAME, GameEventType.PVP_ATTACK_SUMMARY, idGenerator.nextId(now.toEpochMilli()), now, defenderId,
+            Map.of(
+                "attackerId", attackerId,
+                "totalDamage", 12_345L,
+                "hitCount", 42,
+                "firstHitTime", firstHitTime.toString(),
+                "lastHitTime", lastHitTime.toString()));
+        return mapWriter.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] typedPayload() throws Exception {
+        return typedWriter.writeValueAsBytes(
+            GameEvent.pvpAttackSummary(defenderId, attackerId, 12_345L, 42, firstHitTime, lastHitTime));
+    }
+}
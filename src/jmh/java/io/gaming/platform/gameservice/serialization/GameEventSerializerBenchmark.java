@@ -0,0 +1,58 @@
+package io.gaming.platform.gameservice.serialization;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+/**
+ * Compares the former {@code writeValueAsString} + {@code StringSerializer} value path
+ * with {@link GameEventSerializer}. Run with {@code -prof gc} for the allocation rate and
+ * with {@code -t <threads>} to put the buffer pool under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameEventSerializerBenchmark {
+    private static final String TOPIC = "game-events";
+
+    private ObjectMapper objectMapper;
+    private StringSerializer stringSerializer;
+    private GameEventSerializer gameEventSerializer;
+    private GameEvent event;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        stringSerializer = new StringSerializer();
+        gameEventSerializer = new GameEventSerializer(objectMapper);
+        event = GameEvent.pvpDefeat(123L, 456L, "Ancient Arena");
+    }
+
+    @Benchmark
+    public byte[] stringThenUtf8() throws Exception {
+        return stringSerializer.serialize(TOPIC, objectMapper.writeValueAsString(event));
+    }
+
+    @Benchmark
+    public byte[] pooledSerializer() {
+        return gameEventSerializer.serialize(TOPIC, event);
+    }
+}
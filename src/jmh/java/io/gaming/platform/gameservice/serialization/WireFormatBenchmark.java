@@ -0,0 +1,86 @@
+package io.gaming.platform.gameservice.serialization;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+
+/**
+ * Encode/decode throughput of the JSON and COMPACT wire formats for every event type.
+ * The encoded size of each format is printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+    private static final String JSON_TOPIC = "json";
+    private static final String COMPACT_TOPIC = "compact";
+
+    @Param({"LEVEL_UP", "ITEM_ACQUIRED", "CHALLENGE_COMPLETED", "PVP_ATTACK", "PVP_DEFEAT", "PVP_ATTACK_SUMMARY"})
+    private GameEventType eventType;
+
+    private ObjectMapper objectMapper;
+    private GameEventSerializer serializer;
+    private GameEvent event;
+    private byte[] json;
+    private byte[] compact;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        serializer = new GameEventSerializer(objectMapper, WireFormat.JSON, Map.of(COMPACT_TOPIC, WireFormat.COMPACT));
+        event = switch (eventType) {
+            case LEVEL_UP -> GameEvent.levelUp(1234567L, 42);
+            case ITEM_ACQUIRED -> GameEvent.itemAcquired(1234567L, "Legendary Sword", "LEGENDARY");
+            case CHALLENGE_COMPLETED -> GameEvent.challengeCompleted(1234567L, "Defeat the Boss");
+            case PVP_ATTACK -> GameEvent.pvpAttack(1234567L, 7654321L, 350);
+            case PVP_DEFEAT -> GameEvent.pvpDefeat(1234567L, 7654321L, "Ancient Arena");
+            case PVP_ATTACK_SUMMARY -> GameEvent.pvpAttackSummary(
+                1234567L, 7654321L, 35_000, 100, Instant.now().minusMillis(100), Instant.now());
+        };
+        json = serializer.serialize(JSON_TOPIC, event);
+        compact = serializer.serialize(COMPACT_TOPIC, event);
+        System.out.printf("%n%s: json=%d bytes, compact=%d bytes (%.0f%%)%n",
+            eventType, json.length, compact.length, 100.0 * compact.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return serializer.serialize(JSON_TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] encodeCompact() {
+        return serializer.serialize(COMPACT_TOPIC, event);
+    }
+
+    @Benchmark
+    public GameEvent decodeJson() throws Exception {
+        return objectMapper.readValue(json, GameEvent.class);
+    }
+
+    @Benchmark
+    public GameEvent decodeCompact() {
+        return CompactGameEventCodec.decode(compact);
+    }
+}
@@ -2,12 +2,14 @@ package io.gaming.platform.gameservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main entry point for the Gaming Platform Game Service.
  * This service is responsible for managing game events and publishing them to Kafka.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class GameServiceApplication {
 
     public static void main(String[] args) {
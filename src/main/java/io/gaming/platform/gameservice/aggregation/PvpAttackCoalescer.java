@@ -0,0 +1,284 @@
+package io.gaming.platform.gameservice.aggregation;
+
+import io.gaming.platform.gameservice.config.CoalescingProperties;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventFactory;
+import io.gaming.platform.gameservice.producer.GameEventProducer;
+import io.gaming.platform.gameservice.producer.PublishedGameEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces PvP attacks by (attacker, defender) into {@code PVP_ATTACK_SUMMARY} events
+ * carrying total damage, hit count and first/last hit times.
+ * <p>
+ * A window opens with the first hit of a pair and is published when it reaches
+ * {@code maxHits} or is {@code window} old, so a hit is published at most about
+ * 1.25 windows after it arrived. Open windows live in striped open-addressing tables
+ * of primitive arrays, keyed by both player ids, so recording a hit neither boxes
+ * nor allocates.
+ * <p>
+ * The hits behind a summary were already answered with 202, so a summary that fails to
+ * publish is written to the dead-letter topic like other accepted events Kafka did not take.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.pvp-coalescing", name = "enabled", havingValue = "true")
+public class PvpAttackCoalescer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(PvpAttackCoalescer.class);
+
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+
+    private final GameEventProducer eventProducer;
+    private final long windowNanos;
+    private final int maxHits;
+    private final Stripe[] stripes;
+    private final Counter failedSummaries;
+    private ScheduledExecutorService sweeper;
+
+    public PvpAttackCoalescer(
+            GameEventProducer eventProducer,
+            GameEventFactory eventFactory,
+            CoalescingProperties properties,
+            MeterRegistry registry) {
+        this.eventProducer = eventProducer;
+        this.windowNanos = properties.window().toNanos();
+        this.maxHits = properties.maxHits();
+        this.stripes = new Stripe[Integer.highestOneBit(properties.stripes() * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(INITIAL_STRIPE_CAPACITY, eventFactory);
+        }
+        this.failedSummaries = Counter.builder("game.events.pvp.summaries.failed")
+            .description("PvP attack summaries that failed to publish and were dead-lettered")
+            .register(registry);
+    }
+
+    /**
+     * Records one hit of {@code attackerId} on {@code defenderId}.
+     */
+    public void add(long attackerId, long defenderId, int damageDealt) {
+        long hash = hash(attackerId, defenderId);
+        Stripe stripe = stripes[(int) (hash >>> 40) & (stripes.length - 1)];
+        long nowMillis = System.currentTimeMillis();
+        GameEvent full = null;
+        synchronized (stripe) {
+            int slot = stripe.findOrInsert(attackerId, defenderId, (int) hash, System.nanoTime(), nowMillis);
+            stripe.totalDamage[slot] += damageDealt;
+            stripe.lastHitMillis[slot] = nowMillis;
+            if (++stripe.hits[slot] >= maxHits) {
+                full = stripe.summarize(slot);
+                stripe.removeAt(slot);
+            }
+        }
+        if (full != null) {
+            publish(List.of(full));
+        }
+    }
+
+    /**
+     * Publishes every window opened at or before {@code openedBeforeNanos}.
+     */
+    void sweep(long openedBeforeNanos) {
+        List<GameEvent> summaries = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.drainOpenedBefore(openedBeforeNanos, summaries);
+            }
+        }
+        if (!summaries.isEmpty()) {
+            publish(summaries);
+            log.debug("Published {} PvP attack summaries", summaries.size());
+        }
+    }
+
+    private void publish(List<GameEvent> summaries) {
+        List<CompletableFuture<PublishedGameEvent>> sends = eventProducer.sendGameEvents(summaries);
+        for (int i = 0; i < sends.size(); i++) {
+            GameEvent summary = summaries.get(i);
+            sends.get(i).whenComplete((published, ex) -> {
+                if (ex != null) {
+                    failedSummaries.increment();
+                    eventProducer.deadLetter(summary, ex);
+                }
+            });
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        long period = Math.max(1, windowNanos / 4);
+        sweeper = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("pvp-attack-coalescer").daemon().factory());
+        sweeper.scheduleAtFixedRate(() -> {
+            try {
+                sweep(System.nanoTime() - windowNanos);
+            } catch (RuntimeException e) {
+                log.error("Failed to publish PvP attack summaries", e);
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        sweeper.shutdown();
+        try {
+            sweeper.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sweeper = null;
+        // Publish the open windows rather than drop them
+        sweep(System.nanoTime());
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return sweeper != null;
+    }
+
+    private static long hash(long attackerId, long defenderId) {
+        long h = attackerId * 0x9E3779B97F4A7C15L + defenderId;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Linear-probing table of open windows; a slot is free when its hit count is zero.
+     */
+    private static final class Stripe {
+        final GameEventFactory eventFactory;
+        long[] attackers;
+        long[] defenders;
+        long[] totalDamage;
+        int[] hits;
+        long[] openedNanos;
+        long[] firstHitMillis;
+        long[] lastHitMillis;
+        int size;
+
+        Stripe(int capacity, GameEventFactory eventFactory) {
+            this.eventFactory = eventFactory;
+            allocate(capacity);
+        }
+
+        int findOrInsert(long attackerId, long defenderId, int hash, long nowNanos, long nowMillis) {
+            int mask = hits.length - 1;
+            int slot = hash & mask;
+            while (hits[slot] != 0) {
+                if (attackers[slot] == attackerId && defenders[slot] == defenderId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (2 * (size + 1) > hits.length) {
+                grow();
+                return findOrInsert(attackerId, defenderId, hash, nowNanos, nowMillis);
+            }
+            attackers[slot] = attackerId;
+            defenders[slot] = defenderId;
+            totalDamage[slot] = 0;
+            openedNanos[slot] = nowNanos;
+            firstHitMillis[slot] = nowMillis;
+            size++;
+            return slot;
+        }
+
+        GameEvent summarize(int slot) {
+            return eventFactory.pvpAttackSummary(defenders[slot], attackers[slot], totalDamage[slot], hits[slot],
+                Instant.ofEpochMilli(firstHitMillis[slot]), Instant.ofEpochMilli(lastHitMillis[slot]));
+        }
+
+        void drainOpenedBefore(long openedBeforeNanos, List<GameEvent> summaries) {
+            int slot = 0;
+            while (slot < hits.length && size > 0) {
+                // Removal shifts later entries back into this slot, so look at it again
+                if (hits[slot] != 0 && openedNanos[slot] - openedBeforeNanos <= 0) {
+                    summaries.add(summarize(slot));
+                    removeAt(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        /**
+         * Frees a slot, moving later entries of the same probe run back so lookups still find them.
+         */
+        void removeAt(int slot) {
+            int mask = hits.length - 1;
+            int hole = slot;
+            hits[hole] = 0;
+            size--;
+            for (int i = (hole + 1) & mask; hits[i] != 0; i = (i + 1) & mask) {
+                int home = (int) hash(attackers[i], defenders[i]) & mask;
+                boolean reachable = hole <= i ? home <= hole || home > i : home <= hole && home > i;
+                if (reachable) {
+                    move(i, hole);
+                    hole = i;
+                }
+            }
+        }
+
+        private void move(int from, int to) {
+            attackers[to] = attackers[from];
+            defenders[to] = defenders[from];
+            totalDamage[to] = totalDamage[from];
+            hits[to] = hits[from];
+            openedNanos[to] = openedNanos[from];
+            firstHitMillis[to] = firstHitMillis[from];
+            lastHitMillis[to] = lastHitMillis[from];
+            hits[from] = 0;
+        }
+
+        private void grow() {
+            long[] oldAttackers = attackers;
+            long[] oldDefenders = defenders;
+            long[] oldDamage = totalDamage;
+            int[] oldHits = hits;
+            long[] oldOpened = openedNanos;
+            long[] oldFirst = firstHitMillis;
+            long[] oldLast = lastHitMillis;
+            allocate(oldHits.length * 2);
+            int mask = hits.length - 1;
+            for (int i = 0; i < oldHits.length; i++) {
+                if (oldHits[i] == 0) {
+                    continue;
+                }
+                int slot = (int) hash(oldAttackers[i], oldDefenders[i]) & mask;
+                while (hits[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                attackers[slot] = oldAttackers[i];
+                defenders[slot] = oldDefenders[i];
+                totalDamage[slot] = oldDamage[i];
+                hits[slot] = oldHits[i];
+                openedNanos[slot] = oldOpened[i];
+                firstHitMillis[slot] = oldFirst[i];
+                lastHitMillis[slot] = oldLast[i];
+            }
+        }
+
+        private void allocate(int capacity) {
+            attackers = new long[capacity];
+            defenders = new long[capacity];
+            totalDamage = new long[capacity];
+            hits = new int[capacity];
+            openedNanos = new long[capacity];
+            firstHitMillis = new long[capacity];
+            lastHitMillis = new long[capacity];
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package io.gaming.platform.gameservice.anticheat;
+
+import io.gaming.platform.gameservice.config.AnomalyAction;
+import io.gaming.platform.gameservice.config.AntiCheatProperties;
+import io.gaming.platform.gameservice.model.ChallengeCompletedData;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.model.ItemAcquiredData;
+import io.gaming.platform.gameservice.model.LevelUpData;
+import io.gaming.platform.gameservice.model.PvpAttackData;
+import io.gaming.platform.gameservice.model.PvpAttackSummaryData;
+import io.gaming.platform.gameservice.model.PvpDefeatData;
+import io.gaming.platform.gameservice.producer.GameEventValidator;
+import io.gaming.platform.gameservice.producer.GameEventVerdict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Screens events against rolling statistics of the player acting in them, by the
+ * {@link AntiCheatProperties.Rule} of their event type: the level reached and the step from
+ * the last known level, damage per hit against an exponentially weighted moving average and
+ * variance of the attacker's earlier hits, and sustained event rates.
+ * <p>
+ * Statistics of an event that breaks a rule are left as they were, so flagged values do not
+ * shift what is considered normal. Rates are kept like those of
+ * {@link io.gaming.platform.gameservice.ratelimit.PlayerRateLimiter}, as one theoretical
+ * arrival time per player and event type.
+ * <p>
+ * Players are spread over segments, each a lock around an open-addressing table whose slots
+ * hold a player's statistics in parallel primitive arrays. Once a segment holds its share of
+ * {@code maxPlayers}, the player found first from the new player's slot is forgotten, so a
+ * check is O(1) expected and allocates nothing; verdicts are created up front.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.anti-cheat", name = "enabled", havingValue = "true")
+public final class AntiCheatStage implements GameEventValidator {
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    // Table slots with this key are free, so a player with this id is never screened
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final GameEventType[] EVENT_TYPES = GameEventType.values();
+    private static final Anomaly[] ANOMALIES = Anomaly.values();
+
+    /**
+     * Rule an event broke.
+     */
+    public enum Anomaly {
+        NONE(null),
+        RATE("event rate above the limit"),
+        VALUE("value above the maximum"),
+        STEP("level step above the maximum"),
+        DEVIATION("damage far outside the player's usual range");
+
+        private final String description;
+
+        Anomaly(String description) {
+            this.description = description;
+        }
+    }
+
+    private final Check[] checks;
+    private final GameEventVerdict[][] verdicts;
+    private final Counter[][] anomalies;
+    private final Segment[] segments;
+
+    public AntiCheatStage(AntiCheatProperties properties, MeterRegistry registry) {
+        checks = new Check[EVENT_TYPES.length];
+        verdicts = new GameEventVerdict[EVENT_TYPES.length][ANOMALIES.length];
+        anomalies = new Counter[EVENT_TYPES.length][ANOMALIES.length];
+        int rateChecks = 0;
+        for (GameEventType type : EVENT_TYPES) {
+            AntiCheatProperties.Rule rule = properties.ruleFor(type);
+            if (rule == null) {
+                continue;
+            }
+            int i = type.ordinal();
+            checks[i] = new Check(rule, rule.rate() > 0 ? rateChecks++ : -1);
+            GameEventVerdict.Action action = rule.action() == AnomalyAction.REJECT
+                ? GameEventVerdict.Action.REJECT
+                : GameEventVerdict.Action.QUARANTINE;
+            for (Anomaly anomaly : ANOMALIES) {
+                if (anomaly == Anomaly.NONE) {
+                    verdicts[i][anomaly.ordinal()] = GameEventVerdict.PASS;
+                    continue;
+                }
+                verdicts[i][anomaly.ordinal()] = new GameEventVerdict(action, type + " " + anomaly.description);
+                anomalies[i][anomaly.ordinal()] = Counter.builder("game.events.anomalies")
+                    .description("Events breaking an anti-cheat rule")
+                    .tag("type", type.name())
+                    .tag("anomaly", anomaly.name())
+                    .tag("action", rule.action().name())
+                    .register(registry);
+            }
+        }
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(Math.max(1, properties.maxPlayers() / SEGMENTS), rateChecks);
+        }
+        Gauge.builder("game.events.anticheat.players", this, AntiCheatStage::size)
+            .description("Players whose statistics are held for anti-cheat screening")
+            .register(registry);
+    }
+
+    @Override
+    public GameEventVerdict validate(GameEvent event) {
+        return validate(event, System.nanoTime());
+    }
+
+    GameEventVerdict validate(GameEvent event, long nowNanos) {
+        int type = event.eventType().ordinal();
+        Check check = checks[type];
+        if (check == null) {
+            return GameEventVerdict.PASS;
+        }
+        Anomaly anomaly = inspect(check, event, nowNanos);
+        if (anomaly != Anomaly.NONE) {
+            anomalies[type][anomaly.ordinal()].increment();
+        }
+        return verdicts[type][anomaly.ordinal()];
+    }
+
+    /**
+     * The first rule of {@code check} the event breaks, updating the statistics of its player if none.
+     */
+    Anomaly inspect(Check check, GameEvent event, long nowNanos) {
+        long playerId = event.playerId();
+        long level = NO_VALUE;
+        long damage = NO_VALUE;
+        switch (event.eventData()) {
+            case LevelUpData data -> level = data.newLevel();
+            case PvpAttackData data -> {
+                playerId = data.attackerId();
+                damage = data.damageDealt();
+            }
+            case PvpAttackSummaryData data -> {
+                playerId = data.attackerId();
+                damage = data.hitCount() > 0 ? data.totalDamage() / data.hitCount() : 0;
+            }
+            case PvpDefeatData data -> playerId = data.victorPlayerId();
+            case ItemAcquiredData data -> {
+            }
+            case ChallengeCompletedData data -> {
+            }
+        }
+        if (playerId == EMPTY) {
+            return Anomaly.NONE;
+        }
+        long hash = hash(playerId);
+        return segments[(int) (hash >>> 58)].inspect(check, playerId, (int) hash, level, damage, nowNanos);
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private static long hash(long playerId) {
+        long h = playerId * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * A rule in the units the checks work in.
+     */
+    static final class Check {
+        final long maxValue;
+        final long maxStep;
+        final double maxDeviations;
+        final double smoothing;
+        final int minSamples;
+        final int rateIndex;
+        final long intervalNanos;
+        final long burstNanos;
+
+        Check(AntiCheatProperties.Rule rule, int rateIndex) {
+            this.maxValue = rule.maxValue();
+            this.maxStep = rule.maxStep();
+            this.maxDeviations = rule.maxDeviations();
+            this.smoothing = rule.smoothing();
+            this.minSamples = rule.minSamples();
+            this.rateIndex = rateIndex;
+            this.intervalNanos = rateIndex >= 0 ? Math.max(1, (long) (1_000_000_000L / rule.rate())) : 0;
+            this.burstNanos = intervalNanos * rule.burst();
+        }
+    }
+
+    private static final class Segment {
+        final int maxPlayers;
+        final int rateChecks;
+        int size;
+
+        // Per table slot
+        long[] keys;
+        int[] levels;
+        int[] samples;
+        double[] means;
+        double[] variances;
+        // rateChecks theoretical arrival times per slot
+        long[] arrivals;
+
+        Segment(int maxPlayers, int rateChecks) {
+            this.maxPlayers = maxPlayers;
+            this.rateChecks = rateChecks;
+            allocate(INITIAL_CAPACITY * 2);
+        }
+
+        synchronized Anomaly inspect(Check check, long playerId, int hash, long level, long damage, long nowNanos) {
+            int slot = slotFor(playerId, hash);
+            long nextArrival = 0;
+            if (check.rateIndex >= 0) {
+                long arrival = arrivals[slot * rateChecks + check.rateIndex];
+                nextArrival = (arrival - nowNanos > 0 ? arrival : nowNanos) + check.intervalNanos;
+                if (nextArrival - nowNanos > check.burstNanos) {
+                    return Anomaly.RATE;
+                }
+            }
+            if (level != NO_VALUE) {
+                if (check.maxValue > 0 && level > check.maxValue) {
+                    return Anomaly.VALUE;
+                }
+                if (check.maxStep > 0 && levels[slot] > 0 && level - levels[slot] > check.maxStep) {
+                    return Anomaly.STEP;
+                }
+                levels[slot] = (int) level;
+            }
+            if (damage != NO_VALUE) {
+                if (check.maxValue > 0 && damage > check.maxValue) {
+                    return Anomaly.VALUE;
+                }
+                double deviation = damage - means[slot];
+                if (check.maxDeviations > 0 && samples[slot] >= check.minSamples
+                        && deviation * deviation > check.maxDeviations * check.maxDeviations * Math.max(variances[slot], 1)) {
+                    return Anomaly.DEVIATION;
+                }
+                if (samples[slot] == 0) {
+                    means[slot] = damage;
+                } else {
+                    double increment = check.smoothing * deviation;
+                    means[slot] += increment;
+                    variances[slot] = (1 - check.smoothing) * (variances[slot] + deviation * increment);
+                }
+                if (samples[slot] < Integer.MAX_VALUE) {
+                    samples[slot]++;
+                }
+            }
+            if (check.rateIndex >= 0) {
+                arrivals[slot * rateChecks + check.rateIndex] = nextArrival;
+            }
+            return Anomaly.NONE;
+        }
+
+        /**
+         * The slot of a player, added with empty statistics if absent.
+         */
+        private int slotFor(long playerId, int hash) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == playerId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size >= maxPlayers) {
+                int victim = hash & mask;
+                while (keys[victim] == EMPTY) {
+                    victim = (victim + 1) & mask;
+                }
+                remove(victim);
+                return slotFor(playerId, hash);
+            }
+            if (2 * (size + 1) > keys.length) {
+                allocate(keys.length * 2);
+                return slotFor(playerId, hash);
+            }
+            keys[slot] = playerId;
+            levels[slot] = 0;
+            samples[slot] = 0;
+            means[slot] = 0;
+            variances[slot] = 0;
+            Arrays.fill(arrivals, slot * rateChecks, (slot + 1) * rateChecks, 0);
+            size++;
+            return slot;
+        }
+
+        /**
+         * Frees a slot, moving later entries of its probe sequence back into the gap so that
+         * lookups need no tombstones.
+         */
+        private void remove(int gap) {
+            int mask = keys.length - 1;
+            keys[gap] = EMPTY;
+            size--;
+            for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = (int) hash(keys[i]) & mask;
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    move(i, gap);
+                    gap = i;
+                }
+            }
+        }
+
+        private void move(int from, int to) {
+            keys[to] = keys[from];
+            levels[to] = levels[from];
+            samples[to] = samples[from];
+            means[to] = means[from];
+            variances[to] = variances[from];
+            System.arraycopy(arrivals, from * rateChecks, arrivals, to * rateChecks, rateChecks);
+            keys[from] = EMPTY;
+        }
+
+        private void allocate(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldLevels = levels;
+            int[] oldSamples = samples;
+            double[] oldMeans = means;
+            double[] oldVariances = variances;
+            long[] oldArrivals = arrivals;
+            keys = new long[capacity];
+            levels = new int[capacity];
+            samples = new int[capacity];
+            means = new double[capacity];
+            variances = new double[capacity];
+            arrivals = new long[capacity * rateChecks];
+            Arrays.fill(keys, EMPTY);
+            if (oldKeys == null) {
+                return;
+            }
+            int mask = capacity - 1;
+            for (int from = 0; from < oldKeys.length; from++) {
+                if (oldKeys[from] == EMPTY) {
+                    continue;
+                }
+                int to = (int) hash(oldKeys[from]) & mask;
+                while (keys[to] != EMPTY) {
+                    to = (to + 1) & mask;
+                }
+                keys[to] = oldKeys[from];
+                levels[to] = oldLevels[from];
+                samples[to] = oldSamples[from];
+                means[to] = oldMeans[from];
+                variances[to] = oldVariances[from];
+                System.arraycopy(oldArrivals, from * rateChecks, arrivals, to * rateChecks, rateChecks);
+            }
+        }
+    }
+}
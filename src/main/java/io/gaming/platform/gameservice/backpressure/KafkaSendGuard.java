@@ -0,0 +1,281 @@
+package io.gaming.platform.gameservice.backpressure;
+
+import io.gaming.platform.gameservice.config.BackpressureProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for Kafka sends: an adaptive concurrency limit combined with a
+ * circuit breaker, so that a degraded broker makes the service shed load at once
+ * instead of piling requests up in the producer's buffer.
+ * <p>
+ * The limit follows the gradient of acknowledgement latency. A long-term average of the
+ * latency is compared with a short-term one; while recent sends are no slower than the
+ * long-term average times {@code rttTolerance} the limit grows by about its square root
+ * per sample, and as they slow down it shrinks in proportion, down to half per sample.
+ * Sends that failed shrink it by a tenth. Samples taken while less than half the limit
+ * is in use do not grow it, so an idle service keeps no inflated limit.
+ * <p>
+ * The circuit opens when the share of failed or slow sends among the last
+ * {@code windowSize} sends reaches the threshold. It then sheds every send for
+ * {@code openDuration}, lets {@code halfOpenCalls} probes through, and closes once all
+ * of them succeeded or opens again on the first failure. Probes hold {@link Decision#PROBE}
+ * permits: only their outcomes decide a half-open circuit, so sends admitted before it opened
+ * do not count as probes, and a probe cancelled before reaching the producer is given back.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.backpressure", name = "enabled", havingValue = "true")
+public final class KafkaSendGuard {
+    private static final Logger log = LoggerFactory.getLogger(KafkaSendGuard.class);
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double DROP_BACKOFF = 0.9;
+
+    public enum Decision {
+        /** The send may proceed and must be reported with {@link #release} or {@link #cancel}. */
+        ADMITTED,
+        /** The send may proceed as a probe of the half-open circuit; reported like {@link #ADMITTED}. */
+        PROBE,
+        /** The concurrency limit is reached. */
+        LIMITED,
+        /** The circuit is open. */
+        CIRCUIT_OPEN;
+
+        public boolean isAdmitted() {
+            return this == ADMITTED || this == PROBE;
+        }
+    }
+
+    public enum CircuitState {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private volatile CircuitState state = CircuitState.CLOSED;
+
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+    private long openedAtNanos;
+    private int probesLeft;
+    private int probeSuccesses;
+
+    private final Counter limitedSends;
+    private final Counter circuitOpenSends;
+
+    public KafkaSendGuard(BackpressureProperties properties, MeterRegistry registry) {
+        BackpressureProperties.Circuit circuit = properties.circuit();
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.limit = properties.initialLimit();
+        this.rttTolerance = properties.rttTolerance();
+        this.smoothing = properties.smoothing();
+        this.failureRateThreshold = circuit.failureRateThreshold();
+        this.slowCallNanos = circuit.slowCallThreshold().toNanos();
+        this.minimumCalls = circuit.minimumCalls();
+        this.openNanos = circuit.openDuration().toNanos();
+        this.halfOpenCalls = circuit.halfOpenCalls();
+        this.outcomes = new boolean[circuit.windowSize()];
+
+        Gauge.builder("game.events.send.limit", this, KafkaSendGuard::limit)
+            .description("Concurrent Kafka sends currently allowed by the adaptive limit")
+            .register(registry);
+        Gauge.builder("game.events.send.concurrency", inFlight, AtomicInteger::get)
+            .description("Kafka sends admitted and not yet acknowledged")
+            .register(registry);
+        Gauge.builder("game.events.send.circuit.state", this, guard -> guard.circuitState().ordinal())
+            .description("State of the Kafka send circuit breaker: 0 closed, 1 half open, 2 open")
+            .register(registry);
+        limitedSends = shedCounter(registry, Decision.LIMITED);
+        circuitOpenSends = shedCounter(registry, Decision.CIRCUIT_OPEN);
+    }
+
+    /**
+     * Decides whether a send may proceed. Every admitted send must be reported through
+     * {@link #release} with the returned permit once Kafka answered it or it failed.
+     */
+    public Decision tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    Decision tryAcquire(long nowNanos) {
+        if (state != CircuitState.CLOSED) {
+            Decision probe = tryProbe(nowNanos);
+            if (probe == Decision.CIRCUIT_OPEN) {
+                circuitOpenSends.increment();
+            }
+            if (probe != null) {
+                return probe;
+            }
+        }
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                limitedSends.increment();
+                return Decision.LIMITED;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * Reports the outcome of a send admitted with {@code permit} that took {@code rttNanos}
+     * to be answered.
+     */
+    public void release(Decision permit, long rttNanos, boolean acknowledged) {
+        release(permit, rttNanos, acknowledged, System.nanoTime());
+    }
+
+    synchronized void release(Decision permit, long rttNanos, boolean acknowledged, long nowNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        updateLimit(rttNanos, acknowledged, concurrency);
+        recordOutcome(permit, acknowledged && rttNanos <= slowCallNanos, nowNanos);
+    }
+
+    /**
+     * Returns the permit of an admitted send that never reached the producer, without
+     * counting it as an outcome; a probe permit goes back to the half-open circuit.
+     */
+    public synchronized void cancel(Decision permit) {
+        inFlight.decrementAndGet();
+        if (permit == Decision.PROBE && state == CircuitState.HALF_OPEN) {
+            probesLeft++;
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public CircuitState circuitState() {
+        return state;
+    }
+
+    private void updateLimit(long rttNanos, boolean acknowledged, int concurrency) {
+        double current = limit;
+        double next;
+        if (!acknowledged) {
+            next = current * DROP_BACKOFF;
+        } else {
+            if (longRtt == 0) {
+                shortRtt = rttNanos;
+                longRtt = rttNanos;
+            }
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+            // Let the long-term average catch up once latency has recovered from a prolonged slowdown
+            if (longRtt > 2 * shortRtt) {
+                longRtt *= 0.95;
+            }
+            if (concurrency < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+            next = current * (1 - smoothing) + (current * gradient + Math.sqrt(current)) * smoothing;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    private void recordOutcome(Decision permit, boolean success, long nowNanos) {
+        // Sends admitted in another state than the current one are not held against it
+        if ((permit == Decision.PROBE) != (state == CircuitState.HALF_OPEN)) {
+            return;
+        }
+        switch (state) {
+            case CLOSED -> {
+                if (outcomeCount == outcomes.length) {
+                    failureCount -= outcomes[outcomeIndex] ? 0 : 1;
+                } else {
+                    outcomeCount++;
+                }
+                outcomes[outcomeIndex] = success;
+                failureCount += success ? 0 : 1;
+                outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+                if (outcomeCount >= minimumCalls && 100 * failureCount >= failureRateThreshold * outcomeCount) {
+                    open(nowNanos);
+                }
+            }
+            case HALF_OPEN -> {
+                if (!success) {
+                    open(nowNanos);
+                } else if (++probeSuccesses == halfOpenCalls) {
+                    log.info("Kafka sends recovered, closing circuit");
+                    outcomeIndex = 0;
+                    outcomeCount = 0;
+                    failureCount = 0;
+                    state = CircuitState.CLOSED;
+                }
+            }
+            case OPEN -> { }
+        }
+    }
+
+    private void open(long nowNanos) {
+        if (state == CircuitState.CLOSED) {
+            log.warn("Opening Kafka send circuit, {} of the last {} sends failed or were slow", failureCount, outcomeCount);
+        } else {
+            log.warn("Kafka send probe failed, reopening circuit");
+        }
+        openedAtNanos = nowNanos;
+        state = CircuitState.OPEN;
+    }
+
+    /**
+     * Decides on a send while the circuit is not closed, or returns {@code null} if it closed
+     * meanwhile. Probes bypass the limit, which the failures may have shrunk below their number.
+     */
+    private synchronized Decision tryProbe(long nowNanos) {
+        if (state == CircuitState.OPEN) {
+            if (nowNanos - openedAtNanos < openNanos) {
+                return Decision.CIRCUIT_OPEN;
+            }
+            state = CircuitState.HALF_OPEN;
+            probesLeft = halfOpenCalls;
+            probeSuccesses = 0;
+        }
+        if (state == CircuitState.CLOSED) {
+            return null;
+        }
+        if (probesLeft == 0) {
+            return Decision.CIRCUIT_OPEN;
+        }
+        probesLeft--;
+        inFlight.incrementAndGet();
+        return Decision.PROBE;
+    }
+
+    private static Counter shedCounter(MeterRegistry registry, Decision reason) {
+        return Counter.builder("game.events.send.shed")
+            .description("Kafka sends turned away by the adaptive limit or the circuit breaker")
+            .tag("reason", reason.name())
+            .register(registry);
+    }
+}
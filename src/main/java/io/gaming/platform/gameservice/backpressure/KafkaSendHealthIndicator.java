@@ -0,0 +1,30 @@
+package io.gaming.platform.gameservice.backpressure;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the state of the {@link KafkaSendGuard} under {@code kafkaSend}. The service stays
+ * UP while the circuit is open: it still answers, shedding or spooling sends, and taking it
+ * out of rotation would only move its load onto the other instances facing the same broker.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.backpressure", name = "enabled", havingValue = "true")
+public class KafkaSendHealthIndicator implements HealthIndicator {
+    private final KafkaSendGuard guard;
+
+    public KafkaSendHealthIndicator(KafkaSendGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public Health health() {
+        return Health.up()
+            .withDetail("circuit", guard.circuitState())
+            .withDetail("limit", guard.limit())
+            .withDetail("inFlight", guard.inFlight())
+            .build();
+    }
+}
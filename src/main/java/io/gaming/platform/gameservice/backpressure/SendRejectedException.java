@@ -0,0 +1,25 @@
+package io.gaming.platform.gameservice.backpressure;
+
+import io.gaming.platform.gameservice.backpressure.KafkaSendGuard.Decision;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A send shed by the {@link KafkaSendGuard} without reaching Kafka.
+ */
+public class SendRejectedException extends RejectedExecutionException {
+    private static final long serialVersionUID = 1L;
+
+    private final Decision reason;
+
+    public SendRejectedException(Decision reason) {
+        super(reason == Decision.CIRCUIT_OPEN
+            ? "Kafka sends are failing, circuit is open"
+            : "Too many Kafka sends in flight");
+        this.reason = reason;
+    }
+
+    public Decision reason() {
+        return reason;
+    }
+}
@@ -0,0 +1,170 @@
+package io.gaming.platform.gameservice.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.gameservice.config.ClusterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Forwards requests of players another instance owns to that instance, over pooled
+ * keep-alive HTTP connections, and relays its answer. Forwarded requests carry
+ * {@link #FORWARDED_BY_HEADER} and are always handled where they arrive; the header is only
+ * honoured from peers' addresses presenting the cluster secret in {@link #SECRET_HEADER},
+ * see {@link PeerHeaderFilter}.
+ * <p>
+ * A forward that cannot connect fails with {@link RejectedExecutionException} and counts
+ * against the owner's membership, so clients retry while the ring moves its players to
+ * another instance; one that times out fails with {@link TimeoutException}, since the owner
+ * may have handled it. Neither is retried here, to not publish an event twice.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterForwarder {
+    private static final Logger log = LoggerFactory.getLogger(ClusterForwarder.class);
+
+    /** Header of forwarded requests naming the instance that forwarded them. */
+    public static final String FORWARDED_BY_HEADER = "X-Gp-Forwarded-By";
+    /** Header of requests between instances carrying {@code app.cluster.secret}. */
+    public static final String SECRET_HEADER = "X-Gp-Cluster-Secret";
+
+    private final ClusterMembership membership;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final String secret;
+    private final Timer relayed;
+    private final Timer unreachable;
+    private final Timer failed;
+
+    public ClusterForwarder(
+            ClusterMembership membership,
+            ObjectMapper objectMapper,
+            ClusterProperties properties,
+            MeterRegistry registry) {
+        this.membership = membership;
+        this.objectMapper = objectMapper;
+        this.timeout = properties.forwardTimeout();
+        this.secret = properties.secret();
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+        this.relayed = forwardTimer(registry, "relayed");
+        this.unreachable = forwardTimer(registry, "unreachable");
+        this.failed = forwardTimer(registry, "failed");
+    }
+
+    /**
+     * The instance owning a player, or {@code null} if it is this one.
+     */
+    public ClusterNode remoteOwnerOf(long playerId) {
+        return membership.remoteOwnerOf(playerId);
+    }
+
+    /**
+     * Posts {@code body} as JSON to {@code path} on the owner.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> post(
+            ClusterNode owner, String path, Object body, Class<T> responseType) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException(e));
+        }
+        return post(owner, path, MediaType.APPLICATION_JSON, json, responseType);
+    }
+
+    public <T> CompletableFuture<ResponseEntity<T>> post(
+            ClusterNode owner, String path, MediaType contentType, byte[] body, Class<T> responseType) {
+        return exchange(owner, request(owner, path)
+            .header(HttpHeaders.CONTENT_TYPE, contentType.toString())
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build(), responseType);
+    }
+
+    public <T> CompletableFuture<ResponseEntity<T>> get(ClusterNode owner, String path, Class<T> responseType) {
+        return exchange(owner, request(owner, path).GET().build(), responseType);
+    }
+
+    private HttpRequest.Builder request(ClusterNode owner, String path) {
+        return HttpRequest.newBuilder(owner.baseUri().resolve(path))
+            .timeout(timeout)
+            .header(FORWARDED_BY_HEADER, membership.nodeId())
+            .header(SECRET_HEADER, secret)
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> exchange(
+            ClusterNode owner, HttpRequest request, Class<T> responseType) {
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, ex) -> {
+                if (ex == null) {
+                    relayed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return relay(response, responseType);
+                }
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                    unreachable.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    membership.reportUnreachable(owner);
+                    throw new CompletionException(new RejectedExecutionException(
+                        "Instance " + owner.id() + " owning the player is unreachable"));
+                }
+                failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (cause instanceof HttpTimeoutException) {
+                    throw new CompletionException(new TimeoutException(
+                        "Instance " + owner.id() + " owning the player did not answer in time"));
+                }
+                log.warn("Failed to forward {} to {}: {}", request.uri().getPath(), owner.id(), cause.toString());
+                throw new CompletionException(cause);
+            });
+    }
+
+    private <T> ResponseEntity<T> relay(HttpResponse<byte[]> response, Class<T> responseType) {
+        ResponseEntity.BodyBuilder answer = ResponseEntity.status(HttpStatusCode.valueOf(response.statusCode()));
+        response.headers().firstValue(HttpHeaders.RETRY_AFTER)
+            .ifPresent(retryAfter -> answer.header(HttpHeaders.RETRY_AFTER, retryAfter));
+        boolean json = response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+            .map(type -> MediaType.parseMediaType(type).isCompatibleWith(MediaType.APPLICATION_JSON))
+            .orElse(false);
+        if (!json || response.body().length == 0) {
+            return answer.build();
+        }
+        try {
+            return answer.body(objectMapper.readValue(response.body(), responseType));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed answer of a forwarded request", e);
+        }
+    }
+
+    private static Timer forwardTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("game.cluster.forwards")
+            .description("Requests forwarded to the instance owning their player")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+}
@@ -0,0 +1,254 @@
+package io.gaming.platform.gameservice.cluster;
+
+import io.gaming.platform.gameservice.config.ClusterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The instances currently in the cluster and which of them owns each player.
+ * <p>
+ * Peers named by the {@link PeerDiscovery} are probed every {@code probeInterval} at
+ * {@link #PROBE_PATH}. A peer joins the {@link HashRing} once it answers a probe and leaves
+ * it after {@code failureThreshold} consecutive failed probes or forwards, or at once when it
+ * answers that it is leaving. Instances see membership changes at their next probe, so they
+ * agree again within a probe interval; meanwhile forwarded requests are handled by the
+ * instance they were forwarded to, never forwarded again.
+ * <p>
+ * On shutdown this instance answers probes as leaving and waits two probe intervals while
+ * still serving, so that peers route its players elsewhere before its server stops; alone on
+ * the ring it stops at once.
+ * <p>
+ * The addresses of the discovered peers are resolved at every probe round, so that requests
+ * claiming to come from a peer are only trusted from peers' addresses presenting the cluster
+ * secret, see {@link #isPeer}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public final class ClusterMembership implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    /** Prefix of the endpoints only peers may call. */
+    public static final String INTERNAL_PATH_PREFIX = "/internal/";
+    /** Path peers are probed at; answers 503 while the instance is leaving. */
+    public static final String PROBE_PATH = INTERNAL_PATH_PREFIX + "v1/cluster";
+
+    private final ClusterNode self;
+    private final PeerDiscovery discovery;
+    private final int virtualNodes;
+    private final int failureThreshold;
+    private final Duration probeInterval;
+    private final byte[] secret;
+    private final HttpClient client;
+
+    // Guarded by this
+    private final Map<String, ClusterNode> members = new HashMap<>();
+    private final Map<String, Integer> failures = new HashMap<>();
+
+    private volatile Routing routing;
+    private volatile Set<InetAddress> peerAddresses = Set.of();
+    private volatile boolean leaving;
+    private volatile Thread prober;
+
+    public ClusterMembership(ClusterProperties properties, PeerDiscovery discovery, MeterRegistry registry) {
+        this.self = new ClusterNode(properties.nodeId(), properties.peers().get(properties.nodeId()));
+        this.discovery = discovery;
+        this.virtualNodes = properties.virtualNodes();
+        this.failureThreshold = properties.failureThreshold();
+        this.probeInterval = properties.probeInterval();
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(probeInterval)
+            .build();
+        members.put(self.id(), self);
+        rebuild();
+        Gauge.builder("game.cluster.members", this, membership -> membership.members().size())
+            .description("Instances on the hash ring as seen by this instance")
+            .register(registry);
+    }
+
+    public String nodeId() {
+        return self.id();
+    }
+
+    /**
+     * The instance owning a player, or {@code null} if it is this one.
+     */
+    public ClusterNode remoteOwnerOf(long playerId) {
+        Routing current = routing;
+        String owner = current.ring().ownerOf(playerId);
+        return self.id().equals(owner) ? null : current.nodes().get(owner);
+    }
+
+    /**
+     * Node ids on the hash ring, this one included.
+     */
+    public List<String> members() {
+        return routing.ring().nodes();
+    }
+
+    public boolean isLeaving() {
+        return leaving;
+    }
+
+    /**
+     * Whether a request from the given IP address, presenting the given cluster secret, comes
+     * from one of the discovered peers.
+     */
+    public boolean isPeer(String address, String presentedSecret) {
+        // Compared in constant time, so the secret cannot be guessed byte by byte from timings
+        return presentedSecret != null
+            && MessageDigest.isEqual(secret, presentedSecret.getBytes(StandardCharsets.UTF_8))
+            && isPeerAddress(address);
+    }
+
+    private boolean isPeerAddress(String address) {
+        try {
+            // A literal address is parsed without a lookup
+            return peerAddresses.contains(InetAddress.getByName(address));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Counts a request that could not reach a peer like a failed probe.
+     */
+    public void reportUnreachable(ClusterNode peer) {
+        recordProbe(peer, Probe.FAILED);
+    }
+
+    void probeAll() {
+        Set<String> discovered = new HashSet<>();
+        Set<InetAddress> addresses = new HashSet<>();
+        List<CompletableFuture<Void>> probes = new ArrayList<>();
+        for (ClusterNode peer : discovery.peers()) {
+            discovered.add(peer.id());
+            if (peer.id().equals(self.id())) {
+                continue;
+            }
+            try {
+                addresses.addAll(List.of(InetAddress.getAllByName(peer.baseUri().getHost())));
+            } catch (UnknownHostException e) {
+                log.debug("Cannot resolve the address of peer {}: {}", peer.id(), e.toString());
+            }
+            HttpRequest request = HttpRequest.newBuilder(peer.baseUri().resolve(PROBE_PATH))
+                .timeout(probeInterval)
+                .header(ClusterForwarder.SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                .GET()
+                .build();
+            probes.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, ex) -> {
+                    recordProbe(peer, ex != null ? Probe.FAILED : switch (response.statusCode()) {
+                        case 200 -> Probe.UP;
+                        case 503 -> Probe.LEAVING;
+                        default -> Probe.FAILED;
+                    });
+                    return null;
+                }));
+        }
+        peerAddresses = Set.copyOf(addresses);
+        probes.forEach(CompletableFuture::join);
+        synchronized (this) {
+            if (members.keySet().removeIf(id -> !discovered.contains(id) && !id.equals(self.id()))) {
+                rebuild();
+            }
+        }
+    }
+
+    private synchronized void recordProbe(ClusterNode peer, Probe probe) {
+        boolean member = switch (probe) {
+            case UP -> {
+                failures.remove(peer.id());
+                yield true;
+            }
+            case LEAVING -> false;
+            case FAILED -> failures.merge(peer.id(), 1, Integer::sum) < failureThreshold && members.containsKey(peer.id());
+        };
+        boolean changed = member
+            ? !peer.equals(members.put(peer.id(), peer))
+            : members.remove(peer.id()) != null;
+        if (changed) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        HashRing ring = HashRing.of(members.keySet(), virtualNodes);
+        routing = new Routing(ring, Map.copyOf(members));
+        log.info("Cluster members of {} are now {}", self.id(), ring.nodes());
+    }
+
+    private void runProber() {
+        while (prober == Thread.currentThread()) {
+            try {
+                probeAll();
+                Thread.sleep(probeInterval);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to probe cluster peers", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        leaving = false;
+        prober = Thread.ofPlatform().name("cluster-prober").daemon().unstarted(this::runProber);
+        prober.start();
+    }
+
+    @Override
+    public void stop() {
+        leaving = true;
+        if (members().size() > 1) {
+            log.info("Leaving the cluster, waiting {} for peers to notice", probeInterval.multipliedBy(2));
+            try {
+                Thread.sleep(probeInterval.multipliedBy(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            Thread stopping = prober;
+            prober = null;
+            stopping.interrupt();
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return prober != null;
+    }
+
+    private enum Probe {
+        UP,
+        LEAVING,
+        FAILED
+    }
+
+    private record Routing(HashRing ring, Map<String, ClusterNode> nodes) {
+    }
+}
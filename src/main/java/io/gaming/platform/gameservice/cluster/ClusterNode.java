@@ -0,0 +1,12 @@
+package io.gaming.platform.gameservice.cluster;
+
+import java.net.URI;
+
+/**
+ * An instance of the service taking part in the cluster.
+ *
+ * @param id      node id, unique in the cluster
+ * @param baseUri URL its API is served at, e.g. {@code http://game-2:8081}
+ */
+public record ClusterNode(String id, URI baseUri) {
+}
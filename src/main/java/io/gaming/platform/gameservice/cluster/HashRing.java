@@ -0,0 +1,84 @@
+package io.gaming.platform.gameservice.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consistent hashing of player ids onto node ids. Each node has {@code virtualNodes} points
+ * on a ring of 64-bit hashes and owns the players hashing between the point before and each
+ * of its points, so when a node joins or leaves only the players of its slices change owner.
+ * Immutable; the same nodes give the same ring on every instance.
+ */
+public final class HashRing {
+    private final String[] nodes;
+    // Points in ascending order and the index in nodes of each point's owner
+    private final long[] points;
+    private final int[] owners;
+
+    private HashRing(String[] nodes, long[] points, int[] owners) {
+        this.nodes = nodes;
+        this.points = points;
+        this.owners = owners;
+    }
+
+    public static HashRing of(Collection<String> nodeIds, int virtualNodes) {
+        String[] nodes = nodeIds.stream().distinct().sorted().toArray(String[]::new);
+        int size = nodes.length * virtualNodes;
+        // (point, node index) pairs, sorted by point
+        long[][] entries = new long[size][];
+        for (int node = 0; node < nodes.length; node++) {
+            long seed = fnv1a(nodes[node]);
+            for (int i = 0; i < virtualNodes; i++) {
+                entries[node * virtualNodes + i] = new long[] {mix(seed + i * 0x9E3779B97F4A7C15L), node};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] points = new long[size];
+        int[] owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+        return new HashRing(nodes, points, owners);
+    }
+
+    /**
+     * The node owning a player, or {@code null} if the ring is empty.
+     */
+    public String ownerOf(long playerId) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, mix(playerId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return nodes[owners[index == points.length ? 0 : index]];
+    }
+
+    public List<String> nodes() {
+        return List.of(nodes);
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreading close inputs such as sequential player ids over the ring.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
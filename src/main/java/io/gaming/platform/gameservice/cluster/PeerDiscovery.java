@@ -0,0 +1,14 @@
+package io.gaming.platform.gameservice.cluster;
+
+import java.util.Collection;
+
+/**
+ * Source of the instances that may take part in the cluster, this one included. Which of
+ * them are members is decided by {@link ClusterMembership} probing them, so a discovery
+ * may list instances that are not running.
+ */
+@FunctionalInterface
+public interface PeerDiscovery {
+
+    Collection<ClusterNode> peers();
+}
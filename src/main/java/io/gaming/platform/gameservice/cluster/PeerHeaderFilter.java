@@ -0,0 +1,88 @@
+package io.gaming.platform.gameservice.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * Tells requests of peers from those of clients: a peer's request comes from a peer's address
+ * and presents the cluster secret in {@link ClusterForwarder#SECRET_HEADER}. The internal
+ * endpoints under {@link ClusterMembership#INTERNAL_PATH_PREFIX} answer anyone else with 403,
+ * as the address alone does not tell a peer from a client behind the same load balancer or
+ * NAT. {@link ClusterForwarder#FORWARDED_BY_HEADER} is dropped from other requests, so clients
+ * cannot pass a request off as forwarded to skip routing it to the player's owner, and with it
+ * the owner's rate limits and idempotency keys.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class PeerHeaderFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(PeerHeaderFilter.class);
+
+    private final ClusterMembership membership;
+
+    public PeerHeaderFilter(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean internal = request.getRequestURI()
+            .startsWith(request.getContextPath() + ClusterMembership.INTERNAL_PATH_PREFIX);
+        if (!internal && request.getHeader(ClusterForwarder.FORWARDED_BY_HEADER) == null
+                || membership.isPeer(request.getRemoteAddr(), request.getHeader(ClusterForwarder.SECRET_HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (internal) {
+            log.debug("Refusing {} from {}, not a peer", request.getRequestURI(), request.getRemoteAddr());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        log.debug("Ignoring {} of a request from {}, not a peer",
+            ClusterForwarder.FORWARDED_BY_HEADER, request.getRemoteAddr());
+        chain.doFilter(new UnforwardedRequest(request), response);
+    }
+
+    private static final class UnforwardedRequest extends HttpServletRequestWrapper {
+
+        UnforwardedRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isForwardedBy(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isForwardedBy(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                .filter(name -> !isForwardedBy(name))
+                .toList());
+        }
+
+        private static boolean isForwardedBy(String name) {
+            return ClusterForwarder.FORWARDED_BY_HEADER.equalsIgnoreCase(name);
+        }
+    }
+}
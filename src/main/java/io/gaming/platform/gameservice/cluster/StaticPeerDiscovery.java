@@ -0,0 +1,30 @@
+package io.gaming.platform.gameservice.cluster;
+
+import io.gaming.platform.gameservice.config.ClusterProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The fixed peer list of {@code app.cluster.peers}, for deployments with known instance
+ * addresses and for tests; another discovery takes over when declared as a {@code @Primary}
+ * {@link PeerDiscovery} bean.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class StaticPeerDiscovery implements PeerDiscovery {
+    private final List<ClusterNode> peers;
+
+    public StaticPeerDiscovery(ClusterProperties properties) {
+        this.peers = properties.peers().entrySet().stream()
+            .map(peer -> new ClusterNode(peer.getKey(), peer.getValue()))
+            .toList();
+    }
+
+    @Override
+    public Collection<ClusterNode> peers() {
+        return peers;
+    }
+}
@@ -0,0 +1,11 @@
+package io.gaming.platform.gameservice.config;
+
+/**
+ * What happens to an event breaking an anti-cheat rule.
+ */
+public enum AnomalyAction {
+    /** The event is published to the quarantine topic for review; its request is answered as accepted. */
+    FLAG,
+    /** The event is not published and its request is answered with 400. */
+    REJECT
+}
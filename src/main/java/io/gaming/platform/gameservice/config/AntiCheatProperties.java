@@ -0,0 +1,66 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Settings for screening events against per-player statistics before they are published.
+ *
+ * @param enabled    whether events are screened
+ * @param maxPlayers upper bound of players whose statistics are held; beyond it arbitrary players are forgotten
+ * @param rules      rules keyed by event type; event types without a rule are not screened
+ */
+@ConfigurationProperties(prefix = "app.anti-cheat")
+public record AntiCheatProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1000000") int maxPlayers,
+    Map<GameEventType, Rule> rules
+) {
+    public AntiCheatProperties {
+        rules = rules == null ? Map.of() : Map.copyOf(rules);
+        if (maxPlayers < 1) {
+            throw new IllegalArgumentException("app.anti-cheat.max-players must be positive, was " + maxPlayers);
+        }
+    }
+
+    /**
+     * Checks of one event type, each disabled while zero. Levels are those of
+     * {@code LEVEL_UP}; damage is per hit, of {@code PVP_ATTACK} and {@code PVP_ATTACK_SUMMARY},
+     * and is held against the attacker.
+     *
+     * @param action        what happens to events breaking the rule
+     * @param maxValue      highest level or damage accepted
+     * @param maxStep       most levels a player may gain in one event
+     * @param maxDeviations most standard deviations damage may lie from the player's moving average
+     * @param smoothing     weight of each new hit in the moving average and variance of damage
+     * @param minSamples    hits a player's damage is averaged over before deviations are checked
+     * @param rate          sustained events per second a player may submit
+     * @param burst         events a player may submit at once above the sustained rate
+     */
+    public record Rule(
+        @DefaultValue("FLAG") AnomalyAction action,
+        @DefaultValue("0") long maxValue,
+        @DefaultValue("0") int maxStep,
+        @DefaultValue("0") double maxDeviations,
+        @DefaultValue("0.05") double smoothing,
+        @DefaultValue("30") int minSamples,
+        @DefaultValue("0") double rate,
+        @DefaultValue("1") int burst
+    ) {
+        public Rule {
+            if (maxValue < 0 || maxStep < 0 || maxDeviations < 0 || minSamples < 0 || rate < 0 || burst < 1) {
+                throw new IllegalArgumentException("Anti-cheat limits must not be negative and burst must be positive");
+            }
+            if (!(smoothing > 0 && smoothing <= 1)) {
+                throw new IllegalArgumentException("Anti-cheat smoothing must lie in (0, 1], was " + smoothing);
+            }
+        }
+    }
+
+    public Rule ruleFor(GameEventType eventType) {
+        return rules.get(eventType);
+    }
+}
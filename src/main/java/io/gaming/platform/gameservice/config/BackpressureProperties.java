@@ -0,0 +1,71 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the adaptive concurrency limit and circuit breaker in front of Kafka sends.
+ *
+ * @param enabled      whether sends beyond the limit or through an open circuit are shed
+ * @param initialLimit concurrent sends allowed before any acknowledgement latency was observed
+ * @param minLimit     lowest the limit may shrink to
+ * @param maxLimit     highest the limit may grow to
+ * @param rttTolerance how far recent acknowledgement latency may exceed its long-term average before the limit shrinks
+ * @param smoothing    weight of each new limit estimate, between 0 and 1
+ * @param maxBlock     how long a send may wait for producer buffer space or metadata before it fails
+ *                     and counts against the circuit, instead of holding the request thread
+ * @param circuit      circuit breaker settings
+ */
+@ConfigurationProperties(prefix = "app.backpressure")
+public record BackpressureProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("200") int initialLimit,
+    @DefaultValue("20") int minLimit,
+    @DefaultValue("2000") int maxLimit,
+    @DefaultValue("1.5") double rttTolerance,
+    @DefaultValue("0.2") double smoothing,
+    @DefaultValue("500ms") Duration maxBlock,
+    @DefaultValue Circuit circuit
+) {
+    public BackpressureProperties {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("app.backpressure limits must satisfy 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (!(rttTolerance >= 1) || !(smoothing > 0 && smoothing <= 1)) {
+            throw new IllegalArgumentException("app.backpressure.rtt-tolerance must be at least 1 and smoothing in (0, 1]");
+        }
+    }
+
+    /**
+     * Circuit breaker over the outcomes of the most recent sends. A send counts as failed
+     * if Kafka did not acknowledge it or acknowledged it slower than {@code slowCallThreshold}.
+     *
+     * @param failureRateThreshold percentage of failed sends in the window that opens the circuit
+     * @param slowCallThreshold    acknowledgement latency above which a send counts as failed
+     * @param windowSize           number of most recent sends the failure rate is computed over
+     * @param minimumCalls         sends the window must hold before the circuit may open
+     * @param openDuration         how long an open circuit sheds all sends before letting probes through
+     * @param halfOpenCalls        probe sends that must all succeed to close the circuit again
+     */
+    public record Circuit(
+        @DefaultValue("50") int failureRateThreshold,
+        @DefaultValue("2s") Duration slowCallThreshold,
+        @DefaultValue("100") int windowSize,
+        @DefaultValue("20") int minimumCalls,
+        @DefaultValue("5s") Duration openDuration,
+        @DefaultValue("10") int halfOpenCalls
+    ) {
+        public Circuit {
+            if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+                throw new IllegalArgumentException(
+                    "app.backpressure.circuit.failure-rate-threshold must be between 1 and 100, was " + failureRateThreshold);
+            }
+            if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1) {
+                throw new IllegalArgumentException(
+                    "app.backpressure.circuit.window-size, minimum-calls and half-open-calls must be positive, minimum-calls at most window-size");
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for running several instances that each own a slice of the player id space.
+ *
+ * @param enabled          whether requests of players owned by another instance are forwarded to it
+ * @param nodeId           id of this instance; must be one of the peers
+ * @param peers            base URLs of all instances, this one included, keyed by node id
+ * @param secret           secret shared by all instances, sent with every request between them;
+ *                         internal endpoints and forwarded requests are only honoured with it
+ * @param virtualNodes     points each instance has on the hash ring; more spread players more evenly
+ * @param probeInterval    pause between health probes of the peers
+ * @param failureThreshold failed probes or forwards after which a peer leaves the ring until it answers again
+ * @param forwardTimeout   how long a forwarded request may take, including connecting
+ */
+@ConfigurationProperties(prefix = "app.cluster")
+public record ClusterProperties(
+    @DefaultValue("false") boolean enabled,
+    String nodeId,
+    Map<String, URI> peers,
+    String secret,
+    @DefaultValue("128") int virtualNodes,
+    @DefaultValue("1s") Duration probeInterval,
+    @DefaultValue("3") int failureThreshold,
+    @DefaultValue("5s") Duration forwardTimeout
+) {
+    public ClusterProperties {
+        peers = peers == null ? Map.of() : Map.copyOf(peers);
+        if (enabled && (nodeId == null || !peers.containsKey(nodeId))) {
+            throw new IllegalArgumentException(
+                "app.cluster.node-id must name one of app.cluster.peers, was " + nodeId + " of " + peers.keySet());
+        }
+        if (enabled && (secret == null || secret.isBlank())) {
+            throw new IllegalArgumentException("app.cluster.secret must be set, to the same value on every instance");
+        }
+        if (virtualNodes < 1 || failureThreshold < 1) {
+            throw new IllegalArgumentException("app.cluster.virtual-nodes and failure-threshold must be positive");
+        }
+    }
+}
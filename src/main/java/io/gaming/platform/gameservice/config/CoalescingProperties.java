@@ -0,0 +1,31 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for coalescing PvP attacks into {@code PVP_ATTACK_SUMMARY} events.
+ *
+ * @param enabled whether PvP attacks are coalesced instead of published one by one
+ * @param window  how long attacks of one attacker on one defender are collected, measured from the first hit
+ * @param maxHits number of hits after which a summary is published before its window closes
+ * @param stripes number of independently locked tables holding open windows; rounded up to a power of two
+ */
+@ConfigurationProperties(prefix = "app.pvp-coalescing")
+public record CoalescingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("100ms") Duration window,
+    @DefaultValue("1000") int maxHits,
+    @DefaultValue("64") int stripes
+) {
+    public CoalescingProperties {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("app.pvp-coalescing.window must be positive, was " + window);
+        }
+        if (maxHits < 1 || stripes < 1) {
+            throw new IllegalArgumentException("app.pvp-coalescing.max-hits and stripes must be positive");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.gaming.platform.gameservice.config;
+
+/**
+ * How long an ingest request waits before answering that its game event was taken.
+ */
+public enum DeliveryPolicy {
+    /** Answer once all in-sync replicas have acknowledged the record ({@code acks=all}). */
+    SYNC,
+    /**
+     * Answer once the record is in the producer buffer. Delivery still uses {@code acks=all};
+     * failures are counted and the event is written to the dead-letter topic.
+     */
+    ACCEPTED,
+    /**
+     * Answer once the record is in the buffer of a separate {@code acks=1} producer, trading
+     * durability on leader failover for cheaper, faster broker writes. Failures are handled
+     * like {@link #ACCEPTED}.
+     */
+    ACKS_1
+}
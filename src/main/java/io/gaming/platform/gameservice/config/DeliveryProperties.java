@@ -0,0 +1,36 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Delivery policies of game events, selectable per event type.
+ *
+ * @param defaultPolicy   policy of event types without an explicit entry
+ * @param policies        policy overrides keyed by event type
+ * @param deadLetterTopic topic receiving events whose delivery failed after the request was answered
+ * @param quarantineTopic topic receiving events a {@link io.gaming.platform.gameservice.producer.GameEventValidator}
+ *                        flagged for review instead of their own topic
+ */
+@ConfigurationProperties(prefix = "app.kafka.delivery")
+public record DeliveryProperties(
+    @DefaultValue("SYNC") DeliveryPolicy defaultPolicy,
+    Map<GameEventType, DeliveryPolicy> policies,
+    @DefaultValue("game-events-dlt") String deadLetterTopic,
+    @DefaultValue("game-events-quarantine") String quarantineTopic
+) {
+    public DeliveryProperties {
+        policies = policies == null ? Map.of() : Map.copyOf(policies);
+    }
+
+    public static DeliveryProperties of(DeliveryPolicy defaultPolicy) {
+        return new DeliveryProperties(defaultPolicy, Map.of(), "game-events-dlt", "game-events-quarantine");
+    }
+
+    public DeliveryPolicy policyFor(GameEventType eventType) {
+        return policies.getOrDefault(eventType, defaultPolicy);
+    }
+}
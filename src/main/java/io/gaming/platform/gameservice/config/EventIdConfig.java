@@ -0,0 +1,38 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.CoarseClock;
+import io.gaming.platform.gameservice.model.EventIdGenerator;
+import io.gaming.platform.gameservice.model.GameEventFactory;
+import io.gaming.platform.gameservice.model.UuidV7EventIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configures the {@link GameEventFactory} that stamps new events. An application may
+ * replace the UUIDv7 generator by declaring its own {@link EventIdGenerator} bean.
+ */
+@Configuration
+public class EventIdConfig {
+    private static final Logger log = LoggerFactory.getLogger(EventIdConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventIdGenerator eventIdGenerator(EventIdProperties properties) {
+        UuidV7EventIdGenerator generator = properties.nodeId() != null
+            ? new UuidV7EventIdGenerator(properties.nodeId())
+            : UuidV7EventIdGenerator.withRandomNodeId();
+        log.info("Generating UUIDv7 event ids with node id {}", generator.nodeId());
+        return generator;
+    }
+
+    @Bean
+    public GameEventFactory gameEventFactory(EventIdGenerator eventIdGenerator, EventIdProperties properties) {
+        Clock clock = properties.coarseClock() ? CoarseClock.UTC : Clock.systemUTC();
+        return new GameEventFactory(eventIdGenerator, clock);
+    }
+}
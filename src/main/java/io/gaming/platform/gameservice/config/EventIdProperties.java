@@ -0,0 +1,27 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.UuidV7EventIdGenerator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the ids and timestamps given to new game events.
+ *
+ * @param nodeId      id of this instance, embedded in every event id; distinct ids guarantee
+ *                    that instances never generate the same event id. Random when unset
+ * @param coarseClock whether events are stamped with millisecond resolution from a cached
+ *                    clock instead of the full-resolution system clock; off by default, as
+ *                    it truncates the published timestamps
+ */
+@ConfigurationProperties(prefix = "app.event-ids")
+public record EventIdProperties(
+    Integer nodeId,
+    @DefaultValue("false") boolean coarseClock
+) {
+    public EventIdProperties {
+        if (nodeId != null && (nodeId < 0 || nodeId > UuidV7EventIdGenerator.MAX_NODE_ID)) {
+            throw new IllegalArgumentException(
+                "app.event-ids.node-id must be between 0 and " + UuidV7EventIdGenerator.MAX_NODE_ID);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the live stream of published events to Server-Sent Events subscribers.
+ *
+ * @param enabled            whether the stream endpoint is served
+ * @param maxSubscribers     subscribers served at once; further ones are answered with 503
+ * @param queueCapacity      events held per subscriber while they are being written to it
+ * @param slowConsumerPolicy what happens to a subscriber whose queue is full
+ * @param dispatchCapacity   published events waiting to be fanned out; beyond it events are not streamed
+ * @param heartbeat          interval of comment lines sent to every subscriber, to keep idle
+ *                           connections open and notice closed ones
+ * @param timeout            how long a subscription lasts before the client has to reconnect
+ */
+@ConfigurationProperties(prefix = "app.event-stream")
+public record EventStreamProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("50000") int maxSubscribers,
+    @DefaultValue("256") int queueCapacity,
+    @DefaultValue("DROP_OLDEST") SlowConsumerPolicy slowConsumerPolicy,
+    @DefaultValue("10000") int dispatchCapacity,
+    @DefaultValue("15s") Duration heartbeat,
+    @DefaultValue("30m") Duration timeout
+) {
+    public EventStreamProperties {
+        if (maxSubscribers < 1 || queueCapacity < 1 || dispatchCapacity < 1) {
+            throw new IllegalArgumentException(
+                "app.event-stream.max-subscribers, queue-capacity and dispatch-capacity must be positive");
+        }
+        if (heartbeat.isNegative() || heartbeat.isZero() || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("app.event-stream.heartbeat and timeout must be positive");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.gaming.platform.gameservice.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@link Http2Properties} to the HTTP/2 protocol Spring Boot adds to the Tomcat
+ * connector when {@code server.http2.enabled} is set.
+ */
+@Configuration
+public class Http2Config {
+
+    @Bean
+    TomcatConnectorCustomizer http2ConnectorCustomizer(Http2Properties properties) {
+        return connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(properties.maxConcurrentStreams());
+                    http2.setMaxConcurrentStreamExecution(properties.maxConcurrentStreamExecution());
+                    http2.setKeepAliveTimeout(properties.keepAliveTimeout().toMillis());
+                    http2.setReadTimeout(properties.readTimeout().toMillis());
+                }
+            }
+        };
+    }
+}
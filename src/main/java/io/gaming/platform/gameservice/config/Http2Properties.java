@@ -0,0 +1,31 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of HTTP/2 connections, applied when {@code server.http2.enabled} is set. Without
+ * TLS, clients reach HTTP/2 over cleartext (h2c) by upgrading an HTTP/1.1 connection or with
+ * prior knowledge. Defaults are Tomcat's.
+ *
+ * @param maxConcurrentStreams         streams a client may keep open on one connection
+ * @param maxConcurrentStreamExecution streams of one connection processed at the same time
+ * @param keepAliveTimeout             how long an idle connection stays open
+ * @param readTimeout                  how long a partially received frame may take to arrive
+ */
+@ConfigurationProperties(prefix = "app.http2")
+public record Http2Properties(
+    @DefaultValue("100") int maxConcurrentStreams,
+    @DefaultValue("20") int maxConcurrentStreamExecution,
+    @DefaultValue("20s") Duration keepAliveTimeout,
+    @DefaultValue("5s") Duration readTimeout
+) {
+    public Http2Properties {
+        if (maxConcurrentStreams < 1 || maxConcurrentStreamExecution < 1) {
+            throw new IllegalArgumentException(
+                "app.http2.max-concurrent-streams and max-concurrent-stream-execution must be positive");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for deduplicating retried requests by their idempotency key.
+ *
+ * @param enabled    whether idempotency keys are honoured
+ * @param ttl        minimum time an answered key is remembered, unless evicted by {@code maxEntries}
+ * @param maxEntries upper bound of remembered keys; the oldest are evicted first
+ * @param segments   number of independently locked parts of the cache; rounded up to a power of two
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10m") Duration ttl,
+    @DefaultValue("1000000") int maxEntries,
+    @DefaultValue("64") int segments
+) {
+    public IdempotencyProperties {
+        // Each segment holds two generations of at least one entry, counted after rounding
+        if (segments < 1 || maxEntries < 2 * Integer.highestOneBit(segments * 2 - 1)) {
+            throw new IllegalArgumentException(
+                "app.idempotency.max-entries must be at least twice the number of segments rounded up to a power of two");
+        }
+    }
+}
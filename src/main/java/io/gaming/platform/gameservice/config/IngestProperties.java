@@ -0,0 +1,37 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings for the HTTP ingestion path in front of the Kafka producer.
+ *
+ * @param executionMode   how controller methods wait for the Kafka acknowledgement
+ * @param maxInFlight     maximum number of events awaiting acknowledgement before requests are rejected with 503
+ * @param requestTimeout  maximum time a request waits for the acknowledgement before answering 504
+ * @param batchChunkSize  number of batch items read from the body and handed to the producer at a time
+ * @param streamingDecode event types whose endpoint decodes and validates request bodies with a streaming parser
+ */
+@ConfigurationProperties(prefix = "app.ingest")
+public record IngestProperties(
+    @DefaultValue("ASYNC") ExecutionMode executionMode,
+    @DefaultValue("2000") int maxInFlight,
+    @DefaultValue("5s") Duration requestTimeout,
+    @DefaultValue("500") int batchChunkSize,
+    Set<GameEventType> streamingDecode
+) {
+    public IngestProperties {
+        streamingDecode = streamingDecode == null ? Set.of() : Set.copyOf(streamingDecode);
+    }
+
+    public enum ExecutionMode {
+        /** Release the servlet thread and complete the response when Kafka acknowledges the event. */
+        ASYNC,
+        /** Wait for the acknowledgement on the request thread; intended for use with virtual threads. */
+        BLOCKING
+    }
+}
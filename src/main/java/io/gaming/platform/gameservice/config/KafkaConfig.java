@@ -1,15 +1,39 @@
 package io.gaming.platform.gameservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.config.TopicRoutingProperties.Route;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.routing.EventPartitioner;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.routing.PartitionCountCache;
+import io.gaming.platform.gameservice.serialization.GameEventSerializer;
+import io.gaming.platform.gameservice.serialization.PlayerIdSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Configuration class for Kafka producer setup.
@@ -17,38 +41,188 @@ import java.util.Map;
  */
 @Configuration
 public class KafkaConfig {
+    private static final Logger log = LoggerFactory.getLogger(KafkaConfig.class);
 
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
-    
-    @Value("${spring.kafka.producer.key-serializer}")
-    private String keySerializer;
-    
-    @Value("${spring.kafka.producer.value-serializer}")
-    private String valueSerializer;
+    private static final int DEFAULT_RETRIES = 3;
+    // The producer's metadata.max.age.ms, left at its default
+    private static final Duration METADATA_MAX_AGE = Duration.ofMinutes(5);
 
-    @Value("${spring.kafka.producer.retries:3}")
-    private Integer retries;
+    private final KafkaProperties kafkaProperties;
+    private final ProducerTuningProperties tuningProperties;
+    private final SpoolProperties spoolProperties;
+    private final BackpressureProperties backpressureProperties;
 
     @Value("${app.kafka.topic}")
     private String topicName;
 
+    public KafkaConfig(
+            KafkaProperties kafkaProperties,
+            ProducerTuningProperties tuningProperties,
+            SpoolProperties spoolProperties,
+            BackpressureProperties backpressureProperties) {
+        this.kafkaProperties = kafkaProperties;
+        this.tuningProperties = tuningProperties;
+        this.spoolProperties = spoolProperties;
+        this.backpressureProperties = backpressureProperties;
+    }
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, keySerializer);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer);
-        configProps.put(ProducerConfig.RETRIES_CONFIG, retries);
+    @Primary
+    public ProducerFactory<Long, GameEvent> producerFactory(
+            ObjectMapper objectMapper,
+            WireFormatProperties wireFormatProperties,
+            GameEventMetrics metrics,
+            MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = producerConfig();
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        log.info("Configured game event producer with throughput profile {}", tuningProperties.profile());
+        return producerFactory(configProps, objectMapper, wireFormatProperties, metrics, meterRegistry);
     }
 
+    /**
+     * Producer for the {@link DeliveryPolicy#ACKS_1} tier. Idempotence requires {@code acks=all},
+     * so this producer does without it.
+     */
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        KafkaTemplate<String, String> template = new KafkaTemplate<>(producerFactory());
+    public ProducerFactory<Long, GameEvent> leaderAckProducerFactory(
+            ObjectMapper objectMapper,
+            WireFormatProperties wireFormatProperties,
+            GameEventMetrics metrics,
+            MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = producerConfig();
+        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+        configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "game-service-leader-ack");
+        return producerFactory(configProps, objectMapper, wireFormatProperties, metrics, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<Long, GameEvent> kafkaTemplate(ProducerFactory<Long, GameEvent> producerFactory) {
+        KafkaTemplate<Long, GameEvent> template = new KafkaTemplate<>(producerFactory);
         template.setDefaultTopic(topicName);
         return template;
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public KafkaTemplate<Long, GameEvent> leaderAckKafkaTemplate(
+            @Qualifier("leaderAckProducerFactory") ProducerFactory<Long, GameEvent> leaderAckProducerFactory) {
+        KafkaTemplate<Long, GameEvent> template = new KafkaTemplate<>(leaderAckProducerFactory);
+        template.setDefaultTopic(topicName);
+        return template;
+    }
+
+    /**
+     * Producers for {@link io.gaming.platform.gameservice.producer.TransactionalEventPublisher}.
+     * The factory caches a transactional producer per concurrent transaction, each with its
+     * own {@code transactional.id} made from the prefix.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.kafka.transactions", name = "enabled", havingValue = "true")
+    public ProducerFactory<Long, GameEvent> transactionalProducerFactory(
+            TransactionProperties transactionProperties,
+            ObjectMapper objectMapper,
+            WireFormatProperties wireFormatProperties,
+            GameEventMetrics metrics,
+            MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = producerConfig();
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG, (int) transactionProperties.timeout().toMillis());
+        DefaultKafkaProducerFactory<Long, GameEvent> factory =
+            producerFactory(configProps, objectMapper, wireFormatProperties, metrics, meterRegistry);
+        factory.setTransactionIdPrefix(transactionProperties.transactionIdPrefix());
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.kafka.transactions", name = "enabled", havingValue = "true")
+    public KafkaTemplate<Long, GameEvent> transactionalKafkaTemplate(
+            @Qualifier("transactionalProducerFactory") ProducerFactory<Long, GameEvent> transactionalProducerFactory) {
+        return new KafkaTemplate<>(transactionalProducerFactory);
+    }
+
+    /**
+     * Routes with their own partitioner read partition counts from a cache refreshed as often
+     * as the producer refreshes its metadata, rather than from the producer on every record.
+     */
+    @Bean
+    public GameEventRouter gameEventRouter(
+            TopicRoutingProperties routingProperties,
+            KafkaTemplate<Long, GameEvent> kafkaTemplate,
+            Map<String, EventPartitioner> partitioners) {
+        PartitionCountCache partitionCounts = new PartitionCountCache(
+            topic -> kafkaTemplate.partitionsFor(topic).size(), METADATA_MAX_AGE);
+        return new GameEventRouter(routingProperties, topicName, partitionCounts, partitioners);
+    }
+
+    /**
+     * Topics of every route, the dead-letter topic and the quarantine topic, created by
+     * {@link KafkaAdmin} at startup.
+     * A topic shared by several routes takes the settings of the first event type routed to it.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.kafka.routing", name = "provision-topics", havingValue = "true")
+    public KafkaAdmin.NewTopics gameEventTopics(
+            TopicRoutingProperties routingProperties, DeliveryProperties deliveryProperties) {
+        Collection<NewTopic> topics = provisionedTopics(routingProperties, deliveryProperties);
+        log.info("Provisioning game event topics {}", topics.stream().map(NewTopic::name).toList());
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    Collection<NewTopic> provisionedTopics(
+            TopicRoutingProperties routingProperties, DeliveryProperties deliveryProperties) {
+        Map<String, NewTopic> topics = new LinkedHashMap<>();
+        for (GameEventType type : GameEventType.values()) {
+            Route route = routingProperties.routeFor(type, topicName);
+            topics.putIfAbsent(route.topic(), newTopic(route.topic(), route));
+        }
+        topics.putIfAbsent(deliveryProperties.deadLetterTopic(),
+            newTopic(deliveryProperties.deadLetterTopic(), routingProperties.fallbackRoute(topicName)));
+        topics.putIfAbsent(deliveryProperties.quarantineTopic(),
+            newTopic(deliveryProperties.quarantineTopic(), routingProperties.fallbackRoute(topicName)));
+        return topics.values();
+    }
+
+    private static NewTopic newTopic(String name, Route route) {
+        return new NewTopic(name, Optional.ofNullable(route.partitions()), Optional.ofNullable(route.replicationFactor()));
+    }
+
+    private Map<String, Object> producerConfig() {
+        Integer retries = kafkaProperties.getProducer().getRetries();
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
+        configProps.put(ProducerConfig.RETRIES_CONFIG, retries != null ? retries : DEFAULT_RETRIES);
+        tuningProperties.applyTo(configProps);
+        // Fail fast on a full buffer or missing metadata, so that a request thread is not held
+        // for the producer's default minute: the send counts against the circuit, or is spooled
+        Duration maxBlock = null;
+        if (backpressureProperties.enabled()) {
+            maxBlock = backpressureProperties.maxBlock();
+        }
+        if (spoolProperties.enabled() && (maxBlock == null || spoolProperties.maxBlock().compareTo(maxBlock) < 0)) {
+            maxBlock = spoolProperties.maxBlock();
+        }
+        if (maxBlock != null) {
+            configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlock.toMillis());
+        }
+        return configProps;
+    }
+
+    private static DefaultKafkaProducerFactory<Long, GameEvent> producerFactory(
+            Map<String, Object> configProps,
+            ObjectMapper objectMapper,
+            WireFormatProperties wireFormatProperties,
+            GameEventMetrics metrics,
+            MeterRegistry meterRegistry) {
+        DefaultKafkaProducerFactory<Long, GameEvent> factory = new DefaultKafkaProducerFactory<>(
+            configProps,
+            new PlayerIdSerializer(),
+            new GameEventSerializer(
+                objectMapper, wireFormatProperties.defaultFormat(), wireFormatProperties.topics(), metrics));
+        // Bridges the producer client metrics (record-queue-time, batch-size-avg, request-latency, ...)
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+}
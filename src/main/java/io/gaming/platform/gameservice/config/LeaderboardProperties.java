@@ -0,0 +1,27 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the live leaderboards.
+ *
+ * @param enabled    whether leaderboards are kept and served
+ * @param maxPlayers upper bound of players ranked per leaderboard and window; the lowest ranked are dropped first
+ * @param maxTop     largest number of entries a single request may ask for
+ */
+@ConfigurationProperties(prefix = "app.leaderboards")
+public record LeaderboardProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1000000") int maxPlayers,
+    @DefaultValue("1000") int maxTop
+) {
+    public LeaderboardProperties {
+        if (maxPlayers < 1) {
+            throw new IllegalArgumentException("app.leaderboards.max-players must be positive");
+        }
+        if (maxTop < 1) {
+            throw new IllegalArgumentException("app.leaderboards.max-top must be positive");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.gaming.platform.gameservice.config;
+
+/**
+ * How records of an event type are spread over the partitions of their topic.
+ */
+public enum PartitionStrategy {
+    /** Keyed by player, so each player's events stay in order on one partition. */
+    PLAYER,
+    /**
+     * Without a key, filling one partition's batch at a time with the producer's built-in
+     * sticky partitioner; for order-insensitive events of players that would otherwise
+     * overload a single partition.
+     */
+    STICKY,
+    /** Keyed by player but assigned to partitions in turn, one record at a time. */
+    ROUND_ROBIN
+}
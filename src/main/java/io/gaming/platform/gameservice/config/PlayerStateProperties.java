@@ -0,0 +1,38 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory state of recently active players.
+ *
+ * @param enabled        whether player state is kept and served
+ * @param maxPlayers     upper bound of players held; the least recently updated or read are evicted first
+ * @param recentItems    number of most recently acquired items kept per player
+ * @param segments       number of independently locked parts of the store; rounded up to a power of two
+ * @param replay         whether the state is rebuilt from the event topics at startup
+ * @param replayLookback age of the oldest events replayed; older players are left to their next event
+ * @param replayTimeout  how long startup waits for the replay before giving up on it and starting empty
+ */
+@ConfigurationProperties(prefix = "app.player-state")
+public record PlayerStateProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1000000") int maxPlayers,
+    @DefaultValue("8") int recentItems,
+    @DefaultValue("64") int segments,
+    @DefaultValue("false") boolean replay,
+    @DefaultValue("1h") Duration replayLookback,
+    @DefaultValue("10s") Duration replayTimeout
+) {
+    public PlayerStateProperties {
+        if (segments < 1 || maxPlayers < segments) {
+            throw new IllegalArgumentException(
+                "app.player-state.max-players must be at least the number of segments");
+        }
+        if (recentItems < 1) {
+            throw new IllegalArgumentException("app.player-state.recent-items must be positive");
+        }
+    }
+}
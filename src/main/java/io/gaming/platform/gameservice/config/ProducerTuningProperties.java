@@ -0,0 +1,62 @@
+package io.gaming.platform.gameservice.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.record.CompressionType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Batching, compression and buffering of the game event producer. The settings of
+ * {@code profile} apply unless overridden individually.
+ *
+ * @param profile      preset providing the defaults; {@link ThroughputProfile#LOW_LATENCY}, the
+ *                     Kafka client's own defaults, unless chosen otherwise
+ * @param linger       time to wait for more records before sending a batch ({@code linger.ms})
+ * @param batchSize    upper bound of a per-partition batch ({@code batch.size})
+ * @param compression  batch compression codec ({@code compression.type})
+ * @param bufferMemory memory for records awaiting sending ({@code buffer.memory})
+ * @param maxInFlight  unacknowledged requests per connection; at most 5 with idempotence
+ */
+@ConfigurationProperties(prefix = "app.kafka.producer")
+public record ProducerTuningProperties(
+    @DefaultValue("LOW_LATENCY") ThroughputProfile profile,
+    Duration linger,
+    DataSize batchSize,
+    CompressionType compression,
+    DataSize bufferMemory,
+    Integer maxInFlight
+) {
+    private static final int MAX_IDEMPOTENT_IN_FLIGHT = 5;
+
+    public ProducerTuningProperties {
+        if (maxInFlight != null && (maxInFlight < 1 || maxInFlight > MAX_IDEMPOTENT_IN_FLIGHT)) {
+            throw new IllegalArgumentException(
+                "app.kafka.producer.max-in-flight must be between 1 and " + MAX_IDEMPOTENT_IN_FLIGHT
+                    + " for the idempotent producer, was " + maxInFlight);
+        }
+    }
+
+    public static ProducerTuningProperties of(ThroughputProfile profile) {
+        return new ProducerTuningProperties(profile, null, null, null, null, null);
+    }
+
+    /**
+     * Writes the effective settings into a Kafka producer configuration.
+     */
+    public void applyTo(Map<String, Object> producerConfig) {
+        producerConfig.put(ProducerConfig.LINGER_MS_CONFIG,
+            (int) (linger != null ? linger : profile.getLinger()).toMillis());
+        producerConfig.put(ProducerConfig.BATCH_SIZE_CONFIG,
+            (int) (batchSize != null ? batchSize : profile.getBatchSize()).toBytes());
+        producerConfig.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,
+            (compression != null ? compression : profile.getCompression()).name);
+        producerConfig.put(ProducerConfig.BUFFER_MEMORY_CONFIG,
+            (bufferMemory != null ? bufferMemory : profile.getBufferMemory()).toBytes());
+        producerConfig.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+            maxInFlight != null ? maxInFlight : profile.getMaxInFlight());
+    }
+}
@@ -0,0 +1,52 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for limiting how many events a single player may submit.
+ *
+ * @param enabled      whether requests beyond a player's limit are answered with 429
+ * @param defaultLimit limit of event types without an explicit entry
+ * @param limits       limit overrides keyed by event type
+ * @param idleTimeout  how long the state of a player with a full bucket is kept before it may be evicted
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue Limit defaultLimit,
+    Map<GameEventType, Limit> limits,
+    @DefaultValue("1m") Duration idleTimeout
+) {
+    public RateLimitProperties {
+        limits = limits == null ? Map.of() : Map.copyOf(limits);
+        if (idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("app.rate-limit.idle-timeout must not be negative, was " + idleTimeout);
+        }
+    }
+
+    /**
+     * Token bucket of one player and event type.
+     *
+     * @param rate  events per second the bucket refills with
+     * @param burst events a player with a full bucket may submit at once
+     */
+    public record Limit(
+        @DefaultValue("20") double rate,
+        @DefaultValue("40") int burst
+    ) {
+        public Limit {
+            if (!(rate > 0) || burst < 1) {
+                throw new IllegalArgumentException("Rate limit rate and burst must be positive, were " + rate + " and " + burst);
+            }
+        }
+    }
+
+    public Limit limitFor(GameEventType eventType) {
+        return limits.getOrDefault(eventType, defaultLimit);
+    }
+}
@@ -0,0 +1,24 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for decompressing request bodies sent with a {@code Content-Encoding}.
+ *
+ * @param enabled             whether {@code gzip} and {@code zstd} request bodies are accepted
+ * @param maxDecompressedSize largest body accepted after decompression, bounding what a small
+ *                            compressed body can expand to
+ */
+@ConfigurationProperties(prefix = "app.request-decompression")
+public record RequestDecompressionProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("16MB") DataSize maxDecompressedSize
+) {
+    public RequestDecompressionProperties {
+        if (maxDecompressedSize.toBytes() < 1) {
+            throw new IllegalArgumentException("app.request-decompression.max-decompressed-size must be positive");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.gaming.platform.gameservice.config;
+
+/**
+ * What happens to a live event stream subscriber whose queue of unsent events is full.
+ */
+public enum SlowConsumerPolicy {
+    /** Drop the oldest unsent event to make room; the subscriber sees a gap in event ids. */
+    DROP_OLDEST,
+    /** Close the stream; the subscriber reconnects and resumes with new events. */
+    DISCONNECT
+}
@@ -0,0 +1,46 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the local write-ahead spool that keeps game events Kafka could not take.
+ *
+ * @param enabled             whether failed sends are spooled instead of answered with an error
+ * @param directory           directory holding the spool segments and the drain checkpoint; should be
+ *                            absolute, so the spool does not depend on the working directory
+ * @param segmentSize         size of each memory-mapped segment file
+ * @param retention           maximum disk space of undrained segments; appends beyond it are rejected
+ * @param groupCommitInterval how long appends are collected before one fsync acknowledges all of them
+ * @param maxBlock            how long a send may wait for producer buffer space or metadata
+ *                            before the event is spooled instead ({@code max.block.ms})
+ * @param drainInterval       pause between attempts to replay the spool into Kafka
+ * @param drainBatchSize      number of spooled events sent to Kafka before the checkpoint advances
+ * @param drainTimeout        how long a drained batch may wait for Kafka acknowledgements before
+ *                            it is given up and retried in the next round
+ */
+@ConfigurationProperties(prefix = "app.spool")
+public record SpoolProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("/var/lib/game-service/spool") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("1GB") DataSize retention,
+    @DefaultValue("2ms") Duration groupCommitInterval,
+    @DefaultValue("500ms") Duration maxBlock,
+    @DefaultValue("1s") Duration drainInterval,
+    @DefaultValue("1000") int drainBatchSize,
+    @DefaultValue("30s") Duration drainTimeout
+) {
+    public SpoolProperties {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("app.spool.segment-size must be below 2GB, was " + segmentSize);
+        }
+        if (retention.compareTo(segmentSize) < 0) {
+            throw new IllegalArgumentException("app.spool.retention must hold at least one segment");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.gaming.platform.gameservice.config;
+
+import org.apache.kafka.common.record.CompressionType;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Named producer batching presets. Events are small JSON or compact documents, so
+ * batching and compression decide how many of them fit into one broker request.
+ */
+public enum ThroughputProfile {
+    /**
+     * Send every record immediately, trading request count for the lowest latency. These are the
+     * Kafka client's defaults, which the producer used before profiles were introduced.
+     */
+    LOW_LATENCY(Duration.ZERO, DataSize.ofKilobytes(16), CompressionType.NONE, DataSize.ofMegabytes(32), 5),
+    /** Wait a few milliseconds to fill batches and compress them cheaply. */
+    BALANCED(Duration.ofMillis(5), DataSize.ofKilobytes(64), CompressionType.LZ4, DataSize.ofMegabytes(64), 5),
+    /** Large, well-compressed batches for bulk ingestion where tens of milliseconds do not matter. */
+    MAX_THROUGHPUT(Duration.ofMillis(25), DataSize.ofKilobytes(256), CompressionType.ZSTD, DataSize.ofMegabytes(128), 5);
+
+    private final Duration linger;
+    private final DataSize batchSize;
+    private final CompressionType compression;
+    private final DataSize bufferMemory;
+    private final int maxInFlight;
+
+    ThroughputProfile(Duration linger, DataSize batchSize, CompressionType compression,
+                      DataSize bufferMemory, int maxInFlight) {
+        this.linger = linger;
+        this.batchSize = batchSize;
+        this.compression = compression;
+        this.bufferMemory = bufferMemory;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Duration getLinger() {
+        return linger;
+    }
+
+    public DataSize getBatchSize() {
+        return batchSize;
+    }
+
+    public CompressionType getCompression() {
+        return compression;
+    }
+
+    public DataSize getBufferMemory() {
+        return bufferMemory;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+}
@@ -0,0 +1,77 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Topics and partitioning of game events, selectable per event type.
+ *
+ * @param defaultRoute    route of event types without an explicit entry, and the source of
+ *                        every setting an explicit entry leaves out
+ * @param routes          route overrides keyed by event type
+ * @param provisionTopics whether the routed topics, the dead-letter topic and the quarantine topic
+ *                        are created at startup
+ */
+@ConfigurationProperties(prefix = "app.kafka.routing")
+public record TopicRoutingProperties(
+    @DefaultValue Route defaultRoute,
+    Map<GameEventType, Route> routes,
+    @DefaultValue("false") boolean provisionTopics
+) {
+    public TopicRoutingProperties {
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    /**
+     * Routing of one event type.
+     *
+     * @param topic             topic the events are written to; defaults to {@code app.kafka.topic}
+     * @param partitioning      partition strategy; defaults to {@link PartitionStrategy#PLAYER}
+     * @param partitioner       name of an {@code EventPartitioner} bean choosing the partition,
+     *                          used instead of {@code partitioning}
+     * @param partitions        partition count of a provisioned topic; defaults to the broker's
+     * @param replicationFactor replication factor of a provisioned topic; defaults to the broker's
+     */
+    public record Route(
+        String topic,
+        PartitionStrategy partitioning,
+        String partitioner,
+        Integer partitions,
+        Short replicationFactor
+    ) {
+        /**
+         * Fills the settings this route leaves out from {@code defaults}.
+         */
+        public Route orElse(Route defaults) {
+            return new Route(
+                topic != null ? topic : defaults.topic(),
+                partitioning != null ? partitioning : defaults.partitioning(),
+                partitioner != null || partitioning != null ? partitioner : defaults.partitioner(),
+                partitions != null ? partitions : defaults.partitions(),
+                replicationFactor != null ? replicationFactor : defaults.replicationFactor());
+        }
+    }
+
+    public static TopicRoutingProperties defaults() {
+        return new TopicRoutingProperties(new Route(null, null, null, null, null), Map.of(), false);
+    }
+
+    /**
+     * The complete route of an event type, writing to {@code defaultTopic} unless configured otherwise.
+     */
+    public Route routeFor(GameEventType eventType, String defaultTopic) {
+        Route fallback = fallbackRoute(defaultTopic);
+        Route route = routes.get(eventType);
+        return route != null ? route.orElse(fallback) : fallback;
+    }
+
+    /**
+     * The complete default route, writing to {@code defaultTopic} unless configured otherwise.
+     */
+    public Route fallbackRoute(String defaultTopic) {
+        return defaultRoute.orElse(new Route(defaultTopic, PartitionStrategy.PLAYER, null, null, null));
+    }
+}
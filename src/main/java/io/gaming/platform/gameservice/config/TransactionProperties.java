@@ -0,0 +1,33 @@
+package io.gaming.platform.gameservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for publishing groups of game events atomically in Kafka transactions.
+ *
+ * @param enabled             whether the transactional producers and the transaction endpoint are available
+ * @param transactionIdPrefix prefix of the producers' {@code transactional.id}s; must differ between instances
+ * @param producers           number of transactional producers, and so of transactions open at a time
+ * @param queueCapacity       groups waiting for a free producer before further groups are turned away
+ * @param maxEvents           largest number of events in one group
+ * @param timeout             time after which the broker aborts a transaction that was not committed
+ */
+@ConfigurationProperties(prefix = "app.kafka.transactions")
+public record TransactionProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("game-service-tx-") String transactionIdPrefix,
+    @DefaultValue("4") int producers,
+    @DefaultValue("1000") int queueCapacity,
+    @DefaultValue("100") int maxEvents,
+    @DefaultValue("10s") Duration timeout
+) {
+    public TransactionProperties {
+        if (producers < 1 || queueCapacity < 1 || maxEvents < 1) {
+            throw new IllegalArgumentException(
+                "app.kafka.transactions.producers, queue-capacity and max-events must be positive");
+        }
+    }
+}
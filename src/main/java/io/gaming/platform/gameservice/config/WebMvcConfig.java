@@ -0,0 +1,63 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.controller.StreamingRequestConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Puts the {@link StreamingRequestConverter} ahead of Jackson for the request bodies it decodes,
+ * and keeps {@code @Valid} from validating those bodies a second time.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final StreamingRequestConverter streamingRequestConverter;
+    private final jakarta.validation.Validator validator;
+
+    public WebMvcConfig(StreamingRequestConverter streamingRequestConverter, jakarta.validation.Validator validator) {
+        this.streamingRequestConverter = streamingRequestConverter;
+        this.validator = validator;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, streamingRequestConverter);
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new StreamingDecodeAwareValidator(new SpringValidatorAdapter(validator));
+    }
+
+    /**
+     * Bean Validation for request arguments, except for bodies the streaming converter already
+     * validated; bodies of the same records decoded by Jackson are still validated.
+     */
+    private record StreamingDecodeAwareValidator(SmartValidator delegate) implements SmartValidator {
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return delegate.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            if (!StreamingRequestConverter.validated(target)) {
+                delegate.validate(target, errors);
+            }
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            if (!StreamingRequestConverter.validated(target)) {
+                delegate.validate(target, errors, validationHints);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.gaming.platform.gameservice.config;
+
+import io.gaming.platform.gameservice.serialization.WireFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Encoding of game event record values, selectable per topic.
+ *
+ * @param defaultFormat format of topics without an explicit entry
+ * @param topics        format overrides keyed by topic name
+ */
+@ConfigurationProperties(prefix = "app.kafka.wire-format")
+public record WireFormatProperties(
+    @DefaultValue("JSON") WireFormat defaultFormat,
+    Map<String, WireFormat> topics
+) {
+    public WireFormatProperties {
+        topics = topics == null ? Map.of() : Map.copyOf(topics);
+    }
+}
@@ -0,0 +1,30 @@
+package io.gaming.platform.gameservice.controller;
+
+import io.gaming.platform.gameservice.cluster.ClusterMembership;
+import io.gaming.platform.gameservice.dto.ClusterViewResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterController {
+    private final ClusterMembership membership;
+
+    public ClusterController(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    /**
+     * Answers peers' probes with this instance's view of the cluster: 200 while it takes
+     * players, 503 once it is leaving.
+     */
+    @GetMapping(ClusterMembership.PROBE_PATH)
+    public ResponseEntity<ClusterViewResponse> view() {
+        ClusterViewResponse view = new ClusterViewResponse(
+            membership.nodeId(), membership.isLeaving(), membership.members());
+        return ResponseEntity.status(view.leaving() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).body(view);
+    }
+}
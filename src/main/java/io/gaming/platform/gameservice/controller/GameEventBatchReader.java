@@ -0,0 +1,67 @@
+package io.gaming.platform.gameservice.controller;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.gaming.platform.gameservice.dto.*;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads batch bodies item by item, so neither a JSON array nor a long-lived
+ * NDJSON stream is ever held in memory as a whole. Each item names its
+ * {@link io.gaming.platform.gameservice.model.GameEventType} in a {@code type} property.
+ * <p>
+ * The type property is only required here: the single-event endpoints keep
+ * binding the request records without it.
+ */
+@Component
+public class GameEventBatchReader {
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public GameEventBatchReader(ObjectMapper objectMapper) {
+        ObjectMapper typedMapper = objectMapper.copy()
+            .addMixIn(GameEventRequest.class, TypedGameEventRequest.class);
+        this.reader = typedMapper.readerFor(GameEventRequest.class);
+        this.writer = typedMapper.writerFor(GameEventRequest.class);
+    }
+
+    /**
+     * Opens an iterator over the items of a JSON array or of whitespace/newline
+     * separated JSON objects.
+     */
+    public MappingIterator<GameEventRequest> read(InputStream body) throws IOException {
+        return reader.readValues(body);
+    }
+
+    /**
+     * Encodes items as an NDJSON body {@link #read} reads back, e.g. to forward them to another instance.
+     */
+    public byte[] write(List<GameEventRequest> items) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(items.size() * 128);
+        for (GameEventRequest item : items) {
+            writer.writeValue(body, item);
+            body.write('\n');
+        }
+        return body.toByteArray();
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(value = LevelUpRequest.class, name = "LEVEL_UP"),
+        @JsonSubTypes.Type(value = ItemAcquiredRequest.class, name = "ITEM_ACQUIRED"),
+        @JsonSubTypes.Type(value = ChallengeCompletedRequest.class, name = "CHALLENGE_COMPLETED"),
+        @JsonSubTypes.Type(value = PvpAttackRequest.class, name = "PVP_ATTACK"),
+        @JsonSubTypes.Type(value = PvpDefeatRequest.class, name = "PVP_DEFEAT")
+    })
+    private interface TypedGameEventRequest {
+    }
+}
@@ -1,47 +1,140 @@
 package io.gaming.platform.gameservice.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.gaming.platform.gameservice.aggregation.PvpAttackCoalescer;
+import io.gaming.platform.gameservice.cluster.ClusterForwarder;
+import io.gaming.platform.gameservice.cluster.ClusterNode;
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.config.IngestProperties.ExecutionMode;
+import io.gaming.platform.gameservice.config.TransactionProperties;
 import io.gaming.platform.gameservice.dto.*;
+import io.gaming.platform.gameservice.idempotency.IdempotencyCache;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics.RequestOutcome;
+import io.gaming.platform.gameservice.model.EventCategory;
 import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventFactory;
 import io.gaming.platform.gameservice.model.GameEventType;
 import io.gaming.platform.gameservice.producer.GameEventProducer;
+import io.gaming.platform.gameservice.producer.GameEventRejectedException;
+import io.gaming.platform.gameservice.producer.PublishedGameEvent;
+import io.gaming.platform.gameservice.ratelimit.PlayerRateLimiter;
+import io.gaming.platform.gameservice.stream.EventStreamHub;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @RestController
-@RequestMapping("/api/v1/game-events")
+@RequestMapping(GameEventController.BASE_PATH)
 public class GameEventController {
     private static final Logger log = LoggerFactory.getLogger(GameEventController.class);
+
+    static final String BASE_PATH = "/api/v1/game-events";
     
     private final GameEventProducer eventProducer;
-    private final ObjectMapper objectMapper;
+    private final GameEventFactory eventFactory;
+    private final InFlightLimiter inFlightLimiter;
+    private final GameEventMetrics metrics;
+    private final GameEventBatchReader batchReader;
+    private final PvpAttackCoalescer attackCoalescer;
+    private final IdempotencyCache idempotencyCache;
+    private final PlayerRateLimiter rateLimiter;
+    private final EventStreamHub eventStreamHub;
+    private final ClusterForwarder cluster;
+    private final Validator validator;
+    private final ExecutionMode executionMode;
+    private final long requestTimeoutMillis;
+    private final int batchChunkSize;
+    private final int maxTransactionEvents;
 
-    public GameEventController(GameEventProducer eventProducer, ObjectMapper objectMapper) {
+    public GameEventController(
+            GameEventProducer eventProducer,
+            GameEventFactory eventFactory,
+            InFlightLimiter inFlightLimiter,
+            GameEventMetrics metrics,
+            GameEventBatchReader batchReader,
+            Optional<PvpAttackCoalescer> attackCoalescer,
+            Optional<IdempotencyCache> idempotencyCache,
+            Optional<PlayerRateLimiter> rateLimiter,
+            Optional<EventStreamHub> eventStreamHub,
+            Optional<ClusterForwarder> cluster,
+            Validator validator,
+            IngestProperties ingestProperties,
+            TransactionProperties transactionProperties) {
         this.eventProducer = eventProducer;
-        this.objectMapper = objectMapper;
+        this.eventFactory = eventFactory;
+        this.inFlightLimiter = inFlightLimiter;
+        this.metrics = metrics;
+        this.batchReader = batchReader;
+        this.attackCoalescer = attackCoalescer.orElse(null);
+        this.idempotencyCache = idempotencyCache.orElse(null);
+        this.rateLimiter = rateLimiter.orElse(null);
+        this.eventStreamHub = eventStreamHub.orElse(null);
+        this.cluster = cluster.orElse(null);
+        this.validator = validator;
+        this.executionMode = ingestProperties.executionMode();
+        this.requestTimeoutMillis = ingestProperties.requestTimeout().toMillis();
+        this.batchChunkSize = ingestProperties.batchChunkSize();
+        this.maxTransactionEvents = transactionProperties.maxEvents();
     }
 
     @PostMapping("/level-up")
-    public ResponseEntity<GameEventResponse> levelUp(@Valid @RequestBody LevelUpRequest request) {
+    public CompletableFuture<ResponseEntity<GameEventResponse>> levelUp(
+            @Valid @RequestBody LevelUpRequest request,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        CompletableFuture<ResponseEntity<GameEventResponse>> forwarded = forwardToOwner("/level-up", request, forwardedBy);
+        if (forwarded != null) {
+            return forwarded;
+        }
         log.debug("Processing level-up event for player: {}", request.playerId());
         return handleGameEvent(
             () -> eventProducer.sendLevelUpEvent(
             		request.playerId(),
             		request.newLevel()),
             GameEventType.LEVEL_UP,
-            request.playerId()
+            request.playerId(),
+            request.idempotencyKey()
         );
     }
 
     @PostMapping("/items/acquired")
-    public ResponseEntity<GameEventResponse> acquireItem(@Valid @RequestBody ItemAcquiredRequest request) {
+    public CompletableFuture<ResponseEntity<GameEventResponse>> acquireItem(
+            @Valid @RequestBody ItemAcquiredRequest request,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        CompletableFuture<ResponseEntity<GameEventResponse>> forwarded = forwardToOwner("/items/acquired", request, forwardedBy);
+        if (forwarded != null) {
+            return forwarded;
+        }
         log.debug("Processing item acquisition event for player: {}", request.playerId());
         return handleGameEvent(
             () -> eventProducer.sendItemAcquiredEvent(
@@ -49,38 +142,69 @@ public class GameEventController {
                 request.itemName(),
                 request.rarity()),
             GameEventType.ITEM_ACQUIRED,
-            request.playerId()
+            request.playerId(),
+            request.idempotencyKey()
         );
     }
 
     @PostMapping("/challenges/completed")
-    public ResponseEntity<GameEventResponse> completeChallenge(@Valid @RequestBody ChallengeCompletedRequest request) {
+    public CompletableFuture<ResponseEntity<GameEventResponse>> completeChallenge(
+            @Valid @RequestBody ChallengeCompletedRequest request,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        CompletableFuture<ResponseEntity<GameEventResponse>> forwarded = forwardToOwner("/challenges/completed", request, forwardedBy);
+        if (forwarded != null) {
+            return forwarded;
+        }
         log.debug("Processing challenge completion event for player: {}", request.playerId());
         return handleGameEvent(
             () -> eventProducer.sendChallengeCompletedEvent(
                 request.playerId(),
                 request.challengeName()),
             GameEventType.CHALLENGE_COMPLETED,
-            request.playerId()
+            request.playerId(),
+            request.idempotencyKey()
         );
     }
 
     @PostMapping("/pvp/attack")
-    public ResponseEntity<GameEventResponse> pvpAttack(@Valid @RequestBody PvpAttackRequest request) {
+    public CompletableFuture<ResponseEntity<GameEventResponse>> pvpAttack(
+            @Valid @RequestBody PvpAttackRequest request,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        CompletableFuture<ResponseEntity<GameEventResponse>> forwarded = forwardToOwner("/pvp/attack", request, forwardedBy);
+        if (forwarded != null) {
+            return forwarded;
+        }
         log.debug("Processing PvP attack event from player: {} to player: {}", 
             request.attackerId(), request.defenderId());
+        if (attackCoalescer != null) {
+            // Claimed like any other event, so a retried attack is not added to its summary again
+            return handleRequest(outcome -> {
+                long startNanos = System.nanoTime();
+                GameEventResponse response = coalesceAttack(request);
+                metrics.recordRequest(GameEventType.PVP_ATTACK, RequestOutcome.ACCEPTED, System.nanoTime() - startNanos);
+                outcome.complete(response);
+                return CompletableFuture.completedFuture(ResponseEntity.accepted().body(response));
+            }, GameEventType.PVP_ATTACK, request.attackerId(), request.idempotencyKey());
+        }
         return handleGameEvent(
             () -> eventProducer.sendPvpAttackEvent(
         		request.defenderId(),
                 request.attackerId(),
                 request.damageDealt()),
             GameEventType.PVP_ATTACK,
-            request.attackerId()
+            request.attackerId(),
+            request.idempotencyKey()
         );
     }
 
     @PostMapping("/pvp/defeat")
-    public ResponseEntity<GameEventResponse> pvpDefeat(@Valid @RequestBody PvpDefeatRequest request) {
+    public CompletableFuture<ResponseEntity<GameEventResponse>> pvpDefeat(
+            @Valid @RequestBody PvpDefeatRequest request,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        CompletableFuture<ResponseEntity<GameEventResponse>> forwarded = forwardToOwner("/pvp/defeat", request, forwardedBy);
+        if (forwarded != null) {
+            return forwarded;
+        }
         log.debug("Processing PvP defeat event for player: {} defeated by: {}", 
             request.defeatedPlayerId(), request.victorPlayerId());
         return handleGameEvent(
@@ -89,45 +213,693 @@ public class GameEventController {
                 request.victorPlayerId(),
                 request.battleLocation()),
             GameEventType.PVP_DEFEAT,
-            request.defeatedPlayerId()
+            request.defeatedPlayerId(),
+            request.idempotencyKey()
         );
     }
 
-    private ResponseEntity<GameEventResponse> handleGameEvent(
-            Supplier<CompletableFuture<SendResult<String, String>>> eventSupplier,
+    /**
+     * Streams published game events as Server-Sent Events, optionally only those of the given
+     * {@code types} or concerning the given {@code playerIds}. Answers 404 when the event
+     * stream is disabled and 503 when it already has its maximum of subscribers.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> stream(
+            @RequestParam(required = false) Set<GameEventType> types,
+            @RequestParam(required = false) Set<Long> playerIds) {
+        if (eventStreamHub == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseBodyEmitter emitter = eventStreamHub.subscribe(
+            types != null ? types : Set.of(), playerIds != null ? playerIds : Set.of());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .cacheControl(CacheControl.noCache())
+            .body(emitter);
+    }
+
+    /**
+     * Accepts a JSON array or an NDJSON stream of typed game events. Items are read
+     * and sent in chunks while the body is still arriving; each item is validated
+     * and acknowledged on its own, so one bad item does not fail the others.
+     * In a cluster, the items of each chunk owned by another instance are forwarded to it
+     * as one batch. Answers 202 when every item was accepted, 207 otherwise and 400 for a
+     * body without any item.
+     */
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<GameEventBatchResponse>> batch(
+            InputStream body,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        boolean route = cluster != null && forwardedBy == null;
+        List<CompletableFuture<GameEventResponse>> results = new ArrayList<>();
+        List<CompletableFuture<GameEventResponse>> previousChunk = List.of();
+        List<GameEventRequest> chunk = new ArrayList<>(batchChunkSize);
+
+        try (MappingIterator<GameEventRequest> items = batchReader.read(body)) {
+            while (items.hasNextValue()) {
+                try {
+                    chunk.add(items.nextValue());
+                } catch (DatabindException ex) {
+                    // Flush what was read so results stay in submission order
+                    previousChunk = awaitAndDispatch(chunk, previousChunk, results, route);
+                    results.add(CompletableFuture.completedFuture(
+                        GameEventResponse.error(null, null, ex.getOriginalMessage())));
+                    continue;
+                }
+                if (chunk.size() == batchChunkSize) {
+                    previousChunk = awaitAndDispatch(chunk, previousChunk, results, route);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Stopped reading malformed batch body after {} items: {}",
+                results.size() + chunk.size(), ex.getMessage());
+            awaitAndDispatch(chunk, previousChunk, results, route);
+            results.add(CompletableFuture.completedFuture(
+                GameEventResponse.error(null, null, "Malformed batch body: " + ex.getMessage())));
+            return completeBatch(results);
+        }
+        awaitAndDispatch(chunk, previousChunk, results, route);
+        if (results.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(GameEventBatchResponse.of(
+                List.of(GameEventResponse.error(null, null, "A batch holds at least one event, got 0")))));
+        }
+        log.debug("Read batch of {} game events", results.size());
+        return completeBatch(results);
+    }
+
+    /**
+     * Publishes a JSON array of typed game events atomically in one Kafka transaction, for
+     * outcomes that produce several events at once such as a PvP defeat. The events are
+     * published together or not at all: answers 202 once the transaction committed, 400 or
+     * 429 without publishing anything if any item is invalid or rate limited, 503 if every
+     * transactional producer is busy and 501 if transactions are disabled. Attacks are not
+     * coalesced and idempotency keys are not honoured inside a transaction. Transactions are
+     * neither shed by backpressure nor counted against {@code app.ingest.max-in-flight}; the
+     * transactional producers and their queue bound them instead.
+     * <p>
+     * A body of more than {@code app.kafka.transactions.max-events} items is answered with 400
+     * as soon as the first item beyond the limit is seen, before any item is validated or
+     * rate limited. The rate limit tokens of a transaction that fails are given back.
+     */
+    @PostMapping(path = "/transaction", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<GameEventBatchResponse>> transaction(InputStream body) {
+        long startNanos = System.nanoTime();
+        List<GameEventRequest> requests = new ArrayList<>();
+        try (MappingIterator<GameEventRequest> items = batchReader.read(body)) {
+            while (items.hasNextValue()) {
+                if (requests.size() == maxTransactionEvents) {
+                    return transactionSizeRejected("more than " + maxTransactionEvents);
+                }
+                requests.add(items.nextValue());
+            }
+        } catch (IOException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(GameEventBatchResponse.of(
+                List.of(GameEventResponse.error(null, null, "Malformed transaction body: " + ex.getMessage())))));
+        }
+        if (requests.isEmpty()) {
+            return transactionSizeRejected("0");
+        }
+
+        List<GameEventResponse> rejections = new ArrayList<>(requests.size());
+        boolean invalid = false;
+        for (GameEventRequest request : requests) {
+            String violations = validate(request);
+            invalid |= violations != null;
+            rejections.add(GameEventResponse.error(request.eventType(), playerIdOf(request),
+                violations != null ? violations : "Not published, another event of the transaction was rejected"));
+        }
+        if (invalid) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.badRequest().body(GameEventBatchResponse.of(rejections)));
+        }
+        long retryAfterNanos = 0;
+        List<GameEventRequest> admitted = new ArrayList<>(requests.size());
+        for (int i = 0; rateLimiter != null && i < requests.size(); i++) {
+            GameEventRequest request = requests.get(i);
+            long itemRetryAfterNanos = rateLimiter.tryAcquire(request.eventType(), playerIdOf(request));
+            if (itemRetryAfterNanos > 0) {
+                retryAfterNanos = Math.max(retryAfterNanos, itemRetryAfterNanos);
+                rejections.set(i, GameEventResponse.error(request.eventType(), playerIdOf(request),
+                    rateLimitMessage(retryAfterSeconds(itemRetryAfterNanos))));
+            } else {
+                admitted.add(request);
+            }
+        }
+        if (retryAfterNanos > 0) {
+            // Nothing is published, so the tokens of the admitted items are given back for the retry
+            for (GameEventRequest request : admitted) {
+                rateLimiter.refund(request.eventType(), playerIdOf(request));
+            }
+            for (GameEventRequest request : requests) {
+                metrics.recordRequest(request.eventType(), RequestOutcome.RATE_LIMITED, System.nanoTime() - startNanos);
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(retryAfterNanos)))
+                .body(GameEventBatchResponse.of(rejections)));
+        }
+
+        List<GameEvent> events = requests.stream().map(this::toGameEvent).toList();
+        CompletableFuture<List<PublishedGameEvent>> transaction = eventProducer.sendGameEventsAtomically(events);
+        if (rateLimiter != null) {
+            // Tracks the transaction itself rather than the response, as a transaction still
+            // committing when the request times out publishes its events after all
+            transaction.whenComplete((committed, ex) -> {
+                if (ex != null) {
+                    for (GameEventRequest request : requests) {
+                        rateLimiter.refund(request.eventType(), playerIdOf(request));
+                    }
+                }
+            });
+        }
+        CompletableFuture<ResponseEntity<GameEventBatchResponse>> response = transaction
+            .thenApply(published -> ResponseEntity.accepted().body(GameEventBatchResponse.of(
+                published.stream().map(result -> buildSuccessResponse(result).getBody()).toList())))
+            .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+            .exceptionally(ex -> handleTransactionFailure(ex, events));
+        response.whenComplete((entity, ex) -> {
+            RequestOutcome outcome = outcomeOf(entity);
+            for (GameEvent event : events) {
+                metrics.recordRequest(event.eventType(), outcome, System.nanoTime() - startNanos);
+            }
+        });
+
+        if (executionMode == ExecutionMode.BLOCKING) {
+            return CompletableFuture.completedFuture(response.join());
+        }
+        return response;
+    }
+
+    private CompletableFuture<ResponseEntity<GameEventBatchResponse>> transactionSizeRejected(String size) {
+        return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(GameEventBatchResponse.of(
+            List.of(GameEventResponse.error(null, null,
+                "A transaction holds between 1 and " + maxTransactionEvents + " events, got " + size)))));
+    }
+
+    private ResponseEntity<GameEventBatchResponse> handleTransactionFailure(Throwable ex, List<GameEvent> events) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        HttpStatus status;
+        String message;
+        if (cause instanceof TimeoutException) {
+            log.warn("Timed out after {} ms waiting for transaction of {} events", requestTimeoutMillis, events.size());
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            message = "Timed out waiting for the transaction to commit";
+        } else if (cause instanceof RejectedExecutionException) {
+            log.warn("Rejecting transaction of {} events: {}", events.size(), cause.getMessage());
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = "Too many transactions in flight, retry later";
+        } else if (cause instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+            message = cause.getMessage();
+        } else if (cause instanceof IllegalStateException) {
+            status = HttpStatus.NOT_IMPLEMENTED;
+            message = cause.getMessage();
+        } else {
+            log.error("Transaction of {} events aborted", events.size(), cause);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            message = "Transaction aborted: " + cause.getMessage();
+        }
+        List<GameEventResponse> results = events.stream()
+            .map(event -> GameEventResponse.error(event.eventType(), event.playerId(), message))
+            .toList();
+        return ResponseEntity.status(status).body(GameEventBatchResponse.of(results));
+    }
+
+    private CompletableFuture<ResponseEntity<GameEventResponse>> handleGameEvent(
+            Supplier<CompletableFuture<PublishedGameEvent>> eventSupplier,
+            GameEventType eventType,
+            Long playerId,
+            String idempotencyKey) {
+        return handleRequest(outcome -> publish(eventSupplier, eventType, playerId, outcome),
+            eventType, playerId, idempotencyKey);
+    }
+
+    /**
+     * Answers a request with the original response if its idempotency key is known, and
+     * otherwise rate-limits and processes it, remembering the outcome under the key. A
+     * retry of an accepted request thus gets its response back without using up a token.
+     * <p>
+     * {@code process} completes the outcome future it is given once the request's event is
+     * published or has failed, which may be after a 504 answered the request. The key stays
+     * claimed until then, so a retry waits for the send instead of publishing again.
+     */
+    private CompletableFuture<ResponseEntity<GameEventResponse>> handleRequest(
+            Function<CompletableFuture<GameEventResponse>, CompletableFuture<ResponseEntity<GameEventResponse>>> process,
+            GameEventType eventType,
+            Long playerId,
+            String idempotencyKey) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<ResponseEntity<GameEventResponse>> response;
+        if (idempotencyCache != null && idempotencyKey != null) {
+            long fingerprint = idempotencyCache.fingerprint(eventType, playerId, idempotencyKey);
+            CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+            CompletableFuture<GameEventResponse> original = idempotencyCache.claim(fingerprint, eventType, pending);
+            if (original != null) {
+                log.debug("Replaying response of {} event for player: {} with idempotency key {}",
+                    eventType, playerId, idempotencyKey);
+                response = original.thenApply(GameEventController::replayResponse)
+                    .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> handleFailure(ex, eventType, playerId));
+            } else {
+                CompletableFuture<GameEventResponse> outcome = new CompletableFuture<>();
+                response = admit(process, eventType, playerId, startNanos, outcome);
+                outcome.whenComplete((settled, ex) -> idempotencyCache.release(fingerprint, pending, settled));
+            }
+        } else {
+            response = admit(process, eventType, playerId, startNanos, new CompletableFuture<>());
+        }
+
+        if (executionMode == ExecutionMode.BLOCKING) {
+            return CompletableFuture.completedFuture(response.join());
+        }
+        return response;
+    }
+
+    /**
+     * Processes a request unless its player is over the rate limit for the event type.
+     */
+    private CompletableFuture<ResponseEntity<GameEventResponse>> admit(
+            Function<CompletableFuture<GameEventResponse>, CompletableFuture<ResponseEntity<GameEventResponse>>> process,
+            GameEventType eventType,
+            Long playerId,
+            long startNanos,
+            CompletableFuture<GameEventResponse> outcome) {
+        ResponseEntity<GameEventResponse> limited = rateLimit(eventType, playerId);
+        if (limited != null) {
+            outcome.complete(limited.getBody());
+            return recordRequest(CompletableFuture.completedFuture(limited), eventType, startNanos);
+        }
+        return process.apply(outcome);
+    }
+
+    private CompletableFuture<ResponseEntity<GameEventResponse>> publish(
+            Supplier<CompletableFuture<PublishedGameEvent>> eventSupplier,
             GameEventType eventType,
-            Long playerId) {
+            Long playerId,
+            CompletableFuture<GameEventResponse> outcome) {
+        long startNanos = System.nanoTime();
+        if (!inFlightLimiter.tryAcquire()) {
+            log.warn("Rejecting {} event for player: {}, {} events already in flight",
+                eventType, playerId, inFlightLimiter.maxInFlight());
+            return recordRequest(CompletableFuture.completedFuture(settle(outcome, buildErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE, eventType, playerId, "Too many events in flight, retry later"))),
+                eventType, startNanos);
+        }
+
+        CompletableFuture<PublishedGameEvent> sendFuture;
         try {
-            SendResult<String, String> result = eventSupplier.get().join();
-            log.debug("Successfully processed {} event for player: {}", eventType, playerId);
-            return buildSuccessResponse(result);
+            sendFuture = eventSupplier.get();
         } catch (Exception ex) {
+            inFlightLimiter.release();
             log.error("Failed to process {} event for player: {}", eventType, playerId, ex);
-            return buildErrorResponse(eventType, playerId, ex.getMessage());
+            return recordRequest(CompletableFuture.completedFuture(settle(outcome, buildErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR, eventType, playerId, ex.getMessage()))),
+                eventType, startNanos);
+        }
+        return recordRequest(trackSend(sendFuture, eventType, playerId, outcome), eventType, startNanos);
+    }
+
+    private static ResponseEntity<GameEventResponse> settle(
+            CompletableFuture<GameEventResponse> outcome, ResponseEntity<GameEventResponse> response) {
+        outcome.complete(response.getBody());
+        return response;
+    }
+
+    /**
+     * Answers 429 with Retry-After if the player has exceeded its limit for the event type,
+     * or returns {@code null} if the event may proceed.
+     */
+    private ResponseEntity<GameEventResponse> rateLimit(GameEventType eventType, Long playerId) {
+        long retryAfterNanos = rateLimiter != null ? rateLimiter.tryAcquire(eventType, playerId) : 0;
+        if (retryAfterNanos == 0) {
+            return null;
+        }
+        log.debug("Rate limited {} event for player: {}", eventType, playerId);
+        long retryAfterSeconds = retryAfterSeconds(retryAfterNanos);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .body(GameEventResponse.error(eventType, playerId, rateLimitMessage(retryAfterSeconds)));
+    }
+
+    private static long retryAfterSeconds(long retryAfterNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static String rateLimitMessage(long retryAfterSeconds) {
+        return "Rate limit exceeded, retry after " + retryAfterSeconds + " s";
+    }
+
+    /**
+     * Answers a retried request like its original: 202 with the original response, or 409
+     * if the original failed while the retry was waiting for it.
+     */
+    private static ResponseEntity<GameEventResponse> replayResponse(GameEventResponse original) {
+        if (original == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
+        return ResponseEntity.status(original.isSuccess() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).body(original);
     }
 
-    private ResponseEntity<GameEventResponse> buildSuccessResponse(SendResult<String, String> result) {
+    /**
+     * Turns a send holding an in-flight permit into its HTTP response, and completes
+     * {@code outcome} with the result of the send itself once the broker answers.
+     */
+    private CompletableFuture<ResponseEntity<GameEventResponse>> trackSend(
+            CompletableFuture<PublishedGameEvent> sendFuture,
+            GameEventType eventType,
+            Long playerId,
+            CompletableFuture<GameEventResponse> outcome) {
+        // The permit and the outcome track the Kafka send itself, so they are only settled once the
+        // broker answers, even if the client has already been told that its request timed out.
+        sendFuture.whenComplete((result, ex) -> {
+            inFlightLimiter.release();
+            outcome.complete(ex == null
+                ? buildSuccessResponse(result).getBody()
+                : GameEventResponse.error(eventType, playerId,
+                    (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex).getMessage()));
+        });
+
+        return sendFuture
+            .thenApply(result -> {
+                log.debug("Successfully processed {} event for player: {}", eventType, playerId);
+                return buildSuccessResponse(result);
+            })
+            .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+            .exceptionally(ex -> handleFailure(ex, eventType, playerId));
+    }
+
+    /**
+     * Forwards a request to the instance owning its player, or returns {@code null} if it is
+     * handled here: clustering is disabled, this instance owns the player, or the request was
+     * already forwarded by another instance.
+     */
+    private CompletableFuture<ResponseEntity<GameEventResponse>> forwardToOwner(
+            String path, GameEventRequest request, String forwardedBy) {
+        ClusterNode owner;
+        if (cluster == null || forwardedBy != null || (owner = cluster.remoteOwnerOf(playerIdOf(request))) == null) {
+            return null;
+        }
+        log.debug("Forwarding {} event of player: {} to {}", request.eventType(), playerIdOf(request), owner.id());
+        CompletableFuture<ResponseEntity<GameEventResponse>> response = cluster
+            .post(owner, BASE_PATH + path, request, GameEventResponse.class)
+            .exceptionally(ex -> handleFailure(ex, request.eventType(), playerIdOf(request)));
+        if (executionMode == ExecutionMode.BLOCKING) {
+            return CompletableFuture.completedFuture(response.join());
+        }
+        return response;
+    }
+
+    private CompletableFuture<ResponseEntity<GameEventResponse>> recordRequest(
+            CompletableFuture<ResponseEntity<GameEventResponse>> response,
+            GameEventType eventType,
+            long startNanos) {
+        response.whenComplete((entity, ex) -> metrics.recordRequest(
+            eventType, outcomeOf(entity), System.nanoTime() - startNanos));
+        return response;
+    }
+
+    private static RequestOutcome outcomeOf(ResponseEntity<?> response) {
+        if (response == null) {
+            return RequestOutcome.FAILED;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        if (status.is2xxSuccessful()) {
+            return RequestOutcome.ACCEPTED;
+        }
+        if (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return RequestOutcome.REJECTED;
+        }
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return RequestOutcome.RATE_LIMITED;
+        }
+        if (status.value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return RequestOutcome.TIMED_OUT;
+        }
+        return RequestOutcome.FAILED;
+    }
+
+    /**
+     * Sends one chunk of batch items as a single pipelined batch. Items failing
+     * validation or admission get an immediate error result; the returned list
+     * holds one result per item in chunk order.
+     */
+    private List<CompletableFuture<GameEventResponse>> dispatchChunk(List<GameEventRequest> chunk, boolean route) {
+        List<IdempotencyClaim> claims = new ArrayList<>();
+        Map<Integer, CompletableFuture<GameEventResponse>> outcomes = new HashMap<>();
+        List<CompletableFuture<GameEventResponse>> results = dispatchChunk(chunk, claims, outcomes, route);
+        for (IdempotencyClaim claim : claims) {
+            // Sent items keep their key claimed until the send settles, even after a timed-out result
+            outcomes.getOrDefault(claim.slot(), results.get(claim.slot())).whenComplete((response, ex) ->
+                idempotencyCache.release(claim.fingerprint(), claim.pending(), response));
+        }
+        return results;
+    }
+
+    private List<CompletableFuture<GameEventResponse>> dispatchChunk(
+            List<GameEventRequest> chunk,
+            List<IdempotencyClaim> claims,
+            Map<Integer, CompletableFuture<GameEventResponse>> outcomes,
+            boolean route) {
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<GameEventResponse>> results = new ArrayList<>(chunk.size());
+        List<GameEvent> events = new ArrayList<>(chunk.size());
+        List<Integer> eventSlots = new ArrayList<>(chunk.size());
+        Map<ClusterNode, List<Integer>> forwards = route ? new LinkedHashMap<>() : Map.of();
+
+        for (GameEventRequest request : chunk) {
+            CompletableFuture<GameEventResponse> original;
+            ClusterNode owner;
+            long retryAfterNanos;
+            String violations = validate(request);
+            if (violations != null) {
+                results.add(CompletableFuture.completedFuture(
+                    GameEventResponse.error(request.eventType(), playerIdOf(request), violations)));
+            } else if (route && (owner = cluster.remoteOwnerOf(playerIdOf(request))) != null) {
+                forwards.computeIfAbsent(owner, node -> new ArrayList<>()).add(results.size());
+                results.add(null);
+            } else if (idempotencyCache != null && request.idempotencyKey() != null
+                    && (original = claim(request, results.size(), claims)) != null) {
+                results.add(original
+                    .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> handleFailure(ex, request.eventType(), playerIdOf(request)).getBody()));
+            } else if (rateLimiter != null
+                    && (retryAfterNanos = rateLimiter.tryAcquire(request.eventType(), playerIdOf(request))) > 0) {
+                // A claim taken above is released with this error, so a later retry is processed
+                metrics.recordRequest(request.eventType(), RequestOutcome.RATE_LIMITED, System.nanoTime() - startNanos);
+                results.add(CompletableFuture.completedFuture(GameEventResponse.error(
+                    request.eventType(), playerIdOf(request), rateLimitMessage(retryAfterSeconds(retryAfterNanos)))));
+            } else if (attackCoalescer != null && request instanceof PvpAttackRequest attack) {
+                results.add(CompletableFuture.completedFuture(coalesceAttack(attack)));
+                metrics.recordRequest(GameEventType.PVP_ATTACK, RequestOutcome.ACCEPTED, System.nanoTime() - startNanos);
+            } else if (!inFlightLimiter.tryAcquire()) {
+                metrics.recordRequest(request.eventType(), RequestOutcome.REJECTED, System.nanoTime() - startNanos);
+                results.add(CompletableFuture.completedFuture(
+                    GameEventResponse.error(request.eventType(), playerIdOf(request), "Too many events in flight, retry later")));
+            } else {
+                eventSlots.add(results.size());
+                events.add(toGameEvent(request));
+                results.add(null);
+            }
+        }
+        forwards.forEach((owner, slots) -> forwardItems(owner, slots, chunk, results));
+        if (events.isEmpty()) {
+            return results;
+        }
+
+        List<CompletableFuture<PublishedGameEvent>> sends;
+        try {
+            sends = eventProducer.sendGameEvents(events);
+        } catch (Exception ex) {
+            log.error("Failed to hand batch of {} events to the producer", events.size(), ex);
+            for (int i = 0; i < events.size(); i++) {
+                inFlightLimiter.release();
+                GameEvent event = events.get(i);
+                results.set(eventSlots.get(i), CompletableFuture.completedFuture(
+                    GameEventResponse.error(event.eventType(), event.playerId(), ex.getMessage())));
+            }
+            return results;
+        }
+        for (int i = 0; i < sends.size(); i++) {
+            GameEvent event = events.get(i);
+            CompletableFuture<GameEventResponse> outcome = new CompletableFuture<>();
+            outcomes.put(eventSlots.get(i), outcome);
+            results.set(eventSlots.get(i), recordRequest(
+                trackSend(sends.get(i), event.eventType(), event.playerId(), outcome), event.eventType(), startNanos)
+                .thenApply(ResponseEntity::getBody));
+        }
+        return results;
+    }
+
+    /**
+     * Forwards the batch items at {@code slots} of a chunk to the instance owning their players
+     * and sets their results from its answer.
+     */
+    private void forwardItems(ClusterNode owner, List<Integer> slots, List<GameEventRequest> chunk,
+            List<CompletableFuture<GameEventResponse>> results) {
+        List<GameEventRequest> items = slots.stream().map(chunk::get).toList();
+        CompletableFuture<List<GameEventResponse>> forwarded;
         try {
-            GameEvent event = objectMapper.readValue(result.getProducerRecord().value(), GameEvent.class);
-            return ResponseEntity.accepted().body(
-                GameEventResponse.success(
-                    event.eventId(),
-                    event.category(),
-                    event.eventType(),
-                    event.timestamp(),
-                    event.playerId()
-                )
-            );
-        } catch (Exception e) {
-            log.error("Failed to deserialize event response", e);
-            throw new RuntimeException("Failed to process response: " + e.getMessage(), e);
+            forwarded = cluster.post(owner, BASE_PATH + "/batch", MediaType.APPLICATION_NDJSON,
+                    batchReader.write(items), GameEventBatchResponse.class)
+                .thenApply(response -> {
+                    GameEventBatchResponse batchResponse = response.getBody();
+                    if (batchResponse == null || batchResponse.results().size() != items.size()) {
+                        throw new IllegalStateException(
+                            "Instance " + owner.id() + " answered a forwarded batch with " + response.getStatusCode());
+                    }
+                    return batchResponse.results();
+                });
+        } catch (IOException ex) {
+            forwarded = CompletableFuture.failedFuture(ex);
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            int item = i;
+            GameEventRequest request = items.get(i);
+            results.set(slots.get(i), forwarded.handle((responses, ex) -> ex == null
+                ? responses.get(item)
+                : GameEventResponse.error(request.eventType(), playerIdOf(request),
+                    (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex).getMessage())));
+        }
+    }
+
+    /**
+     * Claims the idempotency key of a batch item that will take result slot {@code slot},
+     * returning the original response if the key is already known.
+     */
+    private CompletableFuture<GameEventResponse> claim(
+            GameEventRequest request, int slot, List<IdempotencyClaim> claims) {
+        long fingerprint = idempotencyCache.fingerprint(request.eventType(), playerIdOf(request), request.idempotencyKey());
+        CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+        CompletableFuture<GameEventResponse> original = idempotencyCache.claim(fingerprint, request.eventType(), pending);
+        if (original == null) {
+            claims.add(new IdempotencyClaim(slot, fingerprint, pending));
+        }
+        return original;
+    }
+
+    private record IdempotencyClaim(int slot, long fingerprint, CompletableFuture<GameEventResponse> pending) {}
+
+    /**
+     * Hands an attack to the coalescer. The hit is published as part of a summary event
+     * and has no event id of its own.
+     */
+    private GameEventResponse coalesceAttack(PvpAttackRequest request) {
+        attackCoalescer.add(request.attackerId(), request.defenderId(), request.damageDealt());
+        return GameEventResponse.success(
+            null, EventCategory.GAME, GameEventType.PVP_ATTACK, Instant.now(), request.defenderId());
+    }
+
+    private String validate(GameEventRequest request) {
+        Set<ConstraintViolation<GameEventRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private GameEvent toGameEvent(GameEventRequest request) {
+        return switch (request) {
+            case LevelUpRequest r -> eventFactory.levelUp(r.playerId(), r.newLevel());
+            case ItemAcquiredRequest r -> eventFactory.itemAcquired(r.playerId(), r.itemName(), r.rarity());
+            case ChallengeCompletedRequest r -> eventFactory.challengeCompleted(r.playerId(), r.challengeName());
+            case PvpAttackRequest r -> eventFactory.pvpAttack(r.defenderId(), r.attackerId(), r.damageDealt());
+            case PvpDefeatRequest r -> eventFactory.pvpDefeat(r.defeatedPlayerId(), r.victorPlayerId(), r.battleLocation());
+        };
+    }
+
+    /**
+     * The player a request is reported against, matching the single-event endpoints.
+     */
+    private static Long playerIdOf(GameEventRequest request) {
+        return switch (request) {
+            case LevelUpRequest r -> r.playerId();
+            case ItemAcquiredRequest r -> r.playerId();
+            case ChallengeCompletedRequest r -> r.playerId();
+            case PvpAttackRequest r -> r.attackerId();
+            case PvpDefeatRequest r -> r.defeatedPlayerId();
+        };
+    }
+
+    /**
+     * Dispatches the pending chunk, then waits for the chunk before it so that at most
+     * two chunks of a streaming body are awaiting acknowledgement at any time.
+     */
+    private List<CompletableFuture<GameEventResponse>> awaitAndDispatch(
+            List<GameEventRequest> chunk,
+            List<CompletableFuture<GameEventResponse>> previousChunk,
+            List<CompletableFuture<GameEventResponse>> results,
+            boolean route) {
+        if (chunk.isEmpty()) {
+            return previousChunk;
+        }
+        List<CompletableFuture<GameEventResponse>> dispatched = dispatchChunk(chunk, route);
+        chunk.clear();
+        results.addAll(dispatched);
+        CompletableFuture.allOf(previousChunk.toArray(CompletableFuture[]::new)).join();
+        return dispatched;
+    }
+
+    private CompletableFuture<ResponseEntity<GameEventBatchResponse>> completeBatch(
+            List<CompletableFuture<GameEventResponse>> results) {
+        CompletableFuture<ResponseEntity<GameEventBatchResponse>> response = CompletableFuture
+            .allOf(results.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                GameEventBatchResponse batchResponse = GameEventBatchResponse.of(
+                    results.stream().map(CompletableFuture::join).toList());
+                if (batchResponse.isSuccess()) {
+                    return ResponseEntity.accepted().body(batchResponse);
+                }
+                return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(batchResponse);
+            });
+
+        if (executionMode == ExecutionMode.BLOCKING) {
+            return CompletableFuture.completedFuture(response.join());
         }
+        return response;
+    }
+
+    private ResponseEntity<GameEventResponse> handleFailure(Throwable ex, GameEventType eventType, Long playerId) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof TimeoutException) {
+            log.warn("Timed out after {} ms waiting for {} event of player: {}",
+                requestTimeoutMillis, eventType, playerId);
+            return buildErrorResponse(HttpStatus.GATEWAY_TIMEOUT, eventType, playerId,
+                "Timed out waiting for event acknowledgement");
+        }
+        if (cause instanceof RejectedExecutionException) {
+            log.debug("Shed {} event of player: {}: {}", eventType, playerId, cause.getMessage());
+            return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, eventType, playerId,
+                cause.getMessage() + ", retry later");
+        }
+        if (cause instanceof GameEventRejectedException) {
+            log.debug("Rejected {} event of player: {}: {}", eventType, playerId, cause.getMessage());
+            return buildErrorResponse(HttpStatus.BAD_REQUEST, eventType, playerId, cause.getMessage());
+        }
+        log.error("Failed to process {} event for player: {}", eventType, playerId, cause);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, eventType, playerId, cause.getMessage());
+    }
+
+    private ResponseEntity<GameEventResponse> buildSuccessResponse(PublishedGameEvent result) {
+        GameEvent event = result.event();
+        return ResponseEntity.accepted().body(
+            GameEventResponse.success(
+                event.eventId(),
+                event.category(),
+                event.eventType(),
+                event.timestamp(),
+                event.playerId()
+            )
+        );
     }
 
     private ResponseEntity<GameEventResponse> buildErrorResponse(
-            GameEventType eventType, Long playerId, String errorMessage) {
-        return ResponseEntity.internalServerError()
+            HttpStatus status, GameEventType eventType, Long playerId, String errorMessage) {
+        return ResponseEntity.status(status)
             .body(GameEventResponse.error(eventType, playerId, errorMessage));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package io.gaming.platform.gameservice.controller;
+
+import io.gaming.platform.gameservice.config.IngestProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of game events that have been handed to Kafka but not yet acknowledged.
+ * Callers must {@link #release()} every permit obtained from {@link #tryAcquire()}.
+ */
+@Component
+public class InFlightLimiter {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+
+    public InFlightLimiter(IngestProperties properties) {
+        this.maxInFlight = properties.maxInFlight();
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+}
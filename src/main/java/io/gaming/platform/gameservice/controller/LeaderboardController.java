@@ -0,0 +1,48 @@
+package io.gaming.platform.gameservice.controller;
+
+import io.gaming.platform.gameservice.config.LeaderboardProperties;
+import io.gaming.platform.gameservice.dto.LeaderboardResponse;
+import io.gaming.platform.gameservice.leaderboard.LeaderboardMetric;
+import io.gaming.platform.gameservice.leaderboard.LeaderboardService;
+import io.gaming.platform.gameservice.leaderboard.LeaderboardWindow;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/leaderboards")
+@ConditionalOnProperty(prefix = "app.leaderboards", name = "enabled", havingValue = "true")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+    private final int maxTop;
+
+    public LeaderboardController(LeaderboardService leaderboardService, LeaderboardProperties properties) {
+        this.leaderboardService = leaderboardService;
+        this.maxTop = properties.maxTop();
+    }
+
+    /**
+     * Answers with the top players of a leaderboard ({@code pvp-wins}, {@code pvp-damage} or
+     * {@code challenge-points}) over a window, 404 for an unknown leaderboard and 400 for an
+     * unknown window or a {@code top} outside 1 to {@code maxTop}.
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "GLOBAL") String window,
+            @RequestParam(defaultValue = "100") int top) {
+        LeaderboardMetric metric = LeaderboardMetric.fromBoardName(name);
+        if (metric == null) {
+            return ResponseEntity.notFound().build();
+        }
+        LeaderboardWindow leaderboardWindow = LeaderboardWindow.fromName(window);
+        if (leaderboardWindow == null || top < 1 || top > maxTop) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(leaderboardService.top(metric, leaderboardWindow, top));
+    }
+}
@@ -0,0 +1,83 @@
+package io.gaming.platform.gameservice.controller;
+
+import io.gaming.platform.gameservice.cluster.ClusterForwarder;
+import io.gaming.platform.gameservice.cluster.ClusterNode;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.PvpDefeatData;
+import io.gaming.platform.gameservice.state.PlayerStateStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+@RestController
+@ConditionalOnProperty(prefix = "app.player-state", name = "enabled", havingValue = "true")
+public class PlayerStateController {
+    private final PlayerStateStore stateStore;
+    private final ClusterForwarder cluster;
+
+    public PlayerStateController(PlayerStateStore stateStore, Optional<ClusterForwarder> cluster) {
+        this.stateStore = stateStore;
+        this.cluster = cluster.orElse(null);
+    }
+
+    /**
+     * Answers with the player's progression, or 404 if the player was not active recently
+     * enough to be held in memory. In a cluster the state is read from the instance owning the player.
+     */
+    @GetMapping("/api/v1/players/{playerId}/state")
+    public CompletableFuture<ResponseEntity<PlayerStateResponse>> getState(
+            @PathVariable long playerId,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        ClusterNode owner;
+        if (cluster != null && forwardedBy == null && (owner = cluster.remoteOwnerOf(playerId)) != null) {
+            return cluster.get(owner, "/api/v1/players/" + playerId + "/state", PlayerStateResponse.class)
+                .exceptionally(PlayerStateController::forwardFailure);
+        }
+        PlayerStateResponse state = stateStore.get(playerId);
+        return CompletableFuture.completedFuture(
+            state != null ? ResponseEntity.ok(state) : ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Records the win of a victor this instance owns, for a defeat published by the instance
+     * owning the defeated player. Only peers presenting the cluster secret may call it, see
+     * {@link io.gaming.platform.gameservice.cluster.PeerHeaderFilter}.
+     */
+    @PostMapping(PlayerStateStore.VICTORIES_PATH)
+    public ResponseEntity<Void> recordVictory(
+            @RequestBody GameEvent event,
+            @RequestHeader(name = ClusterForwarder.FORWARDED_BY_HEADER, required = false) String forwardedBy) {
+        if (cluster == null || forwardedBy == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!(event.eventData() instanceof PvpDefeatData)) {
+            return ResponseEntity.badRequest().build();
+        }
+        stateStore.recordVictory(event);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<PlayerStateResponse> forwardFailure(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+        }
+        throw new CompletionException(cause);
+    }
+}
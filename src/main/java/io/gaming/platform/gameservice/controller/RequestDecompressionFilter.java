@@ -0,0 +1,224 @@
+package io.gaming.platform.gameservice.controller;
+
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import io.gaming.platform.gameservice.config.RequestDecompressionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses request bodies sent with {@code Content-Encoding: gzip} or {@code zstd} while
+ * they are read, so batches are still decoded as they arrive. Downstream the request looks
+ * uncompressed: without {@code Content-Encoding} and of unknown length. Other encodings are
+ * answered with 415 and the supported ones in {@code Accept-Encoding}; bodies expanding beyond
+ * {@code maxDecompressedSize} fail to read like malformed ones.
+ * <p>
+ * Decompressed bodies can also be read with a {@link ReadListener}. The decompressor reads the
+ * compressed body blocking, so such a body is always reported ready: the listener is run on a
+ * thread of the request's {@link jakarta.servlet.AsyncContext}, which may wait on the network
+ * while compressed bytes arrive.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.request-decompression", name = "enabled", havingValue = "true")
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+    private static final String SUPPORTED_ENCODINGS = "gzip, zstd";
+
+    private final long maxDecompressedSize;
+
+    public RequestDecompressionFilter(RequestDecompressionProperties properties) {
+        this.maxDecompressedSize = properties.maxDecompressedSize().toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.trim().equalsIgnoreCase("identity")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Encoding decoder = switch (encoding.trim().toLowerCase()) {
+            case "gzip", "x-gzip" -> GZIPInputStream::new;
+            case "zstd" -> ZstdInputStreamNoFinalizer::new;
+            default -> null;
+        };
+        if (decoder == null) {
+            response.setHeader(HttpHeaders.ACCEPT_ENCODING, SUPPORTED_ENCODINGS);
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+                "Unsupported Content-Encoding: " + encoding);
+            return;
+        }
+        DecompressedRequest decompressed = new DecompressedRequest(request, decoder, maxDecompressedSize);
+        try {
+            chain.doFilter(decompressed, response);
+        } finally {
+            decompressed.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoding {
+        InputStream decode(InputStream compressed) throws IOException;
+    }
+
+    private static final class DecompressedRequest extends HttpServletRequestWrapper {
+        private final Encoding decoder;
+        private final long maxSize;
+        private DecompressedInputStream body;
+
+        DecompressedRequest(HttpServletRequest request, Encoding decoder, long maxSize) {
+            super(request);
+            this.decoder = decoder;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) {
+                body = new DecompressedInputStream(this, decoder.decode(super.getInputStream()), maxSize);
+            }
+            return body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return hidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return hidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                .filter(name -> !hidden(name))
+                .toList());
+        }
+
+        void close() throws IOException {
+            if (body != null) {
+                body.close();
+            }
+        }
+
+        private static boolean hidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class DecompressedInputStream extends ServletInputStream {
+        private final HttpServletRequest request;
+        private final InputStream in;
+        private final long maxSize;
+        private long size;
+        private boolean finished;
+        private ReadListener readListener;
+
+        DecompressedInputStream(HttpServletRequest request, InputStream in, long maxSize) {
+            this.request = request;
+            this.in = in;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                finished = true;
+            } else {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read < 0) {
+                finished = true;
+            } else {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (readListener == null) {
+                throw new NullPointerException("readListener");
+            }
+            if (!request.isAsyncStarted()) {
+                throw new IllegalStateException("A ReadListener requires an asynchronous request");
+            }
+            if (this.readListener != null) {
+                throw new IllegalStateException("A ReadListener is already set");
+            }
+            this.readListener = readListener;
+            request.getAsyncContext().start(this::notifyReadListener);
+        }
+
+        /**
+         * Calls the listener once, like a container does while the stream stays ready: it
+         * reads until {@link #isFinished()} or decides to stop.
+         */
+        private void notifyReadListener() {
+            try {
+                readListener.onDataAvailable();
+                if (finished) {
+                    readListener.onAllDataRead();
+                }
+            } catch (Throwable e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private void count(int read) throws IOException {
+            size += read;
+            if (size > maxSize) {
+                throw new IOException("Request body exceeds " + maxSize + " bytes after decompression");
+            }
+        }
+    }
+}
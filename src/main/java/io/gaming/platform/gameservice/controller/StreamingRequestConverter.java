@@ -0,0 +1,327 @@
+package io.gaming.platform.gameservice.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.dto.*;
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the request bodies of the single-event endpoints enabled in
+ * {@code app.ingest.streaming-decode} with a streaming {@link JsonParser}, straight into the
+ * request record, and checks the record's Bean Validation constraints inline.
+ * <p>
+ * This skips the data binder's creator buffering and the reflective validator, the bulk of
+ * the work per request besides encoding the record value. The records it produces are equal
+ * to those data binding produces, including the coercions Jackson applies by default
+ * (numbers given as strings, scalars given for strings), and it rejects the same requests
+ * with the same violation messages; the MVC validator skips records it produced, which it
+ * marks with the {@link #VALIDATED_BODY_ATTRIBUTE} request attribute. Bodies of other JSON
+ * media types are left to Jackson and validated as usual.
+ * <p>
+ * Request records are written with the application's {@link ObjectMapper}, as Jackson's
+ * converter would write them.
+ */
+@Component
+public class StreamingRequestConverter extends AbstractHttpMessageConverter<GameEventRequest> {
+    /** Request attribute holding the body this converter decoded and validated. */
+    public static final String VALIDATED_BODY_ATTRIBUTE = StreamingRequestConverter.class.getName() + ".VALIDATED_BODY";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter writer;
+    private final Set<GameEventType> streamingTypes;
+
+    public StreamingRequestConverter(ObjectMapper objectMapper, IngestProperties properties) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = objectMapper.getFactory();
+        this.writer = objectMapper.writer();
+        this.streamingTypes = properties.streamingDecode().isEmpty()
+            ? EnumSet.noneOf(GameEventType.class) : EnumSet.copyOf(properties.streamingDecode());
+    }
+
+    /**
+     * Whether this converter decodes, and validates, bodies of the given request record.
+     */
+    public boolean decodes(Class<?> clazz) {
+        GameEventType type = eventTypeOf(clazz);
+        return type != null && streamingTypes.contains(type);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return decodes(clazz);
+    }
+
+    @Override
+    protected GameEventRequest readInternal(Class<? extends GameEventRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            GameEventRequest request = read(eventTypeOf(clazz), inputMessage.getBody());
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                attributes.setAttribute(VALIDATED_BODY_ATTRIBUTE, request, RequestAttributes.SCOPE_REQUEST);
+            }
+            return request;
+        } catch (InvalidRequestException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    /**
+     * Whether the given request body is the one this converter decoded and validated for the
+     * current request.
+     */
+    public static boolean validated(Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+            && attributes.getAttribute(VALIDATED_BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == body;
+    }
+
+    @Override
+    protected void writeInternal(GameEventRequest request, HttpOutputMessage outputMessage) throws IOException {
+        writer.writeValue(outputMessage.getBody(), request);
+    }
+
+    /**
+     * Decodes and validates one request of the given type.
+     */
+    GameEventRequest read(GameEventType type, InputStream body) throws IOException {
+        Long playerId = null;
+        Long otherPlayerId = null;
+        Integer amount = null;
+        String name = null;
+        String detail = null;
+        String idempotencyKey = null;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidRequestException("Request body must be a JSON object");
+            }
+            // Fields are read into slots shared by all types; fields of other types are ignored
+            for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+                parser.nextToken();
+                switch (slotOf(type, field)) {
+                    case PLAYER -> playerId = readLong(parser, field);
+                    case OTHER_PLAYER -> otherPlayerId = readLong(parser, field);
+                    case AMOUNT -> amount = readInt(parser, field);
+                    case NAME -> name = readString(parser, field);
+                    case DETAIL -> detail = readString(parser, field);
+                    case IDEMPOTENCY_KEY -> idempotencyKey = readString(parser, field);
+                    case NONE -> parser.skipChildren();
+                }
+            }
+        }
+
+        List<String> violations = new ArrayList<>(2);
+        GameEventRequest request = switch (type) {
+            case LEVEL_UP -> {
+                requireNonNull(violations, "playerId", playerId, "Player ID is required");
+                requireNonNull(violations, "newLevel", amount, "New level is required");
+                requireMin(violations, "newLevel", amount, 1, "Level must be greater than 0");
+                yield new LevelUpRequest(playerId, amount, idempotencyKey);
+            }
+            case ITEM_ACQUIRED -> {
+                requireNonNull(violations, "playerId", playerId, "Player ID is required");
+                requireNotBlank(violations, "itemName", name, "Item name is required");
+                requireNotBlank(violations, "rarity", detail, "Rarity is required");
+                yield new ItemAcquiredRequest(playerId, name, detail, idempotencyKey);
+            }
+            case CHALLENGE_COMPLETED -> {
+                requireNonNull(violations, "playerId", playerId, "Player ID is required");
+                requireNotBlank(violations, "challengeName", name, "Challenge name is required");
+                yield new ChallengeCompletedRequest(playerId, name, idempotencyKey);
+            }
+            case PVP_ATTACK -> {
+                requireNonNull(violations, "attackerId", playerId, "Attacker ID is required");
+                requireNonNull(violations, "defenderId", otherPlayerId, "Defender ID is required");
+                requireNonNull(violations, "damageDealt", amount, "Damage dealt is required");
+                requireMin(violations, "damageDealt", amount, 0, "Damage dealt cannot be negative");
+                yield new PvpAttackRequest(playerId, otherPlayerId, amount, idempotencyKey);
+            }
+            case PVP_DEFEAT -> {
+                requireNonNull(violations, "defeatedPlayerId", playerId, "Defeated player ID is required");
+                requireNonNull(violations, "victorPlayerId", otherPlayerId, "Victor player ID is required");
+                requireNotBlank(violations, "battleLocation", name, "Battle location is required");
+                yield new PvpDefeatRequest(playerId, otherPlayerId, name, idempotencyKey);
+            }
+            case PVP_ATTACK_SUMMARY -> throw new IllegalArgumentException("No endpoint accepts " + type);
+        };
+        if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            violations.add("idempotencyKey: Idempotency key must be at most 128 characters");
+        }
+        if (!violations.isEmpty()) {
+            violations.sort(null);
+            throw new InvalidRequestException(String.join(", ", violations));
+        }
+        return request;
+    }
+
+    private enum Slot {
+        PLAYER, OTHER_PLAYER, AMOUNT, NAME, DETAIL, IDEMPOTENCY_KEY, NONE
+    }
+
+    private static Slot slotOf(GameEventType type, String field) {
+        if (field.equals("idempotencyKey")) {
+            return Slot.IDEMPOTENCY_KEY;
+        }
+        return switch (type) {
+            case LEVEL_UP -> switch (field) {
+                case "playerId" -> Slot.PLAYER;
+                case "newLevel" -> Slot.AMOUNT;
+                default -> Slot.NONE;
+            };
+            case ITEM_ACQUIRED -> switch (field) {
+                case "playerId" -> Slot.PLAYER;
+                case "itemName" -> Slot.NAME;
+                case "rarity" -> Slot.DETAIL;
+                default -> Slot.NONE;
+            };
+            case CHALLENGE_COMPLETED -> switch (field) {
+                case "playerId" -> Slot.PLAYER;
+                case "challengeName" -> Slot.NAME;
+                default -> Slot.NONE;
+            };
+            case PVP_ATTACK -> switch (field) {
+                case "attackerId" -> Slot.PLAYER;
+                case "defenderId" -> Slot.OTHER_PLAYER;
+                case "damageDealt" -> Slot.AMOUNT;
+                default -> Slot.NONE;
+            };
+            case PVP_DEFEAT -> switch (field) {
+                case "defeatedPlayerId" -> Slot.PLAYER;
+                case "victorPlayerId" -> Slot.OTHER_PLAYER;
+                case "battleLocation" -> Slot.NAME;
+                default -> Slot.NONE;
+            };
+            case PVP_ATTACK_SUMMARY -> Slot.NONE;
+        };
+    }
+
+    private static GameEventType eventTypeOf(Class<?> clazz) {
+        if (clazz == LevelUpRequest.class) {
+            return GameEventType.LEVEL_UP;
+        } else if (clazz == ItemAcquiredRequest.class) {
+            return GameEventType.ITEM_ACQUIRED;
+        } else if (clazz == ChallengeCompletedRequest.class) {
+            return GameEventType.CHALLENGE_COMPLETED;
+        } else if (clazz == PvpAttackRequest.class) {
+            return GameEventType.PVP_ATTACK;
+        } else if (clazz == PvpDefeatRequest.class) {
+            return GameEventType.PVP_DEFEAT;
+        }
+        return null;
+    }
+
+    private static Long readLong(JsonParser parser, String field) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            // Data binding truncates fractions
+            case VALUE_NUMBER_FLOAT -> truncate(parser.getDoubleValue(), field, Long.MIN_VALUE, Long.MAX_VALUE);
+            case VALUE_STRING -> parseNumber(parser.getText(), field, Long.MIN_VALUE, Long.MAX_VALUE);
+            default -> throw unexpected(parser, field);
+        };
+    }
+
+    private static Integer readInt(JsonParser parser, String field) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_NUMBER_FLOAT -> (int) truncate(parser.getDoubleValue(), field, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            case VALUE_STRING -> {
+                Long value = parseNumber(parser.getText(), field, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                yield value != null ? value.intValue() : null;
+            }
+            default -> throw unexpected(parser, field);
+        };
+    }
+
+    private static String readString(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        throw unexpected(parser, field);
+    }
+
+    private static long truncate(double value, String field, long min, long max) {
+        if (Double.isNaN(value) || value < min || value > max) {
+            throw new InvalidRequestException(field + ": numeric value out of range");
+        }
+        return (long) value;
+    }
+
+    /**
+     * Parses a number given as a JSON string, which data binding accepts, with an empty string meaning null.
+     */
+    private static Long parseNumber(String text, String field, long min, long max) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            long value = Long.parseLong(trimmed);
+            if (value < min || value > max) {
+                throw new InvalidRequestException(field + ": numeric value out of range");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(field + ": not a valid number: \"" + text + "\"");
+        }
+    }
+
+    private static InvalidRequestException unexpected(JsonParser parser, String field) {
+        return new InvalidRequestException(field + ": unexpected " + parser.currentToken());
+    }
+
+    private static void requireNonNull(List<String> violations, String field, Object value, String message) {
+        if (value == null) {
+            violations.add(field + ": " + message);
+        }
+    }
+
+    private static void requireNotBlank(List<String> violations, String field, String value, String message) {
+        if (value == null || value.trim().isEmpty()) {
+            violations.add(field + ": " + message);
+        }
+    }
+
+    private static void requireMin(List<String> violations, String field, Integer value, int min, String message) {
+        if (value != null && value < min) {
+            violations.add(field + ": " + message);
+        }
+    }
+
+    /**
+     * A request body that cannot be decoded or violates its record's constraints.
+     */
+    static class InvalidRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InvalidRequestException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package io.gaming.platform.gameservice.dto;
 
+import io.gaming.platform.gameservice.model.GameEventType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public record ChallengeCompletedRequest(
     @NotNull(message = "Player ID is required")
     Long playerId,
     
     @NotBlank(message = "Challenge name is required")
-    String challengeName
-) {} 
\ No newline at end of file
+    String challengeName,
+
+    @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+    String idempotencyKey
+) implements GameEventRequest {
+
+    @Override
+    public GameEventType eventType() {
+        return GameEventType.CHALLENGE_COMPLETED;
+    }
+}
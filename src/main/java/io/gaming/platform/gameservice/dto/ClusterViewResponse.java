@@ -0,0 +1,17 @@
+package io.gaming.platform.gameservice.dto;
+
+import java.util.List;
+
+/**
+ * An instance's view of the cluster.
+ *
+ * @param nodeId  id of the answering instance
+ * @param leaving whether the instance is shutting down and handing its players to the others
+ * @param members node ids on its hash ring, itself included
+ */
+public record ClusterViewResponse(
+    String nodeId,
+    boolean leaving,
+    List<String> members
+) {
+}
@@ -0,0 +1,22 @@
+package io.gaming.platform.gameservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch submission. {@code results} holds one entry per submitted
+ * item, in submission order; failed items carry an error message.
+ */
+public record GameEventBatchResponse(
+    int accepted,
+    int failed,
+    List<GameEventResponse> results
+) {
+    public static GameEventBatchResponse of(List<GameEventResponse> results) {
+        int accepted = (int) results.stream().filter(GameEventResponse::isSuccess).count();
+        return new GameEventBatchResponse(accepted, results.size() - accepted, results);
+    }
+
+    public boolean isSuccess() {
+        return failed == 0 && accepted > 0;
+    }
+}
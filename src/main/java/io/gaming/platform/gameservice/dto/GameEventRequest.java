@@ -0,0 +1,19 @@
+package io.gaming.platform.gameservice.dto;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+
+/**
+ * Common type of the game event request payloads, used where requests of
+ * different event types travel together such as the batch endpoint.
+ */
+public sealed interface GameEventRequest
+        permits LevelUpRequest, ItemAcquiredRequest, ChallengeCompletedRequest, PvpAttackRequest, PvpDefeatRequest {
+
+    GameEventType eventType();
+
+    /**
+     * Optional client-chosen key; retries carrying the same key for the same player and
+     * event type are answered with the original response instead of publishing again.
+     */
+    String idempotencyKey();
+}
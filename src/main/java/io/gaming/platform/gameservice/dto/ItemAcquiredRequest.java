@@ -1,7 +1,9 @@
 package io.gaming.platform.gameservice.dto;
 
+import io.gaming.platform.gameservice.model.GameEventType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public record ItemAcquiredRequest(
     @NotNull(message = "Player ID is required")
@@ -11,5 +13,14 @@ public record ItemAcquiredRequest(
     String itemName,
     
     @NotBlank(message = "Rarity is required")
-    String rarity
-) {} 
\ No newline at end of file
+    String rarity,
+
+    @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+    String idempotencyKey
+) implements GameEventRequest {
+
+    @Override
+    public GameEventType eventType() {
+        return GameEventType.ITEM_ACQUIRED;
+    }
+}
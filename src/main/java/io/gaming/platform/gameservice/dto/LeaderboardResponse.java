@@ -0,0 +1,20 @@
+package io.gaming.platform.gameservice.dto;
+
+import io.gaming.platform.gameservice.leaderboard.LeaderboardWindow;
+
+import java.util.List;
+
+/**
+ * Top players of a leaderboard, best first.
+ *
+ * @param name    leaderboard name, e.g. {@code pvp-wins}
+ * @param entries ranked players; players with equal scores are ordered by player id
+ */
+public record LeaderboardResponse(
+    String name,
+    LeaderboardWindow window,
+    List<Entry> entries
+) {
+    public record Entry(int rank, long playerId, long score) {
+    }
+}
@@ -1,7 +1,9 @@
 package io.gaming.platform.gameservice.dto;
 
+import io.gaming.platform.gameservice.model.GameEventType;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public record LevelUpRequest(
     @NotNull(message = "Player ID is required")
@@ -9,5 +11,14 @@ public record LevelUpRequest(
     
     @NotNull(message = "New level is required")
     @Min(value = 1, message = "Level must be greater than 0")
-    Integer newLevel
-) {} 
\ No newline at end of file
+    Integer newLevel,
+
+    @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+    String idempotencyKey
+) implements GameEventRequest {
+
+    @Override
+    public GameEventType eventType() {
+        return GameEventType.LEVEL_UP;
+    }
+}
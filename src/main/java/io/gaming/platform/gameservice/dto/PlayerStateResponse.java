@@ -0,0 +1,28 @@
+package io.gaming.platform.gameservice.dto;
+
+import io.gaming.platform.gameservice.model.ChallengeType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Progression of a player as of the events published for them.
+ *
+ * @param level               latest level, or {@code null} if no level up was seen
+ * @param recentItems         most recently acquired items, newest first
+ * @param completedChallenges built-in challenges the player completed
+ * @param updatedAt           timestamp of the latest event applied
+ */
+public record PlayerStateResponse(
+    long playerId,
+    Integer level,
+    List<RecentItem> recentItems,
+    Set<ChallengeType> completedChallenges,
+    int pvpWins,
+    int pvpLosses,
+    Instant updatedAt
+) {
+    public record RecentItem(String itemName, String rarity, Instant acquiredAt) {
+    }
+}
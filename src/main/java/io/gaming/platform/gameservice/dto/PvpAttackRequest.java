@@ -1,7 +1,9 @@
 package io.gaming.platform.gameservice.dto;
 
+import io.gaming.platform.gameservice.model.GameEventType;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public record PvpAttackRequest(
     @NotNull(message = "Attacker ID is required")
@@ -12,5 +14,14 @@ public record PvpAttackRequest(
     
     @NotNull(message = "Damage dealt is required")
     @Min(value = 0, message = "Damage dealt cannot be negative")
-    Integer damageDealt
-) {} 
\ No newline at end of file
+    Integer damageDealt,
+
+    @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+    String idempotencyKey
+) implements GameEventRequest {
+
+    @Override
+    public GameEventType eventType() {
+        return GameEventType.PVP_ATTACK;
+    }
+}
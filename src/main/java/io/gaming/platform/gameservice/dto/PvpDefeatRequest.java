@@ -1,7 +1,9 @@
 package io.gaming.platform.gameservice.dto;
 
+import io.gaming.platform.gameservice.model.GameEventType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public record PvpDefeatRequest(
     @NotNull(message = "Defeated player ID is required")
@@ -11,5 +13,14 @@ public record PvpDefeatRequest(
     Long victorPlayerId,
     
     @NotBlank(message = "Battle location is required")
-    String battleLocation
-) {} 
\ No newline at end of file
+    String battleLocation,
+
+    @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+    String idempotencyKey
+) implements GameEventRequest {
+
+    @Override
+    public GameEventType eventType() {
+        return GameEventType.PVP_DEFEAT;
+    }
+}
@@ -0,0 +1,276 @@
+package io.gaming.platform.gameservice.idempotency;
+
+import io.gaming.platform.gameservice.config.IdempotencyProperties;
+import io.gaming.platform.gameservice.dto.GameEventResponse;
+import io.gaming.platform.gameservice.model.EventCategory;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the responses of requests that carried an idempotency key, so that a
+ * retried request is answered with its original response instead of publishing again.
+ * <p>
+ * Keys are scoped by event type and player and reduced to a 64-bit fingerprint. Answered
+ * keys are kept in open-addressing {@code long[]} tables holding five longs per entry
+ * (fingerprint, event id, timestamp, player), 40 bytes per entry plus free slots, so
+ * tens of millions fit without per-entry objects. Each segment keeps two
+ * generations: lookups consult both, inserts go to the current one, and the older one is
+ * dropped whole when the current generation is {@code ttl} old or full. Keys are thus
+ * remembered for between one and two TTLs, or until the size bound evicts them. A response
+ * without an event id, as for an attack folded into a coalesced summary, is kept with a zero id.
+ * <p>
+ * Requests that are still being processed are tracked separately, so a retry arriving
+ * before the original was answered waits for the original's response.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public final class IdempotencyCache {
+    private static final int STRIDE = 5;
+    private static final int FINGERPRINT = 0;
+    private static final int EVENT_ID_MSB = 1;
+    private static final int EVENT_ID_LSB = 2;
+    private static final int TIMESTAMP_NANOS = 3;
+    private static final int PLAYER_ID = 4;
+    private static final int INITIAL_CAPACITY = 256;
+    // Stands for a response without event id; generated ids are never all zero
+    private static final UUID NO_EVENT_ID = new UUID(0, 0);
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final int maxGenerationSize;
+    private final ConcurrentHashMap<Long, CompletableFuture<GameEventResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public IdempotencyCache(IdempotencyProperties properties, MeterRegistry registry) {
+        this.ttlNanos = properties.ttl().toNanos();
+        this.segments = new Segment[Integer.highestOneBit(properties.segments() * 2 - 1)];
+        this.maxGenerationSize = Math.max(1, properties.maxEntries() / (2 * segments.length));
+        long now = System.nanoTime();
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(now);
+        }
+
+        hits = Counter.builder("game.events.idempotency.lookups")
+            .description("Requests carrying an idempotency key, by whether the key was already known")
+            .tag("result", "hit")
+            .register(registry);
+        misses = Counter.builder("game.events.idempotency.lookups")
+            .description("Requests carrying an idempotency key, by whether the key was already known")
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("game.events.idempotency.entries", this, IdempotencyCache::size)
+            .description("Idempotency keys remembered with their response")
+            .register(registry);
+        Gauge.builder("game.events.idempotency.memory.per.entry", this,
+                cache -> (double) cache.allocatedBytes() / Math.max(1, cache.size()))
+            .description("Bytes of cache tables allocated per remembered idempotency key")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    /**
+     * Reduces an idempotency key to the fingerprint used by {@link #claim} and {@link #release}.
+     */
+    public long fingerprint(GameEventType eventType, long playerId, String idempotencyKey) {
+        long h = 0xCBF29CE484222325L ^ (eventType.ordinal() + 1L) * 0x9E3779B97F4A7C15L ^ playerId;
+        for (int i = 0; i < idempotencyKey.length(); i++) {
+            h = (h ^ idempotencyKey.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Registers {@code pending} as the eventual response for a key. Returns {@code null} if
+     * the key is new and the caller should process the request, or else the response of the
+     * earlier request with that key, which may still be pending itself.
+     */
+    public CompletableFuture<GameEventResponse> claim(
+            long fingerprint, GameEventType eventType, CompletableFuture<GameEventResponse> pending) {
+        CompletableFuture<GameEventResponse> original = inFlight.putIfAbsent(fingerprint, pending);
+        if (original == null) {
+            GameEventResponse answered = segmentFor(fingerprint).get(fingerprint, eventType, System.nanoTime());
+            if (answered == null) {
+                misses.increment();
+                return null;
+            }
+            inFlight.remove(fingerprint, pending);
+            original = CompletableFuture.completedFuture(answered);
+        }
+        hits.increment();
+        return original;
+    }
+
+    /**
+     * Completes a claim with the response of the request. Successful responses are
+     * remembered; failed ones release the key so that a retry is processed again.
+     */
+    public void release(long fingerprint, CompletableFuture<GameEventResponse> pending, GameEventResponse response) {
+        if (response != null && response.isSuccess()) {
+            UUID eventId = response.eventId() != null ? parseUuid(response.eventId()) : NO_EVENT_ID;
+            if (eventId != null) {
+                Instant timestamp = response.timestamp();
+                segmentFor(fingerprint).put(fingerprint,
+                    eventId.getMostSignificantBits(), eventId.getLeastSignificantBits(),
+                    timestamp.getEpochSecond() * 1_000_000_000L + timestamp.getNano(),
+                    response.playerId(), System.nanoTime());
+            }
+        }
+        inFlight.remove(fingerprint, pending);
+        pending.complete(response);
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.currentSize + segment.previousSize;
+            }
+        }
+        return size;
+    }
+
+    long allocatedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += (long) segment.current.length * Long.BYTES;
+                bytes += segment.previous != null ? (long) segment.previous.length * Long.BYTES : 0;
+            }
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long fingerprint) {
+        return segments[(int) (fingerprint >>> 40) & (segments.length - 1)];
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private final class Segment {
+        long[] current = new long[INITIAL_CAPACITY * STRIDE];
+        int currentSize;
+        long[] previous;
+        int previousSize;
+        long generationStartNanos;
+
+        Segment(long nowNanos) {
+            this.generationStartNanos = nowNanos;
+        }
+
+        synchronized GameEventResponse get(long fingerprint, GameEventType eventType, long nowNanos) {
+            expire(nowNanos);
+            int index = indexOf(current, fingerprint);
+            if (index >= 0) {
+                return toResponse(current, index, eventType);
+            }
+            index = previous != null ? indexOf(previous, fingerprint) : -1;
+            return index >= 0 ? toResponse(previous, index, eventType) : null;
+        }
+
+        synchronized void put(long fingerprint, long eventIdMsb, long eventIdLsb, long timestampNanos,
+                              long playerId, long nowNanos) {
+            expire(nowNanos);
+            if (indexOf(current, fingerprint) >= 0) {
+                return;
+            }
+            if (currentSize >= maxGenerationSize) {
+                rotate(nowNanos, current.length);
+            } else if (4 * (currentSize + 1) > 3 * (current.length / STRIDE)) {
+                current = resize(current, current.length * 2);
+            }
+            int index = freeIndexFor(current, fingerprint);
+            current[index + FINGERPRINT] = fingerprint;
+            current[index + EVENT_ID_MSB] = eventIdMsb;
+            current[index + EVENT_ID_LSB] = eventIdLsb;
+            current[index + TIMESTAMP_NANOS] = timestampNanos;
+            current[index + PLAYER_ID] = playerId;
+            currentSize++;
+        }
+
+        private void expire(long nowNanos) {
+            long age = nowNanos - generationStartNanos;
+            if (age >= 2 * ttlNanos) {
+                previous = null;
+                previousSize = 0;
+                current = new long[INITIAL_CAPACITY * STRIDE];
+                currentSize = 0;
+                generationStartNanos = nowNanos;
+            } else if (age >= ttlNanos) {
+                rotate(nowNanos, current.length);
+            }
+        }
+
+        private void rotate(long nowNanos, int length) {
+            previous = current;
+            previousSize = currentSize;
+            current = new long[length];
+            currentSize = 0;
+            generationStartNanos = nowNanos;
+        }
+
+        private static long[] resize(long[] table, int length) {
+            long[] resized = new long[length];
+            for (int index = 0; index < table.length; index += STRIDE) {
+                if (table[index + FINGERPRINT] != 0) {
+                    System.arraycopy(table, index, resized, freeIndexFor(resized, table[index + FINGERPRINT]), STRIDE);
+                }
+            }
+            return resized;
+        }
+
+        private static int indexOf(long[] table, long fingerprint) {
+            int mask = table.length / STRIDE - 1;
+            for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+                long candidate = table[slot * STRIDE + FINGERPRINT];
+                if (candidate == fingerprint) {
+                    return slot * STRIDE;
+                }
+                if (candidate == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        private static int freeIndexFor(long[] table, long fingerprint) {
+            int mask = table.length / STRIDE - 1;
+            int slot = (int) fingerprint & mask;
+            while (table[slot * STRIDE + FINGERPRINT] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            return slot * STRIDE;
+        }
+
+        private static GameEventResponse toResponse(long[] table, int index, GameEventType eventType) {
+            long timestampNanos = table[index + TIMESTAMP_NANOS];
+            UUID eventId = new UUID(table[index + EVENT_ID_MSB], table[index + EVENT_ID_LSB]);
+            // Every game event belongs to the GAME category, so it need not be stored
+            return GameEventResponse.success(
+                eventId.equals(NO_EVENT_ID) ? null : eventId.toString(),
+                EventCategory.GAME,
+                eventType,
+                Instant.ofEpochSecond(0, timestampNanos),
+                table[index + PLAYER_ID]);
+        }
+    }
+}
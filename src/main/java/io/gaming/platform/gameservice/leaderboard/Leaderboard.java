@@ -0,0 +1,109 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import java.time.Duration;
+
+/**
+ * Ranked scores of one metric over one {@link LeaderboardWindow}, moved forward by the
+ * timestamps of the events added and of the reads. Events older than the window are ignored.
+ * <p>
+ * A {@link LeaderboardWindow#HOUR HOUR} board also keeps the score gained per player in each
+ * of the last 60 minutes; when a minute leaves the window its gains are subtracted again.
+ * Scores of players dropped for {@code maxPlayers} and ranked again are approximate until
+ * their earlier gains have left the window.
+ */
+final class Leaderboard {
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final int MINUTES = 60;
+
+    private final LeaderboardWindow window;
+    private final RankedScores scores;
+    private final LongLongHashMap[] minuteGains;
+    // Current day or minute since the epoch, by the latest timestamp seen
+    private long period = Long.MIN_VALUE;
+
+    Leaderboard(LeaderboardWindow window, int maxPlayers) {
+        this.window = window;
+        this.scores = new RankedScores(maxPlayers);
+        if (window == LeaderboardWindow.HOUR) {
+            minuteGains = new LongLongHashMap[MINUTES];
+            for (int i = 0; i < MINUTES; i++) {
+                minuteGains[i] = new LongLongHashMap();
+            }
+        } else {
+            minuteGains = null;
+        }
+    }
+
+    synchronized void add(long playerId, long points, long timestampMillis) {
+        switch (window) {
+            case GLOBAL -> scores.add(playerId, points);
+            case DAILY -> {
+                if (advance(Math.floorDiv(timestampMillis, DAY_MILLIS))) {
+                    scores.add(playerId, points);
+                }
+            }
+            case HOUR -> {
+                long minute = Math.floorDiv(timestampMillis, MINUTE_MILLIS);
+                if (advance(minute)) {
+                    minuteGains[Math.floorMod(minute, MINUTES)].addTo(playerId, points);
+                    scores.add(playerId, points);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies up to {@code n} top players and their scores as of {@code nowMillis}, best first,
+     * and returns how many were copied.
+     */
+    synchronized int top(int n, long nowMillis, long[] playerIds, long[] topScores) {
+        switch (window) {
+            case GLOBAL -> { }
+            case DAILY -> advance(Math.floorDiv(nowMillis, DAY_MILLIS));
+            case HOUR -> advance(Math.floorDiv(nowMillis, MINUTE_MILLIS));
+        }
+        return scores.top(n, playerIds, topScores);
+    }
+
+    synchronized int size() {
+        return scores.size();
+    }
+
+    /**
+     * Moves the window forward to {@code to}, expiring what falls out of it, and returns
+     * whether an event of that day or minute is still inside the window.
+     */
+    private boolean advance(long to) {
+        if (to <= period) {
+            return window == LeaderboardWindow.DAILY ? to == period : to > period - MINUTES;
+        }
+        if (window == LeaderboardWindow.DAILY) {
+            scores.clear();
+        } else if (period == Long.MIN_VALUE || to - period >= MINUTES) {
+            scores.clear();
+            for (LongLongHashMap gains : minuteGains) {
+                gains.clear();
+            }
+        } else {
+            for (long minute = period + 1; minute <= to; minute++) {
+                expire(minuteGains[Math.floorMod(minute, MINUTES)]);
+            }
+        }
+        period = to;
+        return true;
+    }
+
+    private void expire(LongLongHashMap gains) {
+        if (gains.size() == 0) {
+            return;
+        }
+        for (int slot = 0; slot < gains.capacity(); slot++) {
+            long playerId = gains.keyAt(slot);
+            if (playerId != LongLongHashMap.EMPTY) {
+                scores.add(playerId, -gains.valueAt(slot));
+            }
+        }
+        gains.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import io.gaming.platform.gameservice.model.ChallengeCompletedData;
+import io.gaming.platform.gameservice.model.GameEventData;
+import io.gaming.platform.gameservice.model.PvpAttackData;
+import io.gaming.platform.gameservice.model.PvpAttackSummaryData;
+import io.gaming.platform.gameservice.model.PvpDefeatData;
+
+/**
+ * What a leaderboard ranks players by, and how events score for it.
+ */
+public enum LeaderboardMetric {
+    /** PvP defeats, credited to the victor. */
+    PVP_WINS("pvp-wins"),
+    /** Damage dealt in PvP attacks, single or coalesced, credited to the attacker. */
+    PVP_DAMAGE("pvp-damage"),
+    /** Base reward points of completed built-in challenges. */
+    CHALLENGE_POINTS("challenge-points");
+
+    private static final LeaderboardMetric[] VALUES = values();
+
+    private final String boardName;
+
+    LeaderboardMetric(String boardName) {
+        this.boardName = boardName;
+    }
+
+    public String getBoardName() {
+        return boardName;
+    }
+
+    /**
+     * The player an event scores for on this leaderboard; only meaningful when {@link #points} is positive.
+     */
+    long scoredPlayer(long playerId, GameEventData data) {
+        return switch (data) {
+            case PvpDefeatData defeat -> defeat.victorPlayerId();
+            case PvpAttackData attack -> attack.attackerId();
+            case PvpAttackSummaryData summary -> summary.attackerId();
+            default -> playerId;
+        };
+    }
+
+    /**
+     * Points an event adds on this leaderboard, zero if it does not count.
+     */
+    long points(GameEventData data) {
+        return switch (this) {
+            case PVP_WINS -> data instanceof PvpDefeatData ? 1 : 0;
+            case PVP_DAMAGE -> switch (data) {
+                case PvpAttackData attack -> attack.damageDealt();
+                case PvpAttackSummaryData summary -> summary.totalDamage();
+                default -> 0;
+            };
+            case CHALLENGE_POINTS -> data instanceof ChallengeCompletedData challenge && challenge.challengeType() != null
+                ? challenge.challengeType().getBaseRewardPoints()
+                : 0;
+        };
+    }
+
+    /**
+     * The leaderboard with the given board name, or {@code null} if there is none.
+     */
+    public static LeaderboardMetric fromBoardName(String name) {
+        for (LeaderboardMetric metric : VALUES) {
+            if (metric.boardName.equals(name)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
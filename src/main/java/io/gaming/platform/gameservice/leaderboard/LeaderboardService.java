@@ -0,0 +1,81 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import io.gaming.platform.gameservice.config.LeaderboardProperties;
+import io.gaming.platform.gameservice.dto.LeaderboardResponse;
+import io.gaming.platform.gameservice.dto.LeaderboardResponse.Entry;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventData;
+import io.gaming.platform.gameservice.producer.GameEventListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live leaderboards of every {@link LeaderboardMetric} over every {@link LeaderboardWindow},
+ * updated from each event {@link io.gaming.platform.gameservice.producer.GameEventProducer}
+ * publishes. Events count towards windows by their own timestamp; reads by the current time.
+ * Each leaderboard is locked on its own, so updates of different metrics and windows do not
+ * contend, and reading the top entries takes time in their number, not in the players ranked.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.leaderboards", name = "enabled", havingValue = "true")
+public class LeaderboardService implements GameEventListener {
+    private static final LeaderboardMetric[] METRICS = LeaderboardMetric.values();
+    private static final LeaderboardWindow[] WINDOWS = LeaderboardWindow.values();
+
+    private final Leaderboard[][] boards = new Leaderboard[METRICS.length][WINDOWS.length];
+
+    public LeaderboardService(LeaderboardProperties properties, MeterRegistry registry) {
+        for (LeaderboardMetric metric : METRICS) {
+            for (LeaderboardWindow window : WINDOWS) {
+                Leaderboard board = new Leaderboard(window, properties.maxPlayers());
+                boards[metric.ordinal()][window.ordinal()] = board;
+                Gauge.builder("game.leaderboards.players", board, Leaderboard::size)
+                    .description("Players ranked on a leaderboard")
+                    .tag("board", metric.getBoardName())
+                    .tag("window", window.name())
+                    .register(registry);
+            }
+        }
+    }
+
+    @Override
+    public void onPublished(GameEvent event) {
+        apply(event);
+    }
+
+    /**
+     * Adds the points an event scores to the leaderboards it counts on.
+     */
+    public void apply(GameEvent event) {
+        GameEventData data = event.eventData();
+        long timestamp = event.timestamp().toEpochMilli();
+        for (LeaderboardMetric metric : METRICS) {
+            long points = metric.points(data);
+            if (points > 0) {
+                long playerId = metric.scoredPlayer(event.playerId(), data);
+                for (Leaderboard board : boards[metric.ordinal()]) {
+                    board.add(playerId, points, timestamp);
+                }
+            }
+        }
+    }
+
+    /**
+     * The top {@code n} players of a leaderboard, best first.
+     */
+    public LeaderboardResponse top(LeaderboardMetric metric, LeaderboardWindow window, int n) {
+        long[] playerIds = new long[n];
+        long[] scores = new long[n];
+        int count = boards[metric.ordinal()][window.ordinal()].top(n, System.currentTimeMillis(), playerIds, scores);
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(i + 1, playerIds[i], scores[i]));
+        }
+        return new LeaderboardResponse(metric.getBoardName(), window, entries);
+    }
+}
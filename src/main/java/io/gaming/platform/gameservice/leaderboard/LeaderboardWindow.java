@@ -0,0 +1,27 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+/**
+ * Period of events a leaderboard ranks players by.
+ */
+public enum LeaderboardWindow {
+    /** All events since startup. */
+    GLOBAL,
+    /** Events of the current UTC day; the board starts empty at midnight. */
+    DAILY,
+    /** Events of the last hour, in one-minute steps. */
+    HOUR;
+
+    private static final LeaderboardWindow[] VALUES = values();
+
+    /**
+     * The window with the given name, ignoring case, or {@code null} if there is none.
+     */
+    public static LeaderboardWindow fromName(String name) {
+        for (LeaderboardWindow window : VALUES) {
+            if (window.name().equalsIgnoreCase(name)) {
+                return window;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,129 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from player id to a long, in two parallel arrays at most half full.
+ * Not thread-safe.
+ */
+final class LongLongHashMap {
+    // Slots with this key are free, so this player id cannot be held
+    static final long EMPTY = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    LongLongHashMap() {
+        allocate(INITIAL_CAPACITY * 2);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key}, starting from zero, and returns the new value.
+     */
+    long addTo(long key, long delta) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return values[i] += delta;
+            }
+            i = (i + 1) & mask;
+        }
+        if (2 * (size + 1) > keys.length) {
+            allocate(keys.length * 2);
+            return addTo(key, delta);
+        }
+        keys[i] = key;
+        values[i] = delta;
+        size++;
+        return delta;
+    }
+
+    /**
+     * Removes a key, moving later entries of its probe sequence back into the gap so that
+     * lookups need no tombstones.
+     */
+    void remove(long key) {
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        keys[gap] = EMPTY;
+        size--;
+        for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                keys[i] = EMPTY;
+                gap = i;
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Slots to iterate with {@link #keyAt} and {@link #valueAt}, skipping those holding {@link #EMPTY}.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    long valueAt(int slot) {
+        return values[slot];
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+            if (keys[i] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    addTo(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
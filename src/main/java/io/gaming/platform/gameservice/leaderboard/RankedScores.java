@@ -0,0 +1,218 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Scores of players kept in rank order, highest first and ties by ascending player id, so
+ * the top entries are read without looking at the others. Not thread-safe.
+ * <p>
+ * Ranks are a treap, a binary search tree balanced in expectation by random node priorities,
+ * here a hash of the player id. Nodes are stored as four consecutive longs of one array, so
+ * each step down the tree touches a single cache line, and freed nodes are reused. A score
+ * change removes the player's node and inserts it again, O(log n) expected; reading the top
+ * {@code n} is an in-order walk from the leftmost node, O(log n + n). Players' current scores
+ * are held in a {@link LongLongHashMap} to find their node.
+ * <p>
+ * Beyond {@code maxPlayers}, the lowest ranked player is dropped.
+ */
+final class RankedScores {
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 64;
+    // Fields of a node, at node * STRIDE
+    private static final int STRIDE = 4;
+    private static final int SCORE = 0;
+    private static final int PLAYER = 1;
+    private static final int LEFT = 2;
+    private static final int RIGHT = 3;
+
+    private final int maxPlayers;
+    private final LongLongHashMap scores = new LongLongHashMap();
+
+    private long[] nodes = new long[INITIAL_CAPACITY * STRIDE];
+    private int root = NIL;
+    // Node 0 is NIL; freed nodes are chained through their LEFT field
+    private int nextNode = 1;
+    private int freeNodes = NIL;
+    private int[] stack = new int[64];
+
+    RankedScores(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    long score(long playerId) {
+        return scores.get(playerId);
+    }
+
+    /**
+     * Adds {@code delta} to a player's score. Players whose score drops to zero or below are removed.
+     */
+    void add(long playerId, long delta) {
+        if (delta == 0 || playerId == LongLongHashMap.EMPTY) {
+            return;
+        }
+        long before = scores.get(playerId);
+        if (before != 0) {
+            root = delete(root, before, playerId);
+        }
+        long after = scores.addTo(playerId, delta);
+        if (after <= 0) {
+            scores.remove(playerId);
+            return;
+        }
+        root = insert(root, allocate(after, playerId));
+        if (scores.size() > maxPlayers) {
+            int lowest = root;
+            while (right(lowest) != NIL) {
+                lowest = right(lowest);
+            }
+            long lowestPlayer = nodes[lowest * STRIDE + PLAYER];
+            root = delete(root, nodes[lowest * STRIDE + SCORE], lowestPlayer);
+            scores.remove(lowestPlayer);
+        }
+    }
+
+    /**
+     * Copies up to {@code n} top players and their scores, best first, and returns how many were copied.
+     */
+    int top(int n, long[] playerIds, long[] topScores) {
+        int count = 0;
+        int depth = 0;
+        int node = root;
+        while (count < n && (node != NIL || depth > 0)) {
+            if (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = left(node);
+            } else {
+                node = stack[--depth];
+                playerIds[count] = nodes[node * STRIDE + PLAYER];
+                topScores[count] = nodes[node * STRIDE + SCORE];
+                count++;
+                node = right(node);
+            }
+        }
+        return count;
+    }
+
+    void clear() {
+        scores.clear();
+        root = NIL;
+        nextNode = 1;
+        freeNodes = NIL;
+    }
+
+    /**
+     * Whether ({@code score}, {@code playerId}) ranks before {@code node}.
+     */
+    private boolean before(long score, long playerId, int node) {
+        long nodeScore = nodes[node * STRIDE + SCORE];
+        return score != nodeScore ? score > nodeScore : playerId < nodes[node * STRIDE + PLAYER];
+    }
+
+    private int insert(int tree, int node) {
+        if (tree == NIL) {
+            return node;
+        }
+        int base = tree * STRIDE;
+        if (before(nodes[node * STRIDE + SCORE], nodes[node * STRIDE + PLAYER], tree)) {
+            int child = insert(left(tree), node);
+            nodes[base + LEFT] = child;
+            if (priority(child) > priority(tree)) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            int child = insert(right(tree), node);
+            nodes[base + RIGHT] = child;
+            if (priority(child) > priority(tree)) {
+                tree = rotateLeft(tree);
+            }
+        }
+        return tree;
+    }
+
+    private int delete(int tree, long score, long playerId) {
+        if (tree == NIL) {
+            return NIL;
+        }
+        int base = tree * STRIDE;
+        if (score == nodes[base + SCORE] && playerId == nodes[base + PLAYER]) {
+            int merged = merge(left(tree), right(tree));
+            nodes[base + LEFT] = freeNodes;
+            freeNodes = tree;
+            return merged;
+        }
+        if (before(score, playerId, tree)) {
+            nodes[base + LEFT] = delete(left(tree), score, playerId);
+        } else {
+            nodes[base + RIGHT] = delete(right(tree), score, playerId);
+        }
+        return tree;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority(a) > priority(b)) {
+            nodes[a * STRIDE + RIGHT] = merge(right(a), b);
+            return a;
+        }
+        nodes[b * STRIDE + LEFT] = merge(a, left(b));
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left(node);
+        nodes[node * STRIDE + LEFT] = right(pivot);
+        nodes[pivot * STRIDE + RIGHT] = node;
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right(node);
+        nodes[node * STRIDE + RIGHT] = left(pivot);
+        nodes[pivot * STRIDE + LEFT] = node;
+        return pivot;
+    }
+
+    private int left(int node) {
+        return (int) nodes[node * STRIDE + LEFT];
+    }
+
+    private int right(int node) {
+        return (int) nodes[node * STRIDE + RIGHT];
+    }
+
+    private int priority(int node) {
+        long h = nodes[node * STRIDE + PLAYER] * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int allocate(long score, long playerId) {
+        int node;
+        if (freeNodes != NIL) {
+            node = freeNodes;
+            freeNodes = left(node);
+        } else {
+            if ((nextNode + 1) * STRIDE > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            node = nextNode++;
+        }
+        int base = node * STRIDE;
+        nodes[base + SCORE] = score;
+        nodes[base + PLAYER] = playerId;
+        nodes[base + LEFT] = NIL;
+        nodes[base + RIGHT] = NIL;
+        return node;
+    }
+}
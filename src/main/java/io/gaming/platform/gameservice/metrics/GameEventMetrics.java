@@ -0,0 +1,154 @@
+package io.gaming.platform.gameservice.metrics;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.serialization.WireFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of the produce path, tagged by {@link GameEventType}.
+ * <p>
+ * Every meter is registered up front and looked up by enum ordinal, so recording
+ * on the request path neither builds tags nor allocates.
+ */
+@Component
+public class GameEventMetrics {
+    private static final GameEventType[] EVENT_TYPES = GameEventType.values();
+    private static final WireFormat[] WIRE_FORMATS = WireFormat.values();
+
+    public enum RequestOutcome {
+        /** The event was accepted and answered with 2xx. */
+        ACCEPTED,
+        /** The event was turned away before reaching Kafka because the service is saturated. */
+        REJECTED,
+        /** The player exceeded its rate limit for the event type. */
+        RATE_LIMITED,
+        /** Kafka did not acknowledge the event within the request timeout. */
+        TIMED_OUT,
+        /** The event could not be published. */
+        FAILED
+    }
+
+    private final Timer[] serializationTimers;
+    private final DistributionSummary[][] payloadSizes;
+    private final Timer[] acknowledgedSends;
+    private final Timer[] failedSends;
+    private final Timer[][] requests;
+    private final AtomicInteger[] inFlight;
+    private final Counter[] deadLettered;
+    private final Timer committedTransactions;
+    private final Timer abortedTransactions;
+    private final DistributionSummary transactionSizes;
+
+    public GameEventMetrics(MeterRegistry registry) {
+        int types = EVENT_TYPES.length;
+        serializationTimers = new Timer[types];
+        payloadSizes = new DistributionSummary[types][WIRE_FORMATS.length];
+        acknowledgedSends = new Timer[types];
+        failedSends = new Timer[types];
+        requests = new Timer[types][RequestOutcome.values().length];
+        inFlight = new AtomicInteger[types];
+        deadLettered = new Counter[types];
+
+        for (GameEventType type : EVENT_TYPES) {
+            int i = type.ordinal();
+            String typeTag = type.name();
+            serializationTimers[i] = Timer.builder("game.events.serialization")
+                .description("Time to encode a game event into its record value")
+                .tag("type", typeTag)
+                .register(registry);
+            for (WireFormat format : WIRE_FORMATS) {
+                payloadSizes[i][format.ordinal()] = DistributionSummary.builder("game.events.payload.size")
+                    .description("Encoded size of game event record values")
+                    .baseUnit("bytes")
+                    .tag("type", typeTag)
+                    .tag("format", format.name())
+                    .publishPercentileHistogram()
+                    .register(registry);
+            }
+            acknowledgedSends[i] = sendTimer(registry, typeTag, "success");
+            failedSends[i] = sendTimer(registry, typeTag, "failure");
+            for (RequestOutcome outcome : RequestOutcome.values()) {
+                requests[i][outcome.ordinal()] = Timer.builder("game.events.requests")
+                    .description("Time from receiving a game event until its HTTP response is ready")
+                    .tag("type", typeTag)
+                    .tag("outcome", outcome.name())
+                    .publishPercentileHistogram()
+                    .register(registry);
+            }
+            inFlight[i] = new AtomicInteger();
+            Gauge.builder("game.events.in.flight", inFlight[i], AtomicInteger::get)
+                .description("Game events handed to Kafka and not yet acknowledged")
+                .tag("type", typeTag)
+                .register(registry);
+            deadLettered[i] = Counter.builder("game.events.dead.lettered")
+                .description("Game events written to the dead-letter topic after an asynchronous delivery failure")
+                .tag("type", typeTag)
+                .register(registry);
+        }
+        committedTransactions = transactionTimer(registry, "committed");
+        abortedTransactions = transactionTimer(registry, "aborted");
+        transactionSizes = DistributionSummary.builder("game.events.transaction.size")
+            .description("Game events published together in one Kafka transaction")
+            .register(registry);
+    }
+
+    /**
+     * Metrics that record nowhere, for code constructed outside the application context.
+     */
+    public static GameEventMetrics noop() {
+        return new GameEventMetrics(new CompositeMeterRegistry());
+    }
+
+    public void recordSerialization(GameEventType type, WireFormat format, long nanos, int bytes) {
+        serializationTimers[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        payloadSizes[type.ordinal()][format.ordinal()].record(bytes);
+    }
+
+    public void sendStarted(GameEventType type) {
+        inFlight[type.ordinal()].incrementAndGet();
+    }
+
+    public void sendCompleted(GameEventType type, long nanos, boolean acknowledged) {
+        inFlight[type.ordinal()].decrementAndGet();
+        (acknowledged ? acknowledgedSends : failedSends)[type.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRequest(GameEventType type, RequestOutcome outcome, long nanos) {
+        requests[type.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDeadLetter(GameEventType type) {
+        deadLettered[type.ordinal()].increment();
+    }
+
+    public void recordTransaction(int events, long nanos, boolean committed) {
+        (committed ? committedTransactions : abortedTransactions).record(nanos, TimeUnit.NANOSECONDS);
+        transactionSizes.record(events);
+    }
+
+    private static Timer transactionTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("game.events.transactions")
+            .description("Time from beginning a Kafka transaction of game events until it is committed or aborted")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Timer sendTimer(MeterRegistry registry, String typeTag, String outcome) {
+        return Timer.builder("game.events.send")
+            .description("Time from handing a game event to the Kafka producer until the broker answers")
+            .tag("type", typeTag)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package io.gaming.platform.gameservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * @param challengeName name of the completed challenge as submitted
+ * @param challengeType the built-in challenge the name denotes, or {@code null} for other challenges
+ */
+public record ChallengeCompletedData(
+    String challengeName,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    ChallengeType challengeType
+) implements GameEventData {
+
+    public static ChallengeCompletedData of(String challengeName) {
+        return new ChallengeCompletedData(challengeName, ChallengeType.fromName(challengeName));
+    }
+}
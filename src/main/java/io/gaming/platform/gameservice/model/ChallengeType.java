@@ -7,6 +7,8 @@ public enum ChallengeType {
     WIN_PVP_BATTLES("Win 10 PvP Battles", 800),
     COMPLETE_TUTORIAL("Complete Tutorial", 100);
 
+    private static final ChallengeType[] VALUES = values();
+
     private final String displayName;
     private final int baseRewardPoints;
 
@@ -22,4 +24,16 @@ public enum ChallengeType {
     public int getBaseRewardPoints() {
         return baseRewardPoints;
     }
+
+    /**
+     * The challenge with the given constant or display name, ignoring case, or {@code null} if there is none.
+     */
+    public static ChallengeType fromName(String name) {
+        for (ChallengeType type : VALUES) {
+            if (type.name().equalsIgnoreCase(name) || type.displayName.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,47 @@
+package io.gaming.platform.gameservice.model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Wall clock with millisecond resolution that hands out one shared {@link Instant} per
+ * millisecond, so stamping many events does not allocate an instant for each of them.
+ */
+public final class CoarseClock extends Clock {
+    public static final CoarseClock UTC = new CoarseClock(ZoneOffset.UTC);
+
+    private final ZoneId zone;
+    private volatile Instant current = Instant.EPOCH;
+
+    private CoarseClock(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    public Instant instant() {
+        long now = System.currentTimeMillis();
+        Instant cached = current;
+        if (cached.toEpochMilli() != now) {
+            cached = Instant.ofEpochMilli(now);
+            current = cached;
+        }
+        return cached;
+    }
+
+    @Override
+    public long millis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new CoarseClock(zone);
+    }
+}
@@ -0,0 +1,17 @@
+package io.gaming.platform.gameservice.model;
+
+import java.util.UUID;
+
+/**
+ * Source of the ids given to new game events.
+ */
+@FunctionalInterface
+public interface EventIdGenerator {
+    /** Random (version 4) UUIDs drawn from {@link java.security.SecureRandom}. */
+    EventIdGenerator RANDOM_UUID = timestampMillis -> UUID.randomUUID().toString();
+
+    /**
+     * Returns a new id for an event stamped with {@code timestampMillis}.
+     */
+    String nextId(long timestampMillis);
+}
@@ -1,9 +1,10 @@
 package io.gaming.platform.gameservice.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
 import java.util.Map;
-import java.util.UUID;
 
 public record GameEvent(
     EventCategory category,
@@ -12,72 +13,75 @@ public record GameEvent(
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     Instant timestamp,
     Long playerId,
-    Map<String, Object> eventData
+    GameEventData eventData
 ) {
+    // The factory methods below stamp events with GameEventFactory.DEFAULT, which suits tests
+    // and tools; the service stamps them through its own GameEventFactory bean instead
+
     public static GameEvent levelUp(Long playerId, int newLevel) {
-        return new GameEvent(
-            EventCategory.GAME,
-            GameEventType.LEVEL_UP,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            playerId,
-            Map.of("newLevel", newLevel)
-        );
+        return GameEventFactory.DEFAULT.levelUp(playerId, newLevel);
     }
 
     public static GameEvent itemAcquired(Long playerId, String itemName, String rarity) {
-        return new GameEvent(
-            EventCategory.GAME,
-            GameEventType.ITEM_ACQUIRED,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            playerId,
-            Map.of(
-                "itemName", itemName,
-                "rarity", rarity
-            )
-        );
+        return GameEventFactory.DEFAULT.itemAcquired(playerId, itemName, rarity);
     }
 
     public static GameEvent challengeCompleted(Long playerId, String challengeName) {
-        return new GameEvent(
-            EventCategory.GAME,
-            GameEventType.CHALLENGE_COMPLETED,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            playerId,
-            Map.of(
-                "challengeName", challengeName
-            )
-        );
+        return GameEventFactory.DEFAULT.challengeCompleted(playerId, challengeName);
     }
 
     public static GameEvent pvpAttack(Long defenderId, Long attackerId, int damageDealt) {
-        return new GameEvent(
-            EventCategory.GAME,
-            GameEventType.PVP_ATTACK,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            defenderId,
-            Map.of(
-                "attackerId", attackerId,
-                "damageDealt", damageDealt
-            )
-        );
+        return GameEventFactory.DEFAULT.pvpAttack(defenderId, attackerId, damageDealt);
     }
 
     public static GameEvent pvpDefeat(Long defeatedPlayerId, Long victorPlayerId, String battleLocation) {
-        return new GameEvent(
-            EventCategory.GAME,
-            GameEventType.PVP_DEFEAT,
-            UUID.randomUUID().toString(),
-            Instant.now(),
-            defeatedPlayerId,
-            Map.of(
-                "victorPlayerId", victorPlayerId,
-                "battleLocation", battleLocation,
-                "defeatTime", Instant.now().toString()
-            )
-        );
+        return GameEventFactory.DEFAULT.pvpDefeat(defeatedPlayerId, victorPlayerId, battleLocation);
+    }
+
+    /**
+     * Several attacks of one attacker on one defender, coalesced into a single event.
+     */
+    public static GameEvent pvpAttackSummary(
+            Long defenderId, Long attackerId, long totalDamage, int hitCount, Instant firstHitTime, Instant lastHitTime) {
+        return GameEventFactory.DEFAULT.pvpAttackSummary(
+            defenderId, attackerId, totalDamage, hitCount, firstHitTime, lastHitTime);
+    }
+
+    /**
+     * Reads an event from JSON, where the type of {@code eventData} follows from {@code eventType}.
+     */
+    @JsonCreator
+    static GameEvent fromJson(
+            @JsonProperty("category") EventCategory category,
+            @JsonProperty("eventType") GameEventType eventType,
+            @JsonProperty("eventId") String eventId,
+            @JsonProperty("timestamp") Instant timestamp,
+            @JsonProperty("playerId") Long playerId,
+            @JsonProperty("eventData") Map<String, Object> eventData) {
+        return new GameEvent(category, eventType, eventId, timestamp, playerId, readData(eventType, eventData));
+    }
+
+    private static GameEventData readData(GameEventType eventType, Map<String, Object> data) {
+        if (eventType == null || data == null) {
+            return null;
+        }
+        return switch (eventType) {
+            case LEVEL_UP -> new LevelUpData(((Number) data.get("newLevel")).intValue());
+            case ITEM_ACQUIRED -> new ItemAcquiredData((String) data.get("itemName"), (String) data.get("rarity"));
+            case CHALLENGE_COMPLETED -> ChallengeCompletedData.of((String) data.get("challengeName"));
+            case PVP_ATTACK -> new PvpAttackData(
+                ((Number) data.get("attackerId")).longValue(),
+                ((Number) data.get("damageDealt")).intValue());
+            case PVP_DEFEAT -> new PvpDefeatData(
+                ((Number) data.get("victorPlayerId")).longValue(),
+                (String) data.get("battleLocation"),
+                Instant.parse((String) data.get("defeatTime")));
+            case PVP_ATTACK_SUMMARY -> new PvpAttackSummaryData(
+                ((Number) data.get("attackerId")).longValue(),
+                ((Number) data.get("totalDamage")).longValue(),
+                ((Number) data.get("hitCount")).intValue(),
+                Instant.parse((String) data.get("firstHitTime")),
+                Instant.parse((String) data.get("lastHitTime")));
+        };
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package io.gaming.platform.gameservice.model;
+
+/**
+ * Payload of a {@link GameEvent}, one record per {@link GameEventType}. Each serializes to
+ * the JSON object of its fields, the shape {@code eventData} always had.
+ */
+public sealed interface GameEventData
+        permits LevelUpData, ItemAcquiredData, ChallengeCompletedData, PvpAttackData, PvpDefeatData, PvpAttackSummaryData {
+}
@@ -0,0 +1,106 @@
+package io.gaming.platform.gameservice.model;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Creates new game events, stamped with an id from an {@link EventIdGenerator} and a
+ * timestamp from a {@link Clock}. Each application context has its own, so instances
+ * sharing a JVM keep their own node ids.
+ */
+public final class GameEventFactory {
+    /**
+     * Stamps ids with a random node id and timestamps from the system clock; used by the
+     * {@link GameEvent} factory methods.
+     */
+    public static final GameEventFactory DEFAULT =
+        new GameEventFactory(UuidV7EventIdGenerator.withRandomNodeId(), Clock.systemUTC());
+
+    private final EventIdGenerator idGenerator;
+    private final Clock clock;
+
+    public GameEventFactory(EventIdGenerator idGenerator, Clock clock) {
+        this.idGenerator = idGenerator;
+        this.clock = clock;
+    }
+
+    public GameEvent levelUp(Long playerId, int newLevel) {
+        Instant now = clock.instant();
+        return new GameEvent(
+            EventCategory.GAME,
+            GameEventType.LEVEL_UP,
+            nextId(now),
+            now,
+            playerId,
+            new LevelUpData(newLevel)
+        );
+    }
+
+    public GameEvent itemAcquired(Long playerId, String itemName, String rarity) {
+        Instant now = clock.instant();
+        return new GameEvent(
+            EventCategory.GAME,
+            GameEventType.ITEM_ACQUIRED,
+            nextId(now),
+            now,
+            playerId,
+            new ItemAcquiredData(itemName, rarity)
+        );
+    }
+
+    public GameEvent challengeCompleted(Long playerId, String challengeName) {
+        Instant now = clock.instant();
+        return new GameEvent(
+            EventCategory.GAME,
+            GameEventType.CHALLENGE_COMPLETED,
+            nextId(now),
+            now,
+            playerId,
+            ChallengeCompletedData.of(challengeName)
+        );
+    }
+
+    public GameEvent pvpAttack(Long defenderId, Long attackerId, int damageDealt) {
+        Instant now = clock.instant();
+        return new GameEvent(
+            EventCategory.GAME,
+            GameEventType.PVP_ATTACK,
+            nextId(now),
+            now,
+            defenderId,
+            new PvpAttackData(attackerId, damageDealt)
+        );
+    }
+
+    public GameEvent pvpDefeat(Long defeatedPlayerId, Long victorPlayerId, String battleLocation) {
+        Instant now = clock.instant();
+        return new GameEvent(
+            EventCategory.GAME,
+            GameEventType.PVP_DEFEAT,
+            nextId(now),
+            now,
+            defeatedPlayerId,
+            new PvpDefeatData(victorPlayerId, battleLocation, now)
+        );
+    }
+
+    /**
+     * Several attacks of one attacker on one defender, coalesced into a single event.
+     */
+    public GameEvent pvpAttackSummary(
+            Long defenderId, Long attackerId, long totalDamage, int hitCount, Instant firstHitTime, Instant lastHitTime) {
+        Instant now = clock.instant();
+        return new GameEvent(
+            EventCategory.GAME,
+            GameEventType.PVP_ATTACK_SUMMARY,
+            nextId(now),
+            now,
+            defenderId,
+            new PvpAttackSummaryData(attackerId, totalDamage, hitCount, firstHitTime, lastHitTime)
+        );
+    }
+
+    private String nextId(Instant timestamp) {
+        return idGenerator.nextId(timestamp.toEpochMilli());
+    }
+}
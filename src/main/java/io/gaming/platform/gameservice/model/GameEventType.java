@@ -5,5 +5,6 @@ public enum GameEventType {
     ITEM_ACQUIRED,
     CHALLENGE_COMPLETED,
     PVP_ATTACK,
-    PVP_DEFEAT
+    PVP_DEFEAT,
+    PVP_ATTACK_SUMMARY
 } 
\ No newline at end of file
@@ -0,0 +1,4 @@
+package io.gaming.platform.gameservice.model;
+
+public record ItemAcquiredData(String itemName, String rarity) implements GameEventData {
+}
@@ -0,0 +1,4 @@
+package io.gaming.platform.gameservice.model;
+
+public record LevelUpData(int newLevel) implements GameEventData {
+}
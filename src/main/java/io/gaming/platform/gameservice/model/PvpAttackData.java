@@ -0,0 +1,4 @@
+package io.gaming.platform.gameservice.model;
+
+public record PvpAttackData(long attackerId, int damageDealt) implements GameEventData {
+}
@@ -0,0 +1,16 @@
+package io.gaming.platform.gameservice.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
+
+public record PvpAttackSummaryData(
+    long attackerId,
+    long totalDamage,
+    int hitCount,
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    Instant firstHitTime,
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    Instant lastHitTime
+) implements GameEventData {
+}
@@ -0,0 +1,13 @@
+package io.gaming.platform.gameservice.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
+
+public record PvpDefeatData(
+    long victorPlayerId,
+    String battleLocation,
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    Instant defeatTime
+) implements GameEventData {
+}
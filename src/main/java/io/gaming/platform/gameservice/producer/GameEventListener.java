@@ -0,0 +1,15 @@
+package io.gaming.platform.gameservice.producer;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+/**
+ * Callback for game events {@link GameEventProducer} has published, whether acknowledged by
+ * the broker, accepted under a non-synchronous delivery policy, spooled or committed in a
+ * transaction. Called on producer or spool threads, so implementations must be quick and
+ * must not block.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    void onPublished(GameEvent event);
+}
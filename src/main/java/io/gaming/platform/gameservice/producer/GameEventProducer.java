@@ -1,94 +1,372 @@
 package io.gaming.platform.gameservice.producer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.gameservice.backpressure.KafkaSendGuard;
+import io.gaming.platform.gameservice.backpressure.KafkaSendGuard.Decision;
+import io.gaming.platform.gameservice.backpressure.SendRejectedException;
+import io.gaming.platform.gameservice.config.DeliveryPolicy;
+import io.gaming.platform.gameservice.config.DeliveryProperties;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
 import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventFactory;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.routing.EventRoute;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.spool.EventSpool;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class GameEventProducer {
     private static final Logger log = LoggerFactory.getLogger(GameEventProducer.class);
+
+    /** Header of dead-lettered records carrying the delivery failure. */
+    public static final String DELIVERY_ERROR_HEADER = "gp-delivery-error";
+    /** Header of quarantined records carrying why they were flagged. */
+    public static final String QUARANTINE_REASON_HEADER = "gp-quarantine-reason";
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
-    private final String topicName;
+    private final KafkaTemplate<Long, GameEvent> kafkaTemplate;
+    private final KafkaTemplate<Long, GameEvent> leaderAckTemplate;
+    private final DeliveryPolicy[] deliveryPolicies;
+    private final String deadLetterTopic;
+    private final String quarantineTopic;
+    private final GameEventMetrics metrics;
+    private final EventSpool spool;
+    private final GameEventRouter router;
+    private final GameEventFactory eventFactory;
+    private final TransactionalEventPublisher transactionalPublisher;
+    private final KafkaSendGuard sendGuard;
+    private final GameEventValidator[] validators;
+    private final GameEventListener[] listeners;
 
     public GameEventProducer(
-            KafkaTemplate<String, String> kafkaTemplate,
-            ObjectMapper objectMapper,
-            @Value("${app.kafka.topic}") String topicName) {
+            KafkaTemplate<Long, GameEvent> kafkaTemplate,
+            @Qualifier("leaderAckKafkaTemplate") KafkaTemplate<Long, GameEvent> leaderAckTemplate,
+            GameEventRouter router,
+            GameEventFactory eventFactory,
+            DeliveryProperties deliveryProperties,
+            GameEventMetrics metrics,
+            Optional<EventSpool> spool,
+            Optional<TransactionalEventPublisher> transactionalPublisher,
+            Optional<KafkaSendGuard> sendGuard,
+            List<GameEventValidator> validators,
+            List<GameEventListener> listeners) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
-        this.topicName = topicName;
+        this.leaderAckTemplate = leaderAckTemplate;
+        this.deliveryPolicies = new DeliveryPolicy[GameEventType.values().length];
+        for (GameEventType eventType : GameEventType.values()) {
+            deliveryPolicies[eventType.ordinal()] = deliveryProperties.policyFor(eventType);
+        }
+        this.deadLetterTopic = deliveryProperties.deadLetterTopic();
+        this.quarantineTopic = deliveryProperties.quarantineTopic();
+        this.metrics = metrics;
+        this.spool = spool.orElse(null);
+        this.router = router;
+        this.eventFactory = eventFactory;
+        this.transactionalPublisher = transactionalPublisher.orElse(null);
+        this.sendGuard = sendGuard.orElse(null);
+        this.validators = validators.toArray(GameEventValidator[]::new);
+        this.listeners = listeners.toArray(GameEventListener[]::new);
     }
 
     /**
      * Sends a level up event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendLevelUpEvent(Long playerId, int newLevel) {
-        return sendGameEvent(GameEvent.levelUp(playerId, newLevel));
+    public CompletableFuture<PublishedGameEvent> sendLevelUpEvent(Long playerId, int newLevel) {
+        return sendGameEvent(eventFactory.levelUp(playerId, newLevel));
     }
 
     /**
      * Sends an item acquisition event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendItemAcquiredEvent(
+    public CompletableFuture<PublishedGameEvent> sendItemAcquiredEvent(
             Long playerId, String itemName, String rarity) {
-        return sendGameEvent(GameEvent.itemAcquired(playerId, itemName, rarity));
+        return sendGameEvent(eventFactory.itemAcquired(playerId, itemName, rarity));
     }
 
     /**
      * Sends a challenge completion event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendChallengeCompletedEvent(
+    public CompletableFuture<PublishedGameEvent> sendChallengeCompletedEvent(
             Long playerId, String challengeName) {
-        return sendGameEvent(GameEvent.challengeCompleted(playerId, challengeName));
+        return sendGameEvent(eventFactory.challengeCompleted(playerId, challengeName));
     }
 
     /**
      * Sends a PvP attack event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendPvpAttackEvent(
+    public CompletableFuture<PublishedGameEvent> sendPvpAttackEvent(
     		Long defenderId, Long attackerId , int damageDealt) {
-        return sendGameEvent(GameEvent.pvpAttack(defenderId, attackerId, damageDealt));
+        return sendGameEvent(eventFactory.pvpAttack(defenderId, attackerId, damageDealt));
     }
 
     /**
      * Sends a PvP defeat event to Kafka.
      */
-    public CompletableFuture<SendResult<String, String>> sendPvpDefeatEvent(
+    public CompletableFuture<PublishedGameEvent> sendPvpDefeatEvent(
             Long defeatedPlayerId, Long victorPlayerId, String battleLocation) {
-        return sendGameEvent(GameEvent.pvpDefeat(defeatedPlayerId, victorPlayerId, battleLocation));
+        return sendGameEvent(eventFactory.pvpDefeat(defeatedPlayerId, victorPlayerId, battleLocation));
+    }
+
+    /**
+     * Sends a group of game events to Kafka without waiting between them, so the
+     * producer can pipeline them into as few broker requests as possible.
+     * The returned futures are in the same order as the events.
+     */
+    public List<CompletableFuture<PublishedGameEvent>> sendGameEvents(List<GameEvent> events) {
+        List<CompletableFuture<PublishedGameEvent>> results = new ArrayList<>(events.size());
+        for (GameEvent event : events) {
+            results.add(sendGameEvent(event));
+        }
+        log.debug("Handed batch of {} game events to Kafka", events.size());
+        return results;
+    }
+
+    /**
+     * Publishes a group of game events atomically in one Kafka transaction; the returned
+     * future fails if the transaction was aborted, in which case none of the events is
+     * visible to consumers reading committed records. Delivery policies and the spool do
+     * not apply: the future completes once the broker committed the transaction.
+     * <p>
+     * Groups are not shed by the {@link KafkaSendGuard}, and their events do not count as in
+     * flight: the pool of transactional producers and its queue bound them instead, see
+     * {@link io.gaming.platform.gameservice.config.TransactionProperties}.
+     * <p>
+     * A group is not split, so if a {@link GameEventValidator} does not pass one of its events
+     * the whole group fails with {@link GameEventRejectedException}.
+     * <p>
+     * While spooled events await draining, groups are rejected with
+     * {@link RejectedExecutionException} rather than overtake them.
+     */
+    public CompletableFuture<List<PublishedGameEvent>> sendGameEventsAtomically(List<GameEvent> events) {
+        if (transactionalPublisher == null) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Transactions are disabled, see app.kafka.transactions.enabled"));
+        }
+        if (spool != null && spool.hasBacklog()) {
+            return CompletableFuture.failedFuture(
+                new RejectedExecutionException("Spooled game events are awaiting delivery"));
+        }
+        for (GameEvent event : events) {
+            GameEventVerdict verdict = validate(event);
+            if (verdict.action() != GameEventVerdict.Action.PASS) {
+                return CompletableFuture.failedFuture(new GameEventRejectedException(verdict.reason()));
+            }
+        }
+        CompletableFuture<List<PublishedGameEvent>> published = transactionalPublisher.publish(events);
+        if (listeners.length > 0) {
+            published.thenAccept(committed -> committed.forEach(event -> notifyListeners(event.event())));
+        }
+        return published;
     }
 
     /**
-     * Generic method to send any game event to Kafka.
+     * Generic method to send any game event to Kafka. When the spool is enabled, events
+     * Kafka does not take are spooled instead, and while spooled events await draining
+     * new events are spooled behind them to keep each player's events in order.
+     * <p>
+     * Event types delivered with {@link DeliveryPolicy#ACCEPTED} or {@link DeliveryPolicy#ACKS_1}
+     * complete as soon as the record is in the producer buffer.
+     * <p>
+     * With backpressure enabled, sends the {@link KafkaSendGuard} does not admit fail at once
+     * with {@link SendRejectedException}; while its circuit is open they are spooled instead,
+     * if the spool is enabled.
+     * <p>
+     * Events a {@link GameEventValidator} rejects fail with {@link GameEventRejectedException};
+     * those it quarantines are published to the quarantine topic only and complete once
+     * acknowledged there.
+     * <p>
+     * {@link GameEventListener}s are told about the event once the returned future completes
+     * normally, unless it was quarantined.
      */
-    private CompletableFuture<SendResult<String, String>> sendGameEvent(GameEvent event) {
+    private CompletableFuture<PublishedGameEvent> sendGameEvent(GameEvent event) {
+        GameEventVerdict verdict = validate(event);
+        if (verdict.action() == GameEventVerdict.Action.REJECT) {
+            return CompletableFuture.failedFuture(new GameEventRejectedException(verdict.reason()));
+        }
+        if (verdict.action() == GameEventVerdict.Action.QUARANTINE) {
+            return quarantine(event, verdict.reason());
+        }
+        CompletableFuture<PublishedGameEvent> published = publish(event);
+        if (listeners.length > 0) {
+            published.thenAccept(result -> notifyListeners(event));
+        }
+        return published;
+    }
+
+    private CompletableFuture<PublishedGameEvent> publish(GameEvent event) {
+        if (spool != null && spool.hasBacklog()) {
+            return spoolEvent(event, null);
+        }
+        Decision decision = sendGuard != null ? sendGuard.tryAcquire() : Decision.ADMITTED;
+        if (!decision.isAdmitted()) {
+            if (decision == Decision.CIRCUIT_OPEN && spool != null) {
+                return spoolEvent(event, null);
+            }
+            return CompletableFuture.failedFuture(new SendRejectedException(decision));
+        }
         try {
-            String message = objectMapper.writeValueAsString(event);
-            String key = event.playerId().toString();
+            DeliveryPolicy policy = deliveryPolicies[event.eventType().ordinal()];
+            if (policy != DeliveryPolicy.SYNC) {
+                KafkaTemplate<Long, GameEvent> template =
+                    policy == DeliveryPolicy.ACKS_1 ? leaderAckTemplate : kafkaTemplate;
+                sendTimed(template, event, decision).whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        deadLetter(event, ex);
+                    }
+                });
+                return CompletableFuture.completedFuture(PublishedGameEvent.accepted(event));
+            }
 
-            return kafkaTemplate.send(topicName, key, message)
+            CompletableFuture<SendResult<Long, GameEvent>> send = sendTimed(kafkaTemplate, event, decision);
+            return send
                 .thenApply(result -> {
                     log.info("Successfully sent game event {}: {} to topic {} partition {} offset {}",
-                        event.eventType(), message, result.getRecordMetadata().topic(),
+                        event.eventType(), event.eventId(), result.getRecordMetadata().topic(),
                         result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
-                    return result;
+                    return new PublishedGameEvent(event, result.getRecordMetadata());
                 })
-                .exceptionally(ex -> {
+                .exceptionallyCompose(ex -> {
+                    if (spool != null) {
+                        return spoolEvent(event, ex);
+                    }
                     log.error("Failed to send game event {}: {}", event.eventType(), ex.getMessage(), ex);
-                    throw new RuntimeException("Failed to send game event", ex);
+                    return CompletableFuture.failedFuture(new RuntimeException("Failed to send game event", ex));
                 });
         } catch (Exception e) {
+            if (spool != null && !(e instanceof SerializationException)) {
+                return spoolEvent(event, e);
+            }
             log.error("Error preparing game event {}: {}", event.eventType(), e.getMessage(), e);
             return CompletableFuture.failedFuture(e);
         }
     }
+
+    /**
+     * The strictest verdict of the validators, which all see the event unless one rejects it.
+     */
+    private GameEventVerdict validate(GameEvent event) {
+        GameEventVerdict verdict = GameEventVerdict.PASS;
+        for (GameEventValidator validator : validators) {
+            GameEventVerdict next = validator.validate(event);
+            if (next.action().compareTo(verdict.action()) > 0) {
+                verdict = next;
+                if (verdict.action() == GameEventVerdict.Action.REJECT) {
+                    break;
+                }
+            }
+        }
+        return verdict;
+    }
+
+    private CompletableFuture<PublishedGameEvent> quarantine(GameEvent event, String reason) {
+        log.warn("Quarantining game event {}: {} of player {}: {}",
+            event.eventType(), event.eventId(), event.playerId(), reason);
+        ProducerRecord<Long, GameEvent> record =
+            new ProducerRecord<>(quarantineTopic, event.playerId(), event);
+        record.headers().add(QUARANTINE_REASON_HEADER, reason.getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<SendResult<Long, GameEvent>> send;
+        try {
+            send = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send
+            .thenApply(result -> new PublishedGameEvent(
+                event, result.getRecordMetadata(), PublishedGameEvent.Status.QUARANTINED))
+            .exceptionallyCompose(ex -> {
+                log.error("Failed to quarantine game event {}: {}", event.eventType(), event.eventId(), ex);
+                return CompletableFuture.failedFuture(new RuntimeException("Failed to send game event", ex));
+            });
+    }
+
+    private CompletableFuture<PublishedGameEvent> spoolEvent(GameEvent event, Throwable sendFailure) {
+        if (sendFailure != null) {
+            log.warn("Spooling game event {}: {} after send failure: {}",
+                event.eventType(), event.eventId(), sendFailure.getMessage());
+        }
+        return spool.append(event)
+            .thenApply(committed -> PublishedGameEvent.spooled(event))
+            .exceptionallyCompose(ex -> {
+                log.error("Failed to spool game event {}: {}", event.eventType(), ex.getMessage(), ex);
+                return CompletableFuture.failedFuture(new RuntimeException("Failed to send game event", ex));
+            });
+    }
+
+    /**
+     * Writes an event whose delivery failed after its request was answered to the
+     * dead-letter topic, or to the spool if Kafka does not take that either.
+     */
+    public void deadLetter(GameEvent event, Throwable failure) {
+        log.error("Failed to deliver accepted game event {}: {}, writing it to {}",
+            event.eventType(), event.eventId(), deadLetterTopic, failure);
+        ProducerRecord<Long, GameEvent> record =
+            new ProducerRecord<>(deadLetterTopic, event.playerId(), event);
+        record.headers().add(DELIVERY_ERROR_HEADER,
+            String.valueOf(failure.getMessage()).getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<SendResult<Long, GameEvent>> send;
+        try {
+            send = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        send.whenComplete((result, ex) -> {
+            if (ex == null) {
+                metrics.recordDeadLetter(event.eventType());
+            } else if (spool != null) {
+                spoolEvent(event, ex);
+            } else {
+                log.error("Lost game event {}: {}, dead-lettering failed", event.eventType(), event.eventId(), ex);
+            }
+        });
+    }
+
+    private CompletableFuture<SendResult<Long, GameEvent>> sendTimed(
+            KafkaTemplate<Long, GameEvent> template, GameEvent event, Decision permit) {
+        EventRoute route = router.routeFor(event.eventType());
+        long start = System.nanoTime();
+        metrics.sendStarted(event.eventType());
+        CompletableFuture<SendResult<Long, GameEvent>> send;
+        try {
+            send = template.send(route.topic(), route.partition(event), route.key(event), event);
+        } catch (RuntimeException e) {
+            metrics.sendCompleted(event.eventType(), System.nanoTime() - start, false);
+            if (sendGuard != null) {
+                // Failing to hand the record over, e.g. to serialize it, says nothing about the broker
+                sendGuard.cancel(permit);
+            }
+            throw e;
+        }
+        send.whenComplete((result, ex) -> sendCompleted(event, System.nanoTime() - start, ex == null, permit));
+        return send;
+    }
+
+    private void notifyListeners(GameEvent event) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onPublished(event);
+            } catch (RuntimeException e) {
+                log.warn("Game event listener {} failed on {}: {}", listener, event.eventId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sendCompleted(GameEvent event, long nanos, boolean acknowledged, Decision permit) {
+        metrics.sendCompleted(event.eventType(), nanos, acknowledged);
+        if (sendGuard != null) {
+            sendGuard.release(permit, nanos, acknowledged);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package io.gaming.platform.gameservice.producer;
+
+/**
+ * An event a {@link GameEventValidator} refused to have published.
+ */
+public class GameEventRejectedException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public GameEventRejectedException(String reason) {
+        super("Event rejected: " + reason);
+    }
+}
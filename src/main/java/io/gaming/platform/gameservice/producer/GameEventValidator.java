@@ -0,0 +1,14 @@
+package io.gaming.platform.gameservice.producer;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+/**
+ * Screens each game event before {@link GameEventProducer} publishes it. Called on the
+ * request thread for every event, so implementations must be quick, must not block and
+ * should not allocate on the common path.
+ */
+@FunctionalInterface
+public interface GameEventValidator {
+
+    GameEventVerdict validate(GameEvent event);
+}
@@ -0,0 +1,21 @@
+package io.gaming.platform.gameservice.producer;
+
+/**
+ * What {@link GameEventProducer} does with an event a {@link GameEventValidator} looked at.
+ * Validators should reuse their verdicts rather than create one per event.
+ *
+ * @param action what happens to the event
+ * @param reason why, for events not passed; carried in the quarantine header or the rejection
+ */
+public record GameEventVerdict(Action action, String reason) {
+    public static final GameEventVerdict PASS = new GameEventVerdict(Action.PASS, null);
+
+    public enum Action {
+        /** The event is published as usual. */
+        PASS,
+        /** The event is published to the quarantine topic instead and answered as accepted. */
+        QUARANTINE,
+        /** The event is not published and its request fails with {@link GameEventRejectedException}. */
+        REJECT
+    }
+}
@@ -0,0 +1,41 @@
+package io.gaming.platform.gameservice.producer;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+/**
+ * A game event the service has taken responsibility for, and how far its delivery got
+ * when the request was answered. {@code metadata} is only set once Kafka acknowledged it.
+ */
+public record PublishedGameEvent(
+    GameEvent event,
+    RecordMetadata metadata,
+    Status status
+) {
+    public enum Status {
+        /** Kafka acknowledged the record. */
+        ACKNOWLEDGED,
+        /** The record is in the producer buffer; failures go to the dead-letter topic. */
+        ACCEPTED,
+        /** The event is on local disk and will be replayed into Kafka. */
+        SPOOLED,
+        /** Kafka acknowledged the record on the quarantine topic, where it awaits review. */
+        QUARANTINED
+    }
+
+    public PublishedGameEvent(GameEvent event, RecordMetadata metadata) {
+        this(event, metadata, Status.ACKNOWLEDGED);
+    }
+
+    public static PublishedGameEvent accepted(GameEvent event) {
+        return new PublishedGameEvent(event, null, Status.ACCEPTED);
+    }
+
+    public static PublishedGameEvent spooled(GameEvent event) {
+        return new PublishedGameEvent(event, null, Status.SPOOLED);
+    }
+
+    public boolean isSpooled() {
+        return status == Status.SPOOLED;
+    }
+}
@@ -0,0 +1,119 @@
+package io.gaming.platform.gameservice.producer;
+
+import io.gaming.platform.gameservice.config.TransactionProperties;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.routing.EventRoute;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes groups of game events in Kafka transactions, so that consumers reading
+ * committed records see either every event of a group or none of them.
+ * <p>
+ * A transaction occupies its producer until the commit has been acknowledged, so groups
+ * are run by a fixed set of worker threads, one per producer of the transactional
+ * producer factory's cache. Concurrent groups therefore proceed on separate producers
+ * instead of queueing behind a single transaction; groups beyond that wait in a bounded
+ * queue and are rejected with {@link RejectedExecutionException} once it is full.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.kafka.transactions", name = "enabled", havingValue = "true")
+public class TransactionalEventPublisher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(TransactionalEventPublisher.class);
+
+    private final KafkaTemplate<Long, GameEvent> template;
+    private final GameEventRouter router;
+    private final GameEventMetrics metrics;
+    private final int maxEvents;
+    private final ThreadPoolExecutor executor;
+
+    public TransactionalEventPublisher(
+            @Qualifier("transactionalKafkaTemplate") KafkaTemplate<Long, GameEvent> template,
+            GameEventRouter router,
+            GameEventMetrics metrics,
+            TransactionProperties properties) {
+        this.template = template;
+        this.router = router;
+        this.metrics = metrics;
+        this.maxEvents = properties.maxEvents();
+        this.executor = new ThreadPoolExecutor(
+            properties.producers(), properties.producers(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.queueCapacity()),
+            Thread.ofPlatform().name("game-event-tx-", 0).daemon().factory());
+    }
+
+    /**
+     * Publishes {@code events} in one transaction. The returned future completes once the
+     * transaction committed, or fails if it was aborted.
+     */
+    public CompletableFuture<List<PublishedGameEvent>> publish(List<GameEvent> events) {
+        if (events.isEmpty() || events.size() > maxEvents) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                "A transaction holds between 1 and " + maxEvents + " events, got " + events.size()));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> publishInTransaction(events), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int maxEvents() {
+        return maxEvents;
+    }
+
+    private List<PublishedGameEvent> publishInTransaction(List<GameEvent> events) {
+        long start = System.nanoTime();
+        List<CompletableFuture<SendResult<Long, GameEvent>>> sends = new ArrayList<>(events.size());
+        boolean committed = false;
+        try {
+            template.executeInTransaction(operations -> {
+                for (GameEvent event : events) {
+                    EventRoute route = router.routeFor(event.eventType());
+                    metrics.sendStarted(event.eventType());
+                    sends.add(operations.send(route.topic(), route.partition(event), route.key(event), event));
+                }
+                return null;
+            });
+            committed = true;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            for (int i = 0; i < sends.size(); i++) {
+                metrics.sendCompleted(events.get(i).eventType(), nanos, committed);
+            }
+            metrics.recordTransaction(events.size(), nanos, committed);
+        }
+        // The commit flushed every send, so the results are all complete
+        List<PublishedGameEvent> published = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            published.add(new PublishedGameEvent(events.get(i), sends.get(i).join().getRecordMetadata()));
+        }
+        log.debug("Committed transaction of {} game events", events.size());
+        return published;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Abandoning {} queued game event transactions on shutdown", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package io.gaming.platform.gameservice.ratelimit;
+
+import io.gaming.platform.gameservice.config.RateLimitProperties;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets per player and event type, sized by {@link RateLimitProperties}.
+ * <p>
+ * A bucket is kept as a single long, its theoretical arrival time (GCRA): the instant
+ * at which the bucket would be full again. Admitting an event pushes that instant one
+ * emission interval further, and the event is refused if the instant would lie more than
+ * {@code burst} intervals ahead. Buckets live in open-addressing {@link AtomicLongArray}
+ * tables of (player id, arrival time) pairs, one set of striped tables per event type.
+ * Known players are admitted with a compare-and-set and no lock; only adding a player
+ * takes the stripe's lock. A bucket whose arrival time lies {@code idleTimeout} in the
+ * past is full and can be dropped without changing any decision, so tables are rebuilt
+ * without such buckets before they grow, which bounds memory by the recently active players.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+public final class PlayerRateLimiter {
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 64;
+    // Slots with this key are free, so a player with this id is never limited
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Buckets[] buckets;
+
+    public PlayerRateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        long idleNanos = properties.idleTimeout().toNanos();
+        GameEventType[] types = GameEventType.values();
+        buckets = new Buckets[types.length];
+        for (GameEventType type : types) {
+            buckets[type.ordinal()] = new Buckets(properties.limitFor(type), idleNanos);
+        }
+        Gauge.builder("game.events.rate.limit.players", this, PlayerRateLimiter::size)
+            .description("Buckets of players and event types held by the rate limiter")
+            .register(registry);
+    }
+
+    /**
+     * Takes a token from the bucket of {@code playerId} for {@code eventType}. Returns zero
+     * if the event is admitted, or else the nanoseconds until a token will be available.
+     */
+    public long tryAcquire(GameEventType eventType, long playerId) {
+        return tryAcquire(eventType, playerId, System.nanoTime());
+    }
+
+    long tryAcquire(GameEventType eventType, long playerId, long nowNanos) {
+        return buckets[eventType.ordinal()].tryAcquire(playerId, nowNanos);
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for an event that was not published
+     * after all, as when another event of its transaction was limited.
+     */
+    public void refund(GameEventType eventType, long playerId) {
+        buckets[eventType.ordinal()].refund(playerId);
+    }
+
+    long size() {
+        long size = 0;
+        for (Buckets typeBuckets : buckets) {
+            for (Stripe stripe : typeBuckets.stripes) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    private static long hash(long playerId) {
+        long h = playerId * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static final class Buckets {
+        final long intervalNanos;
+        final long burstNanos;
+        final long idleNanos;
+        final Stripe[] stripes = new Stripe[STRIPES];
+
+        Buckets(RateLimitProperties.Limit limit, long idleNanos) {
+            this.intervalNanos = Math.max(1, (long) (1_000_000_000L / limit.rate()));
+            this.burstNanos = intervalNanos * limit.burst();
+            this.idleNanos = idleNanos;
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        long tryAcquire(long playerId, long nowNanos) {
+            if (playerId == EMPTY) {
+                return 0;
+            }
+            long hash = hash(playerId);
+            Stripe stripe = stripes[(int) (hash >>> 58)];
+            AtomicLongArray table = stripe.table;
+            int index = indexOf(table, playerId, (int) hash);
+            if (index < 0) {
+                table = stripe.insert(playerId, (int) hash, nowNanos, idleNanos);
+                index = indexOf(table, playerId, (int) hash);
+            }
+            // An admission racing with a rebuild of the table may be lost, letting one extra event through
+            for (;;) {
+                long arrival = table.get(index + 1);
+                long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + intervalNanos;
+                long excess = next - nowNanos - burstNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (table.compareAndSet(index + 1, arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        void refund(long playerId) {
+            if (playerId == EMPTY) {
+                return;
+            }
+            long hash = hash(playerId);
+            AtomicLongArray table = stripes[(int) (hash >>> 58)].table;
+            int index = indexOf(table, playerId, (int) hash);
+            if (index < 0) {
+                return;
+            }
+            // A bucket pushed back into the past is merely full, as arrival times before now count as now
+            long arrival;
+            do {
+                arrival = table.get(index + 1);
+            } while (!table.compareAndSet(index + 1, arrival, arrival - intervalNanos));
+        }
+    }
+
+    /**
+     * Table of (player id, arrival time) pairs. Readers probe it without locking; inserts
+     * and rebuilds happen under the stripe's lock and publish new tables through the
+     * volatile field.
+     */
+    private static final class Stripe {
+        volatile AtomicLongArray table = newTable(INITIAL_CAPACITY);
+        volatile int size;
+
+        synchronized AtomicLongArray insert(long playerId, int hash, long nowNanos, long idleNanos) {
+            if (indexOf(table, playerId, hash) >= 0) {
+                return table;
+            }
+            int capacity = table.length() / 2;
+            if (4 * (size + 1) > 3 * capacity) {
+                rebuild(nowNanos, idleNanos);
+                capacity = table.length() / 2;
+            }
+            int slot = hash & (capacity - 1);
+            while (table.get(2 * slot) != EMPTY) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            // A new bucket is full; the key is written last so readers never see it without its arrival time
+            table.set(2 * slot + 1, nowNanos);
+            table.set(2 * slot, playerId);
+            size++;
+            return table;
+        }
+
+        /**
+         * Copies the buckets that are not idle into a table at most half full.
+         */
+        private void rebuild(long nowNanos, long idleNanos) {
+            AtomicLongArray old = table;
+            int live = 0;
+            for (int i = 0; i < old.length(); i += 2) {
+                if (old.get(i) != EMPTY && nowNanos - old.get(i + 1) < idleNanos) {
+                    live++;
+                }
+            }
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < 2 * (live + 1)) {
+                capacity *= 2;
+            }
+            AtomicLongArray rebuilt = newTable(capacity);
+            int copied = 0;
+            for (int i = 0; i < old.length(); i += 2) {
+                long playerId = old.get(i);
+                long arrival = old.get(i + 1);
+                // Buckets that became active since counting are dropped if they no longer fit, which refills them
+                if (playerId == EMPTY || nowNanos - arrival >= idleNanos || 4 * copied >= 3 * capacity) {
+                    continue;
+                }
+                int slot = (int) hash(playerId) & (capacity - 1);
+                while (rebuilt.get(2 * slot) != EMPTY) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                rebuilt.set(2 * slot, playerId);
+                rebuilt.set(2 * slot + 1, arrival);
+                copied++;
+            }
+            size = copied;
+            table = rebuilt;
+        }
+    }
+
+    private static int indexOf(AtomicLongArray table, long playerId, int hash) {
+        int mask = table.length() / 2 - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long key = table.get(2 * slot);
+            if (key == playerId) {
+                return 2 * slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private static AtomicLongArray newTable(int capacity) {
+        AtomicLongArray table = new AtomicLongArray(2 * capacity);
+        for (int i = 0; i < table.length(); i += 2) {
+            table.set(i, EMPTY);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,25 @@
+package io.gaming.platform.gameservice.routing;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the partition of a game event record. Beans of this type can be named as the
+ * {@code partitioner} of a route in {@code app.kafka.routing}.
+ */
+@FunctionalInterface
+public interface EventPartitioner {
+    /**
+     * Returns the partition, between zero and {@code numPartitions - 1}, the event is written to.
+     */
+    int partition(GameEvent event, int numPartitions);
+
+    /**
+     * Assigns partitions in turn, regardless of the event.
+     */
+    static EventPartitioner roundRobin() {
+        AtomicInteger next = new AtomicInteger();
+        return (event, numPartitions) -> Math.floorMod(next.getAndIncrement(), numPartitions);
+    }
+}
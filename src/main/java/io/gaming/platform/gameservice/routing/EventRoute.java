@@ -0,0 +1,46 @@
+package io.gaming.platform.gameservice.routing;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Where records of one event type are written: the topic, the record key and, if not
+ * left to the producer, the partition.
+ */
+public final class EventRoute {
+    private final String topic;
+    private final boolean keyed;
+    private final EventPartitioner partitioner;
+    private final ToIntFunction<String> partitionCounts;
+
+    EventRoute(String topic, boolean keyed, EventPartitioner partitioner, ToIntFunction<String> partitionCounts) {
+        this.topic = topic;
+        this.keyed = keyed;
+        this.partitioner = partitioner;
+        this.partitionCounts = partitionCounts;
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    /**
+     * The record key: the player id, or {@code null} for unkeyed routes.
+     */
+    public Long key(GameEvent event) {
+        return keyed ? event.playerId() : null;
+    }
+
+    /**
+     * The partition chosen by the route's partitioner, or {@code null} to let the producer
+     * choose it from the key, or stickily for unkeyed records.
+     */
+    public Integer partition(GameEvent event) {
+        if (partitioner == null) {
+            return null;
+        }
+        int numPartitions = partitionCounts.applyAsInt(topic);
+        return numPartitions > 0 ? partitioner.partition(event, numPartitions) : null;
+    }
+}
@@ -0,0 +1,63 @@
+package io.gaming.platform.gameservice.routing;
+
+import io.gaming.platform.gameservice.config.TopicRoutingProperties;
+import io.gaming.platform.gameservice.config.TopicRoutingProperties.Route;
+import io.gaming.platform.gameservice.model.GameEventType;
+
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Resolves the {@link EventRoute} of each event type from {@link TopicRoutingProperties}.
+ * Routes are resolved once and looked up by enum ordinal.
+ */
+public class GameEventRouter {
+    private final EventRoute[] routes;
+
+    /**
+     * @param partitionCounts current partition count of a topic, or zero if unknown
+     * @param partitioners    partitioner beans by name
+     */
+    public GameEventRouter(
+            TopicRoutingProperties properties,
+            String defaultTopic,
+            ToIntFunction<String> partitionCounts,
+            Map<String, EventPartitioner> partitioners) {
+        GameEventType[] types = GameEventType.values();
+        this.routes = new EventRoute[types.length];
+        for (GameEventType type : types) {
+            routes[type.ordinal()] = toEventRoute(type, properties.routeFor(type, defaultTopic), partitionCounts, partitioners);
+        }
+    }
+
+    /**
+     * Writes every event type to {@code topic}, keyed by player.
+     */
+    public static GameEventRouter singleTopic(String topic) {
+        return new GameEventRouter(TopicRoutingProperties.defaults(), topic, t -> 0, Map.of());
+    }
+
+    public EventRoute routeFor(GameEventType eventType) {
+        return routes[eventType.ordinal()];
+    }
+
+    private static EventRoute toEventRoute(
+            GameEventType type,
+            Route route,
+            ToIntFunction<String> partitionCounts,
+            Map<String, EventPartitioner> partitioners) {
+        if (route.partitioner() != null) {
+            EventPartitioner partitioner = partitioners.get(route.partitioner());
+            if (partitioner == null) {
+                throw new IllegalArgumentException(
+                    "No EventPartitioner bean named '" + route.partitioner() + "' for " + type + " events");
+            }
+            return new EventRoute(route.topic(), true, partitioner, partitionCounts);
+        }
+        return switch (route.partitioning()) {
+            case PLAYER -> new EventRoute(route.topic(), true, null, partitionCounts);
+            case STICKY -> new EventRoute(route.topic(), false, null, partitionCounts);
+            case ROUND_ROBIN -> new EventRoute(route.topic(), true, EventPartitioner.roundRobin(), partitionCounts);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package io.gaming.platform.gameservice.routing;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Partition counts of topics, looked up once per topic and then again after
+ * {@code refreshInterval}, so routes with their own partitioner do not ask the producer
+ * for the topic's partitions on every record. With the producer's {@code metadata.max.age.ms}
+ * as the interval, a topic that gained partitions is seen about as soon as the producer sees it.
+ * Unknown counts are not cached and looked up again on the next record.
+ */
+public class PartitionCountCache implements ToIntFunction<String> {
+    private final ToIntFunction<String> lookup;
+    private final long refreshNanos;
+    private final ConcurrentHashMap<String, Entry> counts = new ConcurrentHashMap<>();
+
+    /**
+     * @param lookup current partition count of a topic, or zero if unknown
+     */
+    public PartitionCountCache(ToIntFunction<String> lookup, Duration refreshInterval) {
+        this.lookup = lookup;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    @Override
+    public int applyAsInt(String topic) {
+        long now = System.nanoTime();
+        Entry entry = counts.get(topic);
+        if (entry != null && now - entry.fetchedNanos() < refreshNanos) {
+            return entry.count();
+        }
+        int count = lookup.applyAsInt(topic);
+        if (count > 0) {
+            counts.put(topic, new Entry(count, now));
+        } else {
+            counts.remove(topic);
+        }
+        return count;
+    }
+
+    private record Entry(int count, long fetchedNanos) {
+    }
+}
@@ -0,0 +1,94 @@
+package io.gaming.platform.gameservice.serialization;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small lock-free pool of growable output buffers shared by all sending threads.
+ * Unlike a {@link ThreadLocal}, the pool keeps working when requests run on
+ * short-lived virtual threads. Buffers that grew beyond {@code maxRetainedSize}
+ * are dropped instead of being returned, so one oversized event cannot pin memory.
+ */
+final class ByteBufferPool {
+    private final AtomicReferenceArray<PooledBuffer> slots;
+    private final int initialSize;
+    private final int maxRetainedSize;
+
+    ByteBufferPool(int slots, int initialSize, int maxRetainedSize) {
+        this.slots = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(1, slots - 1)) << 1);
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    PooledBuffer acquire() {
+        int mask = slots.length() - 1;
+        int start = (int) Thread.currentThread().threadId() & mask;
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            PooledBuffer buffer = slots.get(index);
+            if (buffer != null && slots.compareAndSet(index, buffer, null)) {
+                buffer.reset();
+                return buffer;
+            }
+        }
+        return new PooledBuffer(initialSize);
+    }
+
+    void release(PooledBuffer buffer) {
+        if (buffer.capacity() > maxRetainedSize) {
+            return;
+        }
+        int mask = slots.length() - 1;
+        int start = (int) Thread.currentThread().threadId() & mask;
+        for (int i = 0; i <= mask; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Unsynchronized alternative to {@link java.io.ByteArrayOutputStream}; a buffer is
+     * only ever used by the thread that acquired it.
+     */
+    static final class PooledBuffer extends OutputStream {
+        private byte[] bytes;
+        private int size;
+
+        PooledBuffer(int initialSize) {
+            this.bytes = new byte[initialSize];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) {
+            ensureCapacity(size + length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        int capacity() {
+            return bytes.length;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.gaming.platform.gameservice.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.gaming.platform.gameservice.model.GameEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka value deserializer for records written by {@link GameEventSerializer}, choosing the
+ * {@link WireFormat} of each record from its {@value WireFormat#FORMAT_HEADER} header.
+ */
+public class GameEventDeserializer implements Deserializer<GameEvent> {
+    private final ObjectReader reader;
+
+    public GameEventDeserializer(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(GameEvent.class);
+    }
+
+    @Override
+    public GameEvent deserialize(String topic, byte[] data) {
+        return deserialize(WireFormat.JSON, data);
+    }
+
+    @Override
+    public GameEvent deserialize(String topic, Headers headers, byte[] data) {
+        Header format = headers.lastHeader(WireFormat.FORMAT_HEADER);
+        if (format == null) {
+            return deserialize(WireFormat.JSON, data);
+        }
+        try {
+            return deserialize(WireFormat.valueOf(new String(format.value(), StandardCharsets.US_ASCII)), data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Unreadable game event record in " + topic + ": " + e.getMessage(), e);
+        }
+    }
+
+    private GameEvent deserialize(WireFormat format, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return switch (format) {
+                case JSON -> reader.readValue(data);
+                case COMPACT -> CompactGameEventCodec.decode(data);
+            };
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Unreadable " + format + " game event record", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.gaming.platform.gameservice.serialization;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka key serializer writing a player id as its decimal digits, the same bytes as
+ * {@code StringSerializer} produced for {@code playerId.toString()}, so keys and their
+ * partitions stay unchanged, without creating a {@code String} per record.
+ */
+public class PlayerIdSerializer implements Serializer<Long> {
+
+    @Override
+    public byte[] serialize(String topic, Long playerId) {
+        if (playerId == null) {
+            return null;
+        }
+        long value = playerId;
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        byte[] bytes = new byte[value < 0 ? digits + 1 : digits];
+        int position = bytes.length;
+        do {
+            // The remainder of a negative value is negative, which also covers Long.MIN_VALUE
+            bytes[--position] = (byte) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (position > 0) {
+            bytes[0] = '-';
+        }
+        return bytes;
+    }
+}
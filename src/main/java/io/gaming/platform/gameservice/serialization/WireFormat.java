@@ -0,0 +1,26 @@
+package io.gaming.platform.gameservice.serialization;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodings a game event record value can be written in.
+ * <p>
+ * Records in a non-JSON format carry a {@value #FORMAT_HEADER} header naming the format and a
+ * {@value #SCHEMA_VERSION_HEADER} header holding the schema version as a single byte, so consumers
+ * can pick a decoder per record while topics are migrated. Records without the headers are JSON.
+ */
+public enum WireFormat {
+    /** The original self-describing JSON document. */
+    JSON,
+    /** Schema-versioned binary encoding, see {@link CompactGameEventCodec}. */
+    COMPACT;
+
+    public static final String FORMAT_HEADER = "gp-wire-format";
+    public static final String SCHEMA_VERSION_HEADER = "gp-schema-version";
+
+    private final byte[] headerValue = name().getBytes(StandardCharsets.US_ASCII);
+
+    byte[] headerValue() {
+        return headerValue.clone();
+    }
+}
@@ -0,0 +1,402 @@
+package io.gaming.platform.gameservice.spool;
+
+import io.gaming.platform.gameservice.config.SpoolProperties;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.serialization.CompactGameEventCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log on local disk for game events that could not be handed to Kafka.
+ * <p>
+ * Events are appended in their compact binary encoding to fixed-size, memory-mapped
+ * segment files, each record framed as {@code int length, int CRC32C, payload}.
+ * Appends are acknowledged by group commit: a flusher thread fsyncs everything written
+ * during the last {@code groupCommitInterval} with a single {@code force}, so many
+ * concurrent appends share one disk flush and writes stay sequential.
+ * <p>
+ * The {@link SpoolDrainer} reads from a persisted checkpoint and advances it once
+ * Kafka has acknowledged what it read; fully drained segments are deleted and unmapped
+ * right away rather than when their buffers are collected. On startup, segments are
+ * scanned and a torn or corrupt record ends the readable log.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.spool", name = "enabled", havingValue = "true")
+public class EventSpool implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(EventSpool.class);
+
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long groupCommitNanos;
+    private final Thread flusher;
+
+    // Oldest first; the last segment is the one being appended to. Guarded by this.
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private List<CompletableFuture<Void>> pendingCommits = new ArrayList<>();
+    private SpoolPosition checkpoint;
+    private volatile boolean backlog;
+    private volatile boolean closed;
+
+    public EventSpool(SpoolProperties properties) throws IOException {
+        this.directory = properties.directory();
+        this.segmentSize = (int) properties.segmentSize().toBytes();
+        this.maxSegments = (int) Math.max(1, properties.retention().toBytes() / segmentSize);
+        this.groupCommitNanos = properties.groupCommitInterval().toNanos();
+
+        Files.createDirectories(directory);
+        recover();
+        this.flusher = Thread.ofPlatform().name("event-spool-flusher").daemon().start(this::runFlusher);
+        log.info("Opened event spool in {} with {} segment(s), undrained events: {}",
+            directory.toAbsolutePath(), segments.size(), backlog);
+    }
+
+    /**
+     * Appends an event to the spool. The returned future completes once the event is on disk.
+     */
+    public CompletableFuture<Void> append(GameEvent event) {
+        byte[] payload;
+        try {
+            payload = CompactGameEventCodec.encode(event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        int recordSize = RECORD_HEADER + payload.length;
+        if (recordSize > segmentSize) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                "Event of " + payload.length + " bytes does not fit a spool segment"));
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Event spool is closed"));
+            }
+            Segment head = segments.getLast();
+            if (segmentSize - head.writePosition < recordSize) {
+                if (segments.size() >= maxSegments) {
+                    return CompletableFuture.failedFuture(new IllegalStateException(
+                        "Event spool is full, " + segments.size() + " segments await draining"));
+                }
+                try {
+                    head = roll(head);
+                } catch (UncheckedIOException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+            head.buffer.putInt(head.writePosition, payload.length);
+            head.buffer.putInt(head.writePosition + Integer.BYTES, (int) crc.getValue());
+            head.buffer.put(head.writePosition + RECORD_HEADER, payload);
+            head.writePosition += recordSize;
+            pendingCommits.add(committed);
+            backlog = true;
+        }
+        return committed;
+    }
+
+    /**
+     * Whether there are spooled events that have not been drained into Kafka yet.
+     * New events for the same players must queue behind them to keep per-player order.
+     */
+    public boolean hasBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Reads up to {@code maxRecords} records, starting at the checkpoint.
+     */
+    synchronized SpoolBatch read(int maxRecords) {
+        if (closed) {
+            throw new IllegalStateException("Event spool is closed");
+        }
+        List<byte[]> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        var iterator = segments.iterator();
+        Segment segment = iterator.next();
+        // Drained segments the flusher was still forcing are kept until a later commit
+        while (segment.id < checkpoint.segment() && iterator.hasNext()) {
+            segment = iterator.next();
+        }
+        int offset = segment.id == checkpoint.segment() ? checkpoint.offset() : 0;
+        while (records.size() < maxRecords) {
+            if (offset + RECORD_HEADER > segment.writePosition) {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                segment = iterator.next();
+                offset = 0;
+                continue;
+            }
+            byte[] record = new byte[segment.buffer.getInt(offset)];
+            segment.buffer.get(offset + RECORD_HEADER, record);
+            records.add(record);
+            offset += RECORD_HEADER + record.length;
+        }
+        return new SpoolBatch(records, new SpoolPosition(segment.id, offset));
+    }
+
+    /**
+     * Marks everything before {@code position} as drained, persisting the checkpoint and
+     * deleting segments that no longer hold undrained records.
+     */
+    synchronized void commit(SpoolPosition position) throws IOException {
+        if (position.equals(checkpoint)) {
+            return;
+        }
+        writeCheckpoint(position);
+        checkpoint = position;
+        // A segment the flusher is forcing is deleted by a later commit
+        while (segments.getFirst().id < position.segment() && !segments.getFirst().forcing) {
+            segments.removeFirst().delete();
+        }
+        Segment head = segments.getLast();
+        backlog = position.segment() != head.id || position.offset() != head.writePosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (this) {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+        }
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            LockSupport.parkNanos(groupCommitNanos);
+            flush();
+        }
+    }
+
+    private void flush() {
+        List<CompletableFuture<Void>> committing;
+        Segment head;
+        int from;
+        int to;
+        synchronized (this) {
+            if (pendingCommits.isEmpty()) {
+                return;
+            }
+            committing = pendingCommits;
+            pendingCommits = new ArrayList<>();
+            head = segments.getLast();
+            from = head.forcedPosition;
+            to = head.writePosition;
+            head.forcedPosition = to;
+            head.forcing = true;
+        }
+        try {
+            head.buffer.force(from, to - from);
+            committing.forEach(commit -> commit.complete(null));
+        } catch (UncheckedIOException e) {
+            log.error("Failed to flush event spool segment {}", head.path, e);
+            committing.forEach(commit -> commit.completeExceptionally(e));
+        } finally {
+            synchronized (this) {
+                head.forcing = false;
+            }
+        }
+    }
+
+    private Segment roll(Segment head) {
+        // Appends still waiting for group commit may live in the old head, so flush it all now
+        head.buffer.force(head.forcedPosition, head.writePosition - head.forcedPosition);
+        head.forcedPosition = head.writePosition;
+        Segment next;
+        try {
+            next = Segment.open(segmentPath(head.id + 1), head.id + 1, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create spool segment " + (head.id + 1), e);
+        }
+        segments.addLast(next);
+        log.debug("Rolled event spool to segment {}", next.id);
+        return next;
+    }
+
+    private void recover() throws IOException {
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+        checkpoint = readCheckpoint();
+
+        for (Path path : segmentFiles) {
+            String name = path.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            if (checkpoint != null && id < checkpoint.segment()) {
+                Files.delete(path);
+                continue;
+            }
+            Segment segment = Segment.open(path, id, Math.max(segmentSize, (int) Files.size(path)));
+            segment.writePosition = segment.scan();
+            segment.forcedPosition = segment.writePosition;
+            segments.addLast(segment);
+        }
+        if (segments.isEmpty()) {
+            long id = checkpoint != null ? checkpoint.segment() : 0;
+            segments.addLast(Segment.open(segmentPath(id), id, segmentSize));
+        }
+        if (checkpoint == null || checkpoint.segment() < segments.getFirst().id) {
+            checkpoint = new SpoolPosition(segments.getFirst().id, 0);
+        }
+        Segment head = segments.getLast();
+        backlog = checkpoint.segment() != head.id || checkpoint.offset() != head.writePosition;
+    }
+
+    private SpoolPosition readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        return new SpoolPosition(buffer.getLong(), buffer.getInt());
+    }
+
+    private void writeCheckpoint(SpoolPosition position) throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+            .putLong(position.segment())
+            .putInt(position.offset())
+            .flip();
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(false);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * {@code Unsafe.invokeCleaner}, which releases a mapping without waiting for its buffer
+     * to be collected, or {@code null} if this JVM does not offer it.
+     */
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Cannot unmap spool segments eagerly, they stay mapped until collected: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static final class Segment {
+        final long id;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int writePosition;
+        int forcedPosition;
+        // Whether the flusher is forcing this segment outside the lock, so it must stay mapped
+        boolean forcing;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        /**
+         * Returns the end of the last intact record.
+         */
+        int scan() {
+            CRC32C crc = new CRC32C();
+            int offset = 0;
+            while (offset + RECORD_HEADER <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || length > buffer.capacity() - offset - RECORD_HEADER) {
+                    break;
+                }
+                crc.reset();
+                crc.update(buffer.slice(offset + RECORD_HEADER, length));
+                if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                    log.warn("Discarding torn record at offset {} of spool segment {}", offset, path);
+                    break;
+                }
+                offset += RECORD_HEADER + length;
+            }
+            return offset;
+        }
+
+        void delete() throws IOException {
+            close();
+            Files.deleteIfExists(path);
+        }
+
+        /**
+         * Closes the file and unmaps the buffer; the buffer must not be used afterwards.
+         */
+        void close() throws IOException {
+            channel.close();
+            if (INVOKE_CLEANER != null) {
+                try {
+                    INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+                } catch (Throwable e) {
+                    log.warn("Failed to unmap spool segment {}", path, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.gaming.platform.gameservice.spool;
+
+import java.util.List;
+
+/**
+ * Spooled records read in append order, and the position right after the last of them.
+ */
+record SpoolBatch(
+    List<byte[]> records,
+    SpoolPosition next
+) {}
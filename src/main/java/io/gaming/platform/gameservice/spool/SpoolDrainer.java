@@ -0,0 +1,118 @@
+package io.gaming.platform.gameservice.spool;
+
+import io.gaming.platform.gameservice.config.SpoolProperties;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.routing.EventRoute;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.serialization.CompactGameEventCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the {@link EventSpool} into Kafka in append order.
+ * <p>
+ * Each round sends a batch of spooled events without waiting between them and only
+ * advances the checkpoint once all of them are acknowledged. The idempotent producer
+ * keeps records of one partition in send order, so events of a player reach Kafka in
+ * the order they were spooled. A batch that fails, or that Kafka does not acknowledge
+ * within {@code drainTimeout} so a stuck send cannot stall draining, is retried in the
+ * next round, which may publish some of its events twice.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.spool", name = "enabled", havingValue = "true")
+public class SpoolDrainer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SpoolDrainer.class);
+
+    private final EventSpool spool;
+    private final KafkaTemplate<Long, GameEvent> kafkaTemplate;
+    private final GameEventRouter router;
+    private final SpoolProperties properties;
+    private ScheduledExecutorService executor;
+
+    public SpoolDrainer(
+            EventSpool spool,
+            KafkaTemplate<Long, GameEvent> kafkaTemplate,
+            GameEventRouter router,
+            SpoolProperties properties) {
+        this.spool = spool;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.router = router;
+    }
+
+    @Override
+    public synchronized void start() {
+        long interval = properties.drainInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("event-spool-drainer").daemon().factory());
+        executor.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(properties.drainInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Sends spooled events until the spool is empty or Kafka fails.
+     */
+    void drain() {
+        if (!spool.hasBacklog()) {
+            return;
+        }
+        long drained = 0;
+        try {
+            int sent;
+            while ((sent = drainBatch()) > 0) {
+                drained += sent;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Kafka is still unavailable, keeping spooled events: {}", e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            log.warn("Kafka did not acknowledge spooled events within {}, keeping them", properties.drainTimeout());
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to drain event spool", e);
+        }
+        if (drained > 0) {
+            log.info("Drained {} spooled game events into Kafka", drained);
+        }
+    }
+
+    private int drainBatch() throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        SpoolBatch batch = spool.read(properties.drainBatchSize());
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[batch.records().size()];
+        for (int i = 0; i < sends.length; i++) {
+            GameEvent event = CompactGameEventCodec.decode(batch.records().get(i));
+            EventRoute route = router.routeFor(event.eventType());
+            sends[i] = kafkaTemplate.send(route.topic(), route.partition(event), route.key(event), event);
+        }
+        CompletableFuture.allOf(sends).get(properties.drainTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        spool.commit(batch.next());
+        return sends.length;
+    }
+}
@@ -0,0 +1,9 @@
+package io.gaming.platform.gameservice.spool;
+
+/**
+ * A byte offset within one spool segment.
+ */
+record SpoolPosition(
+    long segment,
+    int offset
+) {}
@@ -0,0 +1,158 @@
+package io.gaming.platform.gameservice.state;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.gameservice.config.PlayerStateProperties;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.serialization.GameEventDeserializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rebuilds the {@link PlayerStateStore} at startup by reading the topics of the event types
+ * that make up player state from {@code replayLookback} ago up to their end at startup, located
+ * by record timestamp. This happens once all beans are created and before the web server
+ * starts, so no live event interleaves with the replayed ones. A replay that fails or outlasts
+ * {@code replayTimeout} is discarded, and startup continues with an empty store.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.player-state", name = "enabled", havingValue = "true")
+public class PlayerStateReplayer implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(PlayerStateReplayer.class);
+
+    private static final Set<GameEventType> STATE_EVENT_TYPES = Set.of(
+        GameEventType.LEVEL_UP, GameEventType.ITEM_ACQUIRED, GameEventType.CHALLENGE_COMPLETED, GameEventType.PVP_DEFEAT);
+    private static final Duration MAX_POLL_WAIT = Duration.ofMillis(500);
+
+    private final PlayerStateStore store;
+    private final PlayerStateProperties properties;
+    private final KafkaProperties kafkaProperties;
+    private final GameEventRouter router;
+    private final ObjectMapper objectMapper;
+
+    public PlayerStateReplayer(
+            PlayerStateStore store,
+            PlayerStateProperties properties,
+            KafkaProperties kafkaProperties,
+            GameEventRouter router,
+            ObjectMapper objectMapper) {
+        this.store = store;
+        this.properties = properties;
+        this.kafkaProperties = kafkaProperties;
+        this.router = router;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (properties.replay()) {
+            replay();
+        }
+    }
+
+    /**
+     * Applies the events of the last {@code replayLookback} to the store and returns how many
+     * were applied, or clears the store and returns 0 when the replay cannot finish in time.
+     */
+    long replay() {
+        Set<String> topics = new LinkedHashSet<>();
+        for (GameEventType type : GameEventType.values()) {
+            if (STATE_EVENT_TYPES.contains(type)) {
+                topics.add(router.routeFor(type).topic());
+            }
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.replayTimeout().toNanos();
+        long since = System.currentTimeMillis() - properties.replayLookback().toMillis();
+        long applied = 0;
+        try (KafkaConsumer<byte[], GameEvent> consumer = new KafkaConsumer<>(
+                consumerConfig(), new ByteArrayDeserializer(), new GameEventDeserializer(objectMapper))) {
+            Map<TopicPartition, Long> sinceTimes = new HashMap<>();
+            for (String topic : topics) {
+                for (PartitionInfo partition : consumer.partitionsFor(topic, remaining(deadline))) {
+                    sinceTimes.put(new TopicPartition(partition.topic(), partition.partition()), since);
+                }
+            }
+            // Partitions with no record since the lookback have nothing to replay
+            Map<TopicPartition, Long> starts = new HashMap<>();
+            consumer.offsetsForTimes(sinceTimes, remaining(deadline)).forEach((partition, offset) -> {
+                if (offset != null) {
+                    starts.put(partition, offset.offset());
+                }
+            });
+            consumer.assign(starts.keySet());
+            starts.forEach(consumer::seek);
+            Map<TopicPartition, Long> pending = new HashMap<>(consumer.endOffsets(starts.keySet(), remaining(deadline)));
+            pending.entrySet().removeIf(end -> starts.get(end.getKey()) >= end.getValue());
+
+            while (!pending.isEmpty()) {
+                if (System.nanoTime() >= deadline) {
+                    return abandon("timed out after " + properties.replayTimeout(), applied);
+                }
+                try {
+                    for (ConsumerRecord<byte[], GameEvent> record : consumer.poll(MAX_POLL_WAIT)) {
+                        GameEvent event = record.value();
+                        if (event != null && STATE_EVENT_TYPES.contains(event.eventType())) {
+                            store.apply(event);
+                            applied++;
+                        }
+                    }
+                } catch (RecordDeserializationException e) {
+                    log.warn("Skipping unreadable record {}-{}@{} in player state replay: {}",
+                        e.topicPartition().topic(), e.topicPartition().partition(), e.offset(), e.getMessage());
+                    consumer.seek(e.topicPartition(), e.offset() + 1);
+                }
+                pending.entrySet().removeIf(end -> consumer.position(end.getKey(), remaining(deadline)) >= end.getValue());
+            }
+        } catch (KafkaException e) {
+            return abandon("failed: " + e.getMessage(), applied);
+        }
+        log.info("Rebuilt player state from {} events of the last {} of {} in {} ms",
+            applied, properties.replayLookback(), topics, (System.nanoTime() - start) / 1_000_000);
+        return applied;
+    }
+
+    /**
+     * Drops a partial rebuild, which would answer with outdated state for the players whose
+     * later events were not reached; they are tracked again from their next event.
+     */
+    private long abandon(String reason, long applied) {
+        store.clear();
+        log.warn("Player state replay {}, discarding the {} events applied and starting without player state",
+            reason, applied);
+        return 0;
+    }
+
+    private Map<String, Object> consumerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
+        config.put(ConsumerConfig.CLIENT_ID_CONFIG, "game-service-player-state-replay");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5_000);
+        return config;
+    }
+
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+}
@@ -0,0 +1,438 @@
+package io.gaming.platform.gameservice.state;
+
+import io.gaming.platform.gameservice.cluster.ClusterForwarder;
+import io.gaming.platform.gameservice.cluster.ClusterNode;
+import io.gaming.platform.gameservice.config.PlayerStateProperties;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse.RecentItem;
+import io.gaming.platform.gameservice.model.ChallengeCompletedData;
+import io.gaming.platform.gameservice.model.ChallengeType;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.ItemAcquiredData;
+import io.gaming.platform.gameservice.model.LevelUpData;
+import io.gaming.platform.gameservice.model.PvpAttackData;
+import io.gaming.platform.gameservice.model.PvpAttackSummaryData;
+import io.gaming.platform.gameservice.model.PvpDefeatData;
+import io.gaming.platform.gameservice.producer.GameEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Progression of recently active players, updated from every event
+ * {@link io.gaming.platform.gameservice.producer.GameEventProducer} publishes: the latest
+ * level, a ring of the most recently acquired items, the completed {@link ChallengeType}s as
+ * a bitset and PvP win and loss counters.
+ * <p>
+ * Players are spread over segments, each a lock around parallel primitive arrays indexed by
+ * a dense slot per player, found through an open-addressing table of player ids. Slots are
+ * also linked from most to least recently used by two {@code int[]}s; once a segment holds
+ * its share of {@code maxPlayers}, the least recently updated or read player is evicted and
+ * its slot reused, so the store never allocates per player or per event beyond the items' strings.
+ * <p>
+ * In a cluster a defeat is published by the instance owning the defeated player; when another
+ * instance owns the victor, the event is posted to it at {@link #VICTORIES_PATH} to record the
+ * win there, so each player's counters live on its owner.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.player-state", name = "enabled", havingValue = "true")
+public final class PlayerStateStore implements GameEventListener {
+    private static final Logger log = LoggerFactory.getLogger(PlayerStateStore.class);
+
+    /** Path peers post defeats to whose victor the receiving instance owns. */
+    public static final String VICTORIES_PATH = "/internal/v1/player-state/victories";
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Table slots with this key are free, so no state is kept for a player with this id
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int NONE = -1;
+    private static final ChallengeType[] CHALLENGE_TYPES = ChallengeType.values();
+
+    private final Segment[] segments;
+    private final int recentItems;
+    private final Counter evictions;
+    private final Counter unrecordedVictories;
+    private final ClusterForwarder cluster;
+
+    public PlayerStateStore(
+            PlayerStateProperties properties,
+            MeterRegistry registry,
+            Optional<ClusterForwarder> cluster) {
+        this.recentItems = properties.recentItems();
+        this.cluster = cluster.orElse(null);
+        this.segments = new Segment[Integer.highestOneBit(properties.segments() * 2 - 1)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(Math.max(1, properties.maxPlayers() / segments.length));
+        }
+        evictions = Counter.builder("game.players.state.evictions")
+            .description("Players whose state was evicted to make room for another player")
+            .register(registry);
+        unrecordedVictories = Counter.builder("game.players.state.victories.unrecorded")
+            .description("Wins that could not be posted to the instance owning the victor")
+            .register(registry);
+        Gauge.builder("game.players.state.players", this, PlayerStateStore::size)
+            .description("Players whose state is held in memory")
+            .register(registry);
+    }
+
+    @Override
+    public void onPublished(GameEvent event) {
+        ClusterNode victorOwner;
+        if (cluster != null && event.eventData() instanceof PvpDefeatData data
+                && (victorOwner = cluster.remoteOwnerOf(data.victorPlayerId())) != null) {
+            segmentFor(event.playerId()).pvpResult(event.playerId(), false, event.timestamp().toEpochMilli());
+            postVictory(victorOwner, event);
+            return;
+        }
+        apply(event);
+    }
+
+    /**
+     * Updates the state of the players an event concerns.
+     */
+    public void apply(GameEvent event) {
+        long playerId = event.playerId();
+        long at = event.timestamp().toEpochMilli();
+        switch (event.eventData()) {
+            case LevelUpData data -> segmentFor(playerId).levelUp(playerId, data.newLevel(), at);
+            case ItemAcquiredData data -> segmentFor(playerId).itemAcquired(playerId, data.itemName(), data.rarity(), at);
+            case ChallengeCompletedData data -> {
+                if (data.challengeType() != null) {
+                    segmentFor(playerId).challengeCompleted(playerId, data.challengeType().ordinal(), at);
+                }
+            }
+            case PvpDefeatData data -> {
+                segmentFor(playerId).pvpResult(playerId, false, at);
+                recordVictory(event);
+            }
+            case PvpAttackData data -> {
+            }
+            case PvpAttackSummaryData data -> {
+            }
+        }
+    }
+
+    /**
+     * Counts the win of the victor of a defeat.
+     */
+    public void recordVictory(GameEvent event) {
+        long victor = ((PvpDefeatData) event.eventData()).victorPlayerId();
+        segmentFor(victor).pvpResult(victor, true, event.timestamp().toEpochMilli());
+    }
+
+    private void postVictory(ClusterNode victorOwner, GameEvent event) {
+        cluster.post(victorOwner, VICTORIES_PATH, event, Void.class).whenComplete((response, ex) -> {
+            if (ex != null || !response.getStatusCode().is2xxSuccessful()) {
+                unrecordedVictories.increment();
+                log.warn("Failed to record the win of defeat {} on {}: {}", event.eventId(), victorOwner.id(),
+                    ex != null ? ex.toString() : response.getStatusCode());
+            }
+        });
+    }
+
+    /**
+     * The state of a player, or {@code null} if none is held.
+     */
+    public PlayerStateResponse get(long playerId) {
+        return segmentFor(playerId).get(playerId);
+    }
+
+    /**
+     * Drops the state of every player.
+     */
+    void clear() {
+        for (Segment segment : segments) {
+            segment.reset();
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long playerId) {
+        return segments[(int) (hash(playerId) >>> 40) & (segments.length - 1)];
+    }
+
+    private static long hash(long playerId) {
+        long h = playerId * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private final class Segment {
+        final int maxPlayers;
+        int size;
+
+        // Open-addressing table from player id to slot
+        long[] keys;
+        int[] slotOf;
+
+        // Per slot
+        long[] playerIds;
+        int[] levels;
+        long[] challenges;
+        int[] wins;
+        int[] losses;
+        long[] updatedAt;
+        int[] newer;
+        int[] older;
+        int[] itemCounts;
+        int[] nextItem;
+
+        // Per slot and item, recentItems entries per slot
+        String[] itemNames;
+        String[] itemRarities;
+        long[] itemTimes;
+
+        int newest = NONE;
+        int oldest = NONE;
+
+        Segment(int maxPlayers) {
+            this.maxPlayers = maxPlayers;
+            allocate(Math.min(INITIAL_CAPACITY, maxPlayers));
+        }
+
+        synchronized void reset() {
+            playerIds = null;
+            levels = null;
+            challenges = null;
+            wins = null;
+            losses = null;
+            updatedAt = null;
+            newer = null;
+            older = null;
+            itemCounts = null;
+            nextItem = null;
+            itemNames = null;
+            itemRarities = null;
+            itemTimes = null;
+            size = 0;
+            newest = NONE;
+            oldest = NONE;
+            allocate(Math.min(INITIAL_CAPACITY, maxPlayers));
+        }
+
+        synchronized void levelUp(long playerId, int level, long at) {
+            int slot = slotFor(playerId, at);
+            if (slot != NONE) {
+                levels[slot] = level;
+            }
+        }
+
+        synchronized void itemAcquired(long playerId, String itemName, String rarity, long at) {
+            int slot = slotFor(playerId, at);
+            if (slot != NONE) {
+                int item = slot * recentItems + nextItem[slot];
+                itemNames[item] = itemName;
+                itemRarities[item] = rarity;
+                itemTimes[item] = at;
+                nextItem[slot] = (nextItem[slot] + 1) % recentItems;
+                itemCounts[slot] = Math.min(itemCounts[slot] + 1, recentItems);
+            }
+        }
+
+        synchronized void challengeCompleted(long playerId, int challenge, long at) {
+            int slot = slotFor(playerId, at);
+            if (slot != NONE) {
+                challenges[slot] |= 1L << challenge;
+            }
+        }
+
+        synchronized void pvpResult(long playerId, boolean won, long at) {
+            int slot = slotFor(playerId, at);
+            if (slot != NONE) {
+                if (won) {
+                    wins[slot]++;
+                } else {
+                    losses[slot]++;
+                }
+            }
+        }
+
+        synchronized PlayerStateResponse get(long playerId) {
+            int index = indexOf(playerId);
+            if (index < 0) {
+                return null;
+            }
+            int slot = slotOf[index];
+            touch(slot);
+
+            List<RecentItem> items = new ArrayList<>(itemCounts[slot]);
+            for (int i = 1; i <= itemCounts[slot]; i++) {
+                int item = slot * recentItems + Math.floorMod(nextItem[slot] - i, recentItems);
+                items.add(new RecentItem(itemNames[item], itemRarities[item], Instant.ofEpochMilli(itemTimes[item])));
+            }
+            Set<ChallengeType> completed = EnumSet.noneOf(ChallengeType.class);
+            for (long bits = challenges[slot]; bits != 0; bits &= bits - 1) {
+                completed.add(CHALLENGE_TYPES[Long.numberOfTrailingZeros(bits)]);
+            }
+            return new PlayerStateResponse(playerId, levels[slot] > 0 ? levels[slot] : null, items, completed,
+                wins[slot], losses[slot], Instant.ofEpochMilli(updatedAt[slot]));
+        }
+
+        /**
+         * The slot of a player, marked most recently used, after adding the player if new.
+         */
+        private int slotFor(long playerId, long at) {
+            if (playerId == EMPTY) {
+                return NONE;
+            }
+            int index = indexOf(playerId);
+            int slot;
+            if (index >= 0) {
+                slot = slotOf[index];
+                touch(slot);
+            } else {
+                slot = newSlot();
+                playerIds[slot] = playerId;
+                insert(playerId, slot);
+                linkNewest(slot);
+            }
+            updatedAt[slot] = Math.max(updatedAt[slot], at);
+            return slot;
+        }
+
+        private int newSlot() {
+            if (size == maxPlayers) {
+                int slot = oldest;
+                remove(playerIds[slot]);
+                unlink(slot);
+                clear(slot);
+                evictions.increment();
+                return slot;
+            }
+            if (size == playerIds.length) {
+                allocate(Math.min(playerIds.length * 2, maxPlayers));
+            }
+            return size++;
+        }
+
+        private void clear(int slot) {
+            levels[slot] = 0;
+            challenges[slot] = 0;
+            wins[slot] = 0;
+            losses[slot] = 0;
+            updatedAt[slot] = 0;
+            itemCounts[slot] = 0;
+            nextItem[slot] = 0;
+            Arrays.fill(itemNames, slot * recentItems, (slot + 1) * recentItems, null);
+            Arrays.fill(itemRarities, slot * recentItems, (slot + 1) * recentItems, null);
+        }
+
+        private void touch(int slot) {
+            if (slot != newest) {
+                unlink(slot);
+                linkNewest(slot);
+            }
+        }
+
+        private void linkNewest(int slot) {
+            older[slot] = newest;
+            newer[slot] = NONE;
+            if (newest != NONE) {
+                newer[newest] = slot;
+            } else {
+                oldest = slot;
+            }
+            newest = slot;
+        }
+
+        private void unlink(int slot) {
+            if (newer[slot] != NONE) {
+                older[newer[slot]] = older[slot];
+            } else {
+                newest = older[slot];
+            }
+            if (older[slot] != NONE) {
+                newer[older[slot]] = newer[slot];
+            } else {
+                oldest = newer[slot];
+            }
+        }
+
+        private int indexOf(long playerId) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash(playerId) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == playerId) {
+                    return i;
+                }
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        private void insert(long playerId, int slot) {
+            int mask = keys.length - 1;
+            int i = (int) hash(playerId) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = playerId;
+            slotOf[i] = slot;
+        }
+
+        /**
+         * Removes a player from the table, moving later entries of its probe sequence back
+         * into the gap so that lookups need no tombstones.
+         */
+        private void remove(long playerId) {
+            int mask = keys.length - 1;
+            int gap = indexOf(playerId);
+            keys[gap] = EMPTY;
+            for (int i = (gap + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = (int) hash(keys[i]) & mask;
+                // Move the entry unless its home lies cyclically after the gap, up to its position
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    slotOf[gap] = slotOf[i];
+                    keys[i] = EMPTY;
+                    gap = i;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            playerIds = playerIds == null ? new long[capacity] : Arrays.copyOf(playerIds, capacity);
+            levels = levels == null ? new int[capacity] : Arrays.copyOf(levels, capacity);
+            challenges = challenges == null ? new long[capacity] : Arrays.copyOf(challenges, capacity);
+            wins = wins == null ? new int[capacity] : Arrays.copyOf(wins, capacity);
+            losses = losses == null ? new int[capacity] : Arrays.copyOf(losses, capacity);
+            updatedAt = updatedAt == null ? new long[capacity] : Arrays.copyOf(updatedAt, capacity);
+            newer = newer == null ? new int[capacity] : Arrays.copyOf(newer, capacity);
+            older = older == null ? new int[capacity] : Arrays.copyOf(older, capacity);
+            itemCounts = itemCounts == null ? new int[capacity] : Arrays.copyOf(itemCounts, capacity);
+            nextItem = nextItem == null ? new int[capacity] : Arrays.copyOf(nextItem, capacity);
+            int items = capacity * recentItems;
+            itemNames = itemNames == null ? new String[items] : Arrays.copyOf(itemNames, items);
+            itemRarities = itemRarities == null ? new String[items] : Arrays.copyOf(itemRarities, items);
+            itemTimes = itemTimes == null ? new long[items] : Arrays.copyOf(itemTimes, items);
+
+            // At most half full, so probe sequences stay short
+            keys = new long[Integer.highestOneBit(capacity * 4 - 1)];
+            slotOf = new int[keys.length];
+            Arrays.fill(keys, EMPTY);
+            for (int slot = 0; slot < size; slot++) {
+                insert(playerIds[slot], slot);
+            }
+        }
+    }
+}
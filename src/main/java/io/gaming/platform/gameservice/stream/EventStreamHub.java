@@ -0,0 +1,267 @@
+package io.gaming.platform.gameservice.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.gameservice.config.EventStreamProperties;
+import io.gaming.platform.gameservice.config.SlowConsumerPolicy;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.producer.GameEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans published events out to Server-Sent Events subscribers, optionally filtered by event
+ * type and player.
+ * <p>
+ * Publishing only hands the event to a bounded dispatch queue. A single dispatcher thread
+ * encodes each event once into an SSE frame and puts that same byte array into the bounded
+ * queue of every matching subscriber, indexed by event type. A subscriber's queue is written
+ * to its connection by a virtual thread started only while the queue has frames, so idle
+ * subscribers hold no thread. When a subscriber's queue is full, the {@link SlowConsumerPolicy}
+ * drops its oldest frame or closes its stream.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.event-stream", name = "enabled", havingValue = "true")
+public class EventStreamHub implements GameEventListener, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EventStreamHub.class);
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final long heartbeatNanos;
+    private final long timeoutMillis;
+    private final BlockingQueue<GameEvent> pending;
+    private final Map<GameEventType, Set<EventSubscriber>> subscribersByType = new EnumMap<>(GameEventType.class);
+    private final Set<EventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter slowSubscriberDrops;
+    private final Counter dispatchOverflows;
+    private final Counter slowSubscriberDisconnects;
+    private final Counter rejectedSubscriptions;
+    private volatile Thread dispatcher;
+    private ExecutorService writers;
+
+    public EventStreamHub(ObjectMapper objectMapper, EventStreamProperties properties, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = properties.maxSubscribers();
+        this.queueCapacity = properties.queueCapacity();
+        this.slowConsumerPolicy = properties.slowConsumerPolicy();
+        this.heartbeatNanos = properties.heartbeat().toNanos();
+        this.timeoutMillis = properties.timeout().toMillis();
+        this.pending = new ArrayBlockingQueue<>(properties.dispatchCapacity());
+        for (GameEventType type : GameEventType.values()) {
+            subscribersByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+        slowSubscriberDrops = Counter.builder("game.events.stream.dropped")
+            .description("Events not streamed to a subscriber")
+            .tag("reason", "slow-subscriber")
+            .register(registry);
+        dispatchOverflows = Counter.builder("game.events.stream.dropped")
+            .description("Events not streamed to a subscriber")
+            .tag("reason", "dispatch-overflow")
+            .register(registry);
+        slowSubscriberDisconnects = Counter.builder("game.events.stream.disconnected")
+            .description("Subscribers disconnected for not keeping up with the stream")
+            .register(registry);
+        rejectedSubscriptions = Counter.builder("game.events.stream.rejected")
+            .description("Subscriptions refused because the maximum of subscribers was reached")
+            .register(registry);
+        Gauge.builder("game.events.stream.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Open event stream subscriptions")
+            .register(registry);
+    }
+
+    /**
+     * Opens a stream of the events of {@code types} concerning {@code playerIds}, each empty
+     * for all, or returns {@code null} if the maximum of subscribers is reached.
+     */
+    public ResponseBodyEmitter subscribe(Set<GameEventType> types, Set<Long> playerIds) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejectedSubscriptions.increment();
+            return null;
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        EventSubscriber subscriber = new EventSubscriber(
+            emitter,
+            types.isEmpty() ? EnumSet.allOf(GameEventType.class) : EnumSet.copyOf(types),
+            playerIds.stream().mapToLong(Long::longValue).toArray(),
+            queueCapacity);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        for (GameEventType type : subscriber.types) {
+            subscribersByType.get(type).add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onPublished(GameEvent event) {
+        if (!subscribersByType.get(event.eventType()).isEmpty() && !pending.offer(event)) {
+            dispatchOverflows.increment();
+        }
+    }
+
+    /**
+     * Encodes an event once and queues it to every subscriber it matches.
+     */
+    void dispatch(GameEvent event) {
+        byte[] frame = null;
+        for (EventSubscriber subscriber : subscribersByType.get(event.eventType())) {
+            if (!subscriber.accepts(event.playerId())) {
+                continue;
+            }
+            if (frame == null) {
+                try {
+                    frame = encode(event);
+                } catch (JsonProcessingException e) {
+                    log.warn("Failed to encode event {} for the event stream: {}", event.eventId(), e.getMessage());
+                    return;
+                }
+            }
+            enqueue(subscriber, frame);
+        }
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void enqueue(EventSubscriber subscriber, byte[] frame) {
+        while (!subscriber.queue.offer(frame)) {
+            if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+                slowSubscriberDisconnects.increment();
+                unsubscribe(subscriber);
+                subscriber.emitter.complete();
+                return;
+            }
+            if (subscriber.queue.poll() != null) {
+                slowSubscriberDrops.increment();
+            }
+        }
+        if (subscriber.startDraining()) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Writes the subscriber's queued frames until the queue is empty, then releases it for
+     * the next writer; a frame queued meanwhile is picked up by claiming the queue again.
+     */
+    private void drain(EventSubscriber subscriber) {
+        do {
+            byte[] frame;
+            while (!subscriber.isClosed() && (frame = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+                } catch (IOException | IllegalStateException e) {
+                    // The connection is gone; the container completes the emitter with the error
+                    unsubscribe(subscriber);
+                    return;
+                }
+            }
+            subscriber.stopDraining();
+        } while (!subscriber.queue.isEmpty() && subscriber.startDraining());
+    }
+
+    private void unsubscribe(EventSubscriber subscriber) {
+        if (subscriber.close()) {
+            for (GameEventType type : subscriber.types) {
+                subscribersByType.get(type).remove(subscriber);
+            }
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private byte[] encode(GameEvent event) throws JsonProcessingException {
+        String frame = "id: " + event.eventId()
+            + "\nevent: " + event.eventType()
+            + "\ndata: " + objectMapper.writeValueAsString(event)
+            + "\n\n";
+        return frame.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void runDispatcher() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (dispatcher == Thread.currentThread()) {
+            try {
+                GameEvent event = pending.poll(Math.max(0, nextHeartbeat - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (event != null) {
+                    dispatch(event);
+                }
+                if (System.nanoTime() - nextHeartbeat >= 0) {
+                    for (EventSubscriber subscriber : subscribers) {
+                        enqueue(subscriber, HEARTBEAT);
+                    }
+                    nextHeartbeat = System.nanoTime() + heartbeatNanos;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch to the event stream", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("event-stream-writer-", 0).factory());
+        dispatcher = Thread.ofPlatform().name("event-stream-dispatcher").daemon().unstarted(this::runDispatcher);
+        dispatcher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        Thread stopping = dispatcher;
+        dispatcher = null;
+        stopping.interrupt();
+        try {
+            stopping.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Let clients reconnect, to this instance once restarted or to another one
+        for (EventSubscriber subscriber : subscribers) {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        }
+        writers.shutdown();
+        writers = null;
+        pending.clear();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return dispatcher != null;
+    }
+}
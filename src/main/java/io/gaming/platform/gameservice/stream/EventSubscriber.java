@@ -0,0 +1,57 @@
+package io.gaming.platform.gameservice.stream;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open event stream: its filter, its bounded queue of encoded frames not yet written and
+ * whether a writer is currently draining that queue.
+ */
+final class EventSubscriber {
+    final ResponseBodyEmitter emitter;
+    final Set<GameEventType> types;
+    final ArrayBlockingQueue<byte[]> queue;
+    // Sorted; empty for every player
+    private final long[] playerIds;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    EventSubscriber(ResponseBodyEmitter emitter, Set<GameEventType> types, long[] playerIds, int queueCapacity) {
+        this.emitter = emitter;
+        this.types = types;
+        this.playerIds = playerIds.clone();
+        Arrays.sort(this.playerIds);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    boolean accepts(long playerId) {
+        return playerIds.length == 0 || Arrays.binarySearch(playerIds, playerId) >= 0;
+    }
+
+    /**
+     * Claims the right to drain the queue; only one writer holds it at a time.
+     */
+    boolean startDraining() {
+        return !closed.get() && draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Marks the subscriber closed and returns whether it was open until now.
+     */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,125 @@
+package io.gaming.platform.gameservice.aggregation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.gaming.platform.gameservice.config.CoalescingProperties;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventFactory;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.model.PvpAttackSummaryData;
+import io.gaming.platform.gameservice.producer.GameEventProducer;
+import io.gaming.platform.gameservice.producer.PublishedGameEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PvpAttackCoalescerTest {
+    private static final int MAX_HITS = 50;
+
+    @Mock
+    private GameEventProducer eventProducer;
+
+    @Captor
+    private ArgumentCaptor<List<GameEvent>> published;
+
+    private SimpleMeterRegistry registry;
+    private PvpAttackCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new PvpAttackCoalescer(eventProducer, GameEventFactory.DEFAULT,
+            new CoalescingProperties(true, Duration.ofSeconds(10), MAX_HITS, 4), registry);
+    }
+
+    @Test
+    void sweep_ShouldPublishOneSummaryPerAttackerAndDefender() {
+        // Arrange
+        for (int hit = 0; hit < 3; hit++) {
+            for (long attacker = 0; attacker < 1_000; attacker++) {
+                coalescer.add(attacker, attacker + 1, 10);
+            }
+        }
+
+        // Act
+        coalescer.sweep(System.nanoTime());
+
+        // Assert
+        verify(eventProducer).sendGameEvents(published.capture());
+        Map<Long, GameEvent> byAttacker = published.getValue().stream()
+            .collect(Collectors.toMap(event -> ((PvpAttackSummaryData) event.eventData()).attackerId(), Function.identity()));
+        assertThat(byAttacker).hasSize(1_000);
+        GameEvent summary = byAttacker.get(500L);
+        assertThat(summary.eventType()).isEqualTo(GameEventType.PVP_ATTACK_SUMMARY);
+        assertThat(summary.playerId()).isEqualTo(501L);
+        PvpAttackSummaryData data = (PvpAttackSummaryData) summary.eventData();
+        assertThat(data.totalDamage()).isEqualTo(30L);
+        assertThat(data.hitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void add_ShouldPublishWhenWindowReachesMaxHits() {
+        // Act
+        for (int hit = 0; hit < MAX_HITS + 1; hit++) {
+            coalescer.add(7L, 8L, 2);
+        }
+        coalescer.sweep(System.nanoTime());
+
+        // Assert
+        verify(eventProducer, atLeastOnce()).sendGameEvents(published.capture());
+        assertThat(published.getAllValues().stream().flatMap(List::stream))
+            .extracting(event -> ((PvpAttackSummaryData) event.eventData()).hitCount())
+            .containsExactly(MAX_HITS, 1);
+    }
+
+    @Test
+    void sweep_ShouldKeepWindowsOpenedAfterCutoff() {
+        // Arrange
+        long cutoff = System.nanoTime();
+        coalescer.add(1L, 2L, 5);
+
+        // Act
+        coalescer.sweep(cutoff - 1);
+
+        // Assert
+        verify(eventProducer, never()).sendGameEvents(anyList());
+    }
+
+    @Test
+    void sweep_ShouldDeadLetterSummariesThatFailToPublish() {
+        // Arrange
+        RuntimeException failure = new RuntimeException("Kafka error");
+        when(eventProducer.sendGameEvents(anyList()))
+            .thenReturn(List.of(CompletableFuture.<PublishedGameEvent>failedFuture(failure)));
+        coalescer.add(1L, 2L, 5);
+
+        // Act
+        coalescer.sweep(System.nanoTime());
+
+        // Assert
+        ArgumentCaptor<GameEvent> deadLettered = ArgumentCaptor.forClass(GameEvent.class);
+        verify(eventProducer).deadLetter(deadLettered.capture(), eq(failure));
+        assertThat(deadLettered.getValue().eventType()).isEqualTo(GameEventType.PVP_ATTACK_SUMMARY);
+        assertThat(registry.get("game.events.pvp.summaries.failed").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,77 @@
+package io.gaming.platform.gameservice.anticheat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.AnomalyAction;
+import io.gaming.platform.gameservice.config.AntiCheatProperties;
+import io.gaming.platform.gameservice.config.AntiCheatProperties.Rule;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.producer.GameEventVerdict;
+import io.gaming.platform.gameservice.producer.GameEventVerdict.Action;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AntiCheatStageTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long ATTACKER_ID = 123L;
+    private static final long DEFENDER_ID = 456L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AntiCheatStage stage = new AntiCheatStage(new AntiCheatProperties(true, 1000, Map.of(
+        GameEventType.PVP_ATTACK, new Rule(AnomalyAction.FLAG, 10_000, 0, 6, 0.1, 20, 0, 1),
+        GameEventType.LEVEL_UP, new Rule(AnomalyAction.REJECT, 200, 5, 0, 0.05, 0, 0, 1),
+        GameEventType.ITEM_ACQUIRED, new Rule(AnomalyAction.FLAG, 0, 0, 0, 0.05, 0, 1, 3))),
+        registry);
+
+    @Test
+    void validate_ShouldFlagDamageFarFromTheAttackersAverage() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            stage.validate(GameEvent.pvpAttack(DEFENDER_ID, ATTACKER_ID, 90 + i % 20), 0);
+        }
+
+        // Act
+        GameEventVerdict outlier = stage.validate(GameEvent.pvpAttack(DEFENDER_ID, ATTACKER_ID, 5_000), 0);
+        GameEventVerdict usual = stage.validate(GameEvent.pvpAttack(DEFENDER_ID, ATTACKER_ID, 105), 0);
+        GameEventVerdict firstHitOfOtherAttacker = stage.validate(GameEvent.pvpAttack(DEFENDER_ID, ATTACKER_ID + 1, 5_000), 0);
+        GameEventVerdict aboveMaximum = stage.validate(GameEvent.pvpAttack(DEFENDER_ID, ATTACKER_ID + 2, 50_000), 0);
+
+        // Assert
+        assertThat(outlier.action()).isEqualTo(Action.QUARANTINE);
+        assertThat(outlier.reason()).isEqualTo("PVP_ATTACK damage far outside the player's usual range");
+        assertThat(usual).isSameAs(GameEventVerdict.PASS);
+        assertThat(firstHitOfOtherAttacker).isSameAs(GameEventVerdict.PASS);
+        assertThat(aboveMaximum.reason()).isEqualTo("PVP_ATTACK value above the maximum");
+        assertThat(registry.get("game.events.anomalies").tag("anomaly", "DEVIATION").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void validate_ShouldRejectLevelJumpsAndFlagItemBursts() {
+        // Arrange
+        stage.validate(GameEvent.levelUp(ATTACKER_ID, 10), 0);
+
+        // Act
+        GameEventVerdict jump = stage.validate(GameEvent.levelUp(ATTACKER_ID, 999), 0);
+        GameEventVerdict step = stage.validate(GameEvent.levelUp(ATTACKER_ID, 15), 0);
+        GameEventVerdict jumpFromRejected = stage.validate(GameEvent.levelUp(ATTACKER_ID, 25), 0);
+        int itemsPassed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (stage.validate(GameEvent.itemAcquired(ATTACKER_ID, "Sword", "RARE"), 0) == GameEventVerdict.PASS) {
+                itemsPassed++;
+            }
+        }
+        GameEventVerdict itemLater = stage.validate(GameEvent.itemAcquired(ATTACKER_ID, "Sword", "RARE"), 2 * SECOND);
+
+        // Assert
+        assertThat(jump.action()).isEqualTo(Action.REJECT);
+        assertThat(jump.reason()).isEqualTo("LEVEL_UP value above the maximum");
+        assertThat(step).isSameAs(GameEventVerdict.PASS);
+        assertThat(jumpFromRejected.reason()).isEqualTo("LEVEL_UP level step above the maximum");
+        assertThat(itemsPassed).isEqualTo(3);
+        assertThat(itemLater).isSameAs(GameEventVerdict.PASS);
+    }
+}
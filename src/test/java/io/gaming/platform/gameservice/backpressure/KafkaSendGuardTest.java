@@ -0,0 +1,151 @@
+package io.gaming.platform.gameservice.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.backpressure.KafkaSendGuard.CircuitState;
+import io.gaming.platform.gameservice.backpressure.KafkaSendGuard.Decision;
+import io.gaming.platform.gameservice.config.BackpressureProperties;
+import io.gaming.platform.gameservice.config.BackpressureProperties.Circuit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class KafkaSendGuardTest {
+    private static final long MILLI = 1_000_000L;
+    private static final long SECOND = 1_000 * MILLI;
+
+    private final KafkaSendGuard guard = new KafkaSendGuard(
+        new BackpressureProperties(true, 20, 5, 100, 1.5, 0.2, Duration.ofMillis(500),
+            new Circuit(50, Duration.ofSeconds(1), 10, 10, Duration.ofSeconds(5), 2)),
+        new SimpleMeterRegistry());
+
+    @Test
+    void release_ShouldGrowLimitAtSteadyLatencyAndShrinkItWhenLatencyRises() {
+        // Act
+        runAtLatency(5 * MILLI, 200, 0);
+        int steadyLimit = guard.limit();
+        runAtLatency(50 * MILLI, 20, 0);
+        int slowLimit = guard.limit();
+
+        // Assert
+        assertThat(steadyLimit).isEqualTo(100);
+        assertThat(slowLimit).isLessThan(steadyLimit / 4);
+        assertThat(guard.circuitState()).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void tryAcquire_ShouldShedWhileCircuitIsOpenAndCloseAfterSuccessfulProbes() {
+        // Arrange
+        openCircuit();
+
+        // Act
+        Decision whileOpen = guard.tryAcquire(SECOND);
+        Decision firstProbe = guard.tryAcquire(6 * SECOND);
+        Decision secondProbe = guard.tryAcquire(6 * SECOND);
+        Decision beyondProbes = guard.tryAcquire(6 * SECOND);
+        guard.release(firstProbe, MILLI, true, 6 * SECOND);
+        guard.release(secondProbe, MILLI, true, 6 * SECOND);
+
+        // Assert
+        assertThat(whileOpen).isEqualTo(Decision.CIRCUIT_OPEN);
+        assertThat(firstProbe).isEqualTo(Decision.PROBE);
+        assertThat(secondProbe).isEqualTo(Decision.PROBE);
+        assertThat(beyondProbes).isEqualTo(Decision.CIRCUIT_OPEN);
+        assertThat(guard.circuitState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(guard.inFlight()).isZero();
+    }
+
+    @Test
+    void release_ShouldReopenCircuitWhenProbeIsSlow() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            guard.release(guard.tryAcquire(0), 2 * SECOND, true, 0);
+        }
+        Decision probe = guard.tryAcquire(5 * SECOND);
+
+        // Act
+        guard.release(probe, 2 * SECOND, true, 7 * SECOND);
+
+        // Assert
+        assertThat(guard.circuitState()).isEqualTo(CircuitState.OPEN);
+        assertThat(guard.tryAcquire(8 * SECOND)).isEqualTo(Decision.CIRCUIT_OPEN);
+        assertThat(guard.tryAcquire(12 * SECOND)).isEqualTo(Decision.PROBE);
+    }
+
+    @Test
+    void cancel_ShouldGiveProbeBackSoCircuitCanStillClose() {
+        // Arrange
+        openCircuit();
+        Decision cancelled = guard.tryAcquire(6 * SECOND);
+        Decision probe = guard.tryAcquire(6 * SECOND);
+
+        // Act
+        guard.cancel(cancelled);
+        Decision retried = guard.tryAcquire(6 * SECOND);
+        guard.release(probe, MILLI, true, 6 * SECOND);
+        guard.release(retried, MILLI, true, 6 * SECOND);
+
+        // Assert
+        assertThat(retried).isEqualTo(Decision.PROBE);
+        assertThat(guard.circuitState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(guard.inFlight()).isZero();
+    }
+
+    @Test
+    void cancel_ShouldLetCircuitReopenWhenRemainingProbeFails() {
+        // Arrange
+        openCircuit();
+        Decision cancelled = guard.tryAcquire(6 * SECOND);
+        Decision probe = guard.tryAcquire(6 * SECOND);
+
+        // Act
+        guard.cancel(cancelled);
+        guard.release(probe, MILLI, false, 6 * SECOND);
+
+        // Assert
+        assertThat(guard.circuitState()).isEqualTo(CircuitState.OPEN);
+        assertThat(guard.tryAcquire(12 * SECOND)).isEqualTo(Decision.PROBE);
+    }
+
+    @Test
+    void release_ShouldNotCountSendsAdmittedBeforeCircuitOpenedAsProbes() {
+        // Arrange
+        Decision beforeOpening = guard.tryAcquire(0);
+        openCircuit();
+        Decision probe = guard.tryAcquire(6 * SECOND);
+
+        // Act
+        guard.release(beforeOpening, MILLI, true, 6 * SECOND);
+        guard.release(probe, MILLI, true, 6 * SECOND);
+
+        // Assert
+        assertThat(guard.circuitState()).isEqualTo(CircuitState.HALF_OPEN);
+    }
+
+    /**
+     * Opens the circuit at time zero with half of ten sends failing.
+     */
+    private void openCircuit() {
+        for (int i = 0; i < 10; i++) {
+            guard.release(guard.tryAcquire(0), MILLI, i % 2 == 0, 0);
+        }
+    }
+
+    /**
+     * Fills the limit with sends and completes them at the given latency, {@code rounds} times.
+     */
+    private void runAtLatency(long rttNanos, int rounds, long nowNanos) {
+        int admitted = 0;
+        for (int round = 0; round < rounds; round++) {
+            while (guard.tryAcquire(nowNanos) == Decision.ADMITTED) {
+                admitted++;
+            }
+            while (admitted > 0) {
+                guard.release(Decision.ADMITTED, rttNanos, true, nowNanos);
+                admitted--;
+            }
+        }
+    }
+}
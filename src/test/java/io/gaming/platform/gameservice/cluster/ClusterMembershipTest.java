@@ -0,0 +1,34 @@
+package io.gaming.platform.gameservice.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.ClusterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClusterMembershipTest {
+
+    @Test
+    void stop_ShouldNotWaitWhenAloneOnRing() {
+        // Arrange
+        ClusterProperties properties = new ClusterProperties(true, "game-1", Map.of(
+                "game-1", URI.create("http://game-1.invalid:8081")),
+            "s3cret", 128, Duration.ofSeconds(10), 3, Duration.ofSeconds(1));
+        ClusterMembership membership = new ClusterMembership(
+            properties, new StaticPeerDiscovery(properties), new SimpleMeterRegistry());
+        membership.start();
+
+        // Act
+        long start = System.nanoTime();
+        membership.stop();
+
+        // Assert
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(membership.isRunning()).isFalse();
+    }
+}
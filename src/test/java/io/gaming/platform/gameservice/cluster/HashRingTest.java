@@ -0,0 +1,58 @@
+package io.gaming.platform.gameservice.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class HashRingTest {
+    private static final int PLAYERS = 100_000;
+
+    @Test
+    void ownerOf_ShouldSpreadPlayersEvenlyAndAgreeAcrossInstances() {
+        // Arrange
+        HashRing ring = HashRing.of(List.of("game-1", "game-2", "game-3"), 128);
+        HashRing sameNodesOtherOrder = HashRing.of(List.of("game-3", "game-1", "game-2"), 128);
+
+        // Act
+        Map<String, Integer> owned = new HashMap<>();
+        boolean agree = true;
+        for (long player = 0; player < PLAYERS; player++) {
+            owned.merge(ring.ownerOf(player), 1, Integer::sum);
+            agree &= ring.ownerOf(player).equals(sameNodesOtherOrder.ownerOf(player));
+        }
+
+        // Assert
+        assertThat(agree).isTrue();
+        assertThat(owned).containsOnlyKeys("game-1", "game-2", "game-3");
+        owned.values().forEach(count -> assertThat((double) count / PLAYERS).isCloseTo(1 / 3.0, within(0.05)));
+    }
+
+    @Test
+    void ownerOf_ShouldOnlyMovePlayersOfTheJoiningOrLeavingNode() {
+        // Arrange
+        HashRing three = HashRing.of(List.of("game-1", "game-2", "game-3"), 128);
+        HashRing four = HashRing.of(List.of("game-1", "game-2", "game-3", "game-4"), 128);
+
+        // Act
+        int moved = 0;
+        boolean movedOnlyToJoiningNode = true;
+        for (long player = 0; player < PLAYERS; player++) {
+            String before = three.ownerOf(player);
+            String after = four.ownerOf(player);
+            if (!before.equals(after)) {
+                moved++;
+                movedOnlyToJoiningNode &= after.equals("game-4");
+            }
+        }
+
+        // Assert
+        assertThat(movedOnlyToJoiningNode).isTrue();
+        assertThat((double) moved / PLAYERS).isCloseTo(0.25, within(0.05));
+        assertThat(HashRing.of(List.of(), 128).ownerOf(1)).isNull();
+    }
+}
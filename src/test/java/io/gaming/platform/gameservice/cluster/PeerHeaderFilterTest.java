@@ -0,0 +1,89 @@
+package io.gaming.platform.gameservice.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.gaming.platform.gameservice.config.ClusterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+class PeerHeaderFilterTest {
+    private static final String SECRET = "s3cret";
+
+    @Test
+    void doFilter_ShouldHonourForwardedByHeaderOnlyFromPeers() throws Exception {
+        // Arrange
+        PeerHeaderFilter filter = peerHeaderFilter();
+
+        // Act
+        HttpServletRequest fromPeer = filter(filter, "127.0.0.1", SECRET);
+        HttpServletRequest fromPeerAddress = filter(filter, "127.0.0.1", "guess");
+        HttpServletRequest fromClient = filter(filter, "203.0.113.7", SECRET);
+
+        // Assert
+        assertThat(fromPeer.getHeader(ClusterForwarder.FORWARDED_BY_HEADER)).isEqualTo("game-2");
+        assertThat(fromPeerAddress.getHeader(ClusterForwarder.FORWARDED_BY_HEADER)).isNull();
+        assertThat(fromClient.getHeader(ClusterForwarder.FORWARDED_BY_HEADER)).isNull();
+        assertThat(fromClient.getHeaders(ClusterForwarder.FORWARDED_BY_HEADER).hasMoreElements()).isFalse();
+        assertThat(fromClient.getHeader("X-Request-Id")).isEqualTo("r-1");
+    }
+
+    @Test
+    void doFilter_ShouldRefuseInternalEndpointsWithoutSecret() throws Exception {
+        // Arrange
+        PeerHeaderFilter filter = peerHeaderFilter();
+
+        // Act
+        MockHttpServletResponse fromPeer = internal(filter, SECRET);
+        MockHttpServletResponse withoutSecret = internal(filter, null);
+        MockHttpServletResponse withWrongSecret = internal(filter, "guess");
+
+        // Assert
+        assertThat(fromPeer.getStatus()).isEqualTo(200);
+        assertThat(withoutSecret.getStatus()).isEqualTo(403);
+        assertThat(withWrongSecret.getStatus()).isEqualTo(403);
+    }
+
+    private static PeerHeaderFilter peerHeaderFilter() {
+        ClusterProperties properties = new ClusterProperties(true, "game-1", Map.of(
+                "game-1", URI.create("http://game-1.invalid:8081"),
+                "game-2", URI.create("http://127.0.0.1:1")),
+            SECRET, 128, Duration.ofSeconds(1), 3, Duration.ofSeconds(1));
+        ClusterMembership membership = new ClusterMembership(
+            properties, new StaticPeerDiscovery(properties), new SimpleMeterRegistry());
+        membership.probeAll();
+        return new PeerHeaderFilter(membership);
+    }
+
+    private static HttpServletRequest filter(PeerHeaderFilter filter, String remoteAddress, String secret)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/game-events/level-up");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader(ClusterForwarder.FORWARDED_BY_HEADER, "game-2");
+        request.addHeader(ClusterForwarder.SECRET_HEADER, secret);
+        request.addHeader("X-Request-Id", "r-1");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return (HttpServletRequest) chain.getRequest();
+    }
+
+    private static MockHttpServletResponse internal(PeerHeaderFilter filter, String secret) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal/v1/player-state/victories");
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader(ClusterForwarder.FORWARDED_BY_HEADER, "game-2");
+        if (secret != null) {
+            request.addHeader(ClusterForwarder.SECRET_HEADER, secret);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
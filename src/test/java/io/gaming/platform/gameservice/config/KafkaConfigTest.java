@@ -0,0 +1,42 @@
+package io.gaming.platform.gameservice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.gaming.platform.gameservice.config.TopicRoutingProperties.Route;
+import io.gaming.platform.gameservice.model.GameEventType;
+
+class KafkaConfigTest {
+
+    @Test
+    void provisionedTopics_ShouldProvisionRoutesDeadLetterAndQuarantineTopics() {
+        // Arrange
+        KafkaConfig config = new KafkaConfig(
+            new KafkaProperties(), ProducerTuningProperties.of(ThroughputProfile.BALANCED), null, null);
+        ReflectionTestUtils.setField(config, "topicName", "game-events");
+        TopicRoutingProperties routing = new TopicRoutingProperties(
+            new Route(null, null, null, 12, null),
+            Map.of(GameEventType.PVP_ATTACK, new Route("game-events.pvp-attack", null, null, 24, null)),
+            true);
+
+        // Act
+        Collection<NewTopic> topics = config.provisionedTopics(routing, DeliveryProperties.of(DeliveryPolicy.SYNC));
+
+        // Assert
+        assertThat(topics)
+            .extracting(NewTopic::name)
+            .containsExactlyInAnyOrder(
+                "game-events", "game-events.pvp-attack", "game-events-dlt", "game-events-quarantine");
+        assertThat(topics)
+            .filteredOn(topic -> topic.name().equals("game-events-quarantine"))
+            .extracting(NewTopic::numPartitions)
+            .containsExactly(12);
+    }
+}
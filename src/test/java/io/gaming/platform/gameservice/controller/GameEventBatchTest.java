@@ -0,0 +1,468 @@
+package io.gaming.platform.gameservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import io.gaming.platform.gameservice.aggregation.PvpAttackCoalescer;
+import io.gaming.platform.gameservice.config.EventIdConfig;
+import io.gaming.platform.gameservice.config.EventIdProperties;
+import io.gaming.platform.gameservice.config.IdempotencyProperties;
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.config.RateLimitProperties;
+import io.gaming.platform.gameservice.config.TransactionProperties;
+import io.gaming.platform.gameservice.idempotency.IdempotencyCache;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.producer.GameEventProducer;
+import io.gaming.platform.gameservice.producer.PublishedGameEvent;
+import io.gaming.platform.gameservice.ratelimit.PlayerRateLimiter;
+
+@WebMvcTest(GameEventController.class)
+@Import({InFlightLimiter.class, GameEventBatchReader.class, GameEventMetrics.class, SimpleMeterRegistry.class,
+    IdempotencyCache.class, PlayerRateLimiter.class, EventIdConfig.class})
+@EnableConfigurationProperties({IngestProperties.class, TransactionProperties.class, IdempotencyProperties.class,
+    RateLimitProperties.class, EventIdProperties.class})
+@TestPropertySource(properties = {
+    "app.rate-limit.enabled=true",
+    "app.rate-limit.limits.LEVEL_UP.rate=0.1",
+    "app.rate-limit.limits.LEVEL_UP.burst=2",
+    "app.ingest.streaming-decode=ITEM_ACQUIRED",
+    "app.kafka.transactions.max-events=3"
+})
+class GameEventBatchTest {
+    private static final String TOPIC = "game-events";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GameEventProducer eventProducer;
+
+    @MockitoBean
+    private PvpAttackCoalescer attackCoalescer;
+
+    @Test
+    void batch_ShouldSendValidItemsAndReportInvalidOnes() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEvents(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return events.stream().map(this::acknowledged).toList();
+        });
+        String body = """
+            [
+              {"type":"LEVEL_UP","playerId":1,"newLevel":5},
+              {"type":"ITEM_ACQUIRED","playerId":1,"itemName":"","rarity":"RARE"},
+              {"type":"NOT_A_TYPE","playerId":1},
+              {"type":"PVP_ATTACK","attackerId":2,"defenderId":3,"damageDealt":40}
+            ]""";
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$.accepted").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.results[0].eventType").value("LEVEL_UP"))
+            .andExpect(jsonPath("$.results[1].errorMessage").value("itemName: Item name is required"))
+            .andExpect(jsonPath("$.results[2].errorMessage").exists())
+            .andExpect(jsonPath("$.results[3].playerId").value(3));
+    }
+
+    @Test
+    void batch_ShouldAcceptNdjsonStream() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEvents(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return events.stream().map(this::acknowledged).toList();
+        });
+        String body = """
+            {"type":"CHALLENGE_COMPLETED","playerId":7,"challengeName":"Dragon Slayer"}
+            {"type":"PVP_DEFEAT","defeatedPlayerId":7,"victorPlayerId":8,"battleLocation":"Ancient Arena"}
+            """;
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.accepted").value(2))
+            .andExpect(jsonPath("$.results[1].eventType").value("PVP_DEFEAT"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GameEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).sendGameEvents(batch.capture());
+        assertThat(batch.getValue()).extracting(GameEvent::eventType)
+            .containsExactly(GameEventType.CHALLENGE_COMPLETED, GameEventType.PVP_DEFEAT);
+    }
+
+    @Test
+    void batch_ShouldRejectBodyWithoutItems() throws Exception {
+        for (MediaType contentType : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON)) {
+            // Act
+            MvcResult result = mockMvc.perform(post("/api/v1/game-events/batch")
+                    .contentType(contentType)
+                    .content(contentType.equals(MediaType.APPLICATION_JSON) ? "[]" : ""))
+                .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.accepted").value(0))
+                .andExpect(jsonPath("$.results[0].errorMessage").value("A batch holds at least one event, got 0"));
+        }
+        verify(eventProducer, never()).sendGameEvents(anyList());
+    }
+
+    @Test
+    void batch_ShouldReplayItemsWithKnownIdempotencyKey() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEvents(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return events.stream().map(this::acknowledged).toList();
+        });
+        String body = """
+            {"type":"LEVEL_UP","playerId":9,"newLevel":2,"idempotencyKey":"level-2"}
+            {"type":"LEVEL_UP","playerId":9,"newLevel":2,"idempotencyKey":"level-2"}
+            {"type":"LEVEL_UP","playerId":10,"newLevel":2,"idempotencyKey":"level-2"}
+            """;
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+            .andReturn();
+
+        // Assert
+        MvcResult response = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.accepted").value(3))
+            .andReturn();
+        String json = response.getResponse().getContentAsString();
+        assertThat(JsonPath.<String>read(json, "$.results[0].eventId"))
+            .isEqualTo(JsonPath.<String>read(json, "$.results[1].eventId"))
+            .isNotEqualTo(JsonPath.<String>read(json, "$.results[2].eventId"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GameEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).sendGameEvents(batch.capture());
+        assertThat(batch.getValue()).extracting(GameEvent::playerId).containsExactly(9L, 10L);
+    }
+
+    @Test
+    void batch_ShouldRejectItemsBeyondPlayerRateLimit() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEvents(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return events.stream().map(this::acknowledged).toList();
+        });
+        String body = """
+            {"type":"LEVEL_UP","playerId":42,"newLevel":2}
+            {"type":"LEVEL_UP","playerId":42,"newLevel":3}
+            {"type":"LEVEL_UP","playerId":42,"newLevel":4}
+            {"type":"LEVEL_UP","playerId":43,"newLevel":2}
+            """;
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$.accepted").value(3))
+            .andExpect(jsonPath("$.results[2].errorMessage").value("Rate limit exceeded, retry after 10 s"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GameEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).sendGameEvents(batch.capture());
+        assertThat(batch.getValue()).extracting(GameEvent::playerId).containsExactly(42L, 42L, 43L);
+    }
+
+    @Test
+    void transaction_ShouldPublishAllEventsTogether() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEventsAtomically(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(events.stream().map(event -> acknowledged(event).join()).toList());
+        });
+        String body = """
+            [
+              {"type":"PVP_DEFEAT","defeatedPlayerId":20,"victorPlayerId":21,"battleLocation":"Ancient Arena"},
+              {"type":"CHALLENGE_COMPLETED","playerId":21,"challengeName":"Dragon Slayer"},
+              {"type":"LEVEL_UP","playerId":21,"newLevel":8}
+            ]""";
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.accepted").value(3))
+            .andExpect(jsonPath("$.results[0].eventType").value("PVP_DEFEAT"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GameEvent>> group = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer).sendGameEventsAtomically(group.capture());
+        assertThat(group.getValue()).extracting(GameEvent::eventType).containsExactly(
+            GameEventType.PVP_DEFEAT, GameEventType.CHALLENGE_COMPLETED, GameEventType.LEVEL_UP);
+    }
+
+    @Test
+    void transaction_ShouldPublishNothingIfAnyEventIsInvalid() throws Exception {
+        // Arrange
+        String body = """
+            [
+              {"type":"PVP_DEFEAT","defeatedPlayerId":22,"victorPlayerId":23,"battleLocation":"Ancient Arena"},
+              {"type":"ITEM_ACQUIRED","playerId":23,"itemName":"","rarity":"RARE"}
+            ]""";
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.results[1].errorMessage").value("itemName: Item name is required"));
+        verify(eventProducer, never()).sendGameEventsAtomically(anyList());
+    }
+
+    @Test
+    void transaction_ShouldGiveBackTokensOfRateLimitedGroup() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEventsAtomically(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(events.stream().map(event -> acknowledged(event).join()).toList());
+        });
+        String beyondBurst = """
+            [
+              {"type":"LEVEL_UP","playerId":24,"newLevel":2},
+              {"type":"LEVEL_UP","playerId":24,"newLevel":3},
+              {"type":"LEVEL_UP","playerId":24,"newLevel":4}
+            ]""";
+        String withinBurst = """
+            [
+              {"type":"LEVEL_UP","playerId":24,"newLevel":2},
+              {"type":"LEVEL_UP","playerId":24,"newLevel":3}
+            ]""";
+
+        // Act
+        MvcResult limited = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(beyondBurst))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(limited)).andExpect(status().isTooManyRequests());
+        MvcResult retried = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(withinBurst))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(retried))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.accepted").value(2));
+    }
+
+    @Test
+    void transaction_ShouldRejectOversizedGroupBeforeRateLimiting() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEventsAtomically(anyList())).thenAnswer(invocation -> {
+            List<GameEvent> events = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(events.stream().map(event -> acknowledged(event).join()).toList());
+        });
+        String oversized = """
+            [
+              {"type":"LEVEL_UP","playerId":25,"newLevel":2},
+              {"type":"LEVEL_UP","playerId":25,"newLevel":3},
+              {"type":"CHALLENGE_COMPLETED","playerId":25,"challengeName":"Dragon Slayer"},
+              {"type":"CHALLENGE_COMPLETED","playerId":25,"challengeName":"Dragon Slayer"},
+              not even read
+            ]""";
+        String withinBurst = """
+            [
+              {"type":"LEVEL_UP","playerId":25,"newLevel":2},
+              {"type":"LEVEL_UP","playerId":25,"newLevel":3}
+            ]""";
+
+        // Act & Assert
+        MvcResult rejected = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(oversized))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(rejected))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.results[0].errorMessage")
+                .value("A transaction holds between 1 and 3 events, got more than 3"));
+        verify(eventProducer, never()).sendGameEventsAtomically(anyList());
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(withinBurst))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void transaction_ShouldAnswerNotImplementedAndGiveBackTokensWhenTransactionsAreDisabled() throws Exception {
+        // Arrange
+        when(eventProducer.sendGameEventsAtomically(anyList())).thenReturn(CompletableFuture.failedFuture(
+            new IllegalStateException("Transactions are disabled, see app.kafka.transactions.enabled")));
+        String withinBurst = """
+            [
+              {"type":"LEVEL_UP","playerId":26,"newLevel":2},
+              {"type":"LEVEL_UP","playerId":26,"newLevel":3}
+            ]""";
+
+        // Act
+        MvcResult first = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(withinBurst))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isNotImplemented());
+        MvcResult second = mockMvc.perform(post("/api/v1/game-events/transaction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(withinBurst))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(second))
+            .andExpect(status().isNotImplemented())
+            .andExpect(jsonPath("$.results[0].errorMessage")
+                .value("Transactions are disabled, see app.kafka.transactions.enabled"));
+    }
+
+    @Test
+    void acquireItem_ShouldDecodeAndValidateWithStreamingParser() throws Exception {
+        // Arrange
+        when(eventProducer.sendItemAcquiredEvent(anyLong(), eq("Sword of Fire"), eq("LEGENDARY")))
+            .thenAnswer(invocation -> acknowledged(GameEvent.itemAcquired(30L, "Sword of Fire", "LEGENDARY")));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/game-events/items/acquired")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"playerId\":30,\"itemName\":\"Sword of Fire\",\"rarity\":\"LEGENDARY\"}"))
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.playerId").value(30));
+        mockMvc.perform(post("/api/v1/game-events/items/acquired")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"playerId\":30,\"itemName\":\" \",\"rarity\":\"LEGENDARY\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acquireItem_ShouldValidateJsonSubtypeBodiesDecodedByJackson() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/game-events/items/acquired")
+                .contentType("application/vnd.game-event+json")
+                .content("{\"playerId\":30,\"rarity\":\"LEGENDARY\"}"))
+            .andExpect(status().isBadRequest());
+        verify(eventProducer, never()).sendItemAcquiredEvent(anyLong(), any(), any());
+    }
+
+    @Test
+    void levelUp_ShouldReplayRetryOfAcceptedRequestBeyondRateLimit() throws Exception {
+        // Arrange
+        when(eventProducer.sendLevelUpEvent(eq(60L), anyInt()))
+            .thenAnswer(invocation -> acknowledged(GameEvent.levelUp(60L, invocation.getArgument(1))));
+        String keyed = "{\"playerId\":60,\"newLevel\":2,\"idempotencyKey\":\"level-2\"}";
+        String unkeyed = "{\"playerId\":60,\"newLevel\":3}";
+
+        // Act: the burst of two is spent by the original and one other request
+        for (String body : List.of(keyed, unkeyed, keyed)) {
+            MvcResult result = mockMvc.perform(post("/api/v1/game-events/level-up")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted());
+        }
+
+        // Assert
+        verify(eventProducer, times(2)).sendLevelUpEvent(eq(60L), anyInt());
+        MvcResult limited = mockMvc.perform(post("/api/v1/game-events/level-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(unkeyed))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(limited))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void pvpAttack_ShouldNotCoalesceRetriedAttackAgain() throws Exception {
+        // Arrange
+        String body = "{\"attackerId\":50,\"defenderId\":51,\"damageDealt\":30,\"idempotencyKey\":\"hit-1\"}";
+
+        // Act
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MvcResult result = mockMvc.perform(post("/api/v1/game-events/pvp/attack")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.playerId").value(51));
+        }
+
+        // Assert
+        verify(attackCoalescer, times(1)).add(50L, 51L, 30);
+    }
+
+    private CompletableFuture<PublishedGameEvent> acknowledged(GameEvent event) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 0, 0);
+        return CompletableFuture.completedFuture(new PublishedGameEvent(event, metadata));
+    }
+}
@@ -0,0 +1,131 @@
+package io.gaming.platform.gameservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import io.gaming.platform.gameservice.config.DeliveryPolicy;
+import io.gaming.platform.gameservice.config.DeliveryProperties;
+import io.gaming.platform.gameservice.config.EventIdConfig;
+import io.gaming.platform.gameservice.config.EventIdProperties;
+import io.gaming.platform.gameservice.config.IdempotencyProperties;
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.config.TransactionProperties;
+import io.gaming.platform.gameservice.idempotency.IdempotencyCache;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventFactory;
+import io.gaming.platform.gameservice.producer.GameEventProducer;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.serialization.PlayerIdSerializer;
+
+/**
+ * Retries of requests whose send is still awaiting the broker, against a stand-in broker
+ * that holds acknowledgements until told otherwise.
+ */
+@WebMvcTest(GameEventController.class)
+@Import({InFlightLimiter.class, GameEventBatchReader.class, GameEventMetrics.class, SimpleMeterRegistry.class,
+    IdempotencyCache.class, EventIdConfig.class, GameEventRetryTest.HeldBroker.class})
+@EnableConfigurationProperties({IngestProperties.class, TransactionProperties.class, IdempotencyProperties.class,
+    EventIdProperties.class})
+@TestPropertySource(properties = "app.ingest.request-timeout=300ms")
+class GameEventRetryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MockProducer<Long, GameEvent> broker;
+
+    @BeforeEach
+    void clearBroker() {
+        broker.clear();
+    }
+
+    @Test
+    void levelUp_ShouldNotPublishRetryOfTimedOutRequestAgain() throws Exception {
+        // Arrange
+        MvcResult first = mockMvc.perform(levelUp("retry-1")).andReturn();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isGatewayTimeout());
+
+        // Act
+        MvcResult retry = mockMvc.perform(levelUp("retry-1")).andReturn();
+        broker.completeNext();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(retry))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.eventId").exists());
+        MvcResult later = mockMvc.perform(levelUp("retry-1")).andReturn();
+        mockMvc.perform(asyncDispatch(later)).andExpect(status().isAccepted());
+        assertThat(broker.history()).hasSize(1);
+    }
+
+    @Test
+    void levelUp_ShouldPublishRetryAgainOnceTimedOutSendFailed() throws Exception {
+        // Arrange
+        MvcResult first = mockMvc.perform(levelUp("retry-2")).andReturn();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isGatewayTimeout());
+        broker.errorNext(new TimeoutException("Broker unavailable"));
+
+        // Act
+        MvcResult retry = mockMvc.perform(levelUp("retry-2")).andReturn();
+        broker.completeNext();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(retry)).andExpect(status().isAccepted());
+        assertThat(broker.history()).hasSize(2);
+    }
+
+    private static MockHttpServletRequestBuilder levelUp(String idempotencyKey) {
+        return post("/api/v1/game-events/level-up")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"playerId\":70,\"newLevel\":3,\"idempotencyKey\":\"" + idempotencyKey + "\"}");
+    }
+
+    @TestConfiguration
+    static class HeldBroker {
+
+        @Bean
+        MockProducer<Long, GameEvent> broker() {
+            // Kept open across sends, like the producers of a pooling factory
+            return new MockProducer<>(false, new PlayerIdSerializer(), (topic, event) -> new byte[0]) {
+                @Override
+                public void close(Duration timeout) {
+                }
+            };
+        }
+
+        @Bean
+        GameEventProducer gameEventProducer(MockProducer<Long, GameEvent> broker, GameEventFactory eventFactory) {
+            KafkaTemplate<Long, GameEvent> template = new KafkaTemplate<>(() -> broker);
+            return new GameEventProducer(template, template, GameEventRouter.singleTopic("game-events"), eventFactory,
+                DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+                Optional.empty(), Optional.empty(), Optional.empty(), List.of(), List.of());
+        }
+    }
+}
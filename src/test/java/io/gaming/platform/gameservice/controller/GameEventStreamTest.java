@@ -0,0 +1,81 @@
+package io.gaming.platform.gameservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.gaming.platform.gameservice.config.EventIdConfig;
+import io.gaming.platform.gameservice.config.EventIdProperties;
+import io.gaming.platform.gameservice.config.EventStreamProperties;
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.config.TransactionProperties;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.producer.GameEventProducer;
+import io.gaming.platform.gameservice.stream.EventStreamHub;
+
+@WebMvcTest(GameEventController.class)
+@Import({InFlightLimiter.class, GameEventBatchReader.class, GameEventMetrics.class, SimpleMeterRegistry.class,
+    EventStreamHub.class, EventIdConfig.class})
+@EnableConfigurationProperties({IngestProperties.class, TransactionProperties.class, EventStreamProperties.class,
+    EventIdProperties.class})
+@TestPropertySource(properties = {
+    "app.event-stream.enabled=true",
+    "app.event-stream.max-subscribers=1"
+})
+class GameEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventStreamHub eventStreamHub;
+
+    @MockitoBean
+    private GameEventProducer eventProducer;
+
+    @Test
+    void stream_ShouldSendMatchingEventsAndRefuseSubscribersBeyondMaximum() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/game-events/stream")
+                .param("types", "LEVEL_UP", "PVP_DEFEAT")
+                .param("playerIds", "7")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+        GameEvent matching = GameEvent.levelUp(7L, 5);
+
+        // Act
+        eventStreamHub.onPublished(GameEvent.levelUp(8L, 3));
+        eventStreamHub.onPublished(GameEvent.itemAcquired(7L, "Legendary Sword", "LEGENDARY"));
+        eventStreamHub.onPublished(matching);
+        eventStreamHub.onPublished(GameEvent.pvpDefeat(7L, 9L, "Ancient Arena"));
+
+        // Assert
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!response.getContentAsString().contains("event: PVP_DEFEAT") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String content = response.getContentAsString();
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(content).startsWith("id: " + matching.eventId() + "\nevent: LEVEL_UP\ndata: {");
+        assertThat(content).contains("\"newLevel\":5").contains("event: PVP_DEFEAT");
+        assertThat(content).doesNotContain("ITEM_ACQUIRED").doesNotContain("\"newLevel\":3");
+        mockMvc.perform(get("/api/v1/game-events/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,134 @@
+package io.gaming.platform.gameservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.github.luben.zstd.Zstd;
+
+import io.gaming.platform.gameservice.config.RequestDecompressionProperties;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+class RequestDecompressionFilterTest {
+
+    private static final String BODY = """
+        {"type":"ITEM_ACQUIRED","playerId":1,"itemName":"Legendary Sword","rarity":"LEGENDARY"}
+        {"type":"ITEM_ACQUIRED","playerId":2,"itemName":"Legendary Sword","rarity":"LEGENDARY"}
+        """;
+
+    private final RequestDecompressionFilter filter =
+        new RequestDecompressionFilter(new RequestDecompressionProperties(true, DataSize.ofKilobytes(1)));
+
+    @Test
+    void doFilter_ShouldHandOnDecompressedBody() throws Exception {
+        for (String encoding : new String[] {"gzip", "zstd"}) {
+            // Arrange
+            byte[] compressed = encoding.equals("gzip") ? gzip(BODY.getBytes(StandardCharsets.UTF_8))
+                : Zstd.compress(BODY.getBytes(StandardCharsets.UTF_8));
+            MockHttpServletRequest request = request(encoding, compressed);
+            MockFilterChain chain = new MockFilterChain();
+
+            // Act
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            // Assert
+            HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+            assertThat(new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+            assertThat(forwarded.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(forwarded.getContentLengthLong()).isEqualTo(-1);
+            assertThat(Collections.list(forwarded.getHeaderNames())).doesNotContain(HttpHeaders.CONTENT_ENCODING);
+        }
+    }
+
+    @Test
+    void doFilter_ShouldRejectUnsupportedEncodingAndOversizedBodies() throws Exception {
+        // Arrange
+        MockHttpServletResponse unsupported = new MockHttpServletResponse();
+        MockFilterChain oversizedChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request("br", new byte[] {1, 2, 3}), unsupported, new MockFilterChain());
+        filter.doFilter(request("gzip", gzip(new byte[2_048])), new MockHttpServletResponse(), oversizedChain);
+
+        // Assert
+        assertThat(unsupported.getStatus()).isEqualTo(415);
+        assertThat(unsupported.getHeader(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip, zstd");
+        HttpServletRequest oversized = (HttpServletRequest) oversizedChain.getRequest();
+        assertThatThrownBy(() -> oversized.getInputStream().readAllBytes())
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("after decompression");
+    }
+
+    @Test
+    void doFilter_ShouldHandDecompressedBodyToReadListener() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip", gzip(BODY.getBytes(StandardCharsets.UTF_8)));
+        request.setAsyncSupported(true);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        forwarded.startAsync();
+        ServletInputStream body = forwarded.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        // Act
+        body.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                while (body.isReady() && !body.isFinished()) {
+                    int length = body.read(buffer);
+                    if (length > 0) {
+                        read.write(buffer, 0, length);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        // Assert
+        assertThat(allDataRead).isTrue();
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    private static MockHttpServletRequest request(String encoding, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/game-events/batch");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        request.setContentType("application/x-ndjson");
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,123 @@
+package io.gaming.platform.gameservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.config.IngestProperties;
+import io.gaming.platform.gameservice.config.IngestProperties.ExecutionMode;
+import io.gaming.platform.gameservice.dto.ChallengeCompletedRequest;
+import io.gaming.platform.gameservice.dto.GameEventRequest;
+import io.gaming.platform.gameservice.dto.ItemAcquiredRequest;
+import io.gaming.platform.gameservice.dto.LevelUpRequest;
+import io.gaming.platform.gameservice.dto.PvpAttackRequest;
+import io.gaming.platform.gameservice.dto.PvpDefeatRequest;
+import io.gaming.platform.gameservice.model.GameEventType;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class StreamingRequestConverterTest {
+    @Test
+    void write_ShouldEncodeRequestsLikeJackson() throws Exception {
+        // Arrange
+        PvpAttackRequest request = new PvpAttackRequest(2L, 3L, 40, "retry-1");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(request, MediaType.APPLICATION_JSON, output);
+
+        // Assert
+        assertThat(output.getBodyAsString()).isEqualTo(objectMapper.writeValueAsString(request));
+        assertThat(converter.read(GameEventType.PVP_ATTACK, new ByteArrayInputStream(output.getBodyAsBytes())))
+            .isEqualTo(request);
+    }
+
+    private static final String LONG_KEY = "k".repeat(129);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final StreamingRequestConverter converter = new StreamingRequestConverter(objectMapper, ingestProperties());
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', textBlock = """
+        LEVEL_UP            | {"playerId":42,"newLevel":7,"idempotencyKey":"retry-1"}
+        LEVEL_UP            | {"newLevel":"7","playerId":"42","extra":{"nested":[1,2,{"x":null}]}}
+        LEVEL_UP            | {"playerId":42,"newLevel":7.9}
+        LEVEL_UP            | {"playerId":42,"newLevel":0}
+        LEVEL_UP            | {"newLevel":null}
+        LEVEL_UP            | {"playerId":42,"newLevel":2,"idempotencyKey":"LONG_KEY"}
+        ITEM_ACQUIRED       | {"playerId":1,"itemName":"Sword of Fire","rarity":"LEGENDARY"}
+        ITEM_ACQUIRED       | {"playerId":1,"itemName":"  ","rarity":5}
+        CHALLENGE_COMPLETED | {"playerId":1,"challengeName":"Dragon Slayer \\u00e9\\ud83d\\ude00"}
+        PVP_ATTACK          | {"attackerId":2,"defenderId":3,"damageDealt":40}
+        PVP_ATTACK          | {"attackerId":2,"damageDealt":-1,"playerId":9}
+        PVP_DEFEAT          | {"defeatedPlayerId":7,"victorPlayerId":8,"battleLocation":"Ancient Arena"}
+        PVP_DEFEAT          | {"defeatedPlayerId":7,"victorPlayerId":8,"battleLocation":null}
+        """)
+    void read_ShouldMatchDataBindingAndBeanValidation(GameEventType type, String json) throws Exception {
+        // Arrange
+        byte[] body = json.replace("LONG_KEY", LONG_KEY).getBytes(StandardCharsets.UTF_8);
+        GameEventRequest expected = objectMapper.readValue(body, requestClass(type));
+        String expectedViolations = validator.validate(expected).stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+
+        // Act & Assert
+        if (expectedViolations.isEmpty()) {
+            assertThat(converter.read(type, new ByteArrayInputStream(body))).isEqualTo(expected);
+        } else {
+            assertThatThrownBy(() -> converter.read(type, new ByteArrayInputStream(body)))
+                .isInstanceOf(StreamingRequestConverter.InvalidRequestException.class)
+                .hasMessage(expectedViolations);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', textBlock = """
+        [1,2]
+        {"playerId":{"id":1},"newLevel":2}
+        {"playerId":1,"newLevel":3000000000}
+        {"playerId":"abc","newLevel":2}
+        {"playerId":1,"newLevel":2
+        """)
+    void read_ShouldRejectBodiesDataBindingRejects(String json) {
+        // Arrange
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThatThrownBy(() -> objectMapper.readValue(body, LevelUpRequest.class)).isInstanceOf(Exception.class);
+        assertThatThrownBy(() -> converter.read(GameEventType.LEVEL_UP, new ByteArrayInputStream(body)))
+            .isInstanceOf(Exception.class);
+    }
+
+    private static Class<? extends GameEventRequest> requestClass(GameEventType type) {
+        return switch (type) {
+            case LEVEL_UP -> LevelUpRequest.class;
+            case ITEM_ACQUIRED -> ItemAcquiredRequest.class;
+            case CHALLENGE_COMPLETED -> ChallengeCompletedRequest.class;
+            case PVP_ATTACK -> PvpAttackRequest.class;
+            case PVP_DEFEAT -> PvpDefeatRequest.class;
+            case PVP_ATTACK_SUMMARY -> throw new IllegalArgumentException();
+        };
+    }
+
+    private static IngestProperties ingestProperties() {
+        return new IngestProperties(
+            ExecutionMode.ASYNC, 2000, Duration.ofSeconds(5), 500, EnumSet.allOf(GameEventType.class));
+    }
+}
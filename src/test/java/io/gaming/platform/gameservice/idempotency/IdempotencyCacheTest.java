@@ -0,0 +1,130 @@
+package io.gaming.platform.gameservice.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.IdempotencyProperties;
+import io.gaming.platform.gameservice.dto.GameEventResponse;
+import io.gaming.platform.gameservice.model.EventCategory;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyCacheTest {
+    private static final long PLAYER_ID = 123L;
+
+    @Test
+    void claim_ShouldReturnOriginalResponseForKnownKey() {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(
+            new IdempotencyProperties(true, Duration.ofMinutes(10), 1_000, 4), new SimpleMeterRegistry());
+        GameEventResponse original = response(PLAYER_ID);
+        long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, PLAYER_ID, "retry-me");
+        CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+        assertThat(cache.claim(fingerprint, GameEventType.LEVEL_UP, pending)).isNull();
+        CompletableFuture<GameEventResponse> waitingRetry =
+            cache.claim(fingerprint, GameEventType.LEVEL_UP, new CompletableFuture<>());
+
+        // Act
+        cache.release(fingerprint, pending, original);
+        CompletableFuture<GameEventResponse> laterRetry =
+            cache.claim(fingerprint, GameEventType.LEVEL_UP, new CompletableFuture<>());
+
+        // Assert
+        assertThat(waitingRetry.join()).isSameAs(original);
+        assertThat(laterRetry.join()).isEqualTo(original);
+        assertThat(cache.fingerprint(GameEventType.LEVEL_UP, PLAYER_ID + 1, "retry-me")).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void release_ShouldForgetFailedRequests() {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(
+            new IdempotencyProperties(true, Duration.ofMinutes(10), 1_000, 4), new SimpleMeterRegistry());
+        long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, PLAYER_ID, "retry-me");
+        CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+        cache.claim(fingerprint, GameEventType.LEVEL_UP, pending);
+
+        // Act
+        cache.release(fingerprint, pending, GameEventResponse.error(GameEventType.LEVEL_UP, PLAYER_ID, "Kafka error"));
+
+        // Assert
+        assertThat(cache.claim(fingerprint, GameEventType.LEVEL_UP, new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void release_ShouldRememberResponseWithoutEventId() {
+        // Arrange
+        IdempotencyCache cache = new IdempotencyCache(
+            new IdempotencyProperties(true, Duration.ofMinutes(10), 1_000, 4), new SimpleMeterRegistry());
+        long fingerprint = cache.fingerprint(GameEventType.PVP_ATTACK, PLAYER_ID, "hit-1");
+        CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+        cache.claim(fingerprint, GameEventType.PVP_ATTACK, pending);
+        GameEventResponse coalesced = GameEventResponse.success(
+            null, EventCategory.GAME, GameEventType.PVP_ATTACK, Instant.now(), PLAYER_ID + 1);
+
+        // Act
+        cache.release(fingerprint, pending, coalesced);
+        CompletableFuture<GameEventResponse> retry =
+            cache.claim(fingerprint, GameEventType.PVP_ATTACK, new CompletableFuture<>());
+
+        // Assert
+        assertThat(retry).isNotNull();
+        assertThat(retry.join().eventId()).isNull();
+        assertThat(retry.join().isSuccess()).isTrue();
+        assertThat(retry.join().playerId()).isEqualTo(PLAYER_ID + 1);
+    }
+
+    @Test
+    void release_ShouldEvictOldestGenerationWhenFull() {
+        // Arrange
+        int maxEntries = 1_024;
+        IdempotencyCache cache = new IdempotencyCache(
+            new IdempotencyProperties(true, Duration.ofMinutes(10), maxEntries, 4), new SimpleMeterRegistry());
+
+        // Act
+        for (long player = 0; player < 10 * maxEntries; player++) {
+            long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, player, "key");
+            CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+            cache.claim(fingerprint, GameEventType.LEVEL_UP, pending);
+            cache.release(fingerprint, pending, response(player));
+        }
+
+        // Assert
+        assertThat(cache.size()).isLessThanOrEqualTo(maxEntries);
+        long newest = cache.fingerprint(GameEventType.LEVEL_UP, 10L * maxEntries - 1, "key");
+        long oldest = cache.fingerprint(GameEventType.LEVEL_UP, 0L, "key");
+        assertThat(cache.claim(newest, GameEventType.LEVEL_UP, new CompletableFuture<>())).isNotNull();
+        assertThat(cache.claim(oldest, GameEventType.LEVEL_UP, new CompletableFuture<>())).isNull();
+    }
+
+    @Test
+    void properties_ShouldBoundEntriesBySegmentsRoundedUp() {
+        // Arrange
+        int segments = 33;
+        int roundedSegments = 64;
+
+        // Act & Assert
+        assertThatThrownBy(() -> new IdempotencyProperties(true, Duration.ofMinutes(10), 2 * segments, segments))
+            .isInstanceOf(IllegalArgumentException.class);
+        IdempotencyCache cache = new IdempotencyCache(
+            new IdempotencyProperties(true, Duration.ofMinutes(10), 2 * roundedSegments, segments),
+            new SimpleMeterRegistry());
+        long fingerprint = cache.fingerprint(GameEventType.LEVEL_UP, PLAYER_ID, "retry-me");
+        CompletableFuture<GameEventResponse> pending = new CompletableFuture<>();
+        cache.claim(fingerprint, GameEventType.LEVEL_UP, pending);
+        cache.release(fingerprint, pending, response(PLAYER_ID));
+        assertThat(cache.claim(fingerprint, GameEventType.LEVEL_UP, new CompletableFuture<>())).isNotNull();
+    }
+
+    private static GameEventResponse response(long playerId) {
+        return GameEventResponse.success(
+            UUID.randomUUID().toString(), EventCategory.GAME, GameEventType.LEVEL_UP, Instant.now(), playerId);
+    }
+}
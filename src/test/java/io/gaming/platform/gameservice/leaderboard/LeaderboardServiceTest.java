@@ -0,0 +1,42 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.LeaderboardProperties;
+import io.gaming.platform.gameservice.dto.LeaderboardResponse;
+import io.gaming.platform.gameservice.dto.LeaderboardResponse.Entry;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LeaderboardServiceTest {
+
+    @Test
+    void apply_ShouldScoreEventsOnTheirLeaderboards() {
+        // Arrange
+        LeaderboardService service = new LeaderboardService(
+            new LeaderboardProperties(true, 1_000, 100), new SimpleMeterRegistry());
+
+        // Act
+        service.apply(GameEvent.pvpDefeat(7L, 8L, "Ancient Arena"));
+        service.apply(GameEvent.pvpDefeat(9L, 8L, "Ancient Arena"));
+        service.apply(GameEvent.pvpDefeat(8L, 9L, "Ancient Arena"));
+        service.apply(GameEvent.pvpAttack(7L, 9L, 40));
+        service.apply(GameEvent.pvpAttack(8L, 9L, 25));
+        service.apply(GameEvent.pvpAttack(7L, 8L, 50));
+        service.apply(GameEvent.challengeCompleted(7L, "Defeat the Boss"));
+        service.apply(GameEvent.challengeCompleted(7L, "Dragon Slayer"));
+        service.apply(GameEvent.challengeCompleted(8L, "COMPLETE_TUTORIAL"));
+        service.apply(GameEvent.levelUp(9L, 10));
+
+        // Assert
+        LeaderboardResponse wins = service.top(LeaderboardMetric.PVP_WINS, LeaderboardWindow.GLOBAL, 10);
+        assertThat(wins.name()).isEqualTo("pvp-wins");
+        assertThat(wins.entries()).containsExactly(new Entry(1, 8L, 2), new Entry(2, 9L, 1));
+        assertThat(service.top(LeaderboardMetric.PVP_DAMAGE, LeaderboardWindow.HOUR, 1).entries())
+            .containsExactly(new Entry(1, 9L, 65));
+        assertThat(service.top(LeaderboardMetric.CHALLENGE_POINTS, LeaderboardWindow.DAILY, 10).entries())
+            .containsExactly(new Entry(1, 7L, 1000), new Entry(2, 8L, 100));
+    }
+}
@@ -0,0 +1,59 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+
+    private static final long START = Instant.parse("2026-03-01T23:30:00Z").toEpochMilli();
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final long[] players = new long[10];
+    private final long[] scores = new long[10];
+
+    @Test
+    void add_ShouldStartDailyBoardEmptyAtMidnight() {
+        // Arrange
+        Leaderboard board = new Leaderboard(LeaderboardWindow.DAILY, 100);
+        board.add(1L, 10, START);
+
+        // Act
+        int beforeMidnight = board.top(10, START + 29 * MINUTE, players, scores);
+        board.add(2L, 5, START + 31 * MINUTE);
+        board.add(1L, 10, START + 20 * MINUTE);
+        int afterMidnight = board.top(10, START + 32 * MINUTE, players, scores);
+
+        // Assert
+        assertThat(beforeMidnight).isEqualTo(1);
+        assertThat(afterMidnight).isEqualTo(1);
+        assertThat(players[0]).isEqualTo(2L);
+        assertThat(scores[0]).isEqualTo(5L);
+    }
+
+    @Test
+    void add_ShouldRankHourBoardByLastSixtyMinutes() {
+        // Arrange
+        Leaderboard board = new Leaderboard(LeaderboardWindow.HOUR, 100);
+        board.add(1L, 10, START);
+        board.add(2L, 8, START + 10 * MINUTE);
+        board.add(1L, 5, START + 30 * MINUTE);
+        board.add(2L, 1, START + 5 * MINUTE);
+
+        // Act
+        int withinHour = board.top(10, START + 59 * MINUTE, players, scores);
+        long firstWithinHour = players[0];
+        int afterFirstMinute = board.top(10, START + 60 * MINUTE, players, scores);
+
+        // Assert
+        assertThat(withinHour).isEqualTo(2);
+        assertThat(firstWithinHour).isEqualTo(1L);
+        assertThat(afterFirstMinute).isEqualTo(2);
+        assertThat(players).startsWith(2L, 1L);
+        assertThat(scores).startsWith(9L, 5L);
+        assertThat(board.top(10, START + 200 * MINUTE, players, scores)).isZero();
+    }
+}
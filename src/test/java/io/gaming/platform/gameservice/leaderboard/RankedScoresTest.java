@@ -0,0 +1,89 @@
+package io.gaming.platform.gameservice.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class RankedScoresTest {
+
+    private static final Comparator<long[]> RANK_ORDER =
+        Comparator.<long[]>comparingLong(entry -> -entry[1]).thenComparingLong(entry -> entry[0]);
+
+    @Test
+    void add_ShouldRankByScoreThenPlayerId() {
+        // Arrange
+        RankedScores scores = new RankedScores(100);
+        long[] players = new long[10];
+        long[] topScores = new long[10];
+
+        // Act
+        scores.add(3L, 50);
+        scores.add(1L, 70);
+        scores.add(2L, 50);
+        scores.add(3L, 30);
+        scores.add(4L, 10);
+        scores.add(4L, -10);
+        int count = scores.top(10, players, topScores);
+
+        // Assert
+        assertThat(count).isEqualTo(3);
+        assertThat(players).startsWith(3L, 1L, 2L);
+        assertThat(topScores).startsWith(80L, 70L, 50L);
+        assertThat(scores.score(4L)).isZero();
+        assertThat(scores.size()).isEqualTo(3);
+    }
+
+    @Test
+    void add_ShouldHoldSameRanksAsModel() {
+        // Arrange
+        int maxPlayers = 300;
+        RankedScores scores = new RankedScores(maxPlayers);
+        Map<Long, Long> model = new HashMap<>();
+        TreeSet<long[]> ranks = new TreeSet<>(RANK_ORDER);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] players = new long[50];
+        long[] topScores = new long[50];
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long player = random.nextInt(1_000) * 1_024L;
+            long delta = random.nextInt(8) == 0 ? -random.nextInt(200) : random.nextInt(100);
+            scores.add(player, delta);
+
+            Long before = model.remove(player);
+            if (before != null) {
+                ranks.remove(new long[] {player, before});
+            }
+            long after = (before == null ? 0 : before) + delta;
+            if (after > 0) {
+                model.put(player, after);
+                ranks.add(new long[] {player, after});
+            }
+            if (model.size() > maxPlayers) {
+                long[] lowest = ranks.pollLast();
+                model.remove(lowest[0]);
+            }
+        }
+
+        // Assert
+        assertThat(scores.size()).isEqualTo(model.size());
+        int count = scores.top(50, players, topScores);
+        assertThat(count).isEqualTo(50);
+        int rank = 0;
+        for (long[] entry : ranks) {
+            if (rank == count) {
+                break;
+            }
+            assertThat(players[rank]).isEqualTo(entry[0]);
+            assertThat(topScores[rank]).isEqualTo(entry[1]);
+            rank++;
+        }
+        model.forEach((player, score) -> assertThat(scores.score(player)).isEqualTo(score));
+    }
+}
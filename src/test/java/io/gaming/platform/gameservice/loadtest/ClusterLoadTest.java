@@ -0,0 +1,282 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.cluster.ClusterMembership;
+import io.gaming.platform.gameservice.cluster.HashRing;
+import io.gaming.platform.gameservice.dto.ClusterViewResponse;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse;
+import io.gaming.platform.gameservice.state.PlayerStateStore;
+
+/**
+ * Runs a cluster of three instances in this JVM against an embedded broker and checks player
+ * affinity: events of each player, sent to any instance, end up in the player state of the
+ * instance owning it, and state is read back through any instance; the win of a defeat is
+ * counted on the victor's owner and the loss on the defeated player's. Then one instance
+ * leaves and rejoins, and only its players change owner.
+ * <p>
+ * Also compares the response time of events sent to their owner with that of events
+ * forwarded by another instance, one request at a time, and reports both to
+ * {@code target/load-reports/cluster-forwarding.json}.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=ClusterLoadTest}; tune with
+ * {@code -Dloadtest.samples} (measured requests, half of them forwarded).
+ */
+@Tag("load")
+class ClusterLoadTest {
+    private static final List<String> TOPICS = List.of(
+        "game-events", "game-events-dlt", "game-events-quarantine", "game-events.level-up",
+        "game-events.item-acquired", "game-events.challenge-completed", "game-events.pvp-attack",
+        "game-events.pvp-defeat", "game-events.pvp-attack-summary");
+    private static final List<String> NODES = List.of("game-1", "game-2", "game-3");
+    private static final int PLAYERS = 600;
+    private static final int LATENCY_SAMPLES = Integer.getInteger("loadtest.samples", 2_000);
+    private static final Duration CONVERGENCE = Duration.ofSeconds(10);
+
+    @RegisterExtension
+    static final LoadTestEnvironment environment = new LoadTestEnvironment(12, TOPICS);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int[] ports = new int[NODES.size()];
+    private final ConfigurableApplicationContext[] nodes = new ConfigurableApplicationContext[NODES.size()];
+
+    @Test
+    void keepEachPlayerOnItsOwnerWhileNodesLeaveAndJoin() throws Exception {
+        for (int i = 0; i < ports.length; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports[i] = socket.getLocalPort();
+            }
+        }
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = startNode(i);
+            }
+            awaitMembers(client, 0, NODES);
+            awaitMembers(client, 1, NODES);
+            awaitMembers(client, 2, NODES);
+            HashRing ring = HashRing.of(NODES, 128);
+
+            // Events of every player, each sent to an arbitrary instance
+            for (long player = 0; player < PLAYERS; player++) {
+                assertThat(levelUp(client, (int) (player % nodes.length), player, 2)).isEqualTo(202);
+            }
+            assertThat(batch(client, 0, 0, PLAYERS)).isEqualTo(202);
+            for (long player = 0; player < PLAYERS; player++) {
+                int owner = NODES.indexOf(ring.ownerOf(player));
+                awaitLevel(owner, player, 3);
+                for (int i = 0; i < nodes.length; i++) {
+                    if (i != owner) {
+                        assertThat(nodes[i].getBean(PlayerStateStore.class).get(player))
+                            .as("state of player %d on %s", player, NODES.get(i))
+                            .isNull();
+                    }
+                }
+            }
+            for (long player = 0; player < PLAYERS; player++) {
+                HttpResponse<String> state = getState(client, (int) ((player + 1) % nodes.length), player);
+                assertThat(state.statusCode()).isEqualTo(200);
+                assertThat(state.body()).contains("\"level\":3");
+            }
+
+            // Defeats sent to the instance owning neither player
+            for (long defeated = 0; defeated < 30; defeated++) {
+                long victor = defeated + 1;
+                while (ring.ownerOf(victor).equals(ring.ownerOf(defeated))) {
+                    victor++;
+                }
+                int defeatedOwner = NODES.indexOf(ring.ownerOf(defeated));
+                int victorOwner = NODES.indexOf(ring.ownerOf(victor));
+                int other = 3 - defeatedOwner - victorOwner;
+                PlayerStateResponse victorBefore = nodes[victorOwner].getBean(PlayerStateStore.class).get(victor);
+                int wins = victorBefore != null ? victorBefore.pvpWins() : 0;
+                assertThat(defeat(client, other, defeated, victor)).isEqualTo(202);
+                awaitWins(victorOwner, victor, wins + 1);
+                assertThat(nodes[defeatedOwner].getBean(PlayerStateStore.class).get(defeated).pvpLosses()).isEqualTo(1);
+                assertThat(nodes[other].getBean(PlayerStateStore.class).get(victor)).isNull();
+                assertThat(getState(client, other, victor).body()).contains("\"pvpWins\":" + (wins + 1));
+            }
+
+            measureForwarding(client, ring);
+
+            // game-3 leaves: the others take its players, and only its players
+            nodes[2].close();
+            awaitMembers(client, 0, NODES.subList(0, 2));
+            awaitMembers(client, 1, NODES.subList(0, 2));
+            HashRing twoNodes = HashRing.of(NODES.subList(0, 2), 128);
+            for (long player = 0; player < PLAYERS; player++) {
+                if (!ring.ownerOf(player).equals("game-3")) {
+                    assertThat(twoNodes.ownerOf(player)).isEqualTo(ring.ownerOf(player));
+                }
+            }
+            long movedPlayer = 0;
+            while (!ring.ownerOf(movedPlayer).equals("game-3")) {
+                movedPlayer++;
+            }
+            assertThat(levelUp(client, 0, movedPlayer, 4)).isEqualTo(202);
+            awaitLevel(NODES.indexOf(twoNodes.ownerOf(movedPlayer)), movedPlayer, 4);
+
+            // game-3 rejoins and owns its slice again
+            nodes[2] = startNode(2);
+            awaitMembers(client, 0, NODES);
+            awaitMembers(client, 1, NODES);
+            awaitMembers(client, 2, NODES);
+            assertThat(levelUp(client, 0, movedPlayer, 5)).isEqualTo(202);
+            awaitLevel(2, movedPlayer, 5);
+        } finally {
+            for (ConfigurableApplicationContext node : nodes) {
+                if (node != null && node.isActive()) {
+                    node.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends events one at a time to game-1, alternating between players it owns and players
+     * owned by the others, and reports the response times of both.
+     */
+    private void measureForwarding(HttpClient client, HashRing ring) throws Exception {
+        Histogram direct = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        Histogram forwarded = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        long player = 1_000_000;
+        for (int i = 0; i < 2 * LATENCY_SAMPLES; i++) {
+            boolean wantOwned = i % 2 == 0;
+            while (ring.ownerOf(player).equals("game-1") != wantOwned) {
+                player++;
+            }
+            long start = System.nanoTime();
+            assertThat(levelUp(client, 0, player++, 2)).isEqualTo(202);
+            long nanos = System.nanoTime() - start;
+            // The first half warms up both paths
+            if (i >= LATENCY_SAMPLES) {
+                (wantOwned ? direct : forwarded).recordValue(nanos);
+            }
+        }
+        LoadReportWriter.write("cluster-forwarding", new ForwardingReport(
+            NODES.size(), direct.getTotalCount(), LoadReport.Latency.of(direct), LoadReport.Latency.of(forwarded)));
+    }
+
+    private ConfigurableApplicationContext startNode(int index) throws IOException {
+        List<String> properties = new ArrayList<>(List.of(
+            "server.port=" + ports[index],
+            "app.player-state.replay=false",
+            "app.backpressure.enabled=false",
+            "app.cluster.enabled=true",
+            "app.cluster.node-id=" + NODES.get(index),
+            "app.cluster.secret=load-test-secret",
+            "app.cluster.probe-interval=200ms"));
+        for (int i = 0; i < NODES.size(); i++) {
+            properties.add("app.cluster.peers." + NODES.get(i) + "=http://localhost:" + ports[i]);
+        }
+        return environment.startService(properties.toArray(String[]::new));
+    }
+
+    private void awaitMembers(HttpClient client, int node, List<String> members) throws Exception {
+        long deadline = System.nanoTime() + CONVERGENCE.toNanos();
+        List<String> seen = List.of();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(uri(node, ClusterMembership.PROBE_PATH)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            seen = objectMapper.readValue(response.body(), ClusterViewResponse.class).members();
+            if (seen.equals(members)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError(NODES.get(node) + " sees members " + seen + " instead of " + members);
+    }
+
+    /**
+     * Waits for the state of a player on a node to reach a level, as state is updated once
+     * the broker acknowledges an event.
+     */
+    private void awaitLevel(int node, long player, int level) throws InterruptedException {
+        PlayerStateStore store = nodes[node].getBean(PlayerStateStore.class);
+        long deadline = System.nanoTime() + CONVERGENCE.toNanos();
+        PlayerStateResponse state = store.get(player);
+        while ((state == null || !Integer.valueOf(level).equals(state.level())) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            state = store.get(player);
+        }
+        assertThat(state).as("state of player %d on %s", player, NODES.get(node)).isNotNull();
+        assertThat(state.level()).isEqualTo(level);
+    }
+
+    /**
+     * Waits for the wins of a player on a node to reach a count, as the victor's owner
+     * records them once the defeated player's owner posted them.
+     */
+    private void awaitWins(int node, long player, int wins) throws InterruptedException {
+        PlayerStateStore store = nodes[node].getBean(PlayerStateStore.class);
+        long deadline = System.nanoTime() + CONVERGENCE.toNanos();
+        PlayerStateResponse state = store.get(player);
+        while ((state == null || state.pvpWins() != wins) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            state = store.get(player);
+        }
+        assertThat(state).as("state of player %d on %s", player, NODES.get(node)).isNotNull();
+        assertThat(state.pvpWins()).isEqualTo(wins);
+    }
+
+    private int defeat(HttpClient client, int node, long defeated, long victor) throws Exception {
+        return post(client, node, "/api/v1/game-events/pvp/defeat", "application/json",
+            "{\"defeatedPlayerId\":" + defeated + ",\"victorPlayerId\":" + victor
+                + ",\"battleLocation\":\"Ancient Arena\"}");
+    }
+
+    private int levelUp(HttpClient client, int node, long player, int level) throws Exception {
+        return post(client, node, "/api/v1/game-events/level-up", "application/json",
+            "{\"playerId\":" + player + ",\"newLevel\":" + level + "}");
+    }
+
+    /**
+     * Sends one batch raising players {@code from} to {@code to} (exclusive) to level 3.
+     */
+    private int batch(HttpClient client, int node, long from, long to) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (long player = from; player < to; player++) {
+            body.append("{\"type\":\"LEVEL_UP\",\"playerId\":").append(player).append(",\"newLevel\":3}\n");
+        }
+        return post(client, node, "/api/v1/game-events/batch", "application/x-ndjson", body.toString());
+    }
+
+    private HttpResponse<String> getState(HttpClient client, int node, long player) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(node, "/api/v1/players/" + player + "/state")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int post(HttpClient client, int node, String path, String contentType, String body) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(node, path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        return response.statusCode();
+    }
+
+    private URI uri(int node, String path) {
+        return URI.create("http://localhost:" + ports[node] + path);
+    }
+
+    record ForwardingReport(int nodes, long samples, LoadReport.Latency direct, LoadReport.Latency forwarded) {}
+}
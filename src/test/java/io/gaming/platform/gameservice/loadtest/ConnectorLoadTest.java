@@ -0,0 +1,247 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Compares connector setups against an embedded broker: the default server and the
+ * {@code ingest} profile, HTTP/1.1 and h2c, and batches sent plain, gzip- and
+ * zstd-compressed. A fixed number of clients send requests back to back; each scenario
+ * reports requests and events per second, bytes sent per event and process CPU time per
+ * event, written to {@code target/load-reports/connectors.json}.
+ * <p>
+ * Every scenario is warmed up before any is measured. Client and service share the JVM, so
+ * CPU per event includes the client's share; bodies are built and compressed up front. Rate
+ * limiting and Kafka send shedding are off and both servers admit the same events in flight,
+ * so events are only refused by the connector setup; any answer but 202 fails the run.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=ConnectorLoadTest}; tune with
+ * {@code -Dloadtest.concurrency}, {@code -Dloadtest.duration} and {@code -Dloadtest.warm-up}
+ * (seconds) and {@code -Dloadtest.batch-size}.
+ */
+@Tag("load")
+class ConnectorLoadTest {
+    private static final List<String> TOPICS = List.of(
+        "game-events", "game-events-dlt", "game-events.level-up", "game-events.item-acquired",
+        "game-events.challenge-completed", "game-events.pvp-attack", "game-events.pvp-defeat",
+        "game-events.pvp-attack-summary");
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration", 15));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("loadtest.warm-up", 5));
+    private static final int BATCH_SIZE = Integer.getInteger("loadtest.batch-size", 100);
+
+    @RegisterExtension
+    static final LoadTestEnvironment environment = new LoadTestEnvironment(12, TOPICS);
+
+    @Test
+    void compareConnectorSetups() throws Exception {
+        List<ScenarioReport> reports = new ArrayList<>();
+        try (ConfigurableApplicationContext defaultServer = startService(null);
+             ConfigurableApplicationContext ingestServer = startService("ingest")) {
+            URI defaultBase = LoadTestEnvironment.baseUri(defaultServer);
+            URI ingestBase = LoadTestEnvironment.baseUri(ingestServer);
+            List<Scenario> scenarios = List.of(
+                new Scenario("default", defaultBase, HttpClient.Version.HTTP_1_1, Body.SINGLE),
+                new Scenario("ingest", ingestBase, HttpClient.Version.HTTP_1_1, Body.SINGLE),
+                new Scenario("ingest", ingestBase, HttpClient.Version.HTTP_2, Body.SINGLE),
+                new Scenario("default", defaultBase, HttpClient.Version.HTTP_1_1, Body.BATCH),
+                new Scenario("ingest", ingestBase, HttpClient.Version.HTTP_1_1, Body.BATCH),
+                new Scenario("ingest", ingestBase, HttpClient.Version.HTTP_1_1, Body.BATCH_GZIP),
+                new Scenario("ingest", ingestBase, HttpClient.Version.HTTP_1_1, Body.BATCH_ZSTD),
+                new Scenario("ingest", ingestBase, HttpClient.Version.HTTP_2, Body.BATCH_ZSTD));
+
+            // Warm every scenario up before measuring any, so none runs on colder code than another
+            for (Scenario scenario : scenarios) {
+                drive(scenario, WARM_UP);
+            }
+            for (Scenario scenario : scenarios) {
+                reports.add(measure(scenario));
+            }
+        }
+
+        LoadReportWriter.write("connectors", reports);
+        for (ScenarioReport report : reports) {
+            assertThat(report.requests()).isPositive();
+            assertThat(report.errors()).isZero();
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(String profile) throws IOException {
+        List<String> properties = new ArrayList<>(List.of(
+            "app.rate-limit.enabled=false",
+            "app.backpressure.enabled=false",
+            // Same admission limit for every server, so only the connector setup differs
+            "app.ingest.max-in-flight=" + CONCURRENCY * BATCH_SIZE * 2,
+            "app.player-state.replay=false"));
+        if (profile != null) {
+            properties.add("spring.profiles.active=" + profile);
+        }
+        return environment.startService(properties.toArray(String[]::new));
+    }
+
+    private static ScenarioReport measure(Scenario scenario) throws Exception {
+        com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuStart = os.getProcessCpuTime();
+        Totals totals = drive(scenario, DURATION);
+        long cpuNanos = os.getProcessCpuTime() - cpuStart;
+
+        double seconds = DURATION.toNanos() / 1e9;
+        return new ScenarioReport(
+            scenario.server(), totals.protocol(), scenario.body().name(), CONCURRENCY,
+            totals.requests(), totals.events(), totals.errors(), totals.statuses(),
+            totals.requests() / seconds, totals.events() / seconds,
+            totals.bytes() / (double) Math.max(1, totals.events()),
+            cpuNanos / 1_000.0 / Math.max(1, totals.events()));
+    }
+
+    /**
+     * Sends a request without a body first, as HTTP/2 over cleartext is only negotiated by
+     * upgrading such a request, and returns the protocol that was agreed. The request itself
+     * is answered with 405.
+     */
+    private static String upgrade(HttpClient client, URI base) throws Exception {
+        HttpResponse<Void> response = client.send(
+            HttpRequest.newBuilder(base.resolve("/api/v1/game-events/level-up")).GET().build(),
+            HttpResponse.BodyHandlers.discarding());
+        return response.version().name();
+    }
+
+    private static Totals drive(Scenario scenario, Duration duration) throws Exception {
+        AtomicLong requests = new AtomicLong();
+        AtomicLong events = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        Map<String, LongAdder> statuses = new ConcurrentSkipListMap<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        String protocol;
+        try (HttpClient client = HttpClient.newBuilder().version(scenario.version()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            protocol = upgrade(client, scenario.base());
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                HttpRequest request = scenario.body().request(scenario.base(), i);
+                long length = request.bodyPublisher().orElseThrow().contentLength();
+                int eventsPerRequest = scenario.body().events();
+                workers.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            statuses.computeIfAbsent(String.valueOf(response.statusCode()), status -> new LongAdder())
+                                .increment();
+                            if (response.statusCode() != 202) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            statuses.computeIfAbsent(e.getClass().getSimpleName(), status -> new LongAdder()).increment();
+                            errors.incrementAndGet();
+                        }
+                        requests.incrementAndGet();
+                        events.addAndGet(eventsPerRequest);
+                        bytes.addAndGet(length);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Totals(protocol, requests.get(), events.get(), errors.get(), bytes.get(), statusCounts);
+    }
+
+    private enum Body {
+        SINGLE, BATCH, BATCH_GZIP, BATCH_ZSTD;
+
+        int events() {
+            return this == SINGLE ? 1 : BATCH_SIZE;
+        }
+
+        HttpRequest request(URI base, int client) throws IOException {
+            if (this == SINGLE) {
+                return HttpRequest.newBuilder(base.resolve("/api/v1/game-events/level-up"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"playerId\":" + client + ",\"newLevel\":5}"))
+                    .build();
+            }
+            StringBuilder ndjson = new StringBuilder();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                ndjson.append("{\"type\":\"ITEM_ACQUIRED\",\"playerId\":").append(client * BATCH_SIZE + i)
+                    .append(",\"itemName\":\"Legendary Sword\",\"rarity\":\"LEGENDARY\"}\n");
+            }
+            byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve("/api/v1/game-events/batch"))
+                .header("Content-Type", "application/x-ndjson");
+            switch (this) {
+                case BATCH_GZIP -> {
+                    builder.header("Content-Encoding", "gzip");
+                    body = gzip(body);
+                }
+                case BATCH_ZSTD -> {
+                    builder.header("Content-Encoding", "zstd");
+                    body = Zstd.compress(body);
+                }
+                default -> { }
+            }
+            return builder.POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+        }
+
+        private static byte[] gzip(byte[] body) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private record Scenario(String server, URI base, HttpClient.Version version, Body body) {}
+
+    private record Totals(String protocol, long requests, long events, long errors, long bytes, Map<String, Long> statuses) {}
+
+    record ScenarioReport(
+        String server,
+        String protocol,
+        String body,
+        int concurrency,
+        long requests,
+        long events,
+        long errors,
+        Map<String, Long> statuses,
+        double requestsPerSecond,
+        double eventsPerSecond,
+        double bytesPerEvent,
+        double cpuMicrosPerEvent
+    ) {}
+}
@@ -0,0 +1,118 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Drives the whole service, from HTTP to an embedded broker, with a constant arrival rate of
+ * single-event requests in a configurable mix of event types, and writes a {@link LoadReport}
+ * with coordinated-omission-corrected latencies, throughput and error rates as JSON, next to
+ * an HdrHistogram log of the response times.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=EndToEndLoadTest}; tune with
+ * {@code -Dloadtest.rate} (requests/sec), {@code -Dloadtest.duration} and {@code -Dloadtest.warm-up}
+ * (seconds), {@code -Dloadtest.mix} (e.g. {@code LEVEL_UP=30,PVP_ATTACK=70}),
+ * {@code -Dloadtest.players}, {@code -Dloadtest.outstanding} and {@code -Dloadtest.report}
+ * (output path). Service properties are passed with a {@code loadtest.app.} prefix, e.g.
+ * {@code -Dloadtest.app.app.kafka.producer.profile=max-throughput}.
+ * <p>
+ * The run fails when more than {@code loadtest.max-error-rate} of the requests fail, or, given
+ * the report of an earlier build as {@code -Dloadtest.baseline}, when throughput or p99
+ * response time is more than {@code loadtest.tolerance} worse than in it.
+ */
+@Tag("load")
+class EndToEndLoadTest {
+    private static final String APP_PROPERTY_PREFIX = "loadtest.app.";
+    private static final List<String> TOPICS = List.of("game-events", "game-events-dlt", "game-events-quarantine");
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "1000"));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("loadtest.warm-up", 10));
+    private static final String MIX = System.getProperty("loadtest.mix", EventMix.DEFAULT_SPEC);
+    private static final int PLAYERS = Integer.getInteger("loadtest.players", 100_000);
+    private static final int OUTSTANDING = Integer.getInteger("loadtest.outstanding", 5_000);
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.report",
+        LoadReportWriter.DIRECTORY.resolve("end-to-end.json").toString()));
+    private static final String BASELINE = System.getProperty("loadtest.baseline");
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    @RegisterExtension
+    static final LoadTestEnvironment environment = new LoadTestEnvironment(12, TOPICS);
+
+    @Test
+    void driveEventMixAtConstantRate() throws Exception {
+        EventMix mix = EventMix.parse(MIX);
+        Map<String, String> appProperties = appProperties();
+        String startedAt = Instant.now().toString();
+
+        try (ConfigurableApplicationContext context = startService(appProperties);
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+                client, LoadTestEnvironment.baseUri(context), mix, PLAYERS, OUTSTANDING, 42);
+
+            generator.run(RATE, WARM_UP);
+            OpenModelLoadGenerator.Run run = generator.run(RATE, DURATION);
+
+            LoadReport report = LoadReport.of(startedAt, settings(appProperties), mix, RATE, run);
+            LoadReportWriter.write(REPORT, report);
+            LoadReportWriter.writeHistogramLog(REPORT, run.responseTimes);
+
+            assertThat(report.requests()).isPositive();
+            assertThat(report.errorRate()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+            if (BASELINE != null) {
+                compareWithBaseline(report, LoadReportWriter.read(Path.of(BASELINE), LoadReport.class));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(Map<String, String> appProperties) throws Exception {
+        List<String> properties = new ArrayList<>();
+        properties.add("app.ingest.max-in-flight=" + OUTSTANDING * 2);
+        appProperties.forEach((name, value) -> properties.add(name + "=" + value));
+        return environment.startService(properties.toArray(String[]::new));
+    }
+
+    private static Map<String, String> appProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith(APP_PROPERTY_PREFIX))
+            .sorted()
+            .forEach(name -> properties.put(name.substring(APP_PROPERTY_PREFIX.length()), System.getProperty(name)));
+        return properties;
+    }
+
+    private static Map<String, String> settings(Map<String, String> appProperties) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("duration", DURATION.toString());
+        settings.put("warmUp", WARM_UP.toString());
+        settings.put("players", String.valueOf(PLAYERS));
+        settings.put("outstanding", String.valueOf(OUTSTANDING));
+        settings.put("java", Runtime.version().toString());
+        settings.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        appProperties.forEach((name, value) -> settings.put(APP_PROPERTY_PREFIX + name, value));
+        return settings;
+    }
+
+    private static void compareWithBaseline(LoadReport report, LoadReport baseline) {
+        assertThat(report.throughput())
+            .as("throughput against baseline %s", BASELINE)
+            .isGreaterThanOrEqualTo(baseline.throughput() * (1 - TOLERANCE));
+        assertThat(report.responseTime().p99())
+            .as("p99 response time against baseline %s", BASELINE)
+            .isLessThanOrEqualTo(baseline.responseTime().p99() * (1 + TOLERANCE));
+    }
+}
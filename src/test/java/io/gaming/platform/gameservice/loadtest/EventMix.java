@@ -0,0 +1,95 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+
+/**
+ * Weighted mix of the single-event endpoints, parsed from a spec such as
+ * {@code LEVEL_UP=30,PVP_ATTACK=70}, and the requests to send for each of them.
+ */
+final class EventMix {
+    static final String DEFAULT_SPEC =
+        "LEVEL_UP=25,ITEM_ACQUIRED=15,CHALLENGE_COMPLETED=10,PVP_ATTACK=40,PVP_DEFEAT=10";
+
+    private static final String[] RARITIES = {"COMMON", "RARE", "EPIC", "LEGENDARY"};
+
+    private final Map<GameEventType, Integer> weights;
+    private final GameEventType[] types;
+    private final int[] cumulativeWeights;
+
+    private EventMix(Map<GameEventType, Integer> weights) {
+        this.weights = weights;
+        this.types = weights.keySet().toArray(GameEventType[]::new);
+        this.cumulativeWeights = new int[types.length];
+        int total = 0;
+        for (int i = 0; i < types.length; i++) {
+            total += weights.get(types[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static EventMix parse(String spec) {
+        Map<GameEventType, Integer> weights = new EnumMap<>(GameEventType.class);
+        for (String entry : spec.split(",")) {
+            String[] typeAndWeight = entry.trim().split("=");
+            GameEventType type = GameEventType.valueOf(typeAndWeight[0].trim());
+            int weight = Integer.parseInt(typeAndWeight[1].trim());
+            if (type == GameEventType.PVP_ATTACK_SUMMARY || weight < 0) {
+                throw new IllegalArgumentException("Invalid event mix entry " + entry);
+            }
+            if (weight > 0) {
+                weights.put(type, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Event mix " + spec + " has no positive weight");
+        }
+        return new EventMix(weights);
+    }
+
+    Map<GameEventType, Integer> weights() {
+        return weights;
+    }
+
+    GameEventType next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (pick >= cumulativeWeights[i]) {
+            i++;
+        }
+        return types[i];
+    }
+
+    static String path(GameEventType type) {
+        return switch (type) {
+            case LEVEL_UP -> "/api/v1/game-events/level-up";
+            case ITEM_ACQUIRED -> "/api/v1/game-events/items/acquired";
+            case CHALLENGE_COMPLETED -> "/api/v1/game-events/challenges/completed";
+            case PVP_ATTACK -> "/api/v1/game-events/pvp/attack";
+            case PVP_DEFEAT -> "/api/v1/game-events/pvp/defeat";
+            case PVP_ATTACK_SUMMARY -> throw new IllegalArgumentException("No endpoint for " + type);
+        };
+    }
+
+    /**
+     * A request body for the type, from players drawn uniformly out of {@code players}.
+     */
+    static String body(GameEventType type, SplittableRandom random, int players) {
+        long player = random.nextInt(players);
+        long opponent = (player + 1 + random.nextInt(players - 1)) % players;
+        return switch (type) {
+            case LEVEL_UP -> "{\"playerId\":" + player + ",\"newLevel\":" + (1 + random.nextInt(100)) + "}";
+            case ITEM_ACQUIRED -> "{\"playerId\":" + player + ",\"itemName\":\"Item " + random.nextInt(1_000)
+                + "\",\"rarity\":\"" + RARITIES[random.nextInt(RARITIES.length)] + "\"}";
+            case CHALLENGE_COMPLETED -> "{\"playerId\":" + player + ",\"challengeName\":\"Defeat the Boss\"}";
+            case PVP_ATTACK -> "{\"attackerId\":" + opponent + ",\"defenderId\":" + player
+                + ",\"damageDealt\":" + random.nextInt(500) + "}";
+            case PVP_DEFEAT -> "{\"defeatedPlayerId\":" + player + ",\"victorPlayerId\":" + opponent
+                + ",\"battleLocation\":\"Ancient Arena\"}";
+            case PVP_ATTACK_SUMMARY -> throw new IllegalArgumentException("No endpoint for " + type);
+        };
+    }
+}
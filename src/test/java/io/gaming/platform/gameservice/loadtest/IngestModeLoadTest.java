@@ -0,0 +1,118 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.gaming.platform.gameservice.config.IngestProperties.ExecutionMode;
+
+/**
+ * Compares the ASYNC and BLOCKING ingest modes against an embedded broker.
+ * Drives a fixed number of concurrent clients, each issuing level-up requests back to back,
+ * and reports sustained requests/sec and latency percentiles for each mode to
+ * {@code target/load-reports/ingest-modes.json}.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=IngestModeLoadTest}; tune with
+ * {@code -Dloadtest.concurrency} and {@code -Dloadtest.duration} (seconds).
+ */
+@Tag("load")
+class IngestModeLoadTest {
+    private static final String TOPIC = "game-events";
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration", 20));
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    @RegisterExtension
+    static final LoadTestEnvironment environment = new LoadTestEnvironment(4, TOPIC);
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        List<ModeReport> reports = new ArrayList<>();
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            try (ConfigurableApplicationContext context = environment.startService(
+                    "app.ingest.execution-mode=" + mode,
+                    "app.ingest.max-in-flight=" + CONCURRENCY * 2)) {
+                URI uri = LoadTestEnvironment.baseUri(context).resolve("/api/v1/game-events/level-up");
+
+                drive(uri, WARM_UP, new ConcurrentHistogram(3));
+                ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+                RunResult result = drive(uri, DURATION, latencies);
+
+                reports.add(new ModeReport(mode, CONCURRENCY, result.requests(), result.errors(),
+                    result.requests() / (double) DURATION.toSeconds(), LoadReport.Latency.of(latencies)));
+            }
+        }
+
+        LoadReportWriter.write("ingest-modes", reports);
+        for (ModeReport report : reports) {
+            assertThat(report.requests()).isPositive();
+        }
+    }
+
+    private static RunResult drive(URI uri, Duration duration, Histogram latencies) throws Exception {
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                long playerId = i;
+                workers.add(clients.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"playerId\":" + playerId + ",\"newLevel\":5}"))
+                        .build();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 202) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.recordValue(System.nanoTime() - start);
+                        requests.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return new RunResult(requests.get(), errors.get());
+    }
+
+    private record RunResult(long requests, long errors) {}
+
+    record ModeReport(
+        ExecutionMode mode,
+        int concurrency,
+        long requests,
+        long errors,
+        double requestsPerSecond,
+        LoadReport.Latency latency
+    ) {}
+}
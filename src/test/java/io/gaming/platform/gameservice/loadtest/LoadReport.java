@@ -0,0 +1,74 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+
+/**
+ * Machine-readable outcome of a load test run, written as JSON so runs of different builds
+ * can be compared. Latencies are in milliseconds; {@code responseTime} is corrected for
+ * coordinated omission, {@code serviceTime} is not and is reported for comparison.
+ */
+record LoadReport(
+    String startedAt,
+    Map<String, String> settings,
+    Map<GameEventType, Integer> mix,
+    double targetRate,
+    double durationSeconds,
+    long requests,
+    long succeeded,
+    double throughput,
+    double errorRate,
+    Map<String, Long> statuses,
+    Latency responseTime,
+    Latency serviceTime,
+    Map<GameEventType, TypeReport> byType
+) {
+
+    record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                histogram.getMean() / 1_000_000.0);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    record TypeReport(long requests, long errors, Latency responseTime) {
+    }
+
+    static LoadReport of(String startedAt, Map<String, String> settings, EventMix mix, double targetRate,
+                         OpenModelLoadGenerator.Run run) {
+        Map<String, Long> statuses = new TreeMap<>();
+        run.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+        long requests = statuses.values().stream().mapToLong(Long::longValue).sum();
+        long succeeded = statuses.entrySet().stream()
+            .filter(status -> status.getKey().startsWith("2"))
+            .mapToLong(Map.Entry::getValue)
+            .sum();
+        double seconds = run.elapsedNanos / 1e9;
+
+        Map<GameEventType, TypeReport> byType = new EnumMap<>(GameEventType.class);
+        for (GameEventType type : mix.weights().keySet()) {
+            byType.put(type, new TypeReport(
+                run.requestsByType.get(type).sum(),
+                run.errorsByType.get(type).sum(),
+                Latency.of(run.responseTimesByType.get(type))));
+        }
+        return new LoadReport(startedAt, settings, mix.weights(), targetRate, seconds, requests, succeeded,
+            succeeded / seconds, requests == 0 ? 0 : (requests - succeeded) / (double) requests,
+            statuses, Latency.of(run.responseTimes), Latency.of(run.serviceTimes), byType);
+    }
+}
@@ -0,0 +1,63 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the outcome of a load test run as JSON, by default to
+ * {@code target/load-reports/<name>.json}, and logs where it went. Reports are records, such
+ * as {@link LoadReport}, so runs of different builds can be read back and compared.
+ */
+final class LoadReportWriter {
+    static final Path DIRECTORY = Path.of("target/load-reports");
+
+    private static final Logger log = LoggerFactory.getLogger(LoadReportWriter.class);
+
+    private static final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToEnable(SerializationFeature.INDENT_OUTPUT)
+        .build();
+
+    private LoadReportWriter() {
+    }
+
+    static Path write(String name, Object report) throws IOException {
+        return write(DIRECTORY.resolve(name + ".json"), report);
+    }
+
+    static Path write(Path path, Object report) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writeValue(path.toFile(), report);
+        log.info("Load report written to {}:\n{}", path.toAbsolutePath(), objectMapper.writeValueAsString(report));
+        return path;
+    }
+
+    /**
+     * Writes {@code histogram} as an HdrHistogram log next to the report at {@code path}, with
+     * the same name and an {@code .hlog} extension.
+     */
+    static Path writeHistogramLog(Path path, Histogram histogram) throws IOException {
+        Path histogramLog = path.resolveSibling(path.getFileName().toString().replaceFirst("\\.json$", "") + ".hlog");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(histogramLog))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            writer.outputIntervalHistogram(histogram);
+        }
+        return histogramLog;
+    }
+
+    static <T> T read(Path path, Class<T> type) throws IOException {
+        return objectMapper.readValue(path.toFile(), type);
+    }
+}
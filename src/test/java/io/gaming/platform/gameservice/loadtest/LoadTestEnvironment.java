@@ -0,0 +1,98 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import io.gaming.platform.gameservice.GameServiceApplication;
+
+/**
+ * Embedded KRaft broker shared by the tests of a load test class, started before the first
+ * and stopped after the last, which also starts instances of the service against it.
+ * Register it as a static field:
+ * <pre>{@code
+ * @RegisterExtension
+ * static final LoadTestEnvironment environment = new LoadTestEnvironment(12, "game-events");
+ * }</pre>
+ */
+final class LoadTestEnvironment implements BeforeAllCallback, AfterAllCallback {
+    private final int partitions;
+    private final String[] topics;
+    private final Map<String, String> brokerProperties = new LinkedHashMap<>();
+
+    private EmbeddedKafkaKraftBroker broker;
+
+    LoadTestEnvironment(int partitions, String... topics) {
+        this.partitions = partitions;
+        this.topics = topics;
+    }
+
+    LoadTestEnvironment(int partitions, List<String> topics) {
+        this(partitions, topics.toArray(String[]::new));
+    }
+
+    /**
+     * Lets a single broker hold the transaction state log, which otherwise needs three.
+     */
+    LoadTestEnvironment withTransactions() {
+        brokerProperties.put("transaction.state.log.replication.factor", "1");
+        brokerProperties.put("transaction.state.log.min.isr", "1");
+        return this;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        broker = new EmbeddedKafkaKraftBroker(1, partitions, topics);
+        broker.brokerProperties(brokerProperties);
+        broker.afterPropertiesSet();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        broker.destroy();
+    }
+
+    String brokers() {
+        return broker.getBrokersAsString();
+    }
+
+    /**
+     * Starts an instance of the service on random ports, with its own spool directory and
+     * quiet logging, against the broker. {@code properties} are given as {@code name=value}
+     * and override those defaults.
+     */
+    ConfigurableApplicationContext startService(String... properties) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("server.port", "0");
+        values.put("management.server.port", "0");
+        values.put("spring.kafka.bootstrap-servers", brokers());
+        values.put("app.spool.directory", Files.createTempDirectory("load-test-spool").toString());
+        values.put("logging.level.io.gaming.platform.gameservice", "WARN");
+        // Reports are logged from this package
+        values.put("logging.level.io.gaming.platform.gameservice.loadtest", "INFO");
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            values.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        // Passed as arguments, since default properties would lose against application.yml
+        List<String> args = new ArrayList<>(values.size());
+        values.forEach((name, value) -> args.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(GameServiceApplication.class).run(args.toArray(String[]::new));
+    }
+
+    static URI baseUri(ConfigurableApplicationContext service) {
+        return URI.create("http://localhost:" + ((WebServerApplicationContext) service).getWebServer().getPort());
+    }
+}
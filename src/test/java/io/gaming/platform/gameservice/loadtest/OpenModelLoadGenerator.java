@@ -0,0 +1,131 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import io.gaming.platform.gameservice.model.GameEventType;
+
+/**
+ * Sends requests of an {@link EventMix} at a constant arrival rate, whether or not earlier
+ * requests have been answered (an open workload model). Response times are measured from
+ * when each request was due rather than when it was sent, so a stalled service is charged
+ * for every request it held up, which corrects for coordinated omission.
+ * <p>
+ * Requests beyond {@code maxOutstanding} unanswered ones are not sent and count as dropped.
+ */
+final class OpenModelLoadGenerator {
+    static final String DROPPED = "dropped";
+    static final String IO_ERROR = "io-error";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final EventMix mix;
+    private final int players;
+    private final int maxOutstanding;
+    private final SplittableRandom random;
+
+    OpenModelLoadGenerator(HttpClient client, URI baseUri, EventMix mix, int players, int maxOutstanding, long seed) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.mix = mix;
+        this.players = players;
+        this.maxOutstanding = maxOutstanding;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Sends {@code ratePerSecond} requests per second for {@code duration}, then waits for
+     * the outstanding ones to be answered.
+     */
+    Run run(double ratePerSecond, Duration duration) throws InterruptedException {
+        Run run = new Run();
+        Semaphore outstanding = new Semaphore(maxOutstanding);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long n = 0; ; n++) {
+            long due = start + (long) (n * 1e9 / ratePerSecond);
+            if (due >= end) {
+                break;
+            }
+            for (long wait; (wait = due - System.nanoTime()) > 0; ) {
+                LockSupport.parkNanos(wait);
+            }
+            GameEventType type = mix.next(random);
+            if (!outstanding.tryAcquire()) {
+                run.dropped(type);
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(EventMix.path(type)))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(EventMix.body(type, random, players)))
+                .build();
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                long now = System.nanoTime();
+                run.completed(type, ex == null ? response.statusCode() : -1, now - due, now - sentAt);
+                outstanding.release();
+            });
+        }
+        run.elapsedNanos = System.nanoTime() - start;
+        if (!outstanding.tryAcquire(maxOutstanding, REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Requests still unanswered after " + REQUEST_TIMEOUT.multipliedBy(2));
+        }
+        return run;
+    }
+
+    /**
+     * Outcomes of one {@link #run}: response times from when each request was due, service
+     * times from when it was sent, and request counts by status.
+     */
+    static final class Run {
+        final Histogram responseTimes = new ConcurrentHistogram(3);
+        final Histogram serviceTimes = new ConcurrentHistogram(3);
+        final Map<GameEventType, Histogram> responseTimesByType = new EnumMap<>(GameEventType.class);
+        final Map<GameEventType, LongAdder> requestsByType = new EnumMap<>(GameEventType.class);
+        final Map<GameEventType, LongAdder> errorsByType = new EnumMap<>(GameEventType.class);
+        final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        long elapsedNanos;
+
+        Run() {
+            for (GameEventType type : GameEventType.values()) {
+                responseTimesByType.put(type, new ConcurrentHistogram(3));
+                requestsByType.put(type, new LongAdder());
+                errorsByType.put(type, new LongAdder());
+            }
+        }
+
+        private void completed(GameEventType type, int status, long responseNanos, long serviceNanos) {
+            responseTimes.recordValue(responseNanos);
+            serviceTimes.recordValue(serviceNanos);
+            responseTimesByType.get(type).recordValue(responseNanos);
+            requestsByType.get(type).increment();
+            if (status < 200 || status >= 300) {
+                errorsByType.get(type).increment();
+            }
+            statuses.computeIfAbsent(status < 0 ? IO_ERROR : String.valueOf(status), key -> new LongAdder()).increment();
+        }
+
+        private void dropped(GameEventType type) {
+            requestsByType.get(type).increment();
+            errorsByType.get(type).increment();
+            statuses.computeIfAbsent(DROPPED, key -> new LongAdder()).increment();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import io.gaming.platform.gameservice.config.ProducerTuningProperties;
+import io.gaming.platform.gameservice.config.ThroughputProfile;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.serialization.GameEventSerializer;
+
+/**
+ * Sends a fixed number of events through a producer configured with each
+ * {@link ThroughputProfile} and reports events/sec, bytes written to the broker and
+ * send-to-ack latency percentiles to {@code target/load-reports/producer-profile-<profile>.json}.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=ProducerProfileLoadTest}; tune with
+ * {@code -Dloadtest.events} and {@code -Dloadtest.outstanding}.
+ */
+@Tag("load")
+class ProducerProfileLoadTest {
+    private static final String TOPIC = "game-events";
+    private static final int EVENTS = Integer.getInteger("loadtest.events", 200_000);
+    private static final int OUTSTANDING = Integer.getInteger("loadtest.outstanding", 10_000);
+
+    @RegisterExtension
+    static final LoadTestEnvironment environment = new LoadTestEnvironment(4, TOPIC);
+
+    @ParameterizedTest
+    @EnumSource(ThroughputProfile.class)
+    void sendWithProfile(ThroughputProfile profile) throws Exception {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, environment.brokers());
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        ProducerTuningProperties.of(profile).applyTo(config);
+        DefaultKafkaProducerFactory<String, GameEvent> factory = new DefaultKafkaProducerFactory<>(
+            config, new StringSerializer(), new GameEventSerializer(Jackson2ObjectMapperBuilder.json().build()));
+        KafkaTemplate<String, GameEvent> template = new KafkaTemplate<>(factory);
+
+        try {
+            // Warm up connections, metadata and JIT before measuring
+            send(template, EVENTS / 10, new ConcurrentHistogram(3));
+
+            double bytesBefore = outgoingBytes(template);
+            Histogram latencies = new ConcurrentHistogram(3);
+            long start = System.nanoTime();
+            long failures = send(template, EVENTS, latencies);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double bytes = outgoingBytes(template) - bytesBefore;
+
+            LoadReportWriter.write("producer-profile-" + profile.name().toLowerCase().replace('_', '-'),
+                new ProfileReport(profile, EVENTS, failures, EVENTS / seconds, bytes, bytes / EVENTS,
+                    LoadReport.Latency.of(latencies)));
+            assertThat(failures).isZero();
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private static long send(KafkaTemplate<String, GameEvent> template, int events, Histogram latencies)
+            throws InterruptedException {
+        Semaphore outstanding = new Semaphore(OUTSTANDING);
+        AtomicLong failures = new AtomicLong();
+        for (int i = 0; i < events; i++) {
+            outstanding.acquire();
+            long playerId = i % 10_000;
+            long sentAt = System.nanoTime();
+            template.send(TOPIC, Long.toString(playerId), GameEvent.pvpAttack(playerId, playerId + 1, i % 500))
+                .whenComplete((result, ex) -> {
+                    latencies.recordValue(System.nanoTime() - sentAt);
+                    if (ex != null) {
+                        failures.incrementAndGet();
+                    }
+                    outstanding.release();
+                });
+        }
+        outstanding.acquire(OUTSTANDING);
+        return failures.get();
+    }
+
+    private static double outgoingBytes(KafkaTemplate<String, GameEvent> template) {
+        for (Map.Entry<MetricName, ? extends Metric> metric : template.metrics().entrySet()) {
+            if (metric.getKey().group().equals("producer-metrics") && metric.getKey().name().equals("outgoing-byte-total")) {
+                return ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+
+    record ProfileReport(
+        ThroughputProfile profile,
+        int events,
+        long failures,
+        double eventsPerSecond,
+        double wireBytes,
+        double bytesPerEvent,
+        LoadReport.Latency latency
+    ) {}
+}
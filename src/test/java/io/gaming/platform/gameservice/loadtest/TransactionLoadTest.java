@@ -0,0 +1,159 @@
+package io.gaming.platform.gameservice.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import io.gaming.platform.gameservice.config.TransactionProperties;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.producer.TransactionalEventPublisher;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.serialization.GameEventSerializer;
+import io.gaming.platform.gameservice.serialization.PlayerIdSerializer;
+
+/**
+ * Measures what publishing a group of events in a Kafka transaction costs over sending the
+ * same group with the idempotent producer and waiting for every acknowledgement. For each
+ * group size it reports groups/sec and group latency percentiles of both, from
+ * {@code loadtest.concurrency} clients publishing groups back to back, to
+ * {@code target/load-reports/transactions-<group size>.json}.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=TransactionLoadTest}; tune with
+ * {@code -Dloadtest.groups} and {@code -Dloadtest.concurrency}.
+ */
+@Tag("load")
+class TransactionLoadTest {
+    private static final String TOPIC = "game-events";
+    private static final int GROUPS = Integer.getInteger("loadtest.groups", 5_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 4);
+
+    @RegisterExtension
+    static final LoadTestEnvironment environment = new LoadTestEnvironment(4, TOPIC).withTransactions();
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8, 16, 64})
+    void compareTransactionalAndIdempotentGroups(int groupSize) throws Exception {
+        DefaultKafkaProducerFactory<Long, GameEvent> plainFactory = producerFactory();
+        DefaultKafkaProducerFactory<Long, GameEvent> transactionalFactory = producerFactory();
+        transactionalFactory.setTransactionIdPrefix("load-test-tx-");
+        KafkaTemplate<Long, GameEvent> plainTemplate = new KafkaTemplate<>(plainFactory);
+        TransactionalEventPublisher publisher = new TransactionalEventPublisher(
+            new KafkaTemplate<>(transactionalFactory), GameEventRouter.singleTopic(TOPIC), GameEventMetrics.noop(),
+            new TransactionProperties(true, "load-test-tx-", CONCURRENCY, GROUPS, groupSize, Duration.ofSeconds(10)));
+
+        try {
+            Group idempotent = events -> {
+                List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+                for (GameEvent event : events) {
+                    sends.add(plainTemplate.send(TOPIC, event.playerId(), event));
+                }
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+            };
+            Group transactional = events -> publisher.publish(events).join();
+
+            // Warm up connections, metadata, producer pools and JIT before measuring
+            run(idempotent, groupSize, GROUPS / 10, new ConcurrentHistogram(3));
+            run(transactional, groupSize, GROUPS / 10, new ConcurrentHistogram(3));
+
+            Histogram plainLatencies = new ConcurrentHistogram(3);
+            double plainSeconds = run(idempotent, groupSize, GROUPS, plainLatencies);
+            Histogram txLatencies = new ConcurrentHistogram(3);
+            double txSeconds = run(transactional, groupSize, GROUPS, txLatencies);
+
+            LoadReport.Latency plain = LoadReport.Latency.of(plainLatencies);
+            LoadReport.Latency tx = LoadReport.Latency.of(txLatencies);
+            LoadReportWriter.write("transactions-" + groupSize, new GroupReport(
+                groupSize, CONCURRENCY, GROUPS,
+                new PublishReport(GROUPS / plainSeconds, plain),
+                new PublishReport(GROUPS / txSeconds, tx),
+                tx.p50() - plain.p50(), (tx.p50() - plain.p50()) / groupSize));
+            assertThat(txLatencies.getTotalCount()).isEqualTo(GROUPS);
+        } finally {
+            publisher.destroy();
+            plainFactory.destroy();
+            transactionalFactory.destroy();
+        }
+    }
+
+    private static DefaultKafkaProducerFactory<Long, GameEvent> producerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, environment.brokers());
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        return new DefaultKafkaProducerFactory<>(
+            config, new PlayerIdSerializer(), new GameEventSerializer(Jackson2ObjectMapperBuilder.json().build()));
+    }
+
+    /**
+     * Publishes {@code groups} groups from {@link #CONCURRENCY} clients and returns the elapsed seconds.
+     */
+    private static double run(Group group, int groupSize, int groups, Histogram latencies) throws Exception {
+        AtomicLong remaining = new AtomicLong(groups);
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int client = 0; client < CONCURRENCY; client++) {
+                running.add(clients.submit(() -> {
+                    for (long n; (n = remaining.decrementAndGet()) >= 0; ) {
+                        List<GameEvent> events = new ArrayList<>(groupSize);
+                        long defeated = n % 10_000;
+                        events.add(GameEvent.pvpDefeat(defeated, defeated + 1, "Ancient Arena"));
+                        for (int i = 1; i < groupSize; i++) {
+                            events.add(GameEvent.levelUp(defeated + 1, i + 1));
+                        }
+                        long sentAt = System.nanoTime();
+                        group.publish(events);
+                        latencies.recordValue(System.nanoTime() - sentAt);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    @FunctionalInterface
+    private interface Group {
+        void publish(List<GameEvent> events);
+    }
+
+    /**
+     * Transaction overhead is the difference in median group latency, in milliseconds.
+     */
+    record GroupReport(
+        int groupSize,
+        int concurrency,
+        int groups,
+        PublishReport idempotent,
+        PublishReport transactional,
+        double overheadP50,
+        double overheadP50PerEvent
+    ) {}
+
+    record PublishReport(double groupsPerSecond, LoadReport.Latency latency) {}
+}
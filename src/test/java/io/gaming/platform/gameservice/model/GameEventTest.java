@@ -0,0 +1,99 @@
+package io.gaming.platform.gameservice.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class GameEventTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void eventData_ShouldSerializeToFormerMapShape() throws Exception {
+        // Arrange
+        Instant firstHit = Instant.parse("2026-03-01T10:15:30.123456789Z");
+        Instant lastHit = firstHit.plusMillis(80);
+        GameEvent defeat = GameEvent.pvpDefeat(123L, 456L, "Ancient Arena");
+        Map<GameEvent, Map<String, Object>> expected = Map.of(
+            GameEvent.levelUp(123L, 5), Map.of("newLevel", 5),
+            GameEvent.itemAcquired(123L, "Legendary Sword", "LEGENDARY"),
+                Map.of("itemName", "Legendary Sword", "rarity", "LEGENDARY"),
+            GameEvent.challengeCompleted(123L, "Dragon Slayer"), Map.of("challengeName", "Dragon Slayer"),
+            GameEvent.pvpAttack(123L, 456L, 50), Map.of("attackerId", 456L, "damageDealt", 50),
+            defeat, Map.of(
+                "victorPlayerId", 456L,
+                "battleLocation", "Ancient Arena",
+                "defeatTime", defeat.timestamp().toString()),
+            GameEvent.pvpAttackSummary(123L, 456L, 12_345L, 42, firstHit, lastHit), Map.of(
+                "attackerId", 456L,
+                "totalDamage", 12_345L,
+                "hitCount", 42,
+                "firstHitTime", firstHit.toString(),
+                "lastHitTime", lastHit.toString()));
+
+        for (Map.Entry<GameEvent, Map<String, Object>> entry : expected.entrySet()) {
+            // Act
+            JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(entry.getKey()));
+
+            // Assert
+            assertThat(json.get("eventData")).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(entry.getValue())));
+        }
+    }
+
+    @Test
+    void challengeCompleted_ShouldResolveBuiltInChallengeType() throws Exception {
+        // Act
+        GameEvent builtIn = GameEvent.challengeCompleted(123L, "Defeat the Boss");
+        GameEvent custom = GameEvent.challengeCompleted(123L, "Dragon Slayer");
+
+        // Assert
+        assertThat(builtIn.eventData()).isEqualTo(new ChallengeCompletedData("Defeat the Boss", ChallengeType.DEFEAT_BOSS));
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsBytes(builtIn)).get("eventData").get("challengeType").asText())
+            .isEqualTo("DEFEAT_BOSS");
+        assertThat(((ChallengeCompletedData) custom.eventData()).challengeType()).isNull();
+    }
+
+    @Test
+    void readValue_ShouldRestoreTypedEventData() throws Exception {
+        for (GameEvent event : List.of(
+                GameEvent.levelUp(123L, 5),
+                GameEvent.itemAcquired(123L, "Legendary Sword", "LEGENDARY"),
+                GameEvent.challengeCompleted(123L, "Complete Tutorial"),
+                GameEvent.pvpAttack(123L, Long.MAX_VALUE, 50),
+                GameEvent.pvpDefeat(123L, 456L, "Ancient Arena"),
+                GameEvent.pvpAttackSummary(123L, 456L, 12_345L, 42, Instant.now().minusMillis(80), Instant.now()))) {
+            // Act
+            GameEvent read = objectMapper.readValue(objectMapper.writeValueAsBytes(event), GameEvent.class);
+
+            // Assert
+            assertThat(read).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void factory_ShouldStampWithItsOwnGeneratorAndClock() {
+        // Arrange
+        Instant now = Instant.parse("2026-03-01T10:15:30.123456789Z");
+        GameEventFactory first = new GameEventFactory(millis -> "first-" + millis, Clock.fixed(now, ZoneOffset.UTC));
+        GameEventFactory second = new GameEventFactory(millis -> "second-" + millis, Clock.fixed(now, ZoneOffset.UTC));
+
+        // Act
+        GameEvent fromFirst = first.pvpDefeat(123L, 456L, "Ancient Arena");
+        GameEvent fromSecond = second.levelUp(123L, 5);
+
+        // Assert
+        assertThat(fromFirst.eventId()).isEqualTo("first-" + now.toEpochMilli());
+        assertThat(fromFirst.timestamp()).isEqualTo(now);
+        assertThat(((PvpDefeatData) fromFirst.eventData()).defeatTime()).isEqualTo(now);
+        assertThat(fromSecond.eventId()).isEqualTo("second-" + now.toEpochMilli());
+    }
+}
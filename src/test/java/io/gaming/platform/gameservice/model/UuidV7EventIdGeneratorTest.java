@@ -0,0 +1,78 @@
+package io.gaming.platform.gameservice.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7EventIdGeneratorTest {
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void nextUuid_ShouldEmbedTimestampAndNodeId() {
+        // Arrange
+        UuidV7EventIdGenerator generator = new UuidV7EventIdGenerator(4242);
+
+        // Act
+        UUID id = generator.nextUuid(NOW);
+
+        // Assert
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+        assertThat((id.getLeastSignificantBits() >>> 48) & UuidV7EventIdGenerator.MAX_NODE_ID).isEqualTo(4242);
+    }
+
+    @Test
+    void nextId_ShouldIncreaseWhenClockStandsStillOrStepsBack() {
+        // Arrange
+        UuidV7EventIdGenerator generator = new UuidV7EventIdGenerator(1);
+        List<String> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId(NOW));
+        }
+        ids.add(generator.nextId(NOW - 1_000));
+        ids.add(generator.nextId(NOW + 1_000));
+
+        // Assert
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void nextId_ShouldStayUniqueAcrossThreads() throws Exception {
+        // Arrange
+        UuidV7EventIdGenerator generator = new UuidV7EventIdGenerator(7);
+        ConcurrentLinkedQueue<String> ids = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 4; thread++) {
+            workers.add(executor.submit(() -> {
+                String previous = "";
+                for (int i = 0; i < 50_000; i++) {
+                    String id = generator.nextId(System.currentTimeMillis());
+                    assertThat(id).isGreaterThan(previous);
+                    ids.add(id);
+                    previous = id;
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(ids).hasSize(200_000).doesNotHaveDuplicates();
+    }
+}
@@ -2,27 +2,54 @@ package io.gaming.platform.gameservice.producer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.never;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gaming.platform.gameservice.backpressure.KafkaSendGuard;
+import io.gaming.platform.gameservice.backpressure.SendRejectedException;
+import io.gaming.platform.gameservice.config.BackpressureProperties;
+import io.gaming.platform.gameservice.config.DeliveryPolicy;
+import io.gaming.platform.gameservice.config.DeliveryProperties;
+import io.gaming.platform.gameservice.metrics.GameEventMetrics;
+import io.gaming.platform.gameservice.model.ChallengeCompletedData;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventFactory;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.model.ItemAcquiredData;
+import io.gaming.platform.gameservice.model.LevelUpData;
+import io.gaming.platform.gameservice.model.PvpAttackData;
+import io.gaming.platform.gameservice.model.PvpDefeatData;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.serialization.PlayerIdSerializer;
+import io.gaming.platform.gameservice.spool.EventSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class GameEventProducerTest {
@@ -32,35 +59,36 @@ class GameEventProducerTest {
     private static final String ERROR_MESSAGE = "Error serializing event";
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<Long, GameEvent> kafkaTemplate;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    @Captor
+    private ArgumentCaptor<GameEvent> sentEvent;
 
     private GameEventProducer gameEventProducer;
 
     @BeforeEach
     void setUp() {
-        gameEventProducer = new GameEventProducer(kafkaTemplate, objectMapper, TOPIC);
+        gameEventProducer = new GameEventProducer(kafkaTemplate, kafkaTemplate, GameEventRouter.singleTopic(TOPIC),
+            GameEventFactory.DEFAULT, DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+            Optional.empty(), Optional.empty(), Optional.empty(), List.of(), List.of());
     }
 
     @Test
     void sendLevelUpEvent_ShouldSendCorrectEvent() throws Exception {
         // Arrange
         int newLevel = 5;
-        String eventJson = """
-            {"eventType":"LEVEL_UP","playerId":123,"data":{"newLevel":5}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(3))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendLevelUpEvent(PLAYER_ID, newLevel);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendLevelUpEvent(PLAYER_ID, newLevel);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        assertThat(result.join().event()).isSameAs(sentEvent.getValue());
+        assertThat(sentEvent.getValue().eventType()).isEqualTo(GameEventType.LEVEL_UP);
+        assertThat(sentEvent.getValue().playerId()).isEqualTo(PLAYER_ID);
+        assertThat(sentEvent.getValue().eventData()).isEqualTo(new LevelUpData(newLevel));
     }
 
     @Test
@@ -68,116 +96,265 @@ class GameEventProducerTest {
         // Arrange
         String itemName = "Legendary Sword";
         String rarity = "LEGENDARY";
-        String eventJson = """
-            {"eventType":"ITEM_ACQUIRED","playerId":123,"data":{"itemName":"Legendary Sword","rarity":"LEGENDARY"}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(3))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendItemAcquiredEvent(PLAYER_ID, itemName, rarity);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendItemAcquiredEvent(PLAYER_ID, itemName, rarity);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        assertThat(sentEvent.getValue().eventType()).isEqualTo(GameEventType.ITEM_ACQUIRED);
+        assertThat(sentEvent.getValue().eventData()).isEqualTo(new ItemAcquiredData(itemName, rarity));
     }
 
     @Test
     void sendChallengeCompletedEvent_ShouldSendCorrectEvent() throws Exception {
         // Arrange
         String challengeName = "Dragon Slayer";
-        String eventJson = """
-            {"eventType":"CHALLENGE_COMPLETED","playerId":123,"data":{"challengeName":"Dragon Slayer"}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(3))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendChallengeCompletedEvent(PLAYER_ID, challengeName);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendChallengeCompletedEvent(PLAYER_ID, challengeName);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        assertThat(sentEvent.getValue().eventType()).isEqualTo(GameEventType.CHALLENGE_COMPLETED);
+        assertThat(sentEvent.getValue().eventData()).isEqualTo(new ChallengeCompletedData(challengeName, null));
     }
 
     @Test
     void sendPvpAttackEvent_ShouldSendCorrectEvent() throws Exception {
         // Arrange
         int damageDealt = 50;
-        String eventJson = """
-            {"eventType":"PVP_ATTACK","playerId":123,"data":{"attackerId":456,"damageDealt":50}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(3))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendPvpAttackEvent(PLAYER_ID, OTHER_PLAYER_ID, damageDealt);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendPvpAttackEvent(PLAYER_ID, OTHER_PLAYER_ID, damageDealt);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        assertThat(sentEvent.getValue().eventType()).isEqualTo(GameEventType.PVP_ATTACK);
+        assertThat(sentEvent.getValue().eventData()).isEqualTo(new PvpAttackData(OTHER_PLAYER_ID, damageDealt));
     }
 
     @Test
     void sendPvpDefeatEvent_ShouldSendCorrectEvent() throws Exception {
         // Arrange
         String battleLocation = "Ancient Arena";
-        String eventJson = """
-            {"eventType":"PVP_DEFEAT","playerId":123,"data":{"victorPlayerId":456,"battleLocation":"Ancient Arena"}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
-            .thenReturn(CompletableFuture.completedFuture(createSendResult()));
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(3))));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendPvpDefeatEvent(PLAYER_ID, OTHER_PLAYER_ID, battleLocation);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendPvpDefeatEvent(PLAYER_ID, OTHER_PLAYER_ID, battleLocation);
 
         // Assert
         assertThat(result).isCompleted();
-        verify(kafkaTemplate).send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson));
+        assertThat(sentEvent.getValue().eventType()).isEqualTo(GameEventType.PVP_DEFEAT);
+        assertThat(sentEvent.getValue().eventData())
+            .isInstanceOfSatisfying(PvpDefeatData.class, data -> {
+                assertThat(data.victorPlayerId()).isEqualTo(OTHER_PLAYER_ID);
+                assertThat(data.battleLocation()).isEqualTo(battleLocation);
+            });
     }
 
-    @SuppressWarnings("serial")
     @Test
-    void sendGameEvent_ShouldHandleSerializationError() throws JsonProcessingException {
+    void sendGameEvent_ShouldHandleSerializationError() {
         // Arrange
         int newLevel = 5;
-        
-        when(objectMapper.writeValueAsString(any())).thenThrow(new JsonProcessingException(ERROR_MESSAGE) {});
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), any(GameEvent.class)))
+            .thenThrow(new SerializationException(ERROR_MESSAGE));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendLevelUpEvent(PLAYER_ID, newLevel);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendLevelUpEvent(PLAYER_ID, newLevel);
 
         // Assert
         assertThat(result).isCompletedExceptionally();
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(kafkaTemplate).send(eq(TOPIC), isNull(), eq(PLAYER_ID), any(GameEvent.class));
     }
 
     @Test
-    void sendGameEvent_ShouldHandleKafkaError() throws JsonProcessingException {
+    void sendGameEvent_ShouldHandleKafkaError() {
         // Arrange
         int newLevel = 5;
-        String eventJson = """
-            {"eventType":"LEVEL_UP","playerId":123,"data":{"newLevel":5}}""";
-        
-        when(objectMapper.writeValueAsString(any())).thenReturn(eventJson);
-        when(kafkaTemplate.send(eq(TOPIC), eq(PLAYER_ID.toString()), eq(eventJson)))
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), any(GameEvent.class)))
             .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
 
         // Act
-        CompletableFuture<SendResult<String, String>> result = gameEventProducer.sendLevelUpEvent(PLAYER_ID, newLevel);
+        CompletableFuture<PublishedGameEvent> result = gameEventProducer.sendLevelUpEvent(PLAYER_ID, newLevel);
 
         // Assert
         assertThat(result).isCompletedExceptionally();
     }
 
-    private SendResult<String, String> createSendResult() {
-        ProducerRecord<String, String> record = new ProducerRecord<>(TOPIC, PLAYER_ID.toString(), "test-value");
+    @Test
+    void sendGameEvent_ShouldSpoolWhenKafkaFails() {
+        // Arrange
+        EventSpool spool = mock(EventSpool.class);
+        GameEventProducer spoolingProducer = new GameEventProducer(kafkaTemplate, kafkaTemplate,
+            GameEventRouter.singleTopic(TOPIC), GameEventFactory.DEFAULT,
+            DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+            Optional.of(spool), Optional.empty(), Optional.empty(), List.of(), List.of());
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), any(GameEvent.class)))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+        when(spool.append(sentEvent.capture())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<PublishedGameEvent> result = spoolingProducer.sendLevelUpEvent(PLAYER_ID, 5);
+
+        // Assert
+        assertThat(result).isCompleted();
+        assertThat(result.join().isSpooled()).isTrue();
+        assertThat(result.join().event()).isSameAs(sentEvent.getValue());
+    }
+
+    @Test
+    void sendGameEvent_ShouldNotifyListenersOfPublishedEventsOnly() {
+        // Arrange
+        List<GameEvent> notified = new ArrayList<>();
+        GameEventProducer listeningProducer = new GameEventProducer(kafkaTemplate, kafkaTemplate,
+            GameEventRouter.singleTopic(TOPIC), GameEventFactory.DEFAULT,
+            DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+            Optional.empty(), Optional.empty(), Optional.empty(), List.of(), List.of(notified::add));
+        CompletableFuture<SendResult<Long, GameEvent>> delivery = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenReturn(delivery)
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka error")));
+
+        // Act
+        CompletableFuture<PublishedGameEvent> published = listeningProducer.sendLevelUpEvent(PLAYER_ID, 5);
+        boolean notifiedBeforeAck = !notified.isEmpty();
+        delivery.complete(createSendResult(sentEvent.getValue()));
+        CompletableFuture<PublishedGameEvent> failed = listeningProducer.sendLevelUpEvent(PLAYER_ID, 6);
+
+        // Assert
+        assertThat(notifiedBeforeAck).isFalse();
+        assertThat(published).isCompleted();
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(notified).containsExactly(published.join().event());
+    }
+
+    @Test
+    void sendGameEvent_ShouldQueueBehindSpooledEvents() {
+        // Arrange
+        EventSpool spool = mock(EventSpool.class);
+        GameEventProducer spoolingProducer = new GameEventProducer(kafkaTemplate, kafkaTemplate,
+            GameEventRouter.singleTopic(TOPIC), GameEventFactory.DEFAULT,
+            DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+            Optional.of(spool), Optional.empty(), Optional.empty(), List.of(), List.of());
+        when(spool.hasBacklog()).thenReturn(true);
+        when(spool.append(any(GameEvent.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<PublishedGameEvent> result = spoolingProducer.sendLevelUpEvent(PLAYER_ID, 5);
+
+        // Assert
+        assertThat(result.join().isSpooled()).isTrue();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void sendGameEvent_ShouldDeadLetterFailedAcceptedEvent() {
+        // Arrange
+        GameEventProducer acceptingProducer = new GameEventProducer(kafkaTemplate, kafkaTemplate,
+            GameEventRouter.singleTopic(TOPIC), GameEventFactory.DEFAULT,
+            DeliveryProperties.of(DeliveryPolicy.ACCEPTED), GameEventMetrics.noop(),
+            Optional.empty(), Optional.empty(), Optional.empty(), List.of(), List.of());
+        CompletableFuture<SendResult<Long, GameEvent>> delivery = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture())).thenReturn(delivery);
+        ArgumentCaptor<ProducerRecord<Long, GameEvent>> deadLetter = ArgumentCaptor.captor();
+        when(kafkaTemplate.send(deadLetter.capture())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        CompletableFuture<PublishedGameEvent> result = acceptingProducer.sendLevelUpEvent(PLAYER_ID, 5);
+        delivery.completeExceptionally(new RuntimeException("Kafka error"));
+
+        // Assert
+        assertThat(result).isCompleted();
+        assertThat(result.join().status()).isEqualTo(PublishedGameEvent.Status.ACCEPTED);
+        assertThat(deadLetter.getValue().topic()).isEqualTo("game-events-dlt");
+        assertThat(deadLetter.getValue().value()).isSameAs(sentEvent.getValue());
+        assertThat(deadLetter.getValue().headers().lastHeader(GameEventProducer.DELIVERY_ERROR_HEADER)).isNotNull();
+    }
+
+    @Test
+    void sendGameEvent_ShouldShedLoadWhileBrokerIsSlowOrFailing() {
+        // Arrange: a stand-in broker that holds acknowledgements until told otherwise
+        MockProducer<Long, GameEvent> broker = new MockProducer<>(false, new PlayerIdSerializer(), (topic, event) -> new byte[0]);
+        KafkaTemplate<Long, GameEvent> template = new KafkaTemplate<>(() -> broker);
+        KafkaSendGuard guard = new KafkaSendGuard(new BackpressureProperties(true, 2, 1, 10, 1.5, 0.2, Duration.ofMillis(500),
+            new BackpressureProperties.Circuit(50, Duration.ofSeconds(2), 10, 2, Duration.ofMinutes(1), 1)),
+            new SimpleMeterRegistry());
+        GameEventProducer guardedProducer = new GameEventProducer(template, template,
+            GameEventRouter.singleTopic(TOPIC), GameEventFactory.DEFAULT,
+            DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+            Optional.empty(), Optional.empty(), Optional.of(guard), List.of(), List.of());
+
+        // Act
+        CompletableFuture<PublishedGameEvent> first = guardedProducer.sendLevelUpEvent(PLAYER_ID, 2);
+        CompletableFuture<PublishedGameEvent> second = guardedProducer.sendLevelUpEvent(PLAYER_ID, 3);
+        CompletableFuture<PublishedGameEvent> beyondLimit = guardedProducer.sendLevelUpEvent(PLAYER_ID, 4);
+        broker.errorNext(new TimeoutException("Broker unavailable"));
+        broker.errorNext(new TimeoutException("Broker unavailable"));
+        CompletableFuture<PublishedGameEvent> circuitOpen = guardedProducer.sendLevelUpEvent(PLAYER_ID, 5);
+
+        // Assert
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(beyondLimit).failsWithin(Duration.ZERO).withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(SendRejectedException.class);
+        assertThat(guard.circuitState()).isEqualTo(KafkaSendGuard.CircuitState.OPEN);
+        assertThat(circuitOpen).failsWithin(Duration.ZERO).withThrowableOfType(ExecutionException.class)
+            .withMessageContaining("circuit is open");
+        assertThat(broker.history()).hasSize(2);
+    }
+
+    @Test
+    void sendGameEvent_ShouldQuarantineOrRejectEventsValidatorsDoNotPass() {
+        // Arrange
+        GameEventVerdict quarantine = new GameEventVerdict(GameEventVerdict.Action.QUARANTINE, "suspicious level");
+        GameEventVerdict reject = new GameEventVerdict(GameEventVerdict.Action.REJECT, "impossible level");
+        GameEventValidator validator = event -> switch (((LevelUpData) event.eventData()).newLevel()) {
+            case 50 -> quarantine;
+            case 999 -> reject;
+            default -> GameEventVerdict.PASS;
+        };
+        List<GameEvent> notified = new ArrayList<>();
+        GameEventProducer validatingProducer = new GameEventProducer(kafkaTemplate, kafkaTemplate,
+            GameEventRouter.singleTopic(TOPIC), GameEventFactory.DEFAULT,
+            DeliveryProperties.of(DeliveryPolicy.SYNC), GameEventMetrics.noop(),
+            Optional.empty(), Optional.empty(), Optional.empty(), List.of(validator), List.of(notified::add));
+        ArgumentCaptor<ProducerRecord<Long, GameEvent>> quarantined = ArgumentCaptor.captor();
+        when(kafkaTemplate.send(eq(TOPIC), isNull(), eq(PLAYER_ID), sentEvent.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(createSendResult(invocation.getArgument(3))));
+        when(kafkaTemplate.send(quarantined.capture()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                createSendResult(quarantined.getValue().value())));
+
+        // Act
+        CompletableFuture<PublishedGameEvent> passed = validatingProducer.sendLevelUpEvent(PLAYER_ID, 2);
+        CompletableFuture<PublishedGameEvent> flagged = validatingProducer.sendLevelUpEvent(PLAYER_ID, 50);
+        CompletableFuture<PublishedGameEvent> rejected = validatingProducer.sendLevelUpEvent(PLAYER_ID, 999);
+
+        // Assert
+        assertThat(passed.join().status()).isEqualTo(PublishedGameEvent.Status.ACKNOWLEDGED);
+        assertThat(flagged.join().status()).isEqualTo(PublishedGameEvent.Status.QUARANTINED);
+        assertThat(rejected).failsWithin(Duration.ZERO).withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(GameEventRejectedException.class)
+            .withMessageContaining("impossible level");
+        assertThat(sentEvent.getAllValues()).containsExactly(passed.join().event());
+        assertThat(quarantined.getValue().topic()).isEqualTo("game-events-quarantine");
+        assertThat(quarantined.getValue().headers().lastHeader(GameEventProducer.QUARANTINE_REASON_HEADER).value())
+            .asString().isEqualTo("suspicious level");
+        assertThat(notified).containsExactly(passed.join().event());
+    }
+
+    private SendResult<Long, GameEvent> createSendResult(GameEvent event) {
+        ProducerRecord<Long, GameEvent> record = new ProducerRecord<>(TOPIC, PLAYER_ID, event);
         TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
         RecordMetadata metadata = new RecordMetadata(topicPartition, 0, 0, 0, 0, 0);
         return new SendResult<>(record, metadata);
     }
-}
\ No newline at end of file
+}
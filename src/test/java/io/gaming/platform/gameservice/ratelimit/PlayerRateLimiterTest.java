@@ -0,0 +1,87 @@
+package io.gaming.platform.gameservice.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.RateLimitProperties;
+import io.gaming.platform.gameservice.config.RateLimitProperties.Limit;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PlayerRateLimiterTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long PLAYER_ID = 123L;
+
+    private final PlayerRateLimiter limiter = new PlayerRateLimiter(
+        new RateLimitProperties(true, new Limit(10, 5),
+            Map.of(GameEventType.ITEM_ACQUIRED, new Limit(1, 2)), Duration.ofMinutes(1)),
+        new SimpleMeterRegistry());
+
+    @Test
+    void tryAcquire_ShouldAdmitBurstThenRefillAtRate() {
+        // Arrange
+        long now = 0;
+        limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now);
+        limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now);
+
+        // Act
+        long retryAfter = limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now);
+        long afterRefill = limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now + SECOND);
+
+        // Assert
+        assertThat(retryAfter).isEqualTo(SECOND);
+        assertThat(afterRefill).isZero();
+        assertThat(limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID + 1, now)).isZero();
+    }
+
+    @Test
+    void refund_ShouldGiveBackTakenToken() {
+        // Arrange
+        long now = 0;
+        limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now);
+        limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now);
+
+        // Act
+        limiter.refund(GameEventType.ITEM_ACQUIRED, PLAYER_ID);
+        limiter.refund(GameEventType.ITEM_ACQUIRED, PLAYER_ID + 1);
+
+        // Assert
+        assertThat(limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now)).isZero();
+        assertThat(limiter.tryAcquire(GameEventType.ITEM_ACQUIRED, PLAYER_ID, now)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tryAcquire_ShouldApplyDefaultLimitToOtherEventTypes() {
+        // Act
+        int admitted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.tryAcquire(GameEventType.LEVEL_UP, PLAYER_ID, 0) == 0) {
+                admitted++;
+            }
+        }
+
+        // Assert
+        assertThat(admitted).isEqualTo(5);
+    }
+
+    @Test
+    void tryAcquire_ShouldEvictIdlePlayers() {
+        // Arrange
+        long now = 0;
+
+        // Act
+        for (long player = 0; player < 1_000_000; player++) {
+            if (player % 10_000 == 0) {
+                now += 2 * 60 * SECOND;
+            }
+            limiter.tryAcquire(GameEventType.LEVEL_UP, player, now);
+        }
+
+        // Assert
+        assertThat(limiter.size()).isLessThan(100_000);
+    }
+}
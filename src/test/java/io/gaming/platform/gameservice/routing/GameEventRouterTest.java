@@ -0,0 +1,65 @@
+package io.gaming.platform.gameservice.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.PartitionStrategy;
+import io.gaming.platform.gameservice.config.TopicRoutingProperties;
+import io.gaming.platform.gameservice.config.TopicRoutingProperties.Route;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.model.GameEventType;
+import io.gaming.platform.gameservice.model.LevelUpData;
+
+class GameEventRouterTest {
+    private static final String DEFAULT_TOPIC = "game-events";
+
+    private final GameEventRouter router = new GameEventRouter(
+        new TopicRoutingProperties(
+            new Route(null, null, null, 12, null),
+            Map.of(
+                GameEventType.PVP_ATTACK, new Route("game-events.pvp-attack", PartitionStrategy.STICKY, null, null, null),
+                GameEventType.ITEM_ACQUIRED, new Route("game-events.items", PartitionStrategy.ROUND_ROBIN, null, null, null),
+                GameEventType.LEVEL_UP, new Route("game-events.progress", null, "byLevel", null, null)),
+            false),
+        DEFAULT_TOPIC,
+        topic -> 4,
+        Map.of("byLevel", (event, numPartitions) -> ((LevelUpData) event.eventData()).newLevel() % numPartitions));
+
+    @Test
+    void routeFor_ShouldKeyByPlayerOnDefaultTopic() {
+        // Arrange
+        GameEvent event = GameEvent.pvpDefeat(7L, 8L, "Ancient Arena");
+
+        // Act
+        EventRoute route = router.routeFor(GameEventType.PVP_DEFEAT);
+
+        // Assert
+        assertThat(route.topic()).isEqualTo(DEFAULT_TOPIC);
+        assertThat(route.key(event)).isEqualTo(7L);
+        assertThat(route.partition(event)).isNull();
+    }
+
+    @Test
+    void routeFor_ShouldApplyPerTypeStrategies() {
+        // Arrange
+        GameEvent attack = GameEvent.pvpAttack(7L, 8L, 40);
+        GameEvent item = GameEvent.itemAcquired(7L, "Sword", "RARE");
+
+        // Act
+        EventRoute attackRoute = router.routeFor(GameEventType.PVP_ATTACK);
+        EventRoute itemRoute = router.routeFor(GameEventType.ITEM_ACQUIRED);
+        EventRoute levelRoute = router.routeFor(GameEventType.LEVEL_UP);
+
+        // Assert
+        assertThat(attackRoute.topic()).isEqualTo("game-events.pvp-attack");
+        assertThat(attackRoute.key(attack)).isNull();
+        assertThat(attackRoute.partition(attack)).isNull();
+        assertThat(itemRoute.key(item)).isEqualTo(7L);
+        assertThat(itemRoute.partition(item)).isZero();
+        assertThat(itemRoute.partition(item)).isEqualTo(1);
+        assertThat(levelRoute.partition(GameEvent.levelUp(7L, 6))).isEqualTo(2);
+    }
+}
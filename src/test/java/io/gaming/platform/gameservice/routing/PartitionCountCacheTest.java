@@ -0,0 +1,52 @@
+package io.gaming.platform.gameservice.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class PartitionCountCacheTest {
+
+    @Test
+    void applyAsInt_ShouldLookUpEachTopicOncePerInterval() {
+        // Arrange
+        AtomicInteger lookups = new AtomicInteger();
+        PartitionCountCache cache = new PartitionCountCache(topic -> {
+            lookups.incrementAndGet();
+            return 12;
+        }, Duration.ofMinutes(5));
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            cache.applyAsInt("game-events");
+        }
+        int count = cache.applyAsInt("game-events.pvp-attack");
+
+        // Assert
+        assertThat(count).isEqualTo(12);
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void applyAsInt_ShouldRefreshExpiredAndUnknownCounts() {
+        // Arrange
+        AtomicInteger partitions = new AtomicInteger(0);
+        PartitionCountCache expiring = new PartitionCountCache(topic -> partitions.get(), Duration.ZERO);
+        PartitionCountCache lasting = new PartitionCountCache(topic -> partitions.get(), Duration.ofMinutes(5));
+
+        // Act
+        int unknown = lasting.applyAsInt("game-events");
+        partitions.set(12);
+        int known = lasting.applyAsInt("game-events");
+        expiring.applyAsInt("game-events");
+        partitions.set(24);
+
+        // Assert
+        assertThat(unknown).isZero();
+        assertThat(known).isEqualTo(12);
+        assertThat(lasting.applyAsInt("game-events")).isEqualTo(12);
+        assertThat(expiring.applyAsInt("game-events")).isEqualTo(24);
+    }
+}
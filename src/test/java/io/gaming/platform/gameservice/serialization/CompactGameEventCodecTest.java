@@ -0,0 +1,91 @@
+package io.gaming.platform.gameservice.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+class CompactGameEventCodecTest {
+    private static final String COMPACT_TOPIC = "game-events-compact";
+    private static final String JSON_TOPIC = "game-events";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final List<GameEvent> events = List.of(
+        GameEvent.levelUp(123L, 5),
+        GameEvent.itemAcquired(123L, "Épée de Flamme 🔥", "LEGENDARY"),
+        GameEvent.challengeCompleted(123L, "Dragon Slayer"),
+        GameEvent.challengeCompleted(123L, "Defeat the Boss"),
+        GameEvent.pvpAttack(123L, 456L, 50),
+        GameEvent.pvpDefeat(123L, Long.MAX_VALUE, "Ancient Arena"),
+        GameEvent.pvpAttackSummary(123L, 456L, 12_345L, 42, Instant.now().minusMillis(80), Instant.now()));
+
+    @Test
+    void decode_ShouldRestoreEveryEventType() {
+        for (GameEvent event : events) {
+            assertThat(CompactGameEventCodec.decode(CompactGameEventCodec.encode(event))).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void encode_ShouldBeSmallerThanJson() throws Exception {
+        for (GameEvent event : events) {
+            assertThat(CompactGameEventCodec.encode(event).length)
+                .isLessThan(objectMapper.writeValueAsBytes(event).length / 2);
+        }
+    }
+
+    @Test
+    void serializer_ShouldUseFormatAndVersionHeadersOfTopic() throws Exception {
+        // Arrange
+        GameEventSerializer serializer = new GameEventSerializer(
+            objectMapper, WireFormat.JSON, Map.of(COMPACT_TOPIC, WireFormat.COMPACT));
+        GameEvent event = events.get(0);
+        Headers compactHeaders = new RecordHeaders();
+        Headers jsonHeaders = new RecordHeaders();
+
+        // Act
+        byte[] compact = serializer.serialize(COMPACT_TOPIC, compactHeaders, event);
+        byte[] json = serializer.serialize(JSON_TOPIC, jsonHeaders, event);
+
+        // Assert
+        assertThat(CompactGameEventCodec.decode(compact)).isEqualTo(event);
+        assertThat(compactHeaders.lastHeader(WireFormat.FORMAT_HEADER).value())
+            .isEqualTo("COMPACT".getBytes(StandardCharsets.US_ASCII));
+        assertThat(compactHeaders.lastHeader(WireFormat.SCHEMA_VERSION_HEADER).value())
+            .containsExactly(CompactGameEventCodec.SCHEMA_VERSION);
+        assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(event));
+        assertThat(jsonHeaders.toArray()).isEmpty();
+    }
+
+    @Test
+    void deserializer_ShouldReadEveryFormatBackByItsHeaders() {
+        // Arrange
+        GameEventSerializer serializer = new GameEventSerializer(
+            objectMapper, WireFormat.JSON, Map.of(COMPACT_TOPIC, WireFormat.COMPACT));
+        GameEventDeserializer deserializer = new GameEventDeserializer(objectMapper);
+
+        for (GameEvent event : events) {
+            for (String topic : List.of(COMPACT_TOPIC, JSON_TOPIC)) {
+                Headers headers = new RecordHeaders();
+
+                // Act
+                GameEvent read = deserializer.deserialize(topic, headers, serializer.serialize(topic, headers, event));
+
+                // Assert
+                assertThat(read).isEqualTo(event);
+            }
+        }
+    }
+}
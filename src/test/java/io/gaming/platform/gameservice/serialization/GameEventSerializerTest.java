@@ -0,0 +1,63 @@
+package io.gaming.platform.gameservice.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.model.GameEvent;
+
+class GameEventSerializerTest {
+    private static final String TOPIC = "game-events";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final GameEventSerializer serializer = new GameEventSerializer(objectMapper);
+    private final StringSerializer stringSerializer = new StringSerializer();
+
+    @Test
+    void serialize_ShouldMatchPreviousStringWireFormat() throws Exception {
+        // Arrange
+        List<GameEvent> events = List.of(
+            GameEvent.levelUp(123L, 5),
+            GameEvent.itemAcquired(123L, "Épée de Flamme 🔥", "LEGENDARY"),
+            GameEvent.challengeCompleted(123L, "Dragon \"Slayer\"\n"),
+            GameEvent.pvpAttack(123L, 456L, 50),
+            GameEvent.pvpDefeat(123L, 456L, "古代アリーナ"));
+
+        for (GameEvent event : events) {
+            // Act
+            byte[] bytes = serializer.serialize(TOPIC, event);
+
+            // Assert
+            byte[] previous = stringSerializer.serialize(TOPIC, objectMapper.writeValueAsString(event));
+            assertThat(bytes).isEqualTo(previous);
+        }
+    }
+
+    @Test
+    void serialize_ShouldNotLeakBytesBetweenPooledBuffers() throws Exception {
+        // Arrange
+        GameEvent large = GameEvent.itemAcquired(1L, "x".repeat(100_000), "COMMON");
+        GameEvent small = GameEvent.levelUp(2L, 3);
+
+        // Act
+        serializer.serialize(TOPIC, large);
+        List<byte[]> results = IntStream.range(0, 100).mapToObj(i -> serializer.serialize(TOPIC, small)).toList();
+
+        // Assert
+        byte[] expected = objectMapper.writeValueAsString(small).getBytes(StandardCharsets.UTF_8);
+        assertThat(results).allSatisfy(bytes -> assertThat(bytes).isEqualTo(expected));
+    }
+
+    @Test
+    void serialize_ShouldReturnNullForTombstone() {
+        assertThat(serializer.serialize(TOPIC, null)).isNull();
+    }
+}
@@ -0,0 +1,22 @@
+package io.gaming.platform.gameservice.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PlayerIdSerializerTest {
+    private final PlayerIdSerializer serializer = new PlayerIdSerializer();
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 7, -7, 10, 123456789, -1000, Long.MAX_VALUE, Long.MIN_VALUE})
+    void serialize_ShouldWriteSameBytesAsStringKey(long playerId) {
+        // Act
+        byte[] key = serializer.serialize("game-events", playerId);
+
+        // Assert
+        assertThat(key).isEqualTo(Long.toString(playerId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package io.gaming.platform.gameservice.spool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import io.gaming.platform.gameservice.config.SpoolProperties;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.serialization.CompactGameEventCodec;
+
+class EventSpoolTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void append_ShouldBeReadableInOrderAcrossSegments() throws Exception {
+        // Arrange
+        List<GameEvent> events = LongStream.range(0, 200)
+            .mapToObj(i -> GameEvent.itemAcquired(i % 7, "Item " + i, "RARE"))
+            .toList();
+
+        try (EventSpool spool = new EventSpool(properties(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1)))) {
+            // Act
+            CompletableFuture.allOf(events.stream().map(spool::append).toArray(CompletableFuture[]::new)).join();
+            SpoolBatch batch = spool.read(Integer.MAX_VALUE);
+
+            // Assert
+            assertThat(batch.records()).extracting(CompactGameEventCodec::decode).isEqualTo(events);
+            assertThat(batch.next().segment()).isPositive();
+            assertThat(spool.hasBacklog()).isTrue();
+        }
+    }
+
+    @Test
+    void commit_ShouldSurviveReopenAndDeleteDrainedSegments() throws Exception {
+        // Arrange
+        SpoolProperties properties = properties(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1));
+        try (EventSpool spool = new EventSpool(properties)) {
+            for (int i = 0; i < 150; i++) {
+                spool.append(GameEvent.levelUp((long) i, i)).join();
+            }
+            // Act
+            spool.commit(spool.read(100).next());
+        }
+
+        try (EventSpool reopened = new EventSpool(properties)) {
+            SpoolBatch rest = reopened.read(Integer.MAX_VALUE);
+            reopened.commit(rest.next());
+
+            // Assert
+            assertThat(rest.records()).hasSize(50);
+            assertThat(CompactGameEventCodec.decode(rest.records().getFirst()).playerId()).isEqualTo(100L);
+            assertThat(reopened.hasBacklog()).isFalse();
+            try (var files = Files.list(directory)) {
+                assertThat(files.filter(path -> path.toString().endsWith(".spool"))).hasSize(1);
+            }
+        }
+    }
+
+    @Test
+    void read_ShouldResumeInCommittedSegmentWhileDrainedOneIsStillBeingForced() throws Exception {
+        // Arrange
+        List<GameEvent> events = LongStream.range(0, 150)
+            .mapToObj(i -> GameEvent.levelUp(i, (int) i))
+            .toList();
+        try (EventSpool spool = new EventSpool(properties(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1)))) {
+            CompletableFuture.allOf(events.stream().map(spool::append).toArray(CompletableFuture[]::new)).join();
+            Deque<?> segments = (Deque<?>) ReflectionTestUtils.getField(spool, "segments");
+            ReflectionTestUtils.setField(segments.getFirst(), "forcing", true);
+            SpoolBatch drained = spool.read(120);
+
+            // Act
+            spool.commit(drained.next());
+            SpoolBatch rest = spool.read(Integer.MAX_VALUE);
+
+            // Assert
+            assertThat(drained.next().segment()).isPositive();
+            assertThat(segments).hasSizeGreaterThan(1);
+            assertThat(rest.records()).extracting(CompactGameEventCodec::decode).isEqualTo(events.subList(120, 150));
+        }
+    }
+
+    @Test
+    void append_ShouldFailWhenRetentionIsExhausted() throws Exception {
+        // Arrange
+        try (EventSpool spool = new EventSpool(properties(DataSize.ofKilobytes(1), DataSize.ofKilobytes(2)))) {
+            // Act
+            CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+            for (int i = 0; i < 100 && !last.isCompletedExceptionally(); i++) {
+                last = spool.append(GameEvent.challengeCompleted((long) i, "Dragon Slayer"));
+            }
+
+            // Assert
+            assertThat(last).isCompletedExceptionally();
+        }
+    }
+
+    private SpoolProperties properties(DataSize segmentSize, DataSize retention) {
+        return new SpoolProperties(true, directory, segmentSize, retention,
+            Duration.ofMillis(1), Duration.ofMillis(100), Duration.ofSeconds(1), 1000, Duration.ofSeconds(30));
+    }
+}
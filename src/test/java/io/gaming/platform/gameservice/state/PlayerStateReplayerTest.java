@@ -0,0 +1,112 @@
+package io.gaming.platform.gameservice.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.gaming.platform.gameservice.config.PlayerStateProperties;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse.RecentItem;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.gaming.platform.gameservice.routing.GameEventRouter;
+import io.gaming.platform.gameservice.serialization.GameEventSerializer;
+import io.gaming.platform.gameservice.serialization.PlayerIdSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PlayerStateReplayerTest {
+    private static final String TOPIC = "game-events";
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 2, TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void replay_ShouldRebuildStateOfEventsWithinLookback() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        publish(now - Duration.ofHours(2).toMillis(), GameEvent.levelUp(1L, 3));
+        publish(now, GameEvent.levelUp(2L, 5));
+        publish(now, GameEvent.itemAcquired(2L, "Legendary Sword", "LEGENDARY"));
+        publish(now, GameEvent.pvpDefeat(3L, 2L, "Ancient Arena"));
+        publish(now, GameEvent.pvpAttack(4L, 5L, 50));
+        PlayerStateStore store = store();
+
+        // Act
+        long applied = replayer(store, broker.getBrokersAsString(), Duration.ofSeconds(30)).replay();
+
+        // Assert
+        assertThat(applied).isEqualTo(3);
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.get(2L).level()).isEqualTo(5);
+        assertThat(store.get(2L).recentItems()).extracting(RecentItem::itemName).containsExactly("Legendary Sword");
+        assertThat(store.get(2L).pvpWins()).isEqualTo(1);
+        assertThat(store.get(3L).pvpLosses()).isEqualTo(1);
+        assertThat(store.get(4L)).isNull();
+    }
+
+    @Test
+    void replay_ShouldDiscardUnfinishedRebuild() {
+        // Arrange
+        PlayerStateStore store = store();
+        store.apply(GameEvent.levelUp(9L, 2));
+        long start = System.nanoTime();
+
+        // Act
+        long applied = replayer(store, "localhost:1", Duration.ofSeconds(1)).replay();
+
+        // Assert
+        assertThat(applied).isZero();
+        assertThat(store.get(9L)).isNull();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    }
+
+    private void publish(long timestamp, GameEvent event) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        try (KafkaProducer<Long, GameEvent> producer = new KafkaProducer<>(
+                config, new PlayerIdSerializer(), new GameEventSerializer(objectMapper))) {
+            producer.send(new ProducerRecord<>(TOPIC, null, timestamp, event.playerId(), event));
+        }
+    }
+
+    private static PlayerStateStore store() {
+        return new PlayerStateStore(properties(Duration.ofSeconds(1)), new SimpleMeterRegistry(), Optional.empty());
+    }
+
+    private PlayerStateReplayer replayer(PlayerStateStore store, String bootstrapServers, Duration timeout) {
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.setBootstrapServers(List.of(bootstrapServers));
+        return new PlayerStateReplayer(store, properties(timeout), kafkaProperties,
+            GameEventRouter.singleTopic(TOPIC), objectMapper);
+    }
+
+    private static PlayerStateProperties properties(Duration replayTimeout) {
+        return new PlayerStateProperties(true, 1_000, 4, 4, true, Duration.ofHours(1), replayTimeout);
+    }
+}
@@ -0,0 +1,110 @@
+package io.gaming.platform.gameservice.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import io.gaming.platform.gameservice.config.PlayerStateProperties;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse;
+import io.gaming.platform.gameservice.dto.PlayerStateResponse.RecentItem;
+import io.gaming.platform.gameservice.model.ChallengeType;
+import io.gaming.platform.gameservice.model.GameEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PlayerStateStoreTest {
+
+    private static PlayerStateStore store(int maxPlayers, int recentItems, int segments) {
+        return new PlayerStateStore(
+            new PlayerStateProperties(true, maxPlayers, recentItems, segments, false, Duration.ofHours(1), Duration.ofSeconds(1)),
+            new SimpleMeterRegistry(), Optional.empty());
+    }
+
+    @Test
+    void apply_ShouldTrackProgressionOfPlayers() {
+        // Arrange
+        PlayerStateStore store = store(1_000, 3, 4);
+
+        // Act
+        store.apply(GameEvent.levelUp(7L, 4));
+        store.apply(GameEvent.levelUp(7L, 5));
+        for (int item = 1; item <= 5; item++) {
+            store.apply(GameEvent.itemAcquired(7L, "Item " + item, "RARE"));
+        }
+        store.apply(GameEvent.challengeCompleted(7L, "Defeat the Boss"));
+        store.apply(GameEvent.challengeCompleted(7L, "Dragon Slayer"));
+        store.apply(GameEvent.challengeCompleted(7L, "COMPLETE_TUTORIAL"));
+        store.apply(GameEvent.pvpDefeat(7L, 8L, "Ancient Arena"));
+        store.apply(GameEvent.pvpDefeat(8L, 7L, "Ancient Arena"));
+        store.apply(GameEvent.pvpDefeat(9L, 7L, "Ancient Arena"));
+        store.apply(GameEvent.pvpAttack(10L, 11L, 50));
+
+        // Assert
+        PlayerStateResponse state = store.get(7L);
+        assertThat(state.level()).isEqualTo(5);
+        assertThat(state.recentItems()).extracting(RecentItem::itemName).containsExactly("Item 5", "Item 4", "Item 3");
+        assertThat(state.completedChallenges())
+            .containsExactlyInAnyOrder(ChallengeType.DEFEAT_BOSS, ChallengeType.COMPLETE_TUTORIAL);
+        assertThat(state.pvpWins()).isEqualTo(2);
+        assertThat(state.pvpLosses()).isEqualTo(1);
+        assertThat(store.get(8L).level()).isNull();
+        assertThat(store.get(8L).pvpWins()).isEqualTo(1);
+        assertThat(store.get(10L)).isNull();
+    }
+
+    @Test
+    void apply_ShouldEvictLeastRecentlyUsedPlayer() {
+        // Arrange
+        PlayerStateStore store = store(4, 2, 1);
+        for (long player = 1; player <= 4; player++) {
+            store.apply(GameEvent.levelUp(player, 10));
+        }
+
+        // Act
+        store.get(1L);
+        store.apply(GameEvent.itemAcquired(5L, "Legendary Sword", "LEGENDARY"));
+
+        // Assert
+        assertThat(store.get(2L)).isNull();
+        assertThat(store.get(1L).level()).isEqualTo(10);
+        assertThat(store.get(5L).recentItems()).extracting(RecentItem::itemName).containsExactly("Legendary Sword");
+        assertThat(store.size()).isEqualTo(4);
+    }
+
+    @Test
+    void apply_ShouldHoldSamePlayersAsLruModel() {
+        // Arrange
+        int maxPlayers = 500;
+        PlayerStateStore store = store(maxPlayers, 1, 1);
+        Map<Long, Integer> model = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > maxPlayers;
+            }
+        };
+        SplittableRandom random = new SplittableRandom(42);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long player = random.nextInt(2_000) * 1_024L;
+            if (random.nextInt(4) == 0) {
+                PlayerStateResponse state = store.get(player);
+                Integer expected = model.get(player);
+                assertThat(state == null ? null : state.level()).isEqualTo(expected);
+            } else {
+                int level = 1 + random.nextInt(100);
+                store.apply(GameEvent.levelUp(player, level));
+                model.put(player, level);
+            }
+        }
+
+        // Assert
+        assertThat(store.size()).isEqualTo(model.size());
+        model.forEach((player, level) -> assertThat(store.get(player).level()).isEqualTo(level));
+    }
+}